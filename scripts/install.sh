@@ -12,6 +12,10 @@ print_error() {
     echo -e "\033[0;31m$1\033[0m"
 }
 
+print_warning() {
+    echo -e "\033[0;33m$1\033[0m"
+}
+
 MOINEX_DIR="$HOME/.moinex"
 DOT_LOCAL_DIR="$HOME/.local"
 
@@ -85,9 +89,11 @@ chmod +x "$DOT_LOCAL_DIR/share/applications/moinex.desktop"
 
 print_success ">> Permissões de execução concedidas ao arquivo .desktop"
 
-# Construir o JAR
-if mvn clean package; then
-    print_success ">> JAR criado com sucesso"
+# Construir o JAR, com o layout de inicialização rápida se possível
+if mvn clean package -Pstartup; then
+    print_success ">> JAR e layout de inicialização rápida criados com sucesso"
+elif mvn clean package; then
+    print_warning "Aviso: layout de inicialização rápida não criado, usando apenas o JAR"
 else
     print_error "Erro ao criar o JAR"
     exit 1
@@ -101,6 +107,37 @@ else
     exit 1
 fi
 
+# Copiar o layout de inicialização rápida e gravar o arquivo de classes
+# compartilhadas no local de instalação, já que ele guarda os caminhos dos JARs
+rm -rf "$MOINEX_DIR/bin/startup"
+
+if [ -f target/Moinex-1.0-SNAPSHOT-startup.jar ]; then
+    if mkdir -p "$MOINEX_DIR/bin/startup" &&
+       cp target/Moinex-1.0-SNAPSHOT-startup.jar "$MOINEX_DIR/bin/startup/moinex.jar" &&
+       cp -r target/lib "$MOINEX_DIR/bin/startup/lib"; then
+        print_success ">> Layout de inicialização rápida copiado para $MOINEX_DIR/bin/startup"
+    else
+        print_error "Erro ao copiar o layout de inicialização rápida"
+        rm -rf "$MOINEX_DIR/bin/startup"
+        exit 1
+    fi
+
+    TRAINING_DB=$(mktemp)
+
+    if "${JAVA_HOME:+$JAVA_HOME/bin/}java" \
+        -XX:ArchiveClassesAtExit="$MOINEX_DIR/bin/startup/moinex.jsa" \
+        -Dspring.aot.enabled=true \
+        -cp "$MOINEX_DIR/bin/startup/moinex.jar" \
+        org.moinex.app.ContextApplication \
+        --spring.datasource.url="jdbc:sqlite:$TRAINING_DB"; then
+        print_success ">> Arquivo de classes compartilhadas criado"
+    else
+        print_warning "Aviso: arquivo de classes compartilhadas não criado, ele será criado na primeira execução"
+    fi
+
+    rm -f "$TRAINING_DB"
+fi
+
 if cp scripts/run.sh "$MOINEX_DIR/"; then
     print_success ">> Script de execução copiado para $MOINEX_DIR/"
 else
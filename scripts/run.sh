@@ -9,6 +9,10 @@ DEFAULT_JAVA_21_PATH="/usr/lib/jvm/java-21-openjdk"
 
 JAR_PATH="$HOME/.moinex/bin/moinex.jar"
 
+# Layout de inicialização rápida, criado pelo script de instalação quando possível
+STARTUP_JAR_PATH="$HOME/.moinex/bin/startup/moinex.jar"
+STARTUP_ARCHIVE_PATH="$HOME/.moinex/bin/startup/moinex.jsa"
+
 print_error() {
     echo -e "\033[0;31m$1\033[0m"
 }
@@ -41,9 +45,52 @@ if [ ! -d "$MOINEX_JAVA_HOME" ]; then
   exit 1
 fi
 
+# Com "cli" como primeiro argumento, executa um comando da interface de linha de
+# comando sem a interface gráfica, e.g., run.sh cli summary month
+CLI_MAIN_CLASS=""
+
+if [ "$1" = "cli" ]; then
+    shift
+    CLI_MAIN_CLASS="org.moinex.app.CommandLineApplication"
+fi
+
+# Usa o layout de inicialização rápida se ele existir. O arquivo de classes
+# compartilhadas é recriado pela JVM ao sair se estiver ausente ou desatualizado.
+# Os avisos da JVM vão para a saída de erro, que não se mistura com a saída dos
+# comandos.
+# O contexto desse layout é processado na compilação (AOT), então as propriedades
+# das configurações condicionais (moinex.datasource.routing,
+# moinex.migrations.enabled e o cache de segundo nível) ficam fixas nos valores da
+# compilação, e a aplicação não inicia se forem alteradas. Para mudá-las, recompile
+# com o perfil startup, e.g., -Dstartup.datasource.routing=false, ou remova o
+# layout. moinex.api.enabled continua sendo lido na execução
+if [ -f "$STARTUP_JAR_PATH" ]; then
+    if [ -n "$CLI_MAIN_CLASS" ]; then
+        exec "$MOINEX_JAVA_HOME/bin/java" \
+            -XX:+AutoCreateSharedArchive \
+            -XX:SharedArchiveFile="$STARTUP_ARCHIVE_PATH" \
+            -Xlog:disable -Xlog:all=warning:stderr \
+            -Dspring.aot.enabled=true \
+            -cp "$STARTUP_JAR_PATH" "$CLI_MAIN_CLASS" "$@"
+    fi
+
+    exec "$MOINEX_JAVA_HOME/bin/java" \
+        -XX:+AutoCreateSharedArchive \
+        -XX:SharedArchiveFile="$STARTUP_ARCHIVE_PATH" \
+        -Xlog:disable -Xlog:all=warning:stderr \
+        -Dspring.aot.enabled=true \
+        -jar "$STARTUP_JAR_PATH" "$@"
+fi
+
 if [ ! -f "$JAR_PATH" ]; then
     print_error "Erro: O arquivo $JAR_PATH não foi encontrado. Verifique se o Moinex foi instalado corretamente."
   exit 1
 fi
 
+if [ -n "$CLI_MAIN_CLASS" ]; then
+    exec "$MOINEX_JAVA_HOME/bin/java" \
+        -Dloader.main="$CLI_MAIN_CLASS" \
+        -cp "$JAR_PATH" org.springframework.boot.loader.PropertiesLauncher "$@"
+fi
+
 "$MOINEX_JAVA_HOME/bin/java" -jar "$JAR_PATH" "$@"
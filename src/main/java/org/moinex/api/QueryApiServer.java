@@ -0,0 +1,890 @@
+/*
+ * Filename: QueryApiServer.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.api;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.moinex.entities.Category;
+import org.moinex.entities.CreditCard;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.services.CreditCardService;
+import org.moinex.services.DataVersionService;
+import org.moinex.services.ReferenceDataCache;
+import org.moinex.services.ReportService;
+import org.moinex.services.TransactionAnalyticsService;
+import org.moinex.util.AggregateStats;
+import org.moinex.util.Constants;
+import org.moinex.util.JsonWriter;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.PeriodSummary;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serves read-only queries of the data as JSON over HTTP, for dashboards and
+ * scripts
+ *
+ * The server only listens on the loopback address, and each request runs on its
+ * own virtual thread. The queries use the same services as the user interface.
+ *
+ * Every response is tagged with the version of the data it was computed at, so a
+ * client that sends the tag back in If-None-Match gets a 304 until a change is
+ * committed. The small responses are also kept by the server for their version.
+ * The transaction search is not kept, but written to the client as the rows are
+ * read, so large results are served without holding them
+ */
+@Component
+public class QueryApiServer
+{
+    @Autowired
+    private ReportService m_reportService;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private CreditCardService m_creditCardService;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private DataVersionService m_dataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Value("${moinex.api.enabled:false}")
+    private boolean m_enabled;
+
+    @Value("${moinex.api.port:8765}")
+    private int m_port = Constants.API_DEFAULT_PORT;
+
+    private TransactionTemplate m_readTemplate;
+
+    private final Map<String, Endpoint> m_endpoints = new LinkedHashMap<>();
+
+    // The responses of the cached endpoints by path and parameters, least
+    // recently used first
+    private final Map<String, CachedResponse> m_cache =
+        Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean
+            removeEldestEntry(Map.Entry<String, CachedResponse> eldest)
+            {
+                return size() > Constants.API_CACHE_MAX_ENTRIES;
+            }
+        });
+
+    // The version starts over on each run, so the tags also identify the run
+    private final String m_epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private HttpServer m_server;
+
+    private ExecutorService m_executor;
+
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    // The dates are compared as text in the database
+    private static final LocalDate SEARCH_MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate SEARCH_MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    /**
+     * Writes the body of a response
+     */
+    @FunctionalInterface
+    private interface Body
+    {
+        void Write(JsonWriter json) throws IOException;
+    }
+
+    /**
+     * Checks the parameters of a request and returns the body of its response
+     *
+     * The checks run before the response is started, so invalid parameters are
+     * answered with a 400. The queries run when the body is written
+     */
+    @FunctionalInterface
+    private interface Query
+    {
+        Body Prepare(Parameters parameters);
+    }
+
+    private static final class Endpoint
+    {
+        private final Set<String> parameters;
+        private final boolean     cached;
+        private final Query       query;
+
+        Endpoint(Set<String> parameters, boolean cached, Query query)
+        {
+            this.parameters = parameters;
+            this.cached     = cached;
+            this.query      = query;
+        }
+    }
+
+    private static final class CachedResponse
+    {
+        private final long   version;
+        private final byte[] body;
+
+        CachedResponse(long version, byte[] body)
+        {
+            this.version = version;
+            this.body    = body;
+        }
+    }
+
+    public QueryApiServer() { }
+
+    @PostConstruct
+    private void Init()
+    {
+        m_readTemplate = new TransactionTemplate(m_transactionManager);
+        m_readTemplate.setReadOnly(true);
+
+        m_endpoints.put("/api/summary",
+                        new Endpoint(Set.of("month", "year"), true, this::Summary));
+        m_endpoints.put("/api/categories",
+                        new Endpoint(Set.of("month", "year", "type", "status"),
+                                     true,
+                                     this::Categories));
+        m_endpoints.put("/api/invoices",
+                        new Endpoint(Set.of("month"), true, this::Invoices));
+        m_endpoints.put("/api/forecast",
+                        new Endpoint(Set.of("months"), true, this::Forecast));
+        m_endpoints.put(
+            "/api/transactions",
+            new Endpoint(Set.of("from", "to", "wallet", "category", "q", "limit"),
+                         false,
+                         this::Transactions));
+    }
+
+    /**
+     * Start the server on the configured port, if it is enabled
+     * @note A failure to start is logged, so it does not stop the application
+     */
+    public synchronized void Start()
+    {
+        if (!m_enabled)
+        {
+            return;
+        }
+
+        try
+        {
+            Listen(m_port);
+        }
+        catch (RuntimeException e)
+        {
+            m_logger.warning(e.getMessage());
+        }
+    }
+
+    /**
+     * Start the server, even if it is not enabled
+     * @param port The port, or 0 for any free port
+     * @return The address the server listens on
+     * @throws RuntimeException If the port cannot be used
+     * @note Does nothing if the server is already running
+     */
+    public synchronized InetSocketAddress Listen(int port)
+    {
+        if (m_server != null)
+        {
+            return m_server.getAddress();
+        }
+
+        HttpServer server;
+
+        try
+        {
+            server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                0);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Failed to start the query API on port " +
+                                       port + ": " + e.getMessage());
+        }
+
+        m_executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        server.setExecutor(m_executor);
+        server.createContext("/api/", this::Handle);
+        server.start();
+
+        m_server = server;
+
+        m_logger.info("Query API listening on " + GetUrl());
+
+        return server.getAddress();
+    }
+
+    @PreDestroy
+    public synchronized void Stop()
+    {
+        if (m_server == null)
+        {
+            return;
+        }
+
+        m_server.stop(Constants.API_STOP_DELAY);
+        m_executor.shutdown();
+
+        m_server   = null;
+        m_executor = null;
+
+        notifyAll();
+    }
+
+    /**
+     * Wait until the server is stopped
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public synchronized void AwaitStop() throws InterruptedException
+    {
+        while (m_server != null)
+        {
+            wait();
+        }
+    }
+
+    /**
+     * Get the URL of the endpoints
+     * @return The URL, or null if the server is not running
+     */
+    public synchronized String GetUrl()
+    {
+        if (m_server == null)
+        {
+            return null;
+        }
+
+        InetSocketAddress address = m_server.getAddress();
+
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/api";
+    }
+
+    private void Handle(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            Serve(exchange);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            m_logger.warning("Failed to answer " + exchange.getRequestURI() + ": " +
+                             e.getMessage());
+
+            // The status can only be sent if the response is not started
+            if (exchange.getResponseCode() == -1)
+            {
+                SendError(exchange, 500, e.getMessage());
+            }
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+    private void Serve(HttpExchange exchange) throws IOException
+    {
+        String   path     = exchange.getRequestURI().getPath();
+        Endpoint endpoint = m_endpoints.get(path);
+
+        if (endpoint == null)
+        {
+            SendError(exchange, 404, "Unknown endpoint " + path);
+            return;
+        }
+
+        if (!exchange.getRequestMethod().equals("GET"))
+        {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            SendError(exchange, 405, "Only GET is allowed");
+            return;
+        }
+
+        // Read before the query, so a change committed while it runs makes the
+        // response stale instead of being tagged with the new version. The default
+        // month and the forecast depend on the current day, which is also tagged
+        long   version = m_dataVersionService.GetVersion();
+        String today   = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        String tag     = "\"" + m_epoch + "-" + version + "-" + today + "\"";
+
+        Parameters parameters;
+        Body       body;
+
+        try
+        {
+            parameters = Parameters.Parse(exchange.getRequestURI().getRawQuery(),
+                                          endpoint.parameters);
+            body       = endpoint.query.Prepare(parameters);
+        }
+        catch (IllegalArgumentException | DateTimeParseException e)
+        {
+            SendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", tag);
+        headers.set("Cache-Control", "no-cache");
+
+        if (IsNotModified(exchange.getRequestHeaders().get("If-None-Match"), tag))
+        {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        headers.set("Content-Type", JSON_CONTENT_TYPE);
+
+        if (!endpoint.cached)
+        {
+            // Sent in chunks as the body is written
+            exchange.sendResponseHeaders(200, 0);
+
+            JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(),
+                                       StandardCharsets.UTF_8),
+                Constants.API_BUFFER_SIZE));
+
+            body.Write(json);
+            json.Flush();
+            return;
+        }
+
+        String         key    = today + path + "?" + parameters;
+        CachedResponse cached = m_cache.get(key);
+
+        if (cached == null || cached.version != version)
+        {
+            cached = new CachedResponse(version, Render(body));
+
+            // A slower request of an older version must not replace a newer one
+            m_cache.merge(key,
+                          cached,
+                          (old, computed) -> old.version > computed.version ? old
+                                                                            : computed);
+        }
+
+        exchange.sendResponseHeaders(200, cached.body.length);
+        exchange.getResponseBody().write(cached.body);
+    }
+
+    private static boolean IsNotModified(List<String> ifNoneMatch, String tag)
+    {
+        if (ifNoneMatch == null)
+        {
+            return false;
+        }
+
+        for (String header : ifNoneMatch)
+        {
+            for (String candidate : header.split(","))
+            {
+                String value = candidate.trim();
+
+                // Weak comparison, as required for If-None-Match
+                if (value.startsWith("W/"))
+                {
+                    value = value.substring(2);
+                }
+
+                if (value.equals("*") || value.equals(tag))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static byte[] Render(Body body) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (JsonWriter json = new JsonWriter(
+                 new OutputStreamWriter(bytes, StandardCharsets.UTF_8)))
+        {
+            body.Write(json);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void SendError(HttpExchange exchange, int status, String message)
+        throws IOException
+    {
+        byte[] body = Render(
+            json -> json.BeginObject().Name("error").Value(message).EndObject());
+
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Incomes and expenses of a month or a year, as in the resume pane
+     */
+    private Body Summary(Parameters parameters)
+    {
+        if (parameters.Has("year"))
+        {
+            parameters.ExpectAtMostOne("month", "year");
+            Year year = Year.parse(parameters.Get("year"));
+
+            return json -> WriteSummary(json, m_reportService.GetYearSummary(year));
+        }
+
+        YearMonth month = parameters.GetMonth("month");
+
+        return json -> WriteSummary(json, m_reportService.GetMonthSummary(month));
+    }
+
+    /**
+     * Sum of the transactions of each category in a month or a year
+     */
+    private Body Categories(Parameters parameters)
+    {
+        LocalDate from;
+        LocalDate to;
+
+        if (parameters.Has("year"))
+        {
+            parameters.ExpectAtMostOne("month", "year");
+            Year year = Year.parse(parameters.Get("year"));
+
+            from = year.atDay(1);
+            to   = year.atMonth(12).atEndOfMonth();
+        }
+        else
+        {
+            YearMonth month = parameters.GetMonth("month");
+
+            from = month.atDay(1);
+            to   = month.atEndOfMonth();
+        }
+
+        TransactionType type =
+            parameters.Has("type")
+                ? TransactionType.valueOf(
+                      parameters.Get("type").toUpperCase(Locale.ROOT))
+                : null;
+
+        TransactionStatus status =
+            parameters.Has("status")
+                ? TransactionStatus.valueOf(
+                      parameters.Get("status").toUpperCase(Locale.ROOT))
+                : null;
+
+        return json -> {
+            Map<Long, AggregateStats> byCategory =
+                m_transactionAnalyticsService
+                    .QueryNonArchived(q -> q.Between(from, to).Summarize())
+                    .ByCategory(type, status);
+
+            Map<Long, String> names =
+                m_referenceDataCache.GetCategories().stream().collect(
+                    Collectors.toMap(Category::GetId, Category::GetName));
+
+            json.BeginObject();
+            json.Name("from").Value(from.toString());
+            json.Name("to").Value(to.toString());
+            json.Name("categories").BeginArray();
+
+            // The largest totals first
+            List<Map.Entry<Long, AggregateStats>> entries =
+                byCategory.entrySet()
+                    .stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().GetSum(),
+                                                   a.getValue().GetSum()))
+                    .toList();
+
+            for (Map.Entry<Long, AggregateStats> entry : entries)
+            {
+                json.BeginObject();
+                json.Name("id").Value(entry.getKey());
+                json.Name("name").Value(names.get(entry.getKey()));
+                json.Name("count").Value(entry.getValue().GetCount());
+                json.Name("total").Value(entry.getValue().GetSumAmount());
+                json.EndObject();
+            }
+
+            json.EndArray();
+            json.EndObject();
+        };
+    }
+
+    /**
+     * Invoice of each credit card in a month
+     */
+    private Body Invoices(Parameters parameters)
+    {
+        YearMonth month = parameters.GetMonth("month");
+
+        return json -> {
+            json.BeginObject();
+            json.Name("month").Value(month.toString());
+            json.Name("invoices").BeginArray();
+
+            for (CreditCard creditCard :
+                 m_creditCardService.GetAllNonArchivedCreditCardsOrderedByName())
+            {
+                Long id = creditCard.GetId();
+
+                json.BeginObject();
+                json.Name("credit_card_id").Value(id);
+                json.Name("credit_card").Value(creditCard.GetName());
+                json.Name("due_date").Value(
+                    month.atDay(creditCard.GetBillingDueDay()).toString());
+                json.Name("status").Value(
+                    m_creditCardService
+                        .GetInvoiceStatus(id, month.getMonthValue(), month.getYear())
+                        .name()
+                        .toLowerCase(Locale.ROOT));
+                json.Name("amount").Value(
+                    m_creditCardService.GetInvoiceAmount(id,
+                                                         month.getMonthValue(),
+                                                         month.getYear()));
+                json.Name("available_credit")
+                    .Value(m_creditCardService.GetAvailableCredit(id));
+                json.EndObject();
+            }
+
+            json.EndArray();
+            json.EndObject();
+        };
+    }
+
+    /**
+     * Foreseen incomes and expenses of the next months, including the recurring
+     * transactions and the credit card payments
+     */
+    private Body Forecast(Parameters parameters)
+    {
+        int months = parameters.GetPositiveInt("months",
+                                               Constants.API_FORECAST_DEFAULT_MONTHS);
+
+        if (months > Constants.API_FORECAST_MAX_MONTHS)
+        {
+            throw new IllegalArgumentException(
+                "months must be at most " + Constants.API_FORECAST_MAX_MONTHS);
+        }
+
+        YearMonth first = YearMonth.now();
+
+        return json -> {
+            json.BeginObject();
+            json.Name("months").BeginArray();
+
+            for (int i = 0; i < months; i++)
+            {
+                PeriodSummary summary =
+                    m_reportService.GetMonthSummary(first.plusMonths(i));
+
+                json.BeginObject();
+                json.Name("month").Value(first.plusMonths(i).toString());
+                json.Name("foreseen_income").Value(summary.GetForeseenIncome());
+                json.Name("foreseen_expenses").Value(summary.GetForeseenExpenses());
+                json.Name("foreseen_balance").Value(summary.GetForeseenBalance());
+                json.Name("credit_card_pending_payments")
+                    .Value(summary.GetCreditCardPendingPayments());
+                json.EndObject();
+            }
+
+            json.EndArray();
+            json.EndObject();
+        };
+    }
+
+    /**
+     * Transactions between two dates, optionally of a wallet, of a category or with
+     * a text in the description, the most recent first
+     */
+    private Body Transactions(Parameters parameters)
+    {
+        LocalDate from =
+            parameters.Has("from") ? LocalDate.parse(parameters.Get("from"))
+                                   : SEARCH_MIN_DATE;
+        LocalDate to =
+            parameters.Has("to") ? LocalDate.parse(parameters.Get("to"))
+                                 : SEARCH_MAX_DATE;
+
+        Long walletId =
+            parameters.Has("wallet") ? Long.parseLong(parameters.Get("wallet")) : null;
+        Long categoryId = parameters.Has("category")
+                              ? Long.parseLong(parameters.Get("category"))
+                              : null;
+
+        String description =
+            parameters.Has("q")
+                ? "%" + parameters.Get("q").toLowerCase(Locale.ROOT) + "%"
+                : null;
+
+        int limit =
+            parameters.GetPositiveInt("limit", Constants.API_SEARCH_DEFAULT_LIMIT);
+
+        String startDate = from.atStartOfDay().format(Constants.DB_DATE_FORMATTER);
+        String endDate   = to.atTime(LocalTime.MAX).format(Constants.DB_DATE_FORMATTER);
+
+        return json -> {
+            json.BeginObject();
+            json.Name("transactions").BeginArray();
+
+            long count;
+
+            try
+            {
+                count = m_readTemplate.execute(status -> {
+                    long written = 0;
+
+                    try (Stream<Object[]> rows =
+                             m_walletTransactionRepository.StreamSearchRows(
+                                 startDate,
+                                 endDate,
+                                 walletId,
+                                 categoryId,
+                                 description))
+                    {
+                        Iterator<Object[]> iterator = rows.limit(limit).iterator();
+
+                        while (iterator.hasNext())
+                        {
+                            WriteTransaction(json, iterator.next());
+                            written++;
+                        }
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+
+                    return written;
+                });
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+
+            json.EndArray();
+            json.Name("count").Value(count);
+            json.EndObject();
+        };
+    }
+
+    private static void WriteTransaction(JsonWriter json, Object[] row)
+        throws IOException
+    {
+        json.BeginObject();
+        json.Name("id").Value((Long)row[0]);
+        json.Name("date").Value((String)row[1]);
+        json.Name("type").Value(
+            ((TransactionType)row[2]).name().toLowerCase(Locale.ROOT));
+        json.Name("status").Value(
+            ((TransactionStatus)row[3]).name().toLowerCase(Locale.ROOT));
+        json.Name("amount").Value((BigDecimal)row[4]);
+        json.Name("description").Value((String)row[5]);
+        json.Name("wallet").Value((String)row[6]);
+        json.Name("category").Value((String)row[7]);
+        json.EndObject();
+    }
+
+    private static void WriteSummary(JsonWriter json, PeriodSummary summary)
+        throws IOException
+    {
+        json.BeginObject();
+        json.Name("from").Value(summary.GetFrom().toString());
+        json.Name("to").Value(summary.GetTo().toString());
+        json.Name("confirmed_income").Value(summary.GetConfirmedIncome());
+        json.Name("confirmed_expenses").Value(summary.GetConfirmedExpenses());
+        json.Name("balance").Value(summary.GetBalance());
+        json.Name("savings_percentage")
+            .Value(Percentage(summary.GetSavingsPercentage()));
+        json.Name("foreseen_income").Value(summary.GetForeseenIncome());
+        json.Name("foreseen_expenses").Value(summary.GetForeseenExpenses());
+        json.Name("foreseen_balance").Value(summary.GetForeseenBalance());
+        json.Name("foreseen_savings_percentage")
+            .Value(Percentage(summary.GetForeseenSavingsPercentage()));
+        json.Name("credit_card_debt").Value(summary.GetCreditCardDebt());
+        json.Name("credit_card_pending_payments")
+            .Value(summary.GetCreditCardPendingPayments());
+        json.EndObject();
+    }
+
+    private static BigDecimal Percentage(double percentage)
+    {
+        return BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The parameters of the query string of a request, sorted by name, so equal
+     * queries have the same text
+     */
+    private static final class Parameters
+    {
+        private final TreeMap<String, String> values;
+
+        private Parameters(TreeMap<String, String> values)
+        {
+            this.values = values;
+        }
+
+        /**
+         * Parse a query string
+         * @param rawQuery The query string, still encoded, or null
+         * @param allowed The names of the parameters of the endpoint
+         * @return The parameters
+         * @throws IllegalArgumentException If a parameter is unknown or repeated
+         */
+        static Parameters Parse(String rawQuery, Set<String> allowed)
+        {
+            TreeMap<String, String> values = new TreeMap<>();
+
+            if (rawQuery == null || rawQuery.isEmpty())
+            {
+                return new Parameters(values);
+            }
+
+            for (String pair : rawQuery.split("&"))
+            {
+                if (pair.isEmpty())
+                {
+                    continue;
+                }
+
+                int    separator = pair.indexOf('=');
+                String name      = Decode(separator < 0 ? pair
+                                                        : pair.substring(0, separator));
+                String value =
+                    separator < 0 ? "" : Decode(pair.substring(separator + 1));
+
+                if (!allowed.contains(name))
+                {
+                    throw new IllegalArgumentException("Unknown parameter " + name);
+                }
+
+                if (values.put(name, value) != null)
+                {
+                    throw new IllegalArgumentException("Repeated parameter " + name);
+                }
+            }
+
+            return new Parameters(values);
+        }
+
+        boolean Has(String name)
+        {
+            return values.containsKey(name);
+        }
+
+        String Get(String name)
+        {
+            return values.get(name);
+        }
+
+        /**
+         * Get a month, or the current month if the parameter is missing
+         */
+        YearMonth GetMonth(String name)
+        {
+            return Has(name) ? YearMonth.parse(Get(name)) : YearMonth.now();
+        }
+
+        int GetPositiveInt(String name, int defaultValue)
+        {
+            if (!Has(name))
+            {
+                return defaultValue;
+            }
+
+            int value = Integer.parseInt(Get(name));
+
+            if (value <= 0)
+            {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+
+            return value;
+        }
+
+        /**
+         * Check that at most one of the parameters was given
+         */
+        void ExpectAtMostOne(String first, String second)
+        {
+            if (Has(first) && Has(second))
+            {
+                throw new IllegalArgumentException("Use either " + first + " or " +
+                                                   second);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return values.entrySet()
+                .stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("&"));
+        }
+
+        private static String Decode(String text)
+        {
+            return URLDecoder.decode(text, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Filename: BuildTimeConditionsCheck.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+/**
+ * Refuses to start a context whose conditional configurations don't match the
+ * properties it runs with
+ *
+ * The AOT processing of the startup layout evaluates the @ConditionalOnProperty
+ * conditions at build time and only generates the beans that passed them, so
+ * changing one of these properties when running the layout has no effect. Instead
+ * of running with the settings of the build, the context fails with the property
+ * to rebuild the layout with. Without AOT the beans always match the properties
+ */
+public class BuildTimeConditionsCheck
+    implements ApplicationContextInitializer<ConfigurableApplicationContext>
+{
+    /**
+     * A property read by a @ConditionalOnProperty and a bean registered when it
+     * passes
+     */
+    private static final class Condition
+    {
+        private final String  property;
+        private final boolean matchIfMissing;
+        private final String  bean;
+
+        // The property of the startup profile of pom.xml that sets the property
+        // in the build
+        private final String buildProperty;
+
+        Condition(String  property,
+                  boolean matchIfMissing,
+                  String  bean,
+                  String  buildProperty)
+        {
+            this.property       = property;
+            this.matchIfMissing = matchIfMissing;
+            this.bean           = bean;
+            this.buildProperty  = buildProperty;
+        }
+    }
+
+    private static final Condition[] CONDITIONS = {
+        new Condition("moinex.datasource.routing",
+                      false,
+                      "writeDataSource",
+                      "startup.datasource.routing"),
+        new Condition("moinex.migrations.enabled",
+                      true,
+                      "SchemaMigrationRunner",
+                      "startup.migrations.enabled"),
+        new Condition("spring.jpa.properties.hibernate.cache.use_second_level_cache",
+                      false,
+                      "SecondLevelCacheManager",
+                      "startup.second-level-cache")
+    };
+
+    public BuildTimeConditionsCheck() { }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context)
+    {
+        // Runs after the bean definitions are known and before any bean is created
+        context.addBeanFactoryPostProcessor(
+            beanFactory -> Check(context.getEnvironment(), beanFactory));
+    }
+
+    /**
+     * Check if the beans of the conditional configurations match the properties
+     * @param environment The environment of the context
+     * @param beanFactory The bean factory of the context
+     * @throws RuntimeException If a property doesn't match its bean
+     */
+    static void Check(Environment                     environment,
+                      ConfigurableListableBeanFactory beanFactory)
+    {
+        for (Condition condition : CONDITIONS)
+        {
+            boolean value = environment.getProperty(condition.property,
+                                                    Boolean.class,
+                                                    condition.matchIfMissing);
+
+            if (value != beanFactory.containsBeanDefinition(condition.bean))
+            {
+                throw new RuntimeException(
+                    condition.property + " is " + value +
+                    ", but the startup layout was built with it " + !value +
+                    ". Rebuild the layout with -D" + condition.buildProperty + "=" +
+                    value + " or run the application without it");
+            }
+        }
+    }
+}
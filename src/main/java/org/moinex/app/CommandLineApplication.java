@@ -0,0 +1,79 @@
+/*
+ * Filename: CommandLineApplication.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.moinex.cli.CommandLineInterface;
+import org.springframework.boot.Banner;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs a command of the command line interface, without the user interface
+ *
+ * Only the Spring context is started, with the beans created on first use, so a
+ * command only creates the services it needs. The arguments before the command
+ * that start with -- are passed to Spring, e.g., to choose another database
+ *
+ * The exit status of the process is the one of the command
+ */
+public final class CommandLineApplication
+{
+    private CommandLineApplication() { }
+
+    public static void main(String[] args)
+    {
+        int command = 0;
+
+        while (command < args.length && args[command].startsWith("--"))
+        {
+            command++;
+        }
+
+        String[]     properties = Arrays.copyOfRange(args, 0, command);
+        List<String> commandArgs =
+            Arrays.asList(args).subList(command, args.length);
+
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        PrintWriter err = new PrintWriter(
+            new OutputStreamWriter(System.err, StandardCharsets.UTF_8),
+            true);
+
+        // The usage doesn't need the context
+        if (commandArgs.isEmpty() || commandArgs.get(0).equals("help"))
+        {
+            CommandLineInterface.PrintUsage(commandArgs.isEmpty() ? err : out);
+            System.exit(commandArgs.isEmpty() ? CommandLineInterface.EXIT_USAGE
+                                              : CommandLineInterface.EXIT_OK);
+        }
+
+        int status;
+
+        // The console log of Spring goes to the standard output, which is kept for
+        // the results of the command. The errors that stop the command are still
+        // written to the error output
+        try (ConfigurableApplicationContext context =
+                 ContextApplication.CreateBuilder()
+                     .headless(true)
+                     .lazyInitialization(true)
+                     .bannerMode(Banner.Mode.OFF)
+                     .logStartupInfo(false)
+                     .properties("logging.pattern.console=")
+                     .run(properties))
+        {
+            status = context.getBean(CommandLineInterface.class)
+                         .Run(commandArgs, out, err);
+        }
+
+        System.exit(status);
+    }
+}
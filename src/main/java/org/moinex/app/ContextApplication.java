@@ -0,0 +1,45 @@
+/*
+ * Filename: ContextApplication.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Starts the Spring context of the application without the user interface
+ *
+ * The AOT processing of the build runs the main method of this class, since it
+ * must see the context being started from the thread that calls main, which the
+ * JavaFX launcher does not do. The code it generates is named after this class,
+ * so every context of the application is built from the same builder
+ *
+ * Running it starts the context and closes it right away, which is the training
+ * run that records the classes of the class data sharing archive
+ *
+ * The AOT processing fixes the beans of the @ConditionalOnProperty configurations
+ * to the properties of the build, so the builder checks that the properties of
+ * each run still match them, see BuildTimeConditionsCheck
+ */
+public final class ContextApplication
+{
+    private ContextApplication() { }
+
+    /**
+     * Create the builder of the Spring context
+     * @return The builder
+     */
+    public static SpringApplicationBuilder CreateBuilder()
+    {
+        return new SpringApplicationBuilder(MainApplication.class)
+            .main(ContextApplication.class)
+            .initializers(new BuildTimeConditionsCheck());
+    }
+
+    public static void main(String[] args)
+    {
+        CreateBuilder().headless(true).run(args).close();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Filename: DataSourceConfig.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.moinex.util.Constants;
+import org.moinex.util.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Splits the connections to the database between one writer and a pool of readers
+ *
+ * SQLite allows a single writer at a time, but in WAL mode readers neither block
+ * nor are blocked by the writer. Transactions marked as read-only get a connection
+ * from the readers, which are opened with query_only, and every other access goes
+ * to the single writer connection
+ */
+@Configuration
+@ConditionalOnProperty(name = "moinex.datasource.routing", havingValue = "true")
+public class DataSourceConfig
+{
+    @Value("${spring.datasource.url}")
+    private String m_url;
+
+    @Value("${spring.datasource.hikari.connection-timeout:1000}")
+    private long m_connectionTimeout;
+
+    @Value("${moinex.datasource.read-pool-size:0}")
+    private int m_readPoolSize;
+
+    public DataSourceConfig() { }
+
+    @Bean(name = "writeDataSource", destroyMethod = "close")
+    public HikariDataSource WriteDataSource()
+    {
+        return CreateWritePool(m_url, m_connectionTimeout);
+    }
+
+    @Bean(name = "readDataSource", destroyMethod = "close")
+    public HikariDataSource ReadDataSource()
+    {
+        int size = m_readPoolSize > 0
+                       ? m_readPoolSize
+                       : Math.min(Runtime.getRuntime().availableProcessors(),
+                                  Constants.DATASOURCE_MAX_READ_POOL_SIZE);
+
+        return CreateReadPool(m_url, size, m_connectionTimeout);
+    }
+
+    @Bean
+    @Primary
+    public DataSource
+    DataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+               @Qualifier("readDataSource") DataSource  readDataSource)
+    {
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(writeDataSource, readDataSource));
+    }
+
+    /**
+     * Create the pool with the single writer connection
+     * @param url The JDBC URL of the database
+     * @param connectionTimeout How long to wait for the connection in milliseconds
+     * @return The pool
+     */
+    public static HikariDataSource CreateWritePool(String url, long connectionTimeout)
+    {
+        HikariDataSource pool = CreatePool(url, connectionTimeout);
+        pool.setPoolName("moinex-writer");
+        pool.setMaximumPoolSize(1);
+        return pool;
+    }
+
+    /**
+     * Create the pool of read-only connections
+     * @param url The JDBC URL of the database
+     * @param size The number of connections
+     * @param connectionTimeout How long to wait for a connection in milliseconds
+     * @return The pool
+     */
+    public static HikariDataSource
+    CreateReadPool(String url, int size, long connectionTimeout)
+    {
+        HikariDataSource pool = CreatePool(url, connectionTimeout);
+        pool.setPoolName("moinex-reader");
+        pool.setMaximumPoolSize(size);
+
+        // sqlite-jdbc cannot change the read-only flag of an open connection, so
+        // writes are rejected by SQLite itself
+        pool.setConnectionInitSql("PRAGMA query_only = 1");
+        return pool;
+    }
+
+    private static HikariDataSource CreatePool(String url, long connectionTimeout)
+    {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setDriverClassName(Constants.SQLITE_DRIVER_CLASS_NAME);
+        pool.setJdbcUrl(url);
+        pool.setConnectionTimeout(connectionTimeout);
+        return pool;
+    }
+}
@@ -6,6 +6,8 @@
 
 package org.moinex.app;
 
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -13,8 +15,12 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
+import org.moinex.api.QueryApiServer;
+import org.moinex.services.BackupService;
+import org.moinex.services.FxStallWatchdogService;
+import org.moinex.services.TransactionAnalyticsService;
 import org.moinex.util.Constants;
-import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.moinex.util.LoggerConfig;
 import org.springframework.context.ConfigurableApplicationContext;
 
 /**
@@ -24,14 +30,7 @@ public class JavaFXApp extends Application
 {
     private ConfigurableApplicationContext springContext;
 
-    @Override
-    public void init() throws Exception
-    {
-        String[] args = getParameters().getRaw().toArray(new String[0]);
-
-        springContext =
-            new SpringApplicationBuilder().sources(MainApplication.class).run(args);
-    }
+    private static final Logger m_logger = LoggerConfig.GetLogger();
 
     @Override
     public void start(Stage primaryStage) throws Exception
@@ -47,24 +46,42 @@ public class JavaFXApp extends Application
         new Thread(() -> {
             try
             {
-                springContext =
-                    new SpringApplicationBuilder()
-                        .sources(MainApplication.class)
-                        .run(getParameters().getRaw().toArray(new String[0]));
+                springContext = ContextApplication.CreateBuilder().run(
+                    getParameters().getRaw().toArray(new String[0]));
+
+                // Loaded while the splash screen is shown, since the main window
+                // opens with the summaries
+                springContext.getBean(TransactionAnalyticsService.class).Load();
 
                 FXMLLoader loader =
                     new FXMLLoader(getClass().getResource(Constants.MAIN_FXML));
                 loader.setControllerFactory(springContext::getBean);
                 Parent mainRoot = loader.load();
 
-                // wait 1 second before showing the main window
-                Thread.sleep(1000);
-
                 javafx.application.Platform.runLater(() -> {
                     primaryStage.setTitle(Constants.APP_NAME);
                     primaryStage.setScene(new Scene(mainRoot));
                     primaryStage.show();
                     splashStage.close();
+
+                    // Measured from the start of the JVM, so the startup benchmark
+                    // also counts the loading of the classes
+                    m_logger.info(
+                        "First frame of the main window shown after " +
+                        ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+
+                    if (springContext.getEnvironment().getProperty(
+                            "moinex.startup.exit-on-first-frame",
+                            Boolean.class,
+                            false))
+                    {
+                        javafx.application.Platform.exit();
+                        return;
+                    }
+
+                    springContext.getBean(FxStallWatchdogService.class).Start();
+                    springContext.getBean(BackupService.class).Start();
+                    springContext.getBean(QueryApiServer.class).Start();
                 });
             }
             catch (Exception e)
@@ -78,7 +95,11 @@ public class JavaFXApp extends Application
     @Override
     public void stop() throws Exception
     {
-        springContext.close();
+        if (springContext != null)
+        {
+            springContext.close();
+        }
+
         super.stop();
     }
 }
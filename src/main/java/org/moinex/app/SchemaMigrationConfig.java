@@ -0,0 +1,57 @@
+/*
+ * Filename: SchemaMigrationConfig.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import javax.sql.DataSource;
+import org.moinex.util.Constants;
+import org.moinex.util.SchemaMigration;
+import org.moinex.util.SchemaMigrationRunner;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Migrates the schema of the database before Hibernate starts
+ *
+ * Hibernate no longer creates or updates the schema, so the entity manager
+ * factory depends on the runner, which has applied every migration by the time
+ * it is created
+ */
+@Configuration
+@ConditionalOnProperty(name           = "moinex.migrations.enabled",
+                       havingValue    = "true",
+                       matchIfMissing = true)
+@Import(SchemaMigrationConfig.EntityManagerFactoryDependsOnMigrations.class)
+public class SchemaMigrationConfig
+{
+    public SchemaMigrationConfig() { }
+
+    @Bean
+    public SchemaMigrationRunner
+    SchemaMigrationRunner(DataSource                      dataSource,
+                          ObjectProvider<SchemaMigration> javaMigrations)
+    {
+        SchemaMigrationRunner runner =
+            new SchemaMigrationRunner(dataSource,
+                                      Constants.SCHEMA_MIGRATIONS_LOCATION,
+                                      javaMigrations.orderedStream().toList());
+        runner.Migrate();
+        return runner;
+    }
+
+    static class EntityManagerFactoryDependsOnMigrations
+        extends EntityManagerFactoryDependsOnPostProcessor
+    {
+        EntityManagerFactoryDependsOnMigrations()
+        {
+            super("SchemaMigrationRunner");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Filename: SecondLevelCacheConfig.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.moinex.util.Constants;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the Caffeine cache manager used by the second-level cache of Hibernate
+ *
+ * Hibernate looks the configuration URI up as a resource and hands Caffeine the
+ * resulting file or jar URL, which Caffeine can't read from inside the jar. The
+ * manager is created here with the classpath URI, which Caffeine resolves itself
+ */
+@Configuration
+@ConditionalOnProperty(
+    name        = "spring.jpa.properties.hibernate.cache.use_second_level_cache",
+    havingValue = "true")
+public class SecondLevelCacheConfig
+{
+    public SecondLevelCacheConfig() { }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager SecondLevelCacheManager()
+    {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create(Constants.SECOND_LEVEL_CACHE_CONFIG),
+                             SecondLevelCacheConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer
+    SecondLevelCacheCustomizer(CacheManager secondLevelCacheManager)
+    {
+        return properties
+            -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Filename: TransactionConfig.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.moinex.services.DataVersionService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Creates the transaction manager, which changes the data version after each
+ * commit of a transaction that is not read-only, once the callbacks run after the
+ * commit have updated the in-memory stores
+ *
+ * Every write of the services, JPA or JDBC, runs in a transaction of this manager,
+ * so the commits are counted in a single place. Only the outermost transaction
+ * commits, and a read-write transaction that wrote nothing still changes the
+ * version, which only costs the results cached at the previous one
+ */
+@Configuration
+public class TransactionConfig
+{
+    public TransactionConfig() { }
+
+    @Bean(name = "transactionManager")
+    public PlatformTransactionManager
+    TransactionManager(EntityManagerFactory entityManagerFactory,
+                       DataVersionService   dataVersionService,
+                       ObjectProvider<TransactionManagerCustomizers> customizers)
+    {
+        JpaTransactionManager transactionManager =
+            new JpaTransactionManager(entityManagerFactory) {
+                @Override
+                protected void doCommit(DefaultTransactionStatus status)
+                {
+                    super.doCommit(status);
+
+                    if (status.isReadOnly())
+                    {
+                        return;
+                    }
+
+                    if (!status.isNewSynchronization())
+                    {
+                        dataVersionService.MarkChanged();
+                        return;
+                    }
+
+                    // The in-memory stores are updated by the afterCommit callbacks,
+                    // which all run before the afterCompletion ones, so a result
+                    // computed from a store that misses the commit is never tagged
+                    // with the new version
+                    TransactionSynchronizationManager.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public void afterCompletion(int completionStatus)
+                            {
+                                if (completionStatus == STATUS_COMMITTED)
+                                {
+                                    dataVersionService.MarkChanged();
+                                }
+                            }
+                        });
+                }
+            };
+
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+
+        return transactionManager;
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ * Filename: CommandLineInterface.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.cli;
+
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.moinex.api.QueryApiServer;
+import org.moinex.entities.Wallet;
+import org.moinex.services.BalanceLedgerService;
+import org.moinex.services.CSVImportService;
+import org.moinex.services.DataExportService;
+import org.moinex.services.IntegrityCheckService;
+import org.moinex.services.RecurringTransactionService;
+import org.moinex.services.ReportService;
+import org.moinex.services.WalletService;
+import org.moinex.util.CSVImportProgress;
+import org.moinex.util.Constants;
+import org.moinex.util.DataExportProgress;
+import org.moinex.util.ExportFormat;
+import org.moinex.util.PeriodSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the commands of the command line interface
+ *
+ * The commands use the same services as the user interface. Their results are
+ * written as lines of tab-separated names and values as soon as they are
+ * produced, so long imports, exports and checks can be followed and piped to
+ * other programs. Errors are written to the error output
+ */
+@Component
+public class CommandLineInterface
+{
+    public static final int EXIT_OK      = 0;
+    public static final int EXIT_FAILURE = 1;
+    public static final int EXIT_USAGE   = 2;
+
+    @Autowired
+    private ReportService m_reportService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Autowired
+    private CSVImportService m_csvImportService;
+
+    @Autowired
+    private DataExportService m_dataExportService;
+
+    @Autowired
+    private RecurringTransactionService m_recurringTransactionService;
+
+    @Autowired
+    private IntegrityCheckService m_integrityCheckService;
+
+    @Autowired
+    private QueryApiServer m_queryApiServer;
+
+    private static final String[] USAGE = {
+        "Usage: moinex-cli [--property=value...] <command> [arguments]",
+        "",
+        "Commands:",
+        "  summary month [YYYY-MM]     Incomes and expenses of a month",
+        "  summary year [YYYY]         Incomes and expenses of a year",
+        "  balance [YYYY-MM-DD]        Balance of the wallets, now or at the end of a "
+            + "day",
+        "  import <table> <file> <csv-column>=<column>... "
+            + "[--default <column>=<value>]...",
+        "                              Import a CSV file. Without columns, lists the "
+            + "columns",
+        "  export <directory> [--format csv|columnar] [--gzip] [--from YYYY-MM-DD] "
+            + "[--to YYYY-MM-DD]",
+        "                              Export the tables, one file per table",
+        "  recurring                   Create the due transactions of the recurring "
+            + "transactions",
+        "  check                       Check the integrity of the database",
+        "  serve [--port N]            Serve the read-only query API on localhost "
+            + "until stopped",
+        "  help                        Show this message",
+        "",
+        "The properties before the command configure the application, such as",
+        "--spring.datasource.url=jdbc:sqlite:/path/to/moinex.db"
+    };
+
+    public CommandLineInterface() { }
+
+    /**
+     * Write the usage of the commands
+     * @param out The output
+     */
+    public static void PrintUsage(PrintWriter out)
+    {
+        for (String line : USAGE)
+        {
+            out.println(line);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Run a command
+     * @param args The command and its arguments
+     * @param out The output of the results
+     * @param err The output of the errors
+     * @return The exit status: EXIT_OK, EXIT_FAILURE if the command failed or found
+     *     problems, or EXIT_USAGE if the arguments are invalid
+     */
+    public int Run(List<String> args, PrintWriter out, PrintWriter err)
+    {
+        if (args.isEmpty())
+        {
+            PrintUsage(err);
+            return EXIT_USAGE;
+        }
+
+        List<String> arguments = args.subList(1, args.size());
+
+        try
+        {
+            switch (args.get(0))
+            {
+                case "summary":
+                    return Summary(new Arguments(arguments), out);
+                case "balance":
+                    return Balance(new Arguments(arguments), out);
+                case "import":
+                    return Import(
+                        new Arguments(arguments, Set.of("--default"), Set.of()),
+                        out,
+                        err);
+                case "export":
+                    return Export(new Arguments(arguments,
+                                                Set.of("--format", "--from", "--to"),
+                                                Set.of("--gzip")),
+                                  out);
+                case "recurring":
+                    return Recurring(new Arguments(arguments), out);
+                case "check":
+                    return Check(new Arguments(arguments), out);
+                case "serve":
+                    return Serve(new Arguments(arguments, Set.of("--port"), Set.of()),
+                                 out);
+                case "help":
+                    PrintUsage(out);
+                    return EXIT_OK;
+                default:
+                    throw new IllegalArgumentException("Unknown command " +
+                                                       args.get(0));
+            }
+        }
+        catch (IllegalArgumentException | DateTimeParseException e)
+        {
+            out.flush();
+            err.println("Error: " + e.getMessage());
+            err.println("Run moinex-cli help for the usage");
+            err.flush();
+            return EXIT_USAGE;
+        }
+        catch (RuntimeException e)
+        {
+            out.flush();
+            err.println("Error: " + e.getMessage());
+            err.flush();
+            return EXIT_FAILURE;
+        }
+        finally
+        {
+            out.flush();
+        }
+    }
+
+    private int Summary(Arguments arguments, PrintWriter out)
+    {
+        arguments.ExpectPositional(1, 2);
+
+        PeriodSummary summary;
+
+        switch (arguments.GetPositional(0))
+        {
+            case "month":
+                summary = m_reportService.GetMonthSummary(
+                    arguments.GetPositionalCount() > 1
+                        ? YearMonth.parse(arguments.GetPositional(1))
+                        : YearMonth.now());
+                break;
+            case "year":
+                summary = m_reportService.GetYearSummary(
+                    arguments.GetPositionalCount() > 1
+                        ? Year.parse(arguments.GetPositional(1))
+                        : Year.now());
+                break;
+            default:
+                throw new IllegalArgumentException("The period must be month or year");
+        }
+
+        Print(out, "from", summary.GetFrom());
+        Print(out, "to", summary.GetTo());
+        Print(out, "confirmed_income", summary.GetConfirmedIncome());
+        Print(out, "confirmed_expenses", summary.GetConfirmedExpenses());
+        Print(out, "balance", summary.GetBalance());
+        Print(out, "savings_percentage", Percentage(summary.GetSavingsPercentage()));
+        Print(out, "foreseen_income", summary.GetForeseenIncome());
+        Print(out, "foreseen_expenses", summary.GetForeseenExpenses());
+        Print(out, "foreseen_balance", summary.GetForeseenBalance());
+        Print(out,
+              "foreseen_savings_percentage",
+              Percentage(summary.GetForeseenSavingsPercentage()));
+        Print(out, "credit_card_debt", summary.GetCreditCardDebt());
+        Print(out,
+              "credit_card_pending_payments",
+              summary.GetCreditCardPendingPayments());
+
+        return EXIT_OK;
+    }
+
+    private int Balance(Arguments arguments, PrintWriter out)
+    {
+        arguments.ExpectPositional(0, 1);
+
+        LocalDate date = arguments.GetPositionalCount() > 0
+                             ? LocalDate.parse(arguments.GetPositional(0))
+                             : null;
+
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (Wallet wallet : m_walletService.GetAllNonArchivedWalletsOrderedByName())
+        {
+            BigDecimal balance =
+                date == null ? wallet.GetBalance()
+                             : m_balanceLedgerService.GetBalanceAt(
+                                   wallet.GetId(),
+                                   date.atTime(LocalTime.MAX));
+
+            Print(out, wallet.GetName(), balance);
+            total = total.add(balance);
+        }
+
+        Print(out, "total", total);
+
+        return EXIT_OK;
+    }
+
+    private int Import(Arguments arguments, PrintWriter out, PrintWriter err)
+    {
+        arguments.ExpectPositional(2, Integer.MAX_VALUE);
+
+        String table = arguments.GetPositional(0);
+        Path   file  = Path.of(arguments.GetPositional(1));
+
+        if (!m_csvImportService.GetImportableTables().contains(table))
+        {
+            throw new IllegalArgumentException(
+                "Table " + table + " can't be imported. The importable tables are " +
+                String.join(", ", m_csvImportService.GetImportableTables()));
+        }
+
+        if (arguments.GetPositionalCount() == 2)
+        {
+            for (String column : m_csvImportService.GetImportableColumns(table))
+            {
+                out.println(column);
+            }
+
+            err.println("Error: Map the CSV columns to the columns above");
+            err.flush();
+
+            return EXIT_USAGE;
+        }
+
+        Map<String, String> columnMapping = new LinkedHashMap<>();
+
+        for (String mapping : arguments.GetPositionalFrom(2))
+        {
+            String[] pair = SplitPair(mapping);
+            columnMapping.put(pair[0], pair[1]);
+        }
+
+        Map<String, String> defaultValues = new HashMap<>();
+
+        for (String value : arguments.GetOptions("--default"))
+        {
+            String[] pair = SplitPair(value);
+            defaultValues.put(pair[0], pair[1]);
+        }
+
+        int[] lastPercent = { -1 };
+
+        CSVImportProgress result = m_csvImportService.Import(
+            file,
+            table,
+            columnMapping,
+            defaultValues,
+            progress -> {
+                int percent = (int)(progress.GetFraction() * 100);
+
+                if (percent != lastPercent[0])
+                {
+                    lastPercent[0] = percent;
+                    Print(out, "progress", percent + "%");
+                    out.flush();
+                }
+            });
+
+        Print(out, "rows_read", result.GetRowsRead());
+        Print(out, "rows_imported", result.GetRowsImported());
+        Print(out, "rows_rejected", result.GetRowsRejected());
+        Print(out, "rows_duplicated", result.GetRowsDuplicated());
+
+        for (String error : result.GetErrors())
+        {
+            Print(out, "error", error);
+        }
+
+        return result.GetRowsRejected() > 0 ? EXIT_FAILURE : EXIT_OK;
+    }
+
+    private int Export(Arguments arguments, PrintWriter out)
+    {
+        arguments.ExpectPositional(1, 1);
+
+        String format = arguments.GetOption("--format", "csv");
+        String from   = arguments.GetOption("--from", null);
+        String to     = arguments.GetOption("--to", null);
+
+        String[] lastTable = { null };
+
+        DataExportProgress result = m_dataExportService.Export(
+            Path.of(arguments.GetPositional(0)),
+            ExportFormat.valueOf(format.toUpperCase(Locale.ROOT)),
+            arguments.HasFlag("--gzip"),
+            from != null ? LocalDate.parse(from) : null,
+            to != null ? LocalDate.parse(to) : null,
+            progress -> {
+                String table = progress.GetCurrentTable();
+
+                if (table != null && !table.equals(lastTable[0]))
+                {
+                    lastTable[0] = table;
+                    Print(out, "table", table);
+                    out.flush();
+                }
+            });
+
+        Print(out, "tables_exported", result.GetTablesExported());
+        Print(out, "rows_exported", result.GetRowsExported());
+        Print(out, "bytes_written", result.GetBytesWritten());
+
+        return EXIT_OK;
+    }
+
+    private int Recurring(Arguments arguments, PrintWriter out)
+    {
+        arguments.ExpectPositional(0, 0);
+
+        // The same steps the user interface runs at startup, since the ledger is
+        // needed by the checkpoints of the months closed since the last run
+        Print(out,
+              "wallets_history_recorded",
+              m_balanceLedgerService.RecordMissingHistory());
+        Print(out,
+              "transactions_created",
+              m_recurringTransactionService.ProcessRecurringTransactions());
+        Print(out, "checkpoints_created", m_balanceLedgerService.CreateCheckpoints());
+
+        return EXIT_OK;
+    }
+
+    private int Check(Arguments arguments, PrintWriter out)
+    {
+        arguments.ExpectPositional(0, 0);
+
+        int problems = m_integrityCheckService.Check(
+            issue -> Print(out, issue.GetCheck(), issue.GetDescription()));
+
+        Print(out, "problems", problems);
+
+        return problems > 0 ? EXIT_FAILURE : EXIT_OK;
+    }
+
+    private int Serve(Arguments arguments, PrintWriter out)
+    {
+        arguments.ExpectPositional(0, 0);
+
+        int port = Integer.parseInt(
+            arguments.GetOption("--port", String.valueOf(Constants.API_DEFAULT_PORT)));
+
+        m_queryApiServer.Listen(port);
+
+        Print(out, "url", m_queryApiServer.GetUrl());
+        out.flush();
+
+        // Until the context is closed, e.g., when the process is terminated
+        try
+        {
+            m_queryApiServer.AwaitStop();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return EXIT_OK;
+    }
+
+    private static void Print(PrintWriter out, String name, Object value)
+    {
+        out.print(name);
+        out.print('\t');
+        out.println(value instanceof BigDecimal decimal ? decimal.toPlainString()
+                                                         : value);
+    }
+
+    private static String Percentage(double percentage)
+    {
+        return String.format(Locale.ROOT, "%.2f", percentage);
+    }
+
+    private static String[] SplitPair(String pair)
+    {
+        int separator = pair.indexOf('=');
+
+        if (separator <= 0)
+        {
+            throw new IllegalArgumentException("Expected <name>=<value>, got " + pair);
+        }
+
+        return new String[] { pair.substring(0, separator),
+                              pair.substring(separator + 1) };
+    }
+
+    /**
+     * The positional arguments and the options of a command
+     *
+     * Options are written as --name value or --name=value and may be repeated.
+     * Flags are options without a value
+     * @throws IllegalArgumentException If an option is unknown or has no value
+     */
+    private static final class Arguments
+    {
+        private final List<String>              positional = new ArrayList<>();
+        private final Map<String, List<String>> options    = new HashMap<>();
+
+        Arguments(List<String> args)
+        {
+            this(args, Set.of(), Set.of());
+        }
+
+        Arguments(List<String> args, Set<String> valueOptions, Set<String> flags)
+        {
+            for (int i = 0; i < args.size(); i++)
+            {
+                String arg = args.get(i);
+
+                if (!arg.startsWith("--"))
+                {
+                    positional.add(arg);
+                    continue;
+                }
+
+                int    separator = arg.indexOf('=');
+                String name      = separator < 0 ? arg : arg.substring(0, separator);
+                String value;
+
+                if (flags.contains(name))
+                {
+                    value = "true";
+                }
+                else if (!valueOptions.contains(name))
+                {
+                    throw new IllegalArgumentException("Unknown option " + name);
+                }
+                else if (separator >= 0)
+                {
+                    value = arg.substring(separator + 1);
+                }
+                else if (i + 1 < args.size())
+                {
+                    value = args.get(++i);
+                }
+                else
+                {
+                    throw new IllegalArgumentException("Option " + name +
+                                                       " requires a value");
+                }
+
+                options.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+            }
+        }
+
+        void ExpectPositional(int min, int max)
+        {
+            if (positional.size() < min || positional.size() > max)
+            {
+                throw new IllegalArgumentException("Wrong number of arguments");
+            }
+        }
+
+        int GetPositionalCount()
+        {
+            return positional.size();
+        }
+
+        String GetPositional(int index)
+        {
+            return positional.get(index);
+        }
+
+        List<String> GetPositionalFrom(int index)
+        {
+            return positional.subList(index, positional.size());
+        }
+
+        List<String> GetOptions(String name)
+        {
+            return options.getOrDefault(name, List.of());
+        }
+
+        String GetOption(String name, String defaultValue)
+        {
+            List<String> values = GetOptions(name);
+            return values.isEmpty() ? defaultValue : values.get(values.size() - 1);
+        }
+
+        boolean HasFlag(String name)
+        {
+            return options.containsKey(name);
+        }
+    }
+}
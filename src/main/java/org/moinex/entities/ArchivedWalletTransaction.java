@@ -0,0 +1,89 @@
+/*
+ * Filename: ArchivedWalletTransaction.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.Immutable;
+import org.moinex.util.Constants;
+import org.moinex.util.TransactionStatus;
+
+/**
+ * Represents a transaction whose wallet or category is archived
+ *
+ * Archiving a wallet or a category moves its transactions from the
+ * wallet_transaction table to this one, keeping their ids, and unarchiving moves
+ * them back. The rows are only written by those bulk moves
+ */
+@Entity
+@Immutable
+@Table(name    = "wallet_transaction_archive",
+       indexes = { @Index(name       = "wallet_transaction_archive_wallet_idx",
+                          columnList = "wallet_id, date"),
+                   @Index(name       = "wallet_transaction_archive_category_idx",
+                          columnList = "category_id") })
+public class ArchivedWalletTransaction extends BaseTransaction
+{
+    // The id the transaction had, and has again, in the wallet_transaction table
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "date", nullable = false)
+    private String date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    /**
+     * Default constructor for JPA
+     */
+    public ArchivedWalletTransaction() { }
+
+    /**
+     * Get the transaction id
+     * @return The transaction id
+     */
+    public Long GetId()
+    {
+        return id;
+    }
+
+    /**
+     * Get the date of the transaction
+     * @return The date of the transaction
+     */
+    public LocalDateTime GetDate()
+    {
+        return LocalDateTime.parse(date, Constants.DB_DATE_FORMATTER);
+    }
+
+    /**
+     * Get the status of the transaction
+     * @return The status of the transaction
+     */
+    public TransactionStatus GetStatus()
+    {
+        return status;
+    }
+
+    /**
+     * Get a copy of the transaction as a WalletTransaction
+     * @return The copy, not managed by the persistence context
+     */
+    public WalletTransaction ToWalletTransaction()
+    {
+        return new WalletTransaction(this);
+    }
+}
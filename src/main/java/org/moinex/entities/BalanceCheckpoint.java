@@ -0,0 +1,100 @@
+/*
+ * Filename: BalanceCheckpoint.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Represents the balance of a wallet at the end of a month
+ *
+ * A checkpoint is the sum of the ledger entries of the wallet up to the end of
+ * the month, kept so the balance at a date does not require summing the whole
+ * ledger
+ */
+@Entity
+@Table(name    = "balance_checkpoint",
+       indexes = { @Index(name       = "idx_balance_checkpoint_wallet_period",
+                          columnList = "wallet_id, period") })
+public class BalanceCheckpoint
+{
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "wallet_id", referencedColumnName = "id", nullable = false)
+    private Wallet wallet;
+
+    // The month, formatted as yyyy-MM, the prefix of the dates of the month
+    @Column(name = "period", nullable = false, length = 7)
+    private String period;
+
+    // Stored in cents, as the amounts of the ledger
+    @Column(name = "balance", nullable = false)
+    private Long balance;
+
+    /**
+     * Default constructor for JPA
+     */
+    public BalanceCheckpoint() { }
+
+    /**
+     * Get the id of the checkpoint
+     * @return The id of the checkpoint
+     */
+    public Long GetId()
+    {
+        return id;
+    }
+
+    /**
+     * Get the wallet of the checkpoint
+     * @return The wallet
+     */
+    public Wallet GetWallet()
+    {
+        return wallet;
+    }
+
+    /**
+     * Get the month of the checkpoint
+     * @return The month
+     */
+    public YearMonth GetPeriod()
+    {
+        return YearMonth.parse(period);
+    }
+
+    /**
+     * Get the balance of the wallet at the end of the month
+     * @return The balance
+     */
+    public BigDecimal GetBalance()
+    {
+        return BigDecimal.valueOf(balance, 2);
+    }
+
+    /**
+     * Get the balance of the wallet at the end of the month in cents
+     * @return The balance in cents
+     */
+    public Long GetBalanceInCents()
+    {
+        return balance;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Filename: BalanceLedgerEntry.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.moinex.util.Constants;
+
+/**
+ * Represents a change in the balance of a wallet
+ *
+ * The ledger is append-only: a change is never updated, it is reverted by a new
+ * entry with the opposite amount. The date is the date from which the change
+ * applies, e.g., the date of the transaction, and not when it was recorded
+ */
+@Entity
+@Table(name    = "balance_ledger",
+       indexes = { @Index(name       = "idx_balance_ledger_wallet_date",
+                          columnList = "wallet_id, date") })
+public class BalanceLedgerEntry
+{
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "wallet_id", referencedColumnName = "id", nullable = false)
+    private Wallet wallet;
+
+    @Column(name = "date", nullable = false)
+    private String date;
+
+    // Stored in cents, so the sums done by the database are exact
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    @Column(name = "recorded_at", nullable = false)
+    private String recordedAt;
+
+    /**
+     * Default constructor for JPA
+     */
+    public BalanceLedgerEntry() { }
+
+    /**
+     * Get the id of the entry
+     * @return The id of the entry
+     */
+    public Long GetId()
+    {
+        return id;
+    }
+
+    /**
+     * Get the wallet whose balance changed
+     * @return The wallet
+     */
+    public Wallet GetWallet()
+    {
+        return wallet;
+    }
+
+    /**
+     * Get the date from which the change applies
+     * @return The date of the change
+     */
+    public LocalDateTime GetDate()
+    {
+        return LocalDateTime.parse(date, Constants.DB_DATE_FORMATTER);
+    }
+
+    /**
+     * Get the amount added to the balance
+     * @return The amount, negative if the balance decreased
+     */
+    public BigDecimal GetAmount()
+    {
+        return BigDecimal.valueOf(amount, 2);
+    }
+
+    /**
+     * Get the date when the change was recorded
+     * @return The date of the record
+     */
+    public LocalDateTime GetRecordedAt()
+    {
+        return LocalDateTime.parse(recordedAt, Constants.DB_DATE_FORMATTER);
+    }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MappedSuperclass;
 import java.math.BigDecimal;
+import org.moinex.util.ImportableColumn;
 import org.moinex.util.TransactionType;
 
 /**
@@ -23,20 +24,25 @@ public abstract class BaseTransaction
 {
     @ManyToOne
     @JoinColumn(name = "wallet_id", referencedColumnName = "id", nullable = false)
+    @ImportableColumn(name = "wallet", required = true)
     private Wallet wallet;
 
     @ManyToOne
     @JoinColumn(name = "category_id", referencedColumnName = "id", nullable = false)
+    @ImportableColumn(name = "category", required = true)
     private Category category;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false)
+    @ImportableColumn
     private TransactionType type;
 
     @Column(name = "amount", nullable = false, scale = 2)
+    @ImportableColumn(required = true)
     private BigDecimal amount;
 
     @Column(name = "description", nullable = true)
+    @ImportableColumn
     private String description;
 
     /**
@@ -6,18 +6,26 @@
 
 package org.moinex.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.moinex.util.Importable;
+import org.moinex.util.ImportableColumn;
 
 /**
  * Represents a category of expenses and incomes
  */
 @Entity
+@Importable
 @Table(name = "category")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category
 {
     @Id
@@ -26,6 +34,7 @@ public class Category
     private Long id;
 
     @Column(name = "name", nullable = false, length = 50)
+    @ImportableColumn(required = true)
     private String name;
 
     @Column(name = "archived", nullable = false)
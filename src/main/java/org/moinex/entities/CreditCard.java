@@ -6,6 +6,7 @@
 
 package org.moinex.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -15,14 +16,21 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.moinex.util.Importable;
+import org.moinex.util.ImportableColumn;
 
 /**
  * Represents a credit card
  */
 @Entity
+@Importable
 @Table(name = "credit_card")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class CreditCard
 {
     @Id
@@ -43,18 +51,23 @@ public class CreditCard
     private Wallet defaultBillingWallet;
 
     @Column(name = "name", nullable = false, length = 50, unique = true)
+    @ImportableColumn(required = true)
     private String name;
 
     @Column(name = "billing_due_day", nullable = false)
+    @ImportableColumn(required = true)
     private Integer billingDueDay;
 
     @Column(name = "closing_day", nullable = false)
+    @ImportableColumn(required = true)
     private Integer closingDay;
 
     @Column(name = "max_debt", nullable = false, scale = 2)
+    @ImportableColumn(required = true)
     private BigDecimal maxDebt;
 
     @Column(name = "last_four_digits", nullable = true, length = 4)
+    @ImportableColumn(required = true)
     private String lastFourDigits;
 
     @Column(name             = "archived",
@@ -17,12 +17,15 @@ import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.moinex.util.Constants;
+import org.moinex.util.Importable;
+import org.moinex.util.ImportableColumn;
 
 /**
  * Represents a credit card debt
  * A credit card debt is a debt that is associated with a credit card
  */
 @Entity
+@Importable
 @Table(name = "credit_card_debt")
 public class CreditCardDebt
 {
@@ -33,22 +36,28 @@ public class CreditCardDebt
 
     @ManyToOne
     @JoinColumn(name = "crc_id", referencedColumnName = "id", nullable = false)
+    @ImportableColumn(name = "credit_card", required = true)
     private CreditCard creditCard;
 
     @ManyToOne
     @JoinColumn(name = "category_id", referencedColumnName = "id", nullable = false)
+    @ImportableColumn(name = "category", required = true)
     private Category category;
 
     @Column(name = "date", nullable = false)
+    @ImportableColumn(required = true)
     private String date;
 
     @Column(name = "total_amount", nullable = false, scale = 2)
+    @ImportableColumn(name = "amount", required = true)
     private BigDecimal totalAmount;
 
     @Column(name = "installments", nullable = false)
+    @ImportableColumn
     private Integer installments;
 
     @Column(name = "description", nullable = true)
+    @ImportableColumn
     private String description;
 
     /**
@@ -6,12 +6,15 @@
 
 package org.moinex.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a credit card operator
@@ -19,6 +22,8 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "credit_card_operator")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class CreditCardOperator
 {
     @Id
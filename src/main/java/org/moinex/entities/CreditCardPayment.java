@@ -11,11 +11,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
 import org.moinex.util.Constants;
 
 /**
@@ -23,7 +27,9 @@ import org.moinex.util.Constants;
  * A credit card payment is a payment made to a credit card debt
  */
 @Entity
-@Table(name = "credit_card_payment")
+@Table(name    = "credit_card_payment",
+       indexes = { @Index(name       = "credit_card_payment_visible_idx",
+                          columnList = "visible, date") })
 public class CreditCardPayment
 {
     @Id
@@ -48,6 +54,11 @@ public class CreditCardPayment
     @Column(name = "installment", nullable = false)
     private Integer installment;
 
+    // False when the wallet that paid it or the category of the debt is archived
+    @ColumnDefault("1")
+    @Column(name = "visible", nullable = false)
+    private boolean visible = true;
+
     /**
      * Default constructor for JPA
      */
@@ -146,6 +157,16 @@ public class CreditCardPayment
         return installment;
     }
 
+    /**
+     * Check if the wallet that paid the payment and the category of the debt are
+     * not archived
+     * @return True if the payment is visible
+     */
+    public boolean IsVisible()
+    {
+        return visible;
+    }
+
     /**
      * Get total installments of the credit card debt
      * @return The total installments of the credit card debt
@@ -199,4 +220,17 @@ public class CreditCardPayment
     {
         this.installment = installment;
     }
+
+    /**
+     * Update the visible flag from the wallet and the category of the debt
+     * @note Archiving a wallet or a category updates the flag of its payments in
+     *    bulk, this only covers the payments saved through the entity
+     */
+    @PrePersist
+    @PreUpdate
+    private void UpdateVisible()
+    {
+        visible = (wallet == null || !wallet.IsArchived()) &&
+                  !creditCardDebt.GetCategory().IsArchived();
+    }
 }
@@ -16,13 +16,17 @@ import jakarta.persistence.Inheritance;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import org.moinex.util.Importable;
+import org.moinex.util.ImportableColumn;
 
 /**
  * Represents a wallet
  * A wallet is a container for money
  */
 @Entity
+@Importable
 @Inheritance(strategy = InheritanceType.JOINED)
 @Table(name = "wallet")
 public class Wallet
@@ -37,9 +41,11 @@ public class Wallet
     private WalletType type;
 
     @Column(name = "name", nullable = false, length = 50, unique = true)
+    @ImportableColumn(required = true)
     private String name;
 
     @Column(name = "balance", nullable = false, scale = 2)
+    @ImportableColumn
     private BigDecimal balance;
 
     @Column(name             = "archived",
@@ -47,6 +53,14 @@ public class Wallet
             columnDefinition = "boolean default false")
     private Boolean archived = false; // Default value is false
 
+    // Incremented on every update, so a balance computed from a stale copy of the
+    // wallet is never written
+    @Version
+    @Column(name             = "version",
+            nullable         = false,
+            columnDefinition = "integer default 0")
+    private Integer version;
+
     /**
      * Default constructor for JPA
      */
@@ -124,6 +138,15 @@ public class Wallet
         return balance;
     }
 
+    /**
+     * Get the version of the wallet
+     * @return The number of updates of the wallet
+     */
+    public Integer GetVersion()
+    {
+        return version;
+    }
+
     /**
      * Get the archived status of the wallet
      * @return True if the wallet is archived, false otherwise
@@ -13,10 +13,16 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
 import org.moinex.util.Constants;
+import org.moinex.util.Importable;
+import org.moinex.util.ImportableColumn;
 import org.moinex.util.TransactionStatus;
 import org.moinex.util.TransactionType;
 
@@ -24,7 +30,12 @@ import org.moinex.util.TransactionType;
  * Represents a transaction in a wallet
  */
 @Entity
-@Table(name = "wallet_transaction")
+@Importable
+@Table(name    = "wallet_transaction",
+       indexes = { @Index(name       = "wallet_transaction_visible_idx",
+                          columnList = "visible, date"),
+                   @Index(name       = "wallet_transaction_wallet_visible_idx",
+                          columnList = "wallet_id, visible, date") })
 public class WalletTransaction extends BaseTransaction
 {
     @Id
@@ -33,12 +44,23 @@ public class WalletTransaction extends BaseTransaction
     private Long id;
 
     @Column(name = "date", nullable = false)
+    @ImportableColumn(required = true)
     private String date;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
+    @ImportableColumn
     private TransactionStatus status;
 
+    // False when the wallet or the category is archived. The transactions are moved
+    // to the archive table when they are archived, so only the ones saved or moved
+    // to an archived wallet or category afterwards are kept here hidden, and shown
+    // again when it is unarchived. The indexes over the flag are kept for the
+    // queries of the non-archived transactions, see V6__transaction_archive.sql
+    @ColumnDefault("1")
+    @Column(name = "visible", nullable = false)
+    private boolean visible = true;
+
     /**
      * Default constructor for JPA
      */
@@ -68,6 +90,24 @@ public class WalletTransaction extends BaseTransaction
         this.status = status;
     }
 
+    /**
+     * Constructor for a copy of an archived transaction
+     * @param archived The archived transaction
+     */
+    WalletTransaction(ArchivedWalletTransaction archived)
+    {
+        super(archived.GetWallet(),
+              archived.GetCategory(),
+              archived.GetType(),
+              archived.GetAmount(),
+              archived.GetDescription());
+
+        this.id      = archived.GetId();
+        this.date    = archived.GetDate().format(Constants.DB_DATE_FORMATTER);
+        this.status  = archived.GetStatus();
+        this.visible = false;
+    }
+
     /**
      * Get the transaction id
      * @return The transaction id
@@ -112,4 +152,26 @@ public class WalletTransaction extends BaseTransaction
     {
         this.status = status;
     }
+
+    /**
+     * Check if the wallet and the category of the transaction are not archived
+     * @return True if the transaction is visible
+     */
+    public boolean IsVisible()
+    {
+        return visible;
+    }
+
+    /**
+     * Update the visible flag from the wallet and the category
+     * @note Archiving a wallet or a category moves its transactions to the
+     *    archive table in bulk, this only covers the transactions saved through
+     *    the entity, which are shown in bulk when it is unarchived
+     */
+    @PrePersist
+    @PreUpdate
+    private void UpdateVisible()
+    {
+        visible = !GetWallet().IsArchived() && !GetCategory().IsArchived();
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Filename: AddTrackingColumnsMigration.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.migrations;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.moinex.util.SchemaMigration;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the version of the wallets and the visible flag of the transactions and
+ * credit card payments
+ *
+ * The databases used by the versions before the migrations may already have
+ * some of these columns, added by Hibernate, and SQLite has no ADD COLUMN IF NOT
+ * EXISTS, so each column is only added if it is missing
+ */
+@Component
+public class AddTrackingColumnsMigration implements SchemaMigration
+{
+    public AddTrackingColumnsMigration() { }
+
+    @Override
+    public int GetVersion()
+    {
+        return 3;
+    }
+
+    @Override
+    public String GetDescription()
+    {
+        return "add tracking columns";
+    }
+
+    @Override
+    public void Migrate(Connection connection) throws SQLException
+    {
+        AddColumnIfMissing(connection,
+                           "wallet",
+                           "version",
+                           "integer default 0 not null");
+        AddColumnIfMissing(connection,
+                           "wallet_transaction",
+                           "visible",
+                           "boolean default 1 not null");
+        AddColumnIfMissing(connection,
+                           "credit_card_payment",
+                           "visible",
+                           "boolean default 1 not null");
+    }
+
+    /**
+     * Add a column to a table if the table does not have it
+     * @param connection The connection
+     * @param table The name of the table
+     * @param column The name of the column
+     * @param definition The type and constraints of the column
+     */
+    private static void AddColumnIfMissing(Connection connection,
+                                           String     table,
+                                           String     column,
+                                           String     definition) throws SQLException
+    {
+        try (ResultSet columns =
+                 connection.getMetaData().getColumns(null, null, table, column))
+        {
+            if (columns.next())
+            {
+                return;
+            }
+        }
+
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " +
+                              definition);
+        }
+    }
+}
@@ -0,0 +1,648 @@
+/*
+ * Filename: EntityIndexProcessor.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that indexes the entities and the Spring components at
+ * compile time, so nothing is found by scanning the classpath at runtime
+ *
+ * It generates the class org.moinex.entities.EntityRegistry, which lists each
+ * entity with its table, its columns and the columns that can be imported from
+ * a CSV file, and the file META-INF/spring.components, the candidate component
+ * index that Spring reads instead of scanning the packages for components,
+ * repositories and entities.
+ *
+ * @note Spring only trusts the index when it lists every candidate, so every
+ *    class of the application must be compiled with this processor
+ */
+public final class EntityIndexProcessor extends AbstractProcessor
+{
+    private static final String JPA        = "jakarta.persistence.";
+    private static final String STEREOTYPE = "org.springframework.stereotype.";
+
+    private static final String ENTITY            = JPA + "Entity";
+    private static final String MAPPED_SUPERCLASS = JPA + "MappedSuperclass";
+    private static final String TABLE             = JPA + "Table";
+    private static final String COLUMN            = JPA + "Column";
+    private static final String JOIN_COLUMN       = JPA + "JoinColumn";
+    private static final String PRIMARY_KEY_JOIN  = JPA + "PrimaryKeyJoinColumn";
+    private static final String INHERITANCE       = JPA + "Inheritance";
+    private static final String ID                = JPA + "Id";
+    private static final String TRANSIENT         = JPA + "Transient";
+    private static final String MANY_TO_ONE       = JPA + "ManyToOne";
+    private static final String ONE_TO_ONE        = JPA + "OneToOne";
+    private static final String IMPORTABLE        = "org.moinex.util.Importable";
+    private static final String IMPORTABLE_COLUMN = "org.moinex.util.ImportableColumn";
+    private static final String INDEXED           = STEREOTYPE + "Indexed";
+    private static final String REGISTRY_PACKAGE  = "org.moinex.entities";
+    private static final String REGISTRY_CLASS    = "EntityRegistry";
+    private static final String COMPONENTS_INDEX  = "META-INF/spring.components";
+
+    // Mappings without a column in the table of the entity
+    private static final Set<String> NO_COLUMN =
+        Set.of(TRANSIENT,
+               JPA + "OneToMany",
+               JPA + "ManyToMany",
+               JPA + "ElementCollection");
+
+    // Mappings whose columns are not named after the field
+    private static final Set<String> UNSUPPORTED =
+        Set.of(JPA + "Embedded", JPA + "EmbeddedId", JPA + "JoinColumns");
+
+    private final List<TypeElement>        m_entities   = new ArrayList<>();
+    private final Map<String, Set<String>> m_components = new TreeMap<>();
+    private boolean                        m_generated  = false;
+
+    public EntityIndexProcessor() { }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes()
+    {
+        // Every class is visited, since the components are also found by their
+        // supertypes
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations,
+                           RoundEnvironment           roundEnv)
+    {
+        for (Element element : roundEnv.getRootElements())
+        {
+            Visit(element);
+        }
+
+        if (!m_generated && !m_entities.isEmpty())
+        {
+            WriteRegistry();
+            m_generated = true;
+        }
+
+        if (roundEnv.processingOver() && !m_components.isEmpty())
+        {
+            WriteComponentsIndex();
+        }
+
+        return false;
+    }
+
+    /**
+     * Index a type and its static member types
+     */
+    private void Visit(Element element)
+    {
+        if (!(element instanceof TypeElement type))
+        {
+            return;
+        }
+
+        if (HasAnnotation(type, ENTITY))
+        {
+            m_entities.add(type);
+        }
+
+        Set<String> stereotypes = GetStereotypes(type);
+
+        if (!stereotypes.isEmpty())
+        {
+            m_components.put(processingEnv.getElementUtils()
+                                 .getBinaryName(type)
+                                 .toString(),
+                             stereotypes);
+        }
+
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements()))
+        {
+            if (member.getModifiers().contains(Modifier.STATIC) ||
+                member.getKind() != ElementKind.CLASS)
+            {
+                Visit(member);
+            }
+        }
+    }
+
+    /**
+     * Get the stereotypes of a type in the candidate component index, as Spring
+     * defines them: the jakarta annotations present on the type, the annotations
+     * meta-annotated with @Indexed, such as @Component and its specializations,
+     * and the supertypes annotated with @Indexed, such as Repository
+     */
+    private Set<String> GetStereotypes(TypeElement type)
+    {
+        Set<String> stereotypes = new LinkedHashSet<>();
+
+        if (!type.getKind().isClass() && type.getKind() != ElementKind.INTERFACE)
+        {
+            return stereotypes;
+        }
+
+        for (AnnotationMirror annotation : type.getAnnotationMirrors())
+        {
+            String name = NameOf(annotation);
+
+            if (name.startsWith("jakarta."))
+            {
+                stereotypes.add(name);
+            }
+        }
+
+        CollectIndexedAnnotations(type, stereotypes, new HashSet<>());
+        CollectIndexedSupertypes(type, stereotypes, new HashSet<>());
+
+        return stereotypes;
+    }
+
+    private void CollectIndexedAnnotations(Element     element,
+                                           Set<String> stereotypes,
+                                           Set<String> seen)
+    {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors())
+        {
+            Element annotationType = annotation.getAnnotationType().asElement();
+
+            if (!seen.add(NameOf(annotation)))
+            {
+                continue;
+            }
+
+            if (HasAnnotation(annotationType, INDEXED))
+            {
+                stereotypes.add(NameOf(annotation));
+            }
+
+            CollectIndexedAnnotations(annotationType, stereotypes, seen);
+        }
+    }
+
+    private void CollectIndexedSupertypes(TypeElement type,
+                                          Set<String> stereotypes,
+                                          Set<String> seen)
+    {
+        String name = type.getQualifiedName().toString();
+
+        if (!seen.add(name))
+        {
+            return;
+        }
+
+        if (HasAnnotation(type, INDEXED))
+        {
+            stereotypes.add(name);
+        }
+
+        List<TypeMirror> supertypes = new ArrayList<>(type.getInterfaces());
+        supertypes.add(type.getSuperclass());
+
+        for (TypeMirror supertype : supertypes)
+        {
+            if (supertype.getKind() == TypeKind.DECLARED)
+            {
+                CollectIndexedSupertypes(
+                    (TypeElement)((DeclaredType)supertype).asElement(),
+                    stereotypes,
+                    seen);
+            }
+        }
+    }
+
+    /**
+     * Generate the entity registry
+     */
+    private void WriteRegistry()
+    {
+        StringBuilder entries = new StringBuilder();
+
+        m_entities.sort((a, b) -> a.getSimpleName().toString().compareTo(
+                                      b.getSimpleName().toString()));
+
+        for (TypeElement entity : m_entities)
+        {
+            List<String> columns    = new ArrayList<>();
+            List<String> required   = new ArrayList<>();
+            List<String> optional   = new ArrayList<>();
+            boolean      importable = HasAnnotation(entity, IMPORTABLE);
+
+            String keyColumn = GetInheritedKeyColumn(entity);
+
+            if (keyColumn != null)
+            {
+                columns.add(keyColumn);
+            }
+
+            for (VariableElement field : GetMappedFields(entity))
+            {
+                String column = GetColumnName(field);
+                columns.add(column);
+
+                AnnotationMirror importableColumn =
+                    GetAnnotation(field, IMPORTABLE_COLUMN);
+
+                if (importable && importableColumn != null)
+                {
+                    String name = (String)GetValue(importableColumn, "name");
+                    name        = name.isEmpty() ? column : name;
+
+                    if ((Boolean)GetValue(importableColumn, "required"))
+                    {
+                        required.add(name);
+                    }
+                    else
+                    {
+                        optional.add(name);
+                    }
+                }
+            }
+
+            if (importable && required.isEmpty() && optional.isEmpty())
+            {
+                Error(entity, "Importable entity has no importable columns");
+            }
+
+            List<String> importableColumns = new ArrayList<>(required);
+            importableColumns.addAll(optional);
+
+            entries.append(entries.length() == 0 ? "" : ",\n")
+                .append("            new EntityDescriptor(")
+                .append(entity.getSimpleName())
+                .append(".class,\n")
+                .append("                                 ")
+                .append(Literal(GetTableName(entity)))
+                .append(",\n")
+                .append("                                 ")
+                .append(ListLiteral(columns))
+                .append(",\n")
+                .append("                                 ")
+                .append(ListLiteral(importableColumns))
+                .append(",\n")
+                .append("                                 ")
+                .append(ListLiteral(required))
+                .append(")");
+        }
+
+        String source =
+            "/*\n"
+            + " * Filename: " + REGISTRY_CLASS + ".java\n"
+            + " * Generated by " + EntityIndexProcessor.class.getName() + "\n"
+            + " */\n"
+            + "\n"
+            + "package " + REGISTRY_PACKAGE + ";\n"
+            + "\n"
+            + "import java.util.List;\n"
+            + "import javax.annotation.processing.Generated;\n"
+            + "import org.moinex.util.EntityDescriptor;\n"
+            + "\n"
+            + "/**\n"
+            + " * The entities of the application, indexed at compile time\n"
+            + " */\n"
+            + "@Generated(\"" + EntityIndexProcessor.class.getName() + "\")\n"
+            + "public final class " + REGISTRY_CLASS + "\n"
+            + "{\n"
+            + "    private static final List<EntityDescriptor> ENTITIES =\n"
+            + "        List.of(\n"
+            + entries + ");\n"
+            + "\n"
+            + "    private static final List<EntityDescriptor> IMPORTABLE_ENTITIES =\n"
+            + "        ENTITIES.stream()\n"
+            + "            .filter(EntityDescriptor::IsImportable)\n"
+            + "            .toList();\n"
+            + "\n"
+            + "    private " + REGISTRY_CLASS + "() { }\n"
+            + "\n"
+            + "    /**\n"
+            + "     * Get all the entities\n"
+            + "     * @return The entities, sorted by name\n"
+            + "     */\n"
+            + "    public static List<EntityDescriptor> GetEntities()\n"
+            + "    {\n"
+            + "        return ENTITIES;\n"
+            + "    }\n"
+            + "\n"
+            + "    /**\n"
+            + "     * Get the entities that can be imported from a CSV file\n"
+            + "     * @return The importable entities, sorted by name\n"
+            + "     */\n"
+            + "    public static List<EntityDescriptor> GetImportableEntities()\n"
+            + "    {\n"
+            + "        return IMPORTABLE_ENTITIES;\n"
+            + "    }\n"
+            + "\n"
+            + "    /**\n"
+            + "     * Find an entity by name\n"
+            + "     * @param name The entity name\n"
+            + "     * @return The entity, or null if there is no entity with the name\n"
+            + "     */\n"
+            + "    public static EntityDescriptor Find(String name)\n"
+            + "    {\n"
+            + "        for (EntityDescriptor entity : ENTITIES)\n"
+            + "        {\n"
+            + "            if (entity.GetName().equals(name))\n"
+            + "            {\n"
+            + "                return entity;\n"
+            + "            }\n"
+            + "        }\n"
+            + "\n"
+            + "        return null;\n"
+            + "    }\n"
+            + "}\n";
+
+        try
+        {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                REGISTRY_PACKAGE + "." + REGISTRY_CLASS,
+                m_entities.toArray(new Element[0]));
+
+            try (Writer writer = file.openWriter())
+            {
+                writer.write(source);
+            }
+        }
+        catch (IOException e)
+        {
+            Error(null, "Failed to write the entity registry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the candidate component index
+     */
+    private void WriteComponentsIndex()
+    {
+        try
+        {
+            FileObject file = processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT,
+                "",
+                COMPONENTS_INDEX);
+
+            try (Writer writer = file.openWriter())
+            {
+                writer.write("# Generated by " + EntityIndexProcessor.class.getName() +
+                             "\n");
+
+                for (Map.Entry<String, Set<String>> entry : m_components.entrySet())
+                {
+                    writer.write(entry.getKey() + "=" +
+                                 String.join(",", entry.getValue()) + "\n");
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            Error(null, "Failed to write the component index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the fields of an entity mapped to columns of its table, the fields of
+     * its mapped superclasses first
+     */
+    private List<VariableElement> GetMappedFields(TypeElement entity)
+    {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement           parent = GetSuperclass(entity);
+
+        if (parent != null && HasAnnotation(parent, MAPPED_SUPERCLASS))
+        {
+            fields.addAll(GetMappedFields(parent));
+        }
+
+        for (VariableElement field :
+             ElementFilter.fieldsIn(entity.getEnclosedElements()))
+        {
+            if (field.getModifiers().contains(Modifier.STATIC) ||
+                field.getModifiers().contains(Modifier.TRANSIENT) ||
+                NO_COLUMN.stream().anyMatch(a -> HasAnnotation(field, a)) ||
+                IsInverseOneToOne(field))
+            {
+                continue;
+            }
+
+            if (UNSUPPORTED.stream().anyMatch(a -> HasAnnotation(field, a)))
+            {
+                Error(field, "Mapping not supported by the entity index");
+                continue;
+            }
+
+            fields.add(field);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Get the column of the primary key of a subclass of another entity, which
+     * references the key of the parent table
+     * @return The column, or null if the entity has no parent entity
+     */
+    private String GetInheritedKeyColumn(TypeElement entity)
+    {
+        TypeElement root = null;
+
+        for (TypeElement parent = GetSuperclass(entity); parent != null;
+             parent             = GetSuperclass(parent))
+        {
+            if (HasAnnotation(parent, ENTITY))
+            {
+                root = parent;
+            }
+        }
+
+        if (root == null)
+        {
+            return null;
+        }
+
+        AnnotationMirror inheritance = GetAnnotation(root, INHERITANCE);
+
+        if (inheritance == null ||
+            !GetValue(inheritance, "strategy").toString().equals("JOINED"))
+        {
+            Error(entity,
+                  "Only the JOINED inheritance is supported by the entity index");
+            return null;
+        }
+
+        AnnotationMirror keyColumn = GetAnnotation(entity, PRIMARY_KEY_JOIN);
+
+        if (keyColumn != null && !((String)GetValue(keyColumn, "name")).isEmpty())
+        {
+            return (String)GetValue(keyColumn, "name");
+        }
+
+        for (VariableElement field : GetMappedFields(root))
+        {
+            if (HasAnnotation(field, ID))
+            {
+                return GetColumnName(field);
+            }
+        }
+
+        return null;
+    }
+
+    private boolean IsInverseOneToOne(VariableElement field)
+    {
+        AnnotationMirror oneToOne = GetAnnotation(field, ONE_TO_ONE);
+
+        return oneToOne != null && !((String)GetValue(oneToOne, "mappedBy")).isEmpty();
+    }
+
+    /**
+     * Get the name of the column of a field, as the naming strategy of Spring
+     * derives it when the mapping does not name it
+     */
+    private String GetColumnName(VariableElement field)
+    {
+        String fieldName = field.getSimpleName().toString();
+
+        for (String annotation : List.of(COLUMN, JOIN_COLUMN))
+        {
+            AnnotationMirror mapping = GetAnnotation(field, annotation);
+
+            if (mapping != null && !((String)GetValue(mapping, "name")).isEmpty())
+            {
+                return (String)GetValue(mapping, "name");
+            }
+        }
+
+        if (HasAnnotation(field, MANY_TO_ONE) || HasAnnotation(field, ONE_TO_ONE))
+        {
+            return ToSnakeCase(fieldName) + "_id";
+        }
+
+        return ToSnakeCase(fieldName);
+    }
+
+    private String GetTableName(TypeElement entity)
+    {
+        AnnotationMirror table = GetAnnotation(entity, TABLE);
+
+        if (table != null && !((String)GetValue(table, "name")).isEmpty())
+        {
+            return (String)GetValue(table, "name");
+        }
+
+        return ToSnakeCase(entity.getSimpleName().toString());
+    }
+
+    private static TypeElement GetSuperclass(TypeElement type)
+    {
+        TypeMirror superclass = type.getSuperclass();
+
+        return superclass.getKind() == TypeKind.DECLARED
+                   ? (TypeElement)((DeclaredType)superclass).asElement()
+                   : null;
+    }
+
+    private static String NameOf(AnnotationMirror annotation)
+    {
+        return ((TypeElement)annotation.getAnnotationType().asElement())
+            .getQualifiedName()
+            .toString();
+    }
+
+    private static AnnotationMirror GetAnnotation(Element element, String name)
+    {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors())
+        {
+            if (NameOf(annotation).equals(name))
+            {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean HasAnnotation(Element element, String name)
+    {
+        return GetAnnotation(element, name) != null;
+    }
+
+    /**
+     * Get the value of an attribute of an annotation, or its default
+     */
+    private Object GetValue(AnnotationMirror annotation, String attribute)
+    {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+             processingEnv.getElementUtils()
+                 .getElementValuesWithDefaults(annotation)
+                 .entrySet())
+        {
+            if (entry.getKey().getSimpleName().contentEquals(attribute))
+            {
+                return entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private static String ToSnakeCase(String name)
+    {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    private static String Literal(String value)
+    {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String ListLiteral(List<String> values)
+    {
+        List<String> literals = new ArrayList<>(values.size());
+
+        for (String value : values)
+        {
+            literals.add(Literal(value));
+        }
+
+        return "List.of(" + String.join(", ", literals) + ")";
+    }
+
+    private void Error(Element element, String message)
+    {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                 message,
+                                                 element);
+    }
+}
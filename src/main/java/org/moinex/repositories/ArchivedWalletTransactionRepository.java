@@ -0,0 +1,297 @@
+/*
+ * Filename: ArchivedWalletTransactionRepository.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.repositories;
+
+import static org.moinex.repositories.WalletTransactionRepository.COLUMNS;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.moinex.entities.ArchivedWalletTransaction;
+import org.moinex.util.Constants;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the ArchivedWalletTransaction entity
+ *
+ * The methods to get transactions mirror the ones of WalletTransactionRepository
+ * that include the archived transactions, so the services can add these to the
+ * ones of the wallet_transaction table
+ */
+@Repository
+public interface ArchivedWalletTransactionRepository
+    extends JpaRepository<ArchivedWalletTransaction, Long> {
+
+    /**
+     * Get all archived transactions
+     * @return A list with the transactions, the most recent first
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindTransactions();
+
+    /**
+     * Get the archived transactions of a type
+     * @param type The type of the transactions
+     * @return A list with the transactions, the most recent first
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.type = :type "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindTransactionsByType(@Param("type") TransactionType type);
+
+    /**
+     * Get the archived transactions in a period, usually a month or a year
+     * @param startDate The first date of the period, inclusive
+     * @param endDate The end of the period, exclusive
+     * @return A list with the transactions, the most recent first
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.date >= :startDate "
+           + "AND a.date < :endDate "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindTransactionsInPeriod(@Param("startDate") String startDate,
+                             @Param("endDate") String   endDate);
+
+    /**
+     * Get the archived transactions of a wallet in a period
+     * @param walletId The id of the wallet
+     * @param startDate The first date of the period, inclusive
+     * @param endDate The end of the period, exclusive
+     * @return A list with the transactions, the most recent first
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.wallet.id = :walletId "
+           + "AND a.date >= :startDate "
+           + "AND a.date < :endDate "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindTransactionsByWalletInPeriod(@Param("walletId") Long    walletId,
+                                     @Param("startDate") String startDate,
+                                     @Param("endDate") String   endDate);
+
+    /**
+     * Get the archived transactions with a status in a period
+     * @param status The status of the transactions
+     * @param startDate The first date of the period, inclusive
+     * @param endDate The end of the period, exclusive
+     * @return A list with the transactions, the most recent first
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.status = :status "
+           + "AND a.date >= :startDate "
+           + "AND a.date < :endDate "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindTransactionsByStatusInPeriod(@Param("status") TransactionStatus status,
+                                     @Param("startDate") String         startDate,
+                                     @Param("endDate") String           endDate);
+
+    /**
+     * Get the archived transactions between two dates
+     * @param startDate The start date
+     * @param endDate The end date
+     * @return A list with the transactions, the most recent first
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.date >= :startDate "
+           + "AND a.date <= :endDate "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindTransactionsBetweenDates(@Param("startDate") String startDate,
+                                 @Param("endDate") String   endDate);
+
+    /**
+     * Get the last n archived transactions
+     * @param pageable The pageable object
+     * @return A list with the last n transactions
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindLastTransactions(Pageable pageable);
+
+    /**
+     * Get the last n archived transactions of a wallet
+     * @param walletId The id of the wallet
+     * @param pageable The pageable object
+     * @return A list with the last n transactions of the wallet
+     */
+    @Query("SELECT a "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.wallet.id = :walletId "
+           + "ORDER BY a.date DESC")
+    List<ArchivedWalletTransaction>
+    FindLastTransactionsByWallet(@Param("walletId") Long walletId, Pageable pageable);
+
+    /**
+     * Get the date of the oldest archived transaction
+     * @return The date, or null if there are no archived transactions
+     */
+    @Query("SELECT MIN(a.date) "
+           + "FROM ArchivedWalletTransaction a")
+    String
+    FindOldestTransactionDate();
+
+    /**
+     * Get the date of the newest archived transaction
+     * @return The date, or null if there are no archived transactions
+     */
+    @Query("SELECT MAX(a.date) "
+           + "FROM ArchivedWalletTransaction a")
+    String
+    FindNewestTransactionDate();
+
+    /**
+     * Get the count of archived transactions of a wallet
+     * @param walletId The id of the wallet
+     * @return The count of archived transactions in the wallet
+     */
+    @Query("SELECT COUNT(a) "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.wallet.id = :walletId")
+    Long
+    CountTransactionsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Get the count of archived transactions of each wallet
+     * @return Pairs of the wallet id and the count. Wallets without archived
+     *    transactions are not included
+     */
+    @Query("SELECT a.wallet.id, COUNT(a) "
+           + "FROM ArchivedWalletTransaction a "
+           + "GROUP BY a.wallet.id")
+    List<Object[]>
+    CountTransactionsPerWallet();
+
+    /**
+     * Get the count of archived transactions of a category
+     * @param categoryId The id of the category
+     * @return The count of archived transactions in the category
+     */
+    @Query("SELECT COUNT(a) "
+           + "FROM ArchivedWalletTransaction a "
+           + "WHERE a.category.id = :categoryId")
+    Long
+    CountTransactionsByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Get the count of archived transactions of each category
+     * @return Pairs of the category id and the count. Categories without archived
+     *    transactions are not included
+     */
+    @Query("SELECT a.category.id, COUNT(a) "
+           + "FROM ArchivedWalletTransaction a "
+           + "GROUP BY a.category.id")
+    List<Object[]>
+    CountTransactionsPerCategory();
+
+    /**
+     * Get the values of the archived transactions used by the description
+     * suggestions
+     * @return Rows in the format of WalletTransactionRepository.FindSuggestionRows
+     */
+    @Query("SELECT a.type, a.description, a.date, a.amount, a.wallet.id, "
+           + "a.category.id "
+           + "FROM ArchivedWalletTransaction a")
+    List<Object[]>
+    FindSuggestionRows();
+
+    /**
+     * Get the values of the archived transactions used by the analytics store
+     * @return Rows in the format of WalletTransactionRepository.StreamAnalyticsRows
+     * @note The stream must be consumed and closed inside a transaction
+     */
+    @QueryHints(@QueryHint(name  = HibernateHints.HINT_FETCH_SIZE,
+                           value = Constants.ANALYTICS_LOAD_FETCH_SIZE))
+    @Query("SELECT a.id, a.date, a.amount, a.wallet.id, a.category.id, "
+           + "a.type, a.status "
+           + "FROM ArchivedWalletTransaction a")
+    Stream<Object[]>
+    StreamAnalyticsRows();
+
+    /**
+     * Copy the archived transactions of a wallet whose category is not archived
+     * back to the wallet_transaction table
+     * @param walletId The id of the wallet
+     * @return The number of transactions copied
+     * @note Followed by DeleteRestoredTransactionsByWallet, to move them
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO wallet_transaction (" + COLUMNS + ", visible) "
+                   + "SELECT " + COLUMNS + ", true "
+                   + "FROM wallet_transaction_archive "
+                   + "WHERE wallet_id = :walletId "
+                   + "AND category_id IN "
+                   + "(SELECT id FROM category WHERE archived = false)",
+           nativeQuery = true)
+    int
+    RestoreTransactionsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Delete the archived transactions of a wallet whose category is not archived
+     * @param walletId The id of the wallet
+     * @return The number of transactions deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ArchivedWalletTransaction a "
+           + "WHERE a.wallet.id = :walletId "
+           + "AND a.category.id IN "
+           + "(SELECT c.id FROM Category c WHERE c.archived = false)")
+    int
+    DeleteRestoredTransactionsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Copy the archived transactions of a category whose wallet is not archived
+     * back to the wallet_transaction table
+     * @param categoryId The id of the category
+     * @return The number of transactions copied
+     * @note Followed by DeleteRestoredTransactionsByCategory, to move them
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO wallet_transaction (" + COLUMNS + ", visible) "
+                   + "SELECT " + COLUMNS + ", true "
+                   + "FROM wallet_transaction_archive "
+                   + "WHERE category_id = :categoryId "
+                   + "AND wallet_id IN "
+                   + "(SELECT id FROM wallet WHERE archived = false)",
+           nativeQuery = true)
+    int
+    RestoreTransactionsByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Delete the archived transactions of a category whose wallet is not archived
+     * @param categoryId The id of the category
+     * @return The number of transactions deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ArchivedWalletTransaction a "
+           + "WHERE a.category.id = :categoryId "
+           + "AND a.wallet.id IN "
+           + "(SELECT w.id FROM Wallet w WHERE w.archived = false)")
+    int
+    DeleteRestoredTransactionsByCategory(@Param("categoryId") Long categoryId);
+}
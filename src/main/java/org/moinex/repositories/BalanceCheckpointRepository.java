@@ -0,0 +1,54 @@
+/*
+ * Filename: BalanceCheckpointRepository.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import org.moinex.entities.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceCheckpointRepository
+    extends JpaRepository<BalanceCheckpoint, Long> {
+
+    /**
+     * Get the last checkpoint of a wallet before a month
+     * @param walletId The id of the wallet
+     * @param period The month, formatted as yyyy-MM, exclusive
+     * @return The checkpoint, if any
+     */
+    @Query("SELECT c "
+           + "FROM BalanceCheckpoint c "
+           + "WHERE c.wallet.id = :walletId "
+           + "AND c.period < :period "
+           + "ORDER BY c.period DESC "
+           + "LIMIT 1")
+    Optional<BalanceCheckpoint>
+    FindLastCheckpointBefore(@Param("walletId") Long walletId,
+                             @Param("period") String period);
+
+    /**
+     * Get the checkpoints of a wallet in a range of months
+     * @param walletId The id of the wallet
+     * @param from The first month, formatted as yyyy-MM, inclusive
+     * @param to The last month, formatted as yyyy-MM, inclusive
+     * @return The checkpoints ordered by month
+     */
+    @Query("SELECT c "
+           + "FROM BalanceCheckpoint c "
+           + "WHERE c.wallet.id = :walletId "
+           + "AND c.period >= :from "
+           + "AND c.period <= :to "
+           + "ORDER BY c.period")
+    List<BalanceCheckpoint>
+    FindCheckpointsBetween(@Param("walletId") Long walletId,
+                           @Param("from") String  from,
+                           @Param("to") String    to);
+}
@@ -0,0 +1,132 @@
+/*
+ * Filename: BalanceLedgerRepository.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.repositories;
+
+import java.util.List;
+import org.moinex.entities.BalanceLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceLedgerRepository
+    extends JpaRepository<BalanceLedgerEntry, Long> {
+
+    /**
+     * Get the sum of the entries of a wallet in a period
+     * @param walletId The id of the wallet
+     * @param from The first date of the period, inclusive
+     * @param to The last date of the period, inclusive
+     * @return The sum of the amounts in cents
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) "
+           + "FROM BalanceLedgerEntry e "
+           + "WHERE e.wallet.id = :walletId "
+           + "AND e.date >= :from "
+           + "AND e.date <= :to")
+    Long
+    SumAmountByWalletBetween(@Param("walletId") Long walletId,
+                             @Param("from") String  from,
+                             @Param("to") String    to);
+
+    /**
+     * Get the sum of the entries of a wallet up to a date
+     * @param walletId The id of the wallet
+     * @param to The last date, inclusive
+     * @return The sum of the amounts in cents
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) "
+           + "FROM BalanceLedgerEntry e "
+           + "WHERE e.wallet.id = :walletId "
+           + "AND e.date <= :to")
+    Long
+    SumAmountByWalletUntil(@Param("walletId") Long walletId, @Param("to") String to);
+
+    /**
+     * Get the sum of the entries of a wallet per day in a period
+     * @param walletId The id of the wallet
+     * @param from The first date of the period, inclusive
+     * @param to The last date of the period, inclusive
+     * @return Pairs of the day, formatted as yyyy-MM-dd, and the sum of the amounts
+     *    in cents, ordered by day
+     */
+    @Query("SELECT SUBSTRING(e.date, 1, 10), SUM(e.amount) "
+           + "FROM BalanceLedgerEntry e "
+           + "WHERE e.wallet.id = :walletId "
+           + "AND e.date >= :from "
+           + "AND e.date <= :to "
+           + "GROUP BY SUBSTRING(e.date, 1, 10) "
+           + "ORDER BY SUBSTRING(e.date, 1, 10)")
+    List<Object[]>
+    SumAmountByWalletPerDay(@Param("walletId") Long walletId,
+                            @Param("from") String  from,
+                            @Param("to") String    to);
+
+    /**
+     * Get the sum of the entries of a wallet per month in a period
+     * @param walletId The id of the wallet
+     * @param from The first date of the period, inclusive
+     * @param to The last date of the period, inclusive
+     * @return Pairs of the month, formatted as yyyy-MM, and the sum of the amounts
+     *    in cents, ordered by month
+     */
+    @Query("SELECT SUBSTRING(e.date, 1, 7), SUM(e.amount) "
+           + "FROM BalanceLedgerEntry e "
+           + "WHERE e.wallet.id = :walletId "
+           + "AND e.date >= :from "
+           + "AND e.date <= :to "
+           + "GROUP BY SUBSTRING(e.date, 1, 7) "
+           + "ORDER BY SUBSTRING(e.date, 1, 7)")
+    List<Object[]>
+    SumAmountByWalletPerMonth(@Param("walletId") Long walletId,
+                              @Param("from") String  from,
+                              @Param("to") String    to);
+
+    /**
+     * Get the date of the first entry of a wallet
+     * @param walletId The id of the wallet
+     * @return The date of the first entry, or null if the wallet has no entries
+     */
+    @Query("SELECT MIN(e.date) "
+           + "FROM BalanceLedgerEntry e "
+           + "WHERE e.wallet.id = :walletId")
+    String
+    FindFirstDateByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Get the ids of the wallets that have entries in the ledger
+     * @return The ids of the wallets
+     */
+    @Query("SELECT DISTINCT e.wallet.id "
+           + "FROM BalanceLedgerEntry e")
+    List<Long>
+    FindWalletIdsWithEntries();
+
+    /**
+     * Get the ids of the wallets that have no entries in the ledger
+     * @return The ids of the wallets
+     */
+    @Query("SELECT w.id "
+           + "FROM Wallet w "
+           + "WHERE NOT EXISTS "
+           + "(SELECT 1 FROM BalanceLedgerEntry e WHERE e.wallet.id = w.id)")
+    List<Long>
+    FindWalletIdsWithoutEntries();
+
+    /**
+     * Get the entries of a wallet
+     * @param walletId The id of the wallet
+     * @return The entries ordered by date and by the order they were recorded
+     */
+    @Query("SELECT e "
+           + "FROM BalanceLedgerEntry e "
+           + "WHERE e.wallet.id = :walletId "
+           + "ORDER BY e.date, e.id")
+    List<BalanceLedgerEntry>
+    FindEntriesByWallet(@Param("walletId") Long walletId);
+}
@@ -41,7 +41,18 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * Get the number of associated transactions for a category
      * @param categoryId Category ID
      * @return Number of transactions
+     * @note The transactions moved to the archive table are not counted
      */
     @Query("SELECT COUNT(t) FROM WalletTransaction t WHERE t.category.id = :categoryId")
     Long CountTransactions(@Param("categoryId") Long categoryId);
+
+    /**
+     * Get the number of associated transactions of each category
+     * @return Pairs of the category ID and the number of transactions. Categories
+     *    without transactions are not included
+     * @note The transactions moved to the archive table are not counted
+     */
+    @Query("SELECT t.category.id, COUNT(t) FROM WalletTransaction t "
+           + "GROUP BY t.category.id")
+    List<Object[]> CountTransactionsPerCategory();
 }
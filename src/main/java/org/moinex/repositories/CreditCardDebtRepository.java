@@ -6,10 +6,15 @@
 
 package org.moinex.repositories;
 
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.moinex.entities.CreditCardDebt;
+import org.moinex.util.Constants;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -30,6 +35,9 @@ public interface CreditCardDebtRepository extends JpaRepository<CreditCardDebt,
      * Get the date of the earliest payment
      * @return The date of the earliest payment
      */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+                             value = Constants.DATE_RANGE_QUERY_CACHE_REGION) })
     @Query("SELECT MIN(ccp.date) FROM CreditCardPayment ccp")
     String FindEarliestPaymentDate();
 
@@ -37,6 +45,9 @@ public interface CreditCardDebtRepository extends JpaRepository<CreditCardDebt,
      * Get the date of the latest payment
      * @return The date of the latest payment
      */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+                             value = Constants.DATE_RANGE_QUERY_CACHE_REGION) })
     @Query("SELECT MAX(ccp.date) FROM CreditCardPayment ccp")
     String FindLatestPaymentDate();
 
@@ -49,4 +60,15 @@ public interface CreditCardDebtRepository extends JpaRepository<CreditCardDebt,
            + "WHERE ccd.creditCard.id = :creditCardId")
     Long
     GetDebtCountByCreditCard(@Param("creditCardId") Long creditCardId);
+
+    /**
+     * Get the count of debts of each credit card
+     * @return Pairs of the credit card id and the count of debts of the credit card.
+     *    Credit cards without debts are not included
+     */
+    @Query("SELECT ccd.creditCard.id, COUNT(ccd) "
+           + "FROM CreditCardDebt ccd "
+           + "GROUP BY ccd.creditCard.id")
+    List<Object[]>
+    GetDebtCountPerCreditCard();
 }
@@ -10,6 +10,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import org.moinex.entities.CreditCardPayment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -33,6 +34,23 @@ public interface CreditCardPaymentRepository
     GetAllPaidPaymentsByMonth(@Param("month") Integer month,
                               @Param("year") Integer  year);
 
+    /**
+     * Get all paid credit card payments in a month where both the wallet and the
+     * category of the debt are not archived
+     * @param startDate The first date of the month, inclusive
+     * @param endDate The first date of the next month, exclusive
+     * @return A list with the paid credit card payments of the month
+     */
+    @Query("SELECT ccp "
+           + "FROM CreditCardPayment ccp "
+           + "WHERE ccp.visible = true "
+           + "AND ccp.date >= :startDate "
+           + "AND ccp.date < :endDate "
+           + "AND ccp.wallet IS NOT NULL")
+    List<CreditCardPayment>
+    GetAllNonArchivedPaidPaymentsByMonth(@Param("startDate") String startDate,
+                                         @Param("endDate") String   endDate);
+
     /**
      * Get credit card payments in a month and year
      * @param month The month
@@ -315,4 +333,105 @@ public interface CreditCardPaymentRepository
            + "AND ccp.wallet IS NULL")
     String
     GetNextInvoiceDate(@Param("creditCardId") Long creditCardId);
+
+    /**
+     * Get the ids of the wallets that paid the installments of a debt, without
+     * loading the wallets
+     * @param debtId The debt id
+     * @return The ids of the wallets
+     */
+    @Query("SELECT DISTINCT ccp.wallet.id "
+           + "FROM CreditCardPayment ccp "
+           + "WHERE ccp.creditCardDebt.id = :debtId "
+           + "AND ccp.wallet IS NOT NULL")
+    List<Long>
+    FindWalletIdsByDebtId(@Param("debtId") Long debtId);
+
+    /**
+     * Hide the payments made by a wallet that was archived
+     * @param walletId The id of the wallet
+     * @return The number of payments hidden
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CreditCardPayment ccp "
+           + "SET ccp.visible = false "
+           + "WHERE ccp.wallet.id = :walletId")
+    int
+    HidePaymentsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Show the payments made by a wallet that was unarchived, except the ones of
+     * debts in archived categories
+     * @param walletId The id of the wallet
+     * @return The number of payments shown
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CreditCardPayment ccp "
+           + "SET ccp.visible = true "
+           + "WHERE ccp.wallet.id = :walletId "
+           + "AND ccp.creditCardDebt.id IN "
+           + "(SELECT ccd.id FROM CreditCardDebt ccd "
+           + "WHERE ccd.category.archived = false)")
+    int
+    ShowPaymentsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Hide the payments of the debts of a category that was archived
+     * @param categoryId The id of the category
+     * @return The number of payments hidden
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CreditCardPayment ccp "
+           + "SET ccp.visible = false "
+           + "WHERE ccp.creditCardDebt.id IN "
+           + "(SELECT ccd.id FROM CreditCardDebt ccd "
+           + "WHERE ccd.category.id = :categoryId)")
+    int
+    HidePaymentsByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Show the payments of the debts of a category that was unarchived, except the
+     * ones made by archived wallets
+     * @param categoryId The id of the category
+     * @return The number of payments shown
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CreditCardPayment ccp "
+           + "SET ccp.visible = true "
+           + "WHERE ccp.creditCardDebt.id IN "
+           + "(SELECT ccd.id FROM CreditCardDebt ccd "
+           + "WHERE ccd.category.id = :categoryId) "
+           + "AND (ccp.wallet IS NULL "
+           + "OR ccp.wallet.id IN "
+           + "(SELECT w.id FROM Wallet w WHERE w.archived = false))")
+    int
+    ShowPaymentsByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Hide the payments of a debt moved to an archived category
+     * @param debtId The id of the debt
+     * @return The number of payments hidden
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CreditCardPayment ccp "
+           + "SET ccp.visible = false "
+           + "WHERE ccp.creditCardDebt.id = :debtId")
+    int
+    HidePaymentsByDebt(@Param("debtId") Long debtId);
+
+    /**
+     * Show the payments of a debt moved to a category that is not archived, except
+     * the ones made by archived wallets
+     * @param debtId The id of the debt
+     * @return The number of payments shown
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CreditCardPayment ccp "
+           + "SET ccp.visible = true "
+           + "WHERE ccp.creditCardDebt.id = :debtId "
+           + "AND (ccp.wallet IS NULL "
+           + "OR ccp.wallet.id IN "
+           + "(SELECT w.id FROM Wallet w WHERE w.archived = false))")
+    int
+    ShowPaymentsByDebt(@Param("debtId") Long debtId);
 }
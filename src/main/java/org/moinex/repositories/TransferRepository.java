@@ -76,4 +76,28 @@ public interface TransferRepository extends JpaRepository<Transfer, Long> {
            + "OR t.receiverWallet.id = :walletId")
     Long
     GetTransferCountByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Get the count of transfers sent by each wallet
+     * @return Pairs of the wallet id and the count of transfers sent by the wallet
+     */
+    @Query("SELECT t.senderWallet.id, COUNT(t) "
+           + "FROM Transfer t "
+           + "GROUP BY t.senderWallet.id")
+    List<Object[]>
+    GetTransferCountPerSenderWallet();
+
+    /**
+     * Get the count of transfers received by each wallet
+     * @return Pairs of the wallet id and the count of transfers received by the
+     *    wallet
+     * @note Transfers from a wallet to itself are not included, as they are
+     *    already counted as sent
+     */
+    @Query("SELECT t.receiverWallet.id, COUNT(t) "
+           + "FROM Transfer t "
+           + "WHERE t.receiverWallet.id <> t.senderWallet.id "
+           + "GROUP BY t.receiverWallet.id")
+    List<Object[]>
+    GetTransferCountPerReceiverWallet();
 }
@@ -6,14 +6,19 @@
 
 package org.moinex.repositories;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.moinex.entities.Wallet;
 import org.moinex.entities.WalletTransaction;
-import org.moinex.util.TransactionType;
+import org.moinex.util.Constants;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,21 +27,28 @@ import org.springframework.stereotype.Repository;
  *
  * This repository provides methods to query the database for WalletTransaction
  *
- * Each method to get transactions has a version that returns only transactions
- * that have a category that is not archived
+ * The transactions whose wallet or category is archived are moved to the archive
+ * table, read by ArchivedWalletTransactionRepository, so the methods of this
+ * repository only read the ones that are not. The versions that return only
+ * non-archived transactions also read the visible flag, which hides the
+ * transactions saved in an archived wallet or category afterwards until it is
+ * unarchived, without joining the wallet and category tables
  */
 @Repository
 public interface WalletTransactionRepository
     extends JpaRepository<WalletTransaction, Long> {
 
+    // The columns shared with the archive table, in the order of the moves
+    String COLUMNS =
+        "id, wallet_id, category_id, type, status, date, amount, description";
+
     /**
      * Get all transactions where both the category and wallet are not archived
      * @return A list with all transactions
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
-           + "WHERE wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "WHERE wt.visible = true "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
     FindNonArchivedTransactions();
@@ -59,8 +71,7 @@ public interface WalletTransactionRepository
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
            + "WHERE wt.type = 'INCOME' "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "AND wt.visible = true "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
     FindNonArchivedIncomeTransactions();
@@ -83,8 +94,7 @@ public interface WalletTransactionRepository
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
            + "WHERE wt.type = 'EXPENSE' "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "AND wt.visible = true "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
     FindNonArchivedExpenseTransactions();
@@ -104,22 +114,21 @@ public interface WalletTransactionRepository
     FindTransactionsByMonth(@Param("month") Integer month, @Param("year") Integer year);
 
     /**
-     * Get the all transactions by month and year where both the category and wallet are
-     * not archived
-     * @param month The month
-     * @param year The year
-     * @return A list with the transactions by month and year
+     * Get the all transactions in a period, usually a month, where both the category
+     * and wallet are not archived
+     * @param startDate The first date of the period, inclusive
+     * @param endDate The end of the period, exclusive
+     * @return A list with the transactions of the period
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
-           + "WHERE strftime('%m', wt.date) = printf('%02d', :month) "
-           + "AND strftime('%Y', wt.date) = printf('%04d', :year) "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "WHERE wt.visible = true "
+           + "AND wt.date >= :startDate "
+           + "AND wt.date < :endDate "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
-    FindNonArchivedTransactionsByMonth(@Param("month") Integer month,
-                                       @Param("year") Integer  year);
+    FindNonArchivedTransactionsByMonth(@Param("startDate") String startDate,
+                                       @Param("endDate") String   endDate);
 
     /**
      * Get the all transactions by year
@@ -134,19 +143,21 @@ public interface WalletTransactionRepository
     FindTransactionsByYear(@Param("year") Integer year);
 
     /**
-     * Get the all transactions by year where both the category and wallet are not
+     * Get the all transactions of a year where both the category and wallet are not
      * archived
-     * @param year The year
-     * @return A list with the transactions by year
+     * @param startDate The first date of the year, inclusive
+     * @param endDate The first date of the next year, exclusive
+     * @return A list with the transactions of the year
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
-           + "WHERE strftime('%Y', wt.date) = printf('%04d', :year) "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "WHERE wt.visible = true "
+           + "AND wt.date >= :startDate "
+           + "AND wt.date < :endDate "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
-    FindNonArchivedTransactionsByYear(@Param("year") Integer year);
+    FindNonArchivedTransactionsByYear(@Param("startDate") String startDate,
+                                      @Param("endDate") String   endDate);
 
     /**
      * Get the transactions by wallet and month
@@ -167,25 +178,24 @@ public interface WalletTransactionRepository
                                      @Param("year") Integer  year);
 
     /**
-     * Get the transactions by wallet and month where both the category and wallet are
-     * not
+     * Get the transactions of a wallet in a month where both the category and wallet
+     * are not archived
      * @param walletId The id of the wallet
-     * @param month The month
-     * @param year The year
+     * @param startDate The first date of the month, inclusive
+     * @param endDate The first date of the next month, exclusive
      * @return A list with the transactions in the wallet by month
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
            + "WHERE wt.wallet.id = :walletId "
-           + "AND strftime('%m', wt.date) = printf('%02d', :month) "
-           + "AND strftime('%Y', wt.date) = printf('%04d', :year) "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "AND wt.visible = true "
+           + "AND wt.date >= :startDate "
+           + "AND wt.date < :endDate "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
-    FindNonArchivedTransactionsByWalletAndMonth(@Param("walletId") Long walletId,
-                                                @Param("month") Integer month,
-                                                @Param("year") Integer  year);
+    FindNonArchivedTransactionsByWalletAndMonth(@Param("walletId") Long    walletId,
+                                                @Param("startDate") String startDate,
+                                                @Param("endDate") String   endDate);
 
     /**
      * Get all transactions between two dates
@@ -213,8 +223,7 @@ public interface WalletTransactionRepository
            + "FROM WalletTransaction wt "
            + "WHERE wt.date >= :startDate "
            + "AND wt.date <= :endDate "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "AND wt.visible = true "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
     FindNonArchivedTransactionsBetweenDates(@Param("startDate") String startDate,
@@ -237,23 +246,22 @@ public interface WalletTransactionRepository
                                      @Param("year") Integer  year);
 
     /**
-     * Get the confirmed transactions by month and year where both the category and
-     * wallet are not archived
-     * @param month The month
-     * @param year The year
-     * @return A list with the transactions in the wallet by month and year
+     * Get the confirmed transactions of a month where both the category and wallet are
+     * not archived
+     * @param startDate The first date of the month, inclusive
+     * @param endDate The first date of the next month, exclusive
+     * @return A list with the confirmed transactions of the month
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
-           + "WHERE strftime('%m', wt.date) = printf('%02d', :month) "
-           + "AND strftime('%Y', wt.date) = printf('%04d', :year) "
+           + "WHERE wt.visible = true "
+           + "AND wt.date >= :startDate "
+           + "AND wt.date < :endDate "
            + "AND wt.status = 'CONFIRMED' "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
-    FindNonArchivedConfirmedTransactionsByMonth(@Param("month") Integer month,
-                                                @Param("year") Integer  year);
+    FindNonArchivedConfirmedTransactionsByMonth(@Param("startDate") String startDate,
+                                                @Param("endDate") String   endDate);
 
     /**
      * Get the pending transactions by month and year
@@ -272,23 +280,22 @@ public interface WalletTransactionRepository
                                    @Param("year") Integer  year);
 
     /**
-     * Get the pending transactions by month and year where both the category and wallet
-     * are not archived
-     * @param month The month
-     * @param year The year
-     * @return A list with the transactions in the wallet by month and year
+     * Get the pending transactions of a month where both the category and wallet are
+     * not archived
+     * @param startDate The first date of the month, inclusive
+     * @param endDate The first date of the next month, exclusive
+     * @return A list with the pending transactions of the month
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
-           + "WHERE strftime('%m', wt.date) = printf('%02d', :month) "
-           + "AND strftime('%Y', wt.date) = printf('%04d', :year) "
+           + "WHERE wt.visible = true "
+           + "AND wt.date >= :startDate "
+           + "AND wt.date < :endDate "
            + "AND wt.status = 'PENDING' "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
-    FindNonArchivedPendingTransactionsByMonth(@Param("month") Integer month,
-                                              @Param("year") Integer  year);
+    FindNonArchivedPendingTransactionsByMonth(@Param("startDate") String startDate,
+                                              @Param("endDate") String   endDate);
 
     /**
      * Get the last n transactions of all wallets
@@ -309,8 +316,7 @@ public interface WalletTransactionRepository
      */
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
-           + "WHERE wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "WHERE wt.visible = true "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
     FindNonArchivedLastTransactions(Pageable pageable);
@@ -338,8 +344,7 @@ public interface WalletTransactionRepository
     @Query("SELECT wt "
            + "FROM WalletTransaction wt "
            + "WHERE wt.wallet.id = :walletId "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false "
+           + "AND wt.visible = true "
            + "ORDER BY wt.date DESC")
     List<WalletTransaction>
     FindNonArchivedLastTransactionsByWallet(@Param("walletId") Long walletId,
@@ -349,6 +354,9 @@ public interface WalletTransactionRepository
      * Get the date of the oldest transaction
      * @return The date of the oldest transaction
      */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+                             value = Constants.DATE_RANGE_QUERY_CACHE_REGION) })
     @Query("SELECT MIN(wt.date) "
            + "FROM WalletTransaction wt")
     String
@@ -359,10 +367,12 @@ public interface WalletTransactionRepository
      * archived
      * @return The date of the oldest transaction
      */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+                             value = Constants.DATE_RANGE_QUERY_CACHE_REGION) })
     @Query("SELECT MIN(wt.date) "
            + "FROM WalletTransaction wt "
-           + "WHERE wt.category.archived = false "
-           + "AND wt.wallet.archived = false")
+           + "WHERE wt.visible = true")
     String
     FindNonArchivedOldestTransactionDate();
 
@@ -370,6 +380,9 @@ public interface WalletTransactionRepository
      * Get the date of the newest transaction
      * @return The date of the newest transaction
      */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+                             value = Constants.DATE_RANGE_QUERY_CACHE_REGION) })
     @Query("SELECT MAX(wt.date) "
            + "FROM WalletTransaction wt")
     String
@@ -379,10 +392,12 @@ public interface WalletTransactionRepository
      * Get the date of the newest transaction and the category is not archived
      * @return The date of the newest transaction
      */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+                             value = Constants.DATE_RANGE_QUERY_CACHE_REGION) })
     @Query("SELECT MAX(wt.date) "
            + "FROM WalletTransaction wt "
-           + "WHERE wt.category.archived = false "
-           + "AND wt.wallet.archived = false")
+           + "WHERE wt.visible = true")
     String
     FindNonArchivedNewestTransactionDate();
 
@@ -397,6 +412,17 @@ public interface WalletTransactionRepository
     Long
     GetTransactionCountByWallet(@Param("walletId") Long walletId);
 
+    /**
+     * Get the count of transactions of each wallet
+     * @return Pairs of the wallet id and the count of transactions in the wallet.
+     *    Wallets without transactions are not included
+     */
+    @Query("SELECT wt.wallet.id, COUNT(wt) "
+           + "FROM WalletTransaction wt "
+           + "GROUP BY wt.wallet.id")
+    List<Object[]>
+    GetTransactionCountPerWallet();
+
     /**
      * Get count of transactions by wallet where both the category and wallet are not
      * archived
@@ -406,8 +432,7 @@ public interface WalletTransactionRepository
     @Query("SELECT COUNT(wt) "
            + "FROM WalletTransaction wt "
            + "WHERE wt.wallet.id = :walletId "
-           + "AND wt.category.archived = false "
-           + "AND wt.wallet.archived = false")
+           + "AND wt.visible = true")
     Long
     CountNonArchivedTransactionsByWallet(@Param("walletId") Long walletId);
 
@@ -422,22 +447,157 @@ public interface WalletTransactionRepository
     FindWalletByTransactionId(@Param("transactionId") Long transactionId);
 
     /**
-     * Get suggestions. Suggestions are transactions with distinct descriptions
-     * and most recent date
-     * @param transactionType The type of the transaction
-     * @return A list with the suggestions
+     * Get the id of the wallet of a transaction, without loading the wallet
+     * @param transactionId The id of the transaction
      */
-    @Query("SELECT wt "
+    @Query("SELECT wt.wallet.id "
+           + "FROM WalletTransaction wt "
+           + "WHERE wt.id = :transactionId")
+    Optional<Long>
+    FindWalletIdByTransactionId(@Param("transactionId") Long transactionId);
+
+    /**
+     * Copy the transactions of a wallet to the archive table
+     * @param walletId The id of the wallet
+     * @return The number of transactions copied
+     * @note Followed by DeleteTransactionsByWallet, to move them
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO wallet_transaction_archive (" + COLUMNS + ") "
+                   + "SELECT " + COLUMNS + " "
+                   + "FROM wallet_transaction "
+                   + "WHERE wallet_id = :walletId",
+           nativeQuery = true)
+    int
+    CopyTransactionsToArchiveByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Delete the transactions of a wallet
+     * @param walletId The id of the wallet
+     * @return The number of transactions deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM WalletTransaction wt "
+           + "WHERE wt.wallet.id = :walletId")
+    int
+    DeleteTransactionsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Copy the transactions of a category to the archive table
+     * @param categoryId The id of the category
+     * @return The number of transactions copied
+     * @note Followed by DeleteTransactionsByCategory, to move them
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO wallet_transaction_archive (" + COLUMNS + ") "
+                   + "SELECT " + COLUMNS + " "
+                   + "FROM wallet_transaction "
+                   + "WHERE category_id = :categoryId",
+           nativeQuery = true)
+    int
+    CopyTransactionsToArchiveByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Delete the transactions of a category
+     * @param categoryId The id of the category
+     * @return The number of transactions deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM WalletTransaction wt "
+           + "WHERE wt.category.id = :categoryId")
+    int
+    DeleteTransactionsByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Get the values of all transactions used by the description suggestions
+     * @return Rows with the type, description, date, amount, wallet id and
+     *    category id of each transaction
+     */
+    @Query("SELECT wt.type, wt.description, wt.date, wt.amount, wt.wallet.id, "
+           + "wt.category.id "
+           + "FROM WalletTransaction wt")
+    List<Object[]>
+    FindSuggestionRows();
+
+    /**
+     * Get the values of all transactions used by the analytics store
+     * @return Rows with the id, date, amount, wallet id, category id, type and
+     *    status of each transaction
+     * @note The stream must be consumed and closed inside a transaction
+     */
+    @QueryHints(@QueryHint(name  = HibernateHints.HINT_FETCH_SIZE,
+                           value = Constants.ANALYTICS_LOAD_FETCH_SIZE))
+    @Query("SELECT wt.id, wt.date, wt.amount, wt.wallet.id, wt.category.id, "
+           + "wt.type, wt.status "
+           + "FROM WalletTransaction wt")
+    Stream<Object[]>
+    StreamAnalyticsRows();
+
+    /**
+     * Get the values of the transactions between two dates where both the category
+     * and wallet are not archived, matching the given filters
+     * @param startDate The start date
+     * @param endDate The end date
+     * @param walletId The id of the wallet, or null for any
+     * @param categoryId The id of the category, or null for any
+     * @param description A LIKE pattern the lowercase description must match, or
+     *    null for any
+     * @return Rows with the id, date, type, status, amount, description, wallet name
+     *    and category name of each transaction, the most recent first
+     * @note The stream must be consumed and closed inside a transaction
+     */
+    @QueryHints(@QueryHint(name  = HibernateHints.HINT_FETCH_SIZE,
+                           value = Constants.API_SEARCH_FETCH_SIZE))
+    @Query("SELECT wt.id, wt.date, wt.type, wt.status, wt.amount, wt.description, "
+           + "w.name, c.name "
            + "FROM WalletTransaction wt "
-           + "WHERE wt.type = :transactionType AND "
-           + "wt.wallet.archived = false AND "
-           + "wt.category.archived = false AND "
-           + "wt.date = (SELECT MAX(wt2.date) "
-           + "                  FROM WalletTransaction wt2 "
-           + "                  WHERE wt2.description = wt.description AND "
-           + "                        wt2.wallet.archived = false AND "
-           + "                        wt2.category.archived = false) "
+           + "JOIN wt.wallet w "
+           + "JOIN wt.category c "
+           + "WHERE wt.date >= :startDate "
+           + "AND wt.date <= :endDate "
+           + "AND wt.visible = true "
+           + "AND (:walletId IS NULL OR w.id = :walletId) "
+           + "AND (:categoryId IS NULL OR c.id = :categoryId) "
+           + "AND (:description IS NULL OR LOWER(wt.description) LIKE :description) "
            + "ORDER BY wt.date DESC")
-    List<WalletTransaction>
-    FindSuggestions(@Param("transactionType") TransactionType transactionType);
+    Stream<Object[]>
+    StreamSearchRows(@Param("startDate") String   startDate,
+                     @Param("endDate") String     endDate,
+                     @Param("walletId") Long      walletId,
+                     @Param("categoryId") Long    categoryId,
+                     @Param("description") String description);
+
+    /**
+     * Show the transactions saved in a wallet while it was archived, except the
+     * ones in archived categories
+     * @param walletId The id of the wallet
+     * @return The number of transactions shown
+     * @note Called when the wallet is unarchived, with the moves from the archive
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletTransaction wt "
+           + "SET wt.visible = true "
+           + "WHERE wt.visible = false "
+           + "AND wt.wallet.id = :walletId "
+           + "AND wt.category.id IN "
+           + "(SELECT c.id FROM Category c WHERE c.archived = false)")
+    int
+    ShowTransactionsByWallet(@Param("walletId") Long walletId);
+
+    /**
+     * Show the transactions saved in a category while it was archived, except the
+     * ones in archived wallets
+     * @param categoryId The id of the category
+     * @return The number of transactions shown
+     * @note Called when the category is unarchived, with the moves from the archive
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletTransaction wt "
+           + "SET wt.visible = true "
+           + "WHERE wt.visible = false "
+           + "AND wt.category.id = :categoryId "
+           + "AND wt.wallet.id IN "
+           + "(SELECT w.id FROM Wallet w WHERE w.archived = false)")
+    int
+    ShowTransactionsByCategory(@Param("categoryId") Long categoryId);
 }
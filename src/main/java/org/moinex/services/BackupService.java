@@ -0,0 +1,1043 @@
+/*
+ * Filename: BackupService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.moinex.util.BackupResult;
+import org.moinex.util.BackupSnapshot;
+import org.moinex.util.BufferedChannelWriter;
+import org.moinex.util.Constants;
+import org.moinex.util.LoggerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.sqlite.SQLiteConnection;
+
+/**
+ * This class is responsible for backing up and restoring the database
+ *
+ * The database is copied with the online backup API of SQLite through a
+ * dedicated connection, a few pages at a time with a pause between the steps, so
+ * the application keeps reading and writing while the backup runs. The copy is
+ * compared page by page with the previous snapshot, and only the pages whose
+ * hash changed are stored.
+ *
+ * Snapshots are grouped in chains stored in their own directory: a full copy of
+ * the database followed by incremental snapshots. The hashes of the pages of the
+ * last snapshot of a chain are kept in a manifest file, so a new snapshot never
+ * has to read the previous ones. A new chain starts after a configured number of
+ * incremental snapshots, and retention always removes whole chains
+ */
+@Service
+public class BackupService
+{
+    @Autowired
+    private MetricsService m_metricsService;
+
+    @Autowired
+    private DataVersionService m_dataVersionService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @Value("${spring.datasource.url}")
+    private String m_databaseUrl;
+
+    @Value("${moinex.backup.enabled:true}")
+    private boolean m_enabled;
+
+    @Value("${moinex.backup.directory:${user.home}/.moinex/backup}")
+    private String m_directory;
+
+    @Value("${moinex.backup.interval-minutes:60}")
+    private long m_intervalMinutes;
+
+    @Value("${moinex.backup.pages-per-step:256}")
+    private int m_pagesPerStep = Constants.BACKUP_DEFAULT_PAGES;
+
+    @Value("${moinex.backup.step-pause-ms:10}")
+    private long m_stepPauseMillis = Constants.BACKUP_DEFAULT_PAUSE;
+
+    @Value("${moinex.backup.full-every:24}")
+    private int m_fullEvery = Constants.BACKUP_DEFAULT_FULL_EVERY;
+
+    @Value("${moinex.backup.keep-chains:4}")
+    private int m_keepChains = Constants.BACKUP_DEFAULT_KEEP;
+
+    @Value("${moinex.backup.max-age-days:30}")
+    private int m_maxAgeDays = Constants.BACKUP_DEFAULT_MAX_AGE;
+
+    // Serializes the backups and restores. The scheduler lifecycle uses the
+    // monitor of the service, so stopping it never waits for a running backup
+    private final Object m_backupLock = new Object();
+
+    private ScheduledExecutorService m_scheduler;
+
+    private volatile BackupResult m_lastResult;
+
+    private static final byte[] DELTA_MAGIC    = { 'M', 'N', 'X', 'D' };
+    private static final byte[] MANIFEST_MAGIC = { 'M', 'N', 'X', 'M' };
+    private static final int    FORMAT_VERSION = 1;
+
+    private static final byte[] SQLITE_HEADER =
+        "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int SQLITE_HEADER_SIZE      = 100;
+    private static final int SQLITE_PAGE_SIZE_OFFSET = 16;
+    private static final int SQLITE_MAX_PAGE_SIZE    = 65536;
+    private static final int SQLITE_OK               = 0;
+
+    private static final int HASH_SIZE = CreateDigest().getDigestLength();
+
+    private static final String COPY_FILE    = "snapshot.tmp";
+    private static final String RESTORE_FILE = "restore.tmp";
+    private static final String TMP_SUFFIX   = ".tmp";
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public BackupService() { }
+
+    /**
+     * Start taking backups in the background at the configured interval
+     * @note Does nothing if the backups are disabled or already scheduled
+     */
+    public synchronized void Start()
+    {
+        if (!m_enabled || m_scheduler != null)
+        {
+            return;
+        }
+
+        m_scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "moinex-backup");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        long interval = TimeUnit.MINUTES.toSeconds(m_intervalMinutes);
+
+        m_scheduler.scheduleWithFixedDelay(this::RunScheduled,
+                                           Constants.BACKUP_INITIAL_DELAY,
+                                           interval,
+                                           TimeUnit.SECONDS);
+
+        m_logger.info("Backups scheduled every " + m_intervalMinutes + " minutes");
+    }
+
+    @PreDestroy
+    public synchronized void Stop()
+    {
+        if (m_scheduler == null)
+        {
+            return;
+        }
+
+        m_scheduler.shutdownNow();
+        m_scheduler = null;
+    }
+
+    public void SetDatabaseUrl(String databaseUrl)
+    {
+        m_databaseUrl = databaseUrl;
+    }
+
+    public void SetDirectory(Path directory)
+    {
+        m_directory = directory.toString();
+    }
+
+    /**
+     * Set how fast the database is copied
+     * @param pagesPerStep The number of pages copied per step, or -1 to copy the
+     *     whole database in one step
+     * @param stepPauseMillis The pause between two steps in milliseconds
+     */
+    public void SetPacing(int pagesPerStep, long stepPauseMillis)
+    {
+        m_pagesPerStep    = pagesPerStep;
+        m_stepPauseMillis = stepPauseMillis;
+    }
+
+    /**
+     * Set the retention policy
+     * @param fullEvery The number of incremental snapshots after which a new chain
+     *     is started with a full copy
+     * @param keepChains The maximum number of chains kept
+     * @param maxAgeDays The number of days after which a chain is removed, counted
+     *     from its last snapshot
+     * @note The most recent chain is never removed
+     */
+    public void SetRetention(int fullEvery, int keepChains, int maxAgeDays)
+    {
+        m_fullEvery  = fullEvery;
+        m_keepChains = keepChains;
+        m_maxAgeDays = maxAgeDays;
+    }
+
+    /**
+     * Get the result of the last backup taken since the application started
+     * @return The result, or null if no backup was taken
+     */
+    public BackupResult GetLastResult()
+    {
+        return m_lastResult;
+    }
+
+    /**
+     * Take a snapshot of the database
+     *
+     * The first snapshot of a chain is a full copy. The next ones only store the
+     * pages that changed since the previous snapshot of the chain
+     *
+     * @return The result of the backup. Its snapshot is null if the database did
+     *     not change since the previous snapshot
+     * @throws RuntimeException If the database cannot be copied or the snapshot
+     *     cannot be written
+     */
+    public BackupResult Backup()
+    {
+        synchronized (m_backupLock)
+        {
+            long    start        = System.nanoTime();
+            long    pagesWritten = 0;
+            boolean failed       = true;
+            Path    directory    = Path.of(m_directory);
+            Path    copy         = directory.resolve(COPY_FILE);
+
+            try
+            {
+                Files.createDirectories(directory);
+                DeleteDatabaseFiles(copy);
+
+                CopyDatabase(copy);
+
+                BackupResult result = StoreSnapshot(copy, start);
+                pagesWritten        = result.GetPagesWritten();
+
+                ApplyRetention();
+
+                m_lastResult = result;
+                failed       = false;
+
+                m_logger.info(
+                    String.format("Backup finished: %d pages copied in %d ms "
+                                      + "(%.1f MB/s), %d pages written",
+                                  result.GetPagesCopied(),
+                                  TimeUnit.NANOSECONDS.toMillis(
+                                      result.GetDurationNanos()),
+                                  result.GetThroughput() / (1024 * 1024),
+                                  result.GetPagesWritten()));
+
+                return result;
+            }
+            catch (IOException | SQLException e)
+            {
+                throw new RuntimeException("Failed to back up the database: " +
+                                           e.getMessage());
+            }
+            finally
+            {
+                DeleteDatabaseFiles(copy);
+
+                m_metricsService.Record("BackupService.Backup",
+                                        System.nanoTime() - start,
+                                        0,
+                                        pagesWritten,
+                                        failed);
+            }
+        }
+    }
+
+    /**
+     * Get the stored snapshots
+     * @return The snapshots sorted from the most recent to the oldest
+     */
+    public List<BackupSnapshot> GetSnapshots()
+    {
+        List<BackupSnapshot> snapshots = new ArrayList<>();
+
+        try
+        {
+            for (Path chain : ListChains())
+            {
+                snapshots.addAll(ListSnapshots(chain));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Failed to list the backups: " +
+                                       e.getMessage());
+        }
+
+        snapshots.sort(Comparator.comparing(BackupSnapshot::GetCreatedAt)
+                           .thenComparing(BackupSnapshot::GetSequence)
+                           .reversed());
+
+        return snapshots;
+    }
+
+    /**
+     * Replace the contents of the database by a snapshot
+     *
+     * The snapshot is rebuilt in a temporary file and checked before the database
+     * is touched. A backup of the current data is taken first, so the restore can
+     * be undone by restoring that backup
+     *
+     * The restore writes through its own connection, so everything the
+     * application cached from the database is dropped after it
+     *
+     * @param snapshot The snapshot to restore
+     * @throws RuntimeException If the snapshot cannot be rebuilt, is corrupted, or
+     *     cannot be written to the database
+     * @note The entities held by the screens already open are not refreshed
+     */
+    public void Restore(BackupSnapshot snapshot)
+    {
+        synchronized (m_backupLock)
+        {
+            Path target = Path.of(m_directory).resolve(RESTORE_FILE);
+
+            try
+            {
+                DeleteDatabaseFiles(target);
+
+                Rebuild(snapshot, target);
+                Check(target);
+
+                try
+                {
+                    Backup();
+                }
+                catch (RuntimeException e)
+                {
+                    // A damaged database is the usual reason for a restore, so it
+                    // must not prevent it
+                    m_logger.warning("Restoring without a backup of the current "
+                                     + "data: " + e.getMessage());
+                }
+
+                try (Connection connection = DriverManager.getConnection(m_databaseUrl))
+                {
+                    int rc = connection.unwrap(SQLiteConnection.class)
+                                 .getDatabase()
+                                 .restore("main",
+                                          target.toString(),
+                                          null,
+                                          Constants.BACKUP_BUSY_SLEEP,
+                                          Constants.BACKUP_BUSY_RETRIES,
+                                          -1);
+
+                    if (rc != SQLITE_OK)
+                    {
+                        throw new SQLException("SQLite error code " + rc);
+                    }
+                }
+
+                DropCaches();
+
+                m_logger.info("Database restored from the snapshot of " +
+                              snapshot.GetCreatedAt());
+            }
+            catch (IOException | SQLException e)
+            {
+                throw new RuntimeException("Failed to restore the backup: " +
+                                           e.getMessage());
+            }
+            finally
+            {
+                DeleteDatabaseFiles(target);
+            }
+        }
+    }
+
+    /**
+     * Drop the data cached from the database before a restore
+     */
+    private void DropCaches()
+    {
+        m_referenceDataCache.RefreshAfterExternalWrite();
+        m_transactionAnalyticsService.Invalidate();
+        m_transactionSuggestionService.Invalidate();
+
+        // Changed last, so a result computed from the dropped caches is never
+        // tagged with the new version
+        m_dataVersionService.MarkChanged();
+    }
+
+    /**
+     * Take a scheduled backup
+     */
+    private void RunScheduled()
+    {
+        try
+        {
+            Backup();
+        }
+        catch (Exception e)
+        {
+            // An exception would cancel the next executions of the task
+            m_logger.warning(e.getMessage());
+        }
+    }
+
+    /**
+     * Copy the database to a file with the online backup API
+     * @param destination The file the database is copied to
+     */
+    private void CopyDatabase(Path destination) throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection(m_databaseUrl))
+        {
+            int rc = connection.unwrap(SQLiteConnection.class)
+                         .getDatabase()
+                         .backup("main",
+                                 destination.toString(),
+                                 (remaining, pageCount) -> PauseStep(remaining),
+                                 Constants.BACKUP_BUSY_SLEEP,
+                                 Constants.BACKUP_BUSY_RETRIES,
+                                 m_pagesPerStep);
+
+            if (rc != SQLITE_OK)
+            {
+                throw new SQLException("SQLite error code " + rc);
+            }
+        }
+    }
+
+    /**
+     * Pause between two steps of the backup, releasing the database to the
+     * application
+     * @param remaining The number of pages left to copy
+     */
+    private void PauseStep(int remaining)
+    {
+        if (remaining <= 0 || m_stepPauseMillis <= 0 ||
+            Thread.currentThread().isInterrupted())
+        {
+            return;
+        }
+
+        try
+        {
+            Thread.sleep(m_stepPauseMillis);
+        }
+        catch (InterruptedException e)
+        {
+            // Finish the backup without pauses, the caller handles the interruption
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Store a copy of the database as the next snapshot
+     * @param copy The copy of the database. It is moved or deleted
+     * @param start When the backup started, as given by System.nanoTime
+     * @return The result of the backup
+     */
+    private BackupResult StoreSnapshot(Path copy, long start) throws IOException
+    {
+        int  pageSize  = ReadPageSize(copy);
+        long pageCount = Files.size(copy) / pageSize;
+
+        List<Path> chains   = ListChains();
+        Path       chain    = chains.isEmpty() ? null : chains.get(0);
+        byte[]     manifest = chain == null ? null : ReadManifest(chain, pageSize);
+
+        List<BackupSnapshot> snapshots =
+            manifest == null ? List.of() : ListSnapshots(chain);
+
+        if (snapshots.isEmpty() || !snapshots.get(0).IsFull() ||
+            snapshots.size() > m_fullEvery)
+        {
+            return StoreFull(copy, pageSize, pageCount, start);
+        }
+
+        return StoreDelta(copy,
+                          chain,
+                          manifest,
+                          snapshots.get(snapshots.size() - 1).GetSequence() + 1,
+                          pageSize,
+                          pageCount,
+                          start);
+    }
+
+    /**
+     * Start a new chain with a full copy of the database
+     */
+    private BackupResult
+    StoreFull(Path copy, int pageSize, long pageCount, long start) throws IOException
+    {
+        long createdAt = System.currentTimeMillis();
+        Path chain     = Path.of(m_directory).resolve(Constants.BACKUP_CHAIN_PREFIX +
+                                                  createdAt);
+
+        // Two chains started within the same millisecond
+        while (Files.exists(chain))
+        {
+            createdAt++;
+            chain = Path.of(m_directory).resolve(Constants.BACKUP_CHAIN_PREFIX +
+                                                 createdAt);
+        }
+
+        Files.createDirectories(chain);
+
+        byte[]        hashes = new byte[(int)pageCount * HASH_SIZE];
+        MessageDigest digest = CreateDigest();
+        ByteBuffer    page   = ByteBuffer.allocate(pageSize);
+
+        try (FileChannel in = FileChannel.open(copy, StandardOpenOption.READ))
+        {
+            for (long p = 0; p < pageCount; p++)
+            {
+                ReadPage(in, page, p);
+                Hash(digest, page, hashes, p);
+            }
+        }
+
+        Path file =
+            chain.resolve(SnapshotName(0, createdAt, Constants.BACKUP_FULL_EXTENSION));
+
+        Files.move(copy, file, StandardCopyOption.ATOMIC_MOVE);
+        WriteManifest(chain, pageSize, hashes);
+
+        return new BackupResult(ToSnapshot(chain, file),
+                                pageCount,
+                                pageCount,
+                                pageSize,
+                                System.nanoTime() - start);
+    }
+
+    /**
+     * Store the pages that changed since the last snapshot of a chain
+     *
+     * Delta file layout, integers as in BufferedChannelWriter:
+     *
+     *  magic "MNXD", version (byte), page size (varint), page count (varint),
+     *  then page number (varint, starting at 1) and contents of each changed page,
+     *  ended by the page number 0
+     */
+    private BackupResult StoreDelta(Path   copy,
+                                    Path   chain,
+                                    byte[] manifest,
+                                    int    sequence,
+                                    int    pageSize,
+                                    long   pageCount,
+                                    long   start) throws IOException
+    {
+        long createdAt = System.currentTimeMillis();
+        Path file      = chain.resolve(
+            SnapshotName(sequence, createdAt, Constants.BACKUP_DELTA_EXTENSION));
+        Path tmp     = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        long changed = 0;
+
+        byte[]        hashes = new byte[(int)pageCount * HASH_SIZE];
+
+        MessageDigest digest = CreateDigest();
+        ByteBuffer    page   = ByteBuffer.allocate(pageSize);
+
+        try (FileChannel in = FileChannel.open(copy, StandardOpenOption.READ);
+             BufferedChannelWriter out =
+                 BufferedChannelWriter.Open(tmp, false, Constants.EXPORT_BUFFER_SIZE))
+        {
+            out.WriteBytes(DELTA_MAGIC);
+            out.WriteByte(FORMAT_VERSION);
+            out.WriteVarLong(pageSize);
+            out.WriteVarLong(pageCount);
+
+            for (long p = 0; p < pageCount; p++)
+            {
+                ReadPage(in, page, p);
+                Hash(digest, page, hashes, p);
+
+                int offset = (int)p * HASH_SIZE;
+
+                if (offset + HASH_SIZE <= manifest.length &&
+                    Arrays.equals(hashes,
+                                  offset,
+                                  offset + HASH_SIZE,
+                                  manifest,
+                                  offset,
+                                  offset + HASH_SIZE))
+                {
+                    continue;
+                }
+
+                out.WriteVarLong(p + 1);
+                out.WriteBytes(page.array(), 0, pageSize);
+                changed++;
+            }
+
+            out.WriteVarLong(0);
+        }
+        catch (IOException e)
+        {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        if (changed == 0 && hashes.length == manifest.length)
+        {
+            Files.delete(tmp);
+            return new BackupResult(null,
+                                    pageCount,
+                                    0,
+                                    pageSize,
+                                    System.nanoTime() - start);
+        }
+
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+
+        // If the application stops before the manifest is replaced, the next delta
+        // is computed against the older manifest. It then holds every page changed
+        // since that snapshot, so applying both deltas in order is still correct
+        WriteManifest(chain, pageSize, hashes);
+
+        return new BackupResult(ToSnapshot(chain, file),
+                                pageCount,
+                                changed,
+                                pageSize,
+                                System.nanoTime() - start);
+    }
+
+    /**
+     * Rebuild the database as it was when a snapshot was taken
+     * @param snapshot The snapshot
+     * @param target The file where the database is written
+     */
+    private void Rebuild(BackupSnapshot snapshot, Path target) throws IOException
+    {
+        List<BackupSnapshot> snapshots = ListSnapshots(snapshot.GetChain());
+
+        if (snapshots.isEmpty() || !snapshots.get(0).IsFull())
+        {
+            throw new IOException("The full copy of the snapshot chain is missing");
+        }
+
+        Files.copy(snapshots.get(0).GetFile(),
+                   target,
+                   StandardCopyOption.REPLACE_EXISTING);
+
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE))
+        {
+            for (BackupSnapshot delta : snapshots)
+            {
+                if (delta.IsFull())
+                {
+                    continue;
+                }
+
+                if (delta.GetSequence() > snapshot.GetSequence())
+                {
+                    break;
+                }
+
+                ApplyDelta(delta.GetFile(), out);
+            }
+        }
+    }
+
+    /**
+     * Write the pages of a delta over a database
+     * @param delta The delta file
+     * @param out The database
+     */
+    private void ApplyDelta(Path delta, FileChannel out) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(
+                 new BufferedInputStream(Files.newInputStream(delta),
+                                         Constants.EXPORT_BUFFER_SIZE)))
+        {
+            byte[] magic = new byte[DELTA_MAGIC.length];
+            in.readFully(magic);
+
+            if (!Arrays.equals(magic, DELTA_MAGIC) ||
+                in.readUnsignedByte() != FORMAT_VERSION)
+            {
+                throw new IOException("Invalid snapshot file " + delta.getFileName());
+            }
+
+            int    pageSize  = (int)ReadVarLong(in);
+            long   pageCount = ReadVarLong(in);
+            byte[] page      = new byte[pageSize];
+
+            for (long number = ReadVarLong(in); number != 0; number = ReadVarLong(in))
+            {
+                in.readFully(page);
+
+                ByteBuffer buffer   = ByteBuffer.wrap(page);
+                long       position = (number - 1) * pageSize;
+
+                while (buffer.hasRemaining())
+                {
+                    position += out.write(buffer, position);
+                }
+            }
+
+            out.truncate(pageCount * pageSize);
+        }
+    }
+
+    /**
+     * Check the integrity of a rebuilt database
+     * @param database The database
+     */
+    private void Check(Path database) throws SQLException
+    {
+        try (Connection connection =
+                 DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement();
+             ResultSet result    = statement.executeQuery("PRAGMA quick_check"))
+        {
+            String status = result.next() ? result.getString(1) : null;
+
+            if (!"ok".equals(status))
+            {
+                throw new SQLException("The snapshot is corrupted: " + status);
+            }
+        }
+    }
+
+    /**
+     * Remove the chains that exceed the retention policy. The most recent chain is
+     * always kept
+     */
+    private void ApplyRetention() throws IOException
+    {
+        List<Path>    chains = ListChains();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(m_maxAgeDays);
+
+        for (int i = 1; i < chains.size(); i++)
+        {
+            List<BackupSnapshot> snapshots = ListSnapshots(chains.get(i));
+
+            if (i >= m_keepChains || snapshots.isEmpty() ||
+                snapshots.get(snapshots.size() - 1).GetCreatedAt().isBefore(cutoff))
+            {
+                DeleteChain(chains.get(i));
+            }
+        }
+    }
+
+    private void DeleteChain(Path chain) throws IOException
+    {
+        try (Stream<Path> files = Files.walk(chain))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+
+        m_logger.info("Backup chain " + chain.getFileName() + " removed");
+    }
+
+    /**
+     * List the chain directories
+     * @return The chains sorted from the most recent to the oldest
+     */
+    private List<Path> ListChains() throws IOException
+    {
+        Path directory = Path.of(m_directory);
+
+        if (!Files.isDirectory(directory))
+        {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory))
+        {
+            return files
+                .filter(f -> Files.isDirectory(f) &&
+                             f.getFileName().toString().startsWith(
+                                 Constants.BACKUP_CHAIN_PREFIX))
+                .sorted(Comparator.comparingLong(BackupService::ChainCreatedAt)
+                            .reversed())
+                .toList();
+        }
+    }
+
+    /**
+     * List the snapshots of a chain
+     * @param chain The chain directory
+     * @return The snapshots sorted by sequence
+     */
+    private List<BackupSnapshot> ListSnapshots(Path chain) throws IOException
+    {
+        try (Stream<Path> files = Files.list(chain))
+        {
+            return files
+                .filter(f
+                        -> f.toString().endsWith(Constants.BACKUP_FULL_EXTENSION) ||
+                               f.toString().endsWith(Constants.BACKUP_DELTA_EXTENSION))
+                .map(f -> ToSnapshot(chain, f))
+                .sorted(Comparator.comparingInt(BackupSnapshot::GetSequence))
+                .toList();
+        }
+        catch (NoSuchFileException e)
+        {
+            return List.of();
+        }
+    }
+
+    /**
+     * Read the page hashes of the last snapshot of a chain
+     * @param chain The chain directory
+     * @param pageSize The page size of the new snapshot
+     * @return The hashes, or null if the manifest is missing, damaged or was
+     *     written for another page size
+     */
+    private byte[] ReadManifest(Path chain, int pageSize) throws IOException
+    {
+        Path file = chain.resolve(Constants.BACKUP_MANIFEST_FILE);
+
+        if (!Files.exists(file))
+        {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                 new BufferedInputStream(Files.newInputStream(file))))
+        {
+            byte[] magic = new byte[MANIFEST_MAGIC.length];
+            in.readFully(magic);
+
+            if (!Arrays.equals(magic, MANIFEST_MAGIC) ||
+                in.readUnsignedByte() != FORMAT_VERSION || in.readInt() != pageSize)
+            {
+                return null;
+            }
+
+            byte[] hashes = new byte[in.readInt() * HASH_SIZE];
+            in.readFully(hashes);
+            return hashes;
+        }
+        catch (IOException e)
+        {
+            m_logger.warning("Ignoring damaged backup manifest " + file + ": " +
+                             e.getMessage());
+            return null;
+        }
+    }
+
+    private void WriteManifest(Path chain, int pageSize, byte[] hashes)
+        throws IOException
+    {
+        Path file = chain.resolve(Constants.BACKUP_MANIFEST_FILE);
+        Path tmp  = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+
+        try (DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(tmp))))
+        {
+            out.write(MANIFEST_MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(pageSize);
+            out.writeInt(hashes.length / HASH_SIZE);
+            out.write(hashes);
+        }
+
+        Files.move(tmp,
+                   file,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the page size from the header of a database file
+     * @param database The database file
+     * @return The page size in bytes
+     */
+    private static int ReadPageSize(Path database) throws IOException
+    {
+        byte[] header = new byte[SQLITE_HEADER_SIZE];
+
+        try (InputStream in = Files.newInputStream(database))
+        {
+            if (in.readNBytes(header, 0, header.length) != header.length ||
+                !Arrays.equals(header,
+                               0,
+                               SQLITE_HEADER.length,
+                               SQLITE_HEADER,
+                               0,
+                               SQLITE_HEADER.length))
+            {
+                throw new IOException("The copy is not a SQLite database");
+            }
+        }
+
+        int pageSize = ((header[SQLITE_PAGE_SIZE_OFFSET] & 0xFF) << 8) |
+                       (header[SQLITE_PAGE_SIZE_OFFSET + 1] & 0xFF);
+
+        // The maximum page size does not fit in two bytes and is stored as 1
+        return pageSize == 1 ? SQLITE_MAX_PAGE_SIZE : pageSize;
+    }
+
+    private static void ReadPage(FileChannel in, ByteBuffer page, long number)
+        throws IOException
+    {
+        page.clear();
+
+        long position = number * page.capacity();
+
+        while (page.hasRemaining())
+        {
+            int read = in.read(page, position);
+
+            if (read < 0)
+            {
+                throw new IOException("Unexpected end of the database copy");
+            }
+
+            position += read;
+        }
+    }
+
+    private static void
+    Hash(MessageDigest digest, ByteBuffer page, byte[] hashes, long number)
+    {
+        digest.update(page.array(), 0, page.capacity());
+
+        byte[] hash = digest.digest();
+        System.arraycopy(hash, 0, hashes, (int)number * hash.length, hash.length);
+    }
+
+    private static MessageDigest CreateDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance(Constants.BACKUP_HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException("Hash algorithm not available: " +
+                                       Constants.BACKUP_HASH_ALGORITHM);
+        }
+    }
+
+    private static long ReadVarLong(DataInputStream in) throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Build the name of a snapshot file, which holds its sequence and creation
+     * time so the snapshots can be listed without opening them
+     */
+    private static String SnapshotName(int sequence, long createdAt, String extension)
+    {
+        return String.format("%06d-%d%s", sequence, createdAt, extension);
+    }
+
+    private static BackupSnapshot ToSnapshot(Path chain, Path file)
+    {
+        String   name  = file.getFileName().toString();
+        String[] parts = name.substring(0, name.lastIndexOf('.')).split("-");
+
+        try
+        {
+            return new BackupSnapshot(chain,
+                                      Integer.parseInt(parts[0]),
+                                      ToDateTime(Long.parseLong(parts[1])),
+                                      file,
+                                      Files.size(file));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw new RuntimeException("Invalid snapshot file " + name);
+        }
+    }
+
+    private static long ChainCreatedAt(Path chain)
+    {
+        try
+        {
+            return Long.parseLong(chain.getFileName().toString().substring(
+                Constants.BACKUP_CHAIN_PREFIX.length()));
+        }
+        catch (NumberFormatException e)
+        {
+            return 0;
+        }
+    }
+
+    private static LocalDateTime ToDateTime(long epochMillis)
+    {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis),
+                                       ZoneId.systemDefault());
+    }
+
+    /**
+     * Delete a database file and the journal files SQLite may leave next to it
+     */
+    private static void DeleteDatabaseFiles(Path database)
+    {
+        for (String suffix : List.of("", "-wal", "-shm", "-journal"))
+        {
+            try
+            {
+                Files.deleteIfExists(database.resolveSibling(
+                    database.getFileName() + suffix));
+            }
+            catch (IOException e)
+            {
+                m_logger.warning("Failed to delete " + database + suffix + ": " +
+                                 e.getMessage());
+            }
+        }
+    }
+}
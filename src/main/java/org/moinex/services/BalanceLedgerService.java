@@ -0,0 +1,569 @@
+/*
+ * Filename: BalanceLedgerService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import org.moinex.entities.BalanceCheckpoint;
+import org.moinex.repositories.BalanceCheckpointRepository;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.util.Constants;
+import org.moinex.util.LoggerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class is responsible for the history of the balances of the wallets
+ *
+ * Every change in the balance of a wallet is appended to a ledger, dated by the
+ * date from which it applies, e.g., the date of the transaction. The balance at
+ * the end of each closed month is kept as a checkpoint, so the balance at a date
+ * is the last checkpoint before it plus the entries after the checkpoint.
+ *
+ * Entries dated in a month that already has checkpoints also update the
+ * checkpoints from that month on, so they are always the sum of the ledger
+ *
+ * The entries are recorded in the transaction of the caller, which must hold the
+ * lock of the wallets, as it does when changing their balances
+ */
+@Service
+public class BalanceLedgerService
+{
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private BalanceCheckpointRepository m_balanceCheckpointRepository;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO balance_ledger (wallet_id, date, amount, recorded_at) "
+        + "VALUES (?, ?, ?, ?)";
+
+    private static final String ADJUST_CHECKPOINTS_SQL =
+        "UPDATE balance_checkpoint SET balance = balance + ? "
+        + "WHERE wallet_id = ? AND period >= ?";
+
+    private static final String INSERT_CHECKPOINT_SQL =
+        "INSERT INTO balance_checkpoint (wallet_id, period, balance) "
+        + "VALUES (?, ?, ?)";
+
+    // The amounts of the existing rows are converted to cents by the database, so
+    // the history of large databases is replayed without loading it
+    private static final String CENTS = "CAST(ROUND(amount * 100) AS BIGINT)";
+
+    private static final String REPLAY_TRANSACTIONS_SQL =
+        "INSERT INTO balance_ledger (wallet_id, date, amount, recorded_at) "
+        + "SELECT wallet_id, date, "
+        + "CASE WHEN type = 'INCOME' THEN 1 ELSE -1 END * " + CENTS + ", ? "
+        + "FROM wallet_transaction WHERE wallet_id = ? AND status = 'CONFIRMED'";
+
+    // The transactions of archived wallets and categories are in the archive table
+    private static final String REPLAY_ARCHIVED_TRANSACTIONS_SQL =
+        "INSERT INTO balance_ledger (wallet_id, date, amount, recorded_at) "
+        + "SELECT wallet_id, date, "
+        + "CASE WHEN type = 'INCOME' THEN 1 ELSE -1 END * " + CENTS + ", ? "
+        + "FROM wallet_transaction_archive "
+        + "WHERE wallet_id = ? AND status = 'CONFIRMED'";
+
+    private static final String REPLAY_SENT_TRANSFERS_SQL =
+        "INSERT INTO balance_ledger (wallet_id, date, amount, recorded_at) "
+        + "SELECT sender_wallet_id, date, -" + CENTS + ", ? "
+        + "FROM transfer WHERE sender_wallet_id = ?";
+
+    private static final String REPLAY_RECEIVED_TRANSFERS_SQL =
+        "INSERT INTO balance_ledger (wallet_id, date, amount, recorded_at) "
+        + "SELECT receiver_wallet_id, date, " + CENTS + ", ? "
+        + "FROM transfer WHERE receiver_wallet_id = ?";
+
+    private static final String REPLAY_PAYMENTS_SQL =
+        "INSERT INTO balance_ledger (wallet_id, date, amount, recorded_at) "
+        + "SELECT wallet_id, date, -" + CENTS + ", ? "
+        + "FROM credit_card_payment WHERE wallet_id = ?";
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public BalanceLedgerService() { }
+
+    /**
+     * Record a change in the balance of a wallet
+     * @param walletId The id of the wallet
+     * @param date The date from which the change applies
+     * @param amount The amount added to the balance, negative if it decreased
+     * @note Changes of zero are not recorded
+     */
+    @Transactional
+    public void Record(Long walletId, LocalDateTime date, BigDecimal amount)
+    {
+        long cents = ToCents(amount);
+
+        if (cents == 0)
+        {
+            return;
+        }
+
+        String formattedDate = date.format(Constants.DB_DATE_FORMATTER);
+
+        m_jdbcTemplate.update(INSERT_ENTRY_SQL,
+                              walletId,
+                              formattedDate,
+                              cents,
+                              LocalDateTime.now().format(Constants.DB_DATE_FORMATTER));
+
+        m_jdbcTemplate.update(ADJUST_CHECKPOINTS_SQL,
+                              cents,
+                              walletId,
+                              PeriodOf(formattedDate));
+    }
+
+    /**
+     * Record many changes in the balances of wallets
+     * @param changes The changes, as arrays with the id of the wallet, the date
+     *     formatted with Constants.DB_DATE_FORMATTER and the amount added to the
+     *     balance
+     */
+    @Transactional
+    public void RecordAll(List<Object[]> changes)
+    {
+        String recordedAt = LocalDateTime.now().format(Constants.DB_DATE_FORMATTER);
+
+        List<Object[]> entries = new ArrayList<>();
+
+        // The checkpoints are adjusted once per wallet and month
+        Map<Long, Map<String, Long>> adjustments = new HashMap<>();
+
+        for (Object[] change : changes)
+        {
+            Long   walletId = (Long)change[0];
+            String date     = (String)change[1];
+            long   cents    = ToCents((BigDecimal)change[2]);
+
+            if (cents == 0)
+            {
+                continue;
+            }
+
+            entries.add(new Object[] { walletId, date, cents, recordedAt });
+
+            adjustments.computeIfAbsent(walletId, k -> new HashMap<>())
+                .merge(PeriodOf(date), cents, Long::sum);
+        }
+
+        m_jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entries);
+
+        List<Object[]> updates = new ArrayList<>();
+
+        adjustments.forEach(
+            (walletId, periods)
+                -> periods.forEach(
+                    (period, cents)
+                        -> updates.add(new Object[] { cents, walletId, period })));
+
+        m_jdbcTemplate.batchUpdate(ADJUST_CHECKPOINTS_SQL, updates);
+    }
+
+    /**
+     * Move a change in the balance of a wallet to another date
+     *
+     * Used when the date of a confirmed transaction changes, which does not change
+     * the current balance, but changes the balance between the two dates
+     * @param walletId The id of the wallet
+     * @param from The date the change was recorded with
+     * @param to The new date of the change
+     * @param amount The amount of the change
+     */
+    @Transactional
+    public void
+    Move(Long walletId, LocalDateTime from, LocalDateTime to, BigDecimal amount)
+    {
+        if (from.equals(to))
+        {
+            return;
+        }
+
+        Record(walletId, from, amount.negate());
+        Record(walletId, to, amount);
+    }
+
+    /**
+     * Delete the history of a wallet that is being deleted
+     * @param walletId The id of the wallet
+     */
+    @Transactional
+    public void DeleteHistory(Long walletId)
+    {
+        m_jdbcTemplate.update("DELETE FROM balance_checkpoint WHERE wallet_id = ?",
+                              walletId);
+        m_jdbcTemplate.update("DELETE FROM balance_ledger WHERE wallet_id = ?",
+                              walletId);
+    }
+
+    /**
+     * Record the history of the wallets that have no entries in the ledger
+     *
+     * The confirmed transactions, the transfers and the paid credit card payments
+     * of each wallet are replayed into the ledger. The difference between the
+     * current balance and the replayed history, e.g., the initial balance of the
+     * wallet, is recorded at the date of the first entry
+     * @return The number of wallets whose history was recorded
+     * @note The wallets are looked up before the transaction opens, so their locks
+     *     are taken before the writer connection, as in WalletTransactionService
+     */
+    public int RecordMissingHistory()
+    {
+        List<Long> walletIds =
+            new ArrayList<>(m_balanceLedgerRepository.FindWalletIdsWithoutEntries());
+
+        if (walletIds.isEmpty())
+        {
+            return 0;
+        }
+
+        Integer recorded =
+            new TransactionTemplate(m_transactionManager).execute(status -> {
+                m_walletLockService.LockUntilCompletion(
+                    walletIds.toArray(new Long[0]));
+
+                // Wallets whose history was recorded by a write that committed
+                // after the lookup are not replayed again
+                walletIds.retainAll(new HashSet<>(
+                    m_balanceLedgerRepository.FindWalletIdsWithoutEntries()));
+
+                return RecordHistory(walletIds);
+            });
+
+        if (recorded > 0)
+        {
+            m_logger.info("Balance history of " + recorded + " wallets recorded");
+        }
+
+        return recorded;
+    }
+
+    /**
+     * Replay the history of wallets that have no entries in the ledger
+     * @param walletIds The ids of the wallets, whose locks are held
+     * @return The number of wallets whose history was recorded
+     */
+    private int RecordHistory(List<Long> walletIds)
+    {
+        String now = LocalDateTime.now().format(Constants.DB_DATE_FORMATTER);
+        int    recorded = 0;
+
+        for (Long walletId : walletIds)
+        {
+            m_jdbcTemplate.update(REPLAY_TRANSACTIONS_SQL, now, walletId);
+            m_jdbcTemplate.update(REPLAY_ARCHIVED_TRANSACTIONS_SQL, now, walletId);
+            m_jdbcTemplate.update(REPLAY_SENT_TRANSFERS_SQL, now, walletId);
+            m_jdbcTemplate.update(REPLAY_RECEIVED_TRANSFERS_SQL, now, walletId);
+            m_jdbcTemplate.update(REPLAY_PAYMENTS_SQL, now, walletId);
+
+            BigDecimal balance =
+                m_jdbcTemplate.queryForObject("SELECT balance FROM wallet WHERE id = ?",
+                                              BigDecimal.class,
+                                              walletId);
+
+            Long replayed = m_jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM balance_ledger "
+                    + "WHERE wallet_id = ?",
+                Long.class,
+                walletId);
+
+            long   opening = ToCents(balance) - replayed;
+            String firstDate =
+                m_balanceLedgerRepository.FindFirstDateByWallet(walletId);
+
+            if (opening != 0)
+            {
+                m_jdbcTemplate.update(INSERT_ENTRY_SQL,
+                                      walletId,
+                                      firstDate != null ? firstDate : now,
+                                      opening,
+                                      now);
+            }
+
+            if (firstDate != null || opening != 0)
+            {
+                recorded++;
+            }
+        }
+
+        return recorded;
+    }
+
+    /**
+     * Create the checkpoints of the closed months that do not have one yet
+     * @return The number of checkpoints created
+     * @note The wallets are looked up before the transaction opens, so their locks
+     *     are taken before the writer connection. A wallet that gets its first
+     *     entries after the lookup gets its checkpoints on the next call
+     */
+    public int CreateCheckpoints()
+    {
+        List<Long> walletIds =
+            new ArrayList<>(m_balanceLedgerRepository.FindWalletIdsWithEntries());
+
+        if (walletIds.isEmpty())
+        {
+            return 0;
+        }
+
+        YearMonth lastClosed = YearMonth.now().minusMonths(1);
+
+        Integer created =
+            new TransactionTemplate(m_transactionManager).execute(status -> {
+                m_walletLockService.LockUntilCompletion(
+                    walletIds.toArray(new Long[0]));
+
+                // Wallets deleted after the lookup have no entries anymore
+                walletIds.retainAll(new HashSet<>(
+                    m_balanceLedgerRepository.FindWalletIdsWithEntries()));
+
+                int count = 0;
+
+                for (Long walletId : walletIds)
+                {
+                    count += CreateCheckpoints(walletId, lastClosed);
+                }
+
+                return count;
+            });
+
+        if (created > 0)
+        {
+            m_logger.info(created + " balance checkpoints created");
+        }
+
+        return created;
+    }
+
+    /**
+     * Get the balance of a wallet at a date
+     * @param walletId The id of the wallet
+     * @param date The date
+     * @return The balance of the wallet after all the changes up to the date
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal GetBalanceAt(Long walletId, LocalDateTime date)
+    {
+        return FromCents(GetBalanceInCentsAt(walletId, date));
+    }
+
+    /**
+     * Get the daily balance of a wallet in a period
+     * @param walletId The id of the wallet
+     * @param start The first day of the period
+     * @param end The last day of the period
+     * @return The balance at the end of the first day, of the last day and of each
+     *     day in between in which the balance changed, ordered by day
+     * @throws RuntimeException If the period ends before it starts
+     */
+    @Transactional(readOnly = true)
+    public SortedMap<LocalDate, BigDecimal>
+    GetDailyBalanceHistory(Long walletId, LocalDate start, LocalDate end)
+    {
+        if (end.isBefore(start))
+        {
+            throw new RuntimeException("The period must end after it starts");
+        }
+
+        SortedMap<LocalDate, BigDecimal> history = new TreeMap<>();
+
+        long balance = GetBalanceInCentsAt(walletId, EndOf(start));
+        history.put(start, FromCents(balance));
+
+        for (Object[] day : m_balanceLedgerRepository.SumAmountByWalletPerDay(
+                 walletId,
+                 Format(start.plusDays(1).atStartOfDay()),
+                 Format(EndOf(end))))
+        {
+            balance += ((Number)day[1]).longValue();
+            history.put(LocalDate.parse((String)day[0]), FromCents(balance));
+        }
+
+        history.putIfAbsent(end, FromCents(balance));
+
+        return history;
+    }
+
+    /**
+     * Get the monthly balance of a wallet in a range of months
+     * @param walletId The id of the wallet
+     * @param start The first month
+     * @param end The last month
+     * @return The balance at the end of each month, ordered by month
+     * @throws RuntimeException If the range ends before it starts
+     */
+    @Transactional(readOnly = true)
+    public SortedMap<YearMonth, BigDecimal>
+    GetMonthlyBalanceHistory(Long walletId, YearMonth start, YearMonth end)
+    {
+        if (end.isBefore(start))
+        {
+            throw new RuntimeException("The range of months must end after it starts");
+        }
+
+        Map<YearMonth, Long> checkpoints = new HashMap<>();
+
+        for (BalanceCheckpoint checkpoint :
+             m_balanceCheckpointRepository.FindCheckpointsBetween(walletId,
+                                                                  start.toString(),
+                                                                  end.toString()))
+        {
+            checkpoints.put(checkpoint.GetPeriod(), checkpoint.GetBalanceInCents());
+        }
+
+        SortedMap<YearMonth, BigDecimal> history = new TreeMap<>();
+
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1))
+        {
+            Long balance = checkpoints.get(month);
+
+            if (balance == null)
+            {
+                balance = GetBalanceInCentsAt(walletId, EndOf(month.atEndOfMonth()));
+            }
+
+            history.put(month, FromCents(balance));
+        }
+
+        return history;
+    }
+
+    private long GetBalanceInCentsAt(Long walletId, LocalDateTime date)
+    {
+        Optional<BalanceCheckpoint> checkpoint =
+            m_balanceCheckpointRepository.FindLastCheckpointBefore(
+                walletId,
+                YearMonth.from(date).toString());
+
+        if (checkpoint.isEmpty())
+        {
+            return m_balanceLedgerRepository.SumAmountByWalletUntil(walletId,
+                                                                    Format(date));
+        }
+
+        LocalDateTime afterCheckpoint =
+            checkpoint.get().GetPeriod().plusMonths(1).atDay(1).atStartOfDay();
+
+        return checkpoint.get().GetBalanceInCents() +
+            m_balanceLedgerRepository.SumAmountByWalletBetween(walletId,
+                                                               Format(afterCheckpoint),
+                                                               Format(date));
+    }
+
+    /**
+     * Create the missing checkpoints of a wallet up to a month
+     * @return The number of checkpoints created
+     */
+    private int CreateCheckpoints(Long walletId, YearMonth lastClosed)
+    {
+        Optional<BalanceCheckpoint> last =
+            m_balanceCheckpointRepository.FindLastCheckpointBefore(
+                walletId,
+                lastClosed.plusMonths(1).toString());
+
+        YearMonth first;
+        long      balance;
+
+        if (last.isPresent())
+        {
+            first   = last.get().GetPeriod().plusMonths(1);
+            balance = last.get().GetBalanceInCents();
+        }
+        else
+        {
+            first = YearMonth.parse(
+                PeriodOf(m_balanceLedgerRepository.FindFirstDateByWallet(walletId)));
+            balance = 0;
+        }
+
+        if (first.isAfter(lastClosed))
+        {
+            return 0;
+        }
+
+        Map<String, Long> sums = new HashMap<>();
+
+        for (Object[] month : m_balanceLedgerRepository.SumAmountByWalletPerMonth(
+                 walletId,
+                 Format(first.atDay(1).atStartOfDay()),
+                 Format(EndOf(lastClosed.atEndOfMonth()))))
+        {
+            sums.put((String)month[0], ((Number)month[1]).longValue());
+        }
+
+        List<Object[]> checkpoints = new ArrayList<>();
+
+        for (YearMonth month = first; !month.isAfter(lastClosed);
+             month           = month.plusMonths(1))
+        {
+            balance += sums.getOrDefault(month.toString(), 0L);
+            checkpoints.add(new Object[] { walletId, month.toString(), balance });
+        }
+
+        m_jdbcTemplate.batchUpdate(INSERT_CHECKPOINT_SQL, checkpoints);
+
+        return checkpoints.size();
+    }
+
+    private static long ToCents(BigDecimal amount)
+    {
+        return amount.setScale(2, RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    private static BigDecimal FromCents(long cents)
+    {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static String Format(LocalDateTime date)
+    {
+        return date.format(Constants.DB_DATE_FORMATTER);
+    }
+
+    private static LocalDateTime EndOf(LocalDate day)
+    {
+        return day.atTime(LocalTime.MAX);
+    }
+
+    /**
+     * Get the month of a date formatted with Constants.DB_DATE_FORMATTER
+     * @return The month, formatted as yyyy-MM
+     */
+    private static String PeriodOf(String date)
+    {
+        return date.substring(0, 7);
+    }
+}
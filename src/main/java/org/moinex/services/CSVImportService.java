@@ -0,0 +1,1826 @@
+/*
+ * Filename: CSVImportService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import com.opencsv.RFC4180Parser;
+import com.opencsv.RFC4180ParserBuilder;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.moinex.entities.Category;
+import org.moinex.entities.CreditCard;
+import org.moinex.entities.CreditCardDebt;
+import org.moinex.entities.EntityRegistry;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.CreditCardRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.util.CSVImportProgress;
+import org.moinex.util.Constants;
+import org.moinex.util.CountingInputStream;
+import org.moinex.util.EntityDescriptor;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.StatementFormat;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class is responsible for importing CSV files into the database
+ *
+ * The import runs as a three stage pipeline connected by bounded queues:
+ *  1. A reader thread splits the file into records and groups them in chunks of
+ *     batch size rows
+ *  2. Several worker threads parse and validate the chunks in parallel, converting
+ *     each row into the parameters of the insert statement
+ *  3. The calling thread writes the chunks in file order, each one as a JDBC batch
+ *     in its own transaction
+ *
+ * Only a few chunks are in memory at any time, so the memory usage does not
+ * depend on the size of the file.
+ *
+ * Bank statements can be imported as wallet transactions or credit card debts.
+ * The date and number formats are detected from the first rows of the file, and
+ * rows that are already in the database are skipped
+ */
+@Service
+public class CSVImportService
+{
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CreditCardRepository m_creditCardRepository;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Value("${moinex.csv-import.batch-size:500}")
+    private int m_batchSize = Constants.CSV_IMPORT_DEFAULT_BATCH_SIZE;
+
+    // 0 means one worker per available processor, up to
+    // Constants.CSV_IMPORT_MAX_WORKER_THREADS
+    @Value("${moinex.csv-import.worker-threads:0}")
+    private int m_workerThreads = 0;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public CSVImportService() { }
+
+    /**
+     * Get the tables that can be imported
+     * @return The entity names of the importable tables
+     */
+    public List<String> GetImportableTables()
+    {
+        return EntityRegistry.GetImportableEntities()
+            .stream()
+            .map(EntityDescriptor::GetName)
+            .toList();
+    }
+
+    /**
+     * Get the columns a CSV column can be mapped to
+     * @param tableName The entity name of the table
+     * @return The columns, the required ones first
+     * @throws RuntimeException If the table is not supported
+     */
+    public List<String> GetImportableColumns(String tableName)
+    {
+        return CreateTarget(tableName).GetColumns();
+    }
+
+    /**
+     * Get the values that can be used as default for the columns of a table that
+     * reference other tables, such as the wallet of a transaction
+     * @param tableName The entity name of the table
+     * @return A map from the column to the names that can be used as its default
+     * @throws RuntimeException If the table is not supported
+     */
+    public Map<String, List<String>> GetDefaultValueOptions(String tableName)
+    {
+        return CreateTarget(tableName).GetDefaultValueOptions();
+    }
+
+    /**
+     * Import a CSV file into a table
+     * @param csvFile The CSV file. The first record must be the header
+     * @param tableName The entity name of the table
+     * @param columnMapping A map from the CSV columns to the database columns
+     * @param progressListener Receives a snapshot after each chunk is written. It is
+     *     called from the thread that runs the import
+     * @return The final state of the import
+     * @throws RuntimeException If the table is not supported, a required column is
+     *     not mapped or the file cannot be read
+     */
+    public CSVImportProgress Import(Path                        csvFile,
+                                    String                      tableName,
+                                    Map<String, String>         columnMapping,
+                                    Consumer<CSVImportProgress> progressListener)
+    {
+        return Import(csvFile, tableName, columnMapping, Map.of(), progressListener);
+    }
+
+    /**
+     * Import a CSV file into a table
+     * @param csvFile The CSV file. The first record must be the header
+     * @param tableName The entity name of the table
+     * @param columnMapping A map from the CSV columns to the database columns
+     * @param defaultValues A map from the database columns to the value used when
+     *     the column is not mapped or is empty in a row
+     * @param progressListener Receives a snapshot after each chunk is written. It is
+     *     called from the thread that runs the import
+     * @return The final state of the import
+     * @throws RuntimeException If the table is not supported, a required column is
+     *     not mapped, the format of the file cannot be detected or the file cannot
+     *     be read
+     */
+    public CSVImportProgress Import(Path                        csvFile,
+                                    String                      tableName,
+                                    Map<String, String>         columnMapping,
+                                    Map<String, String>         defaultValues,
+                                    Consumer<CSVImportProgress> progressListener)
+    {
+        ImportTarget target = CreateTarget(tableName);
+
+        try (CountingInputStream counter =
+                 new CountingInputStream(Files.newInputStream(csvFile));
+             BufferedReader reader = new BufferedReader(
+                 new InputStreamReader(counter, StandardCharsets.UTF_8),
+                 Constants.CSV_READ_BUFFER_SIZE))
+        {
+            RFC4180Parser parser = new RFC4180ParserBuilder().build();
+            String        header = ReadRecord(reader);
+
+            if (header == null)
+            {
+                throw new RuntimeException("The file is empty");
+            }
+
+            target.Prepare(
+                ResolveColumnIndexes(parser.parseLine(header), columnMapping),
+                defaultValues);
+
+            // The first records are used to detect the format of the values and are
+            // then fed to the pipeline before the rest of the file
+            List<String>   sample        = new ArrayList<>();
+            List<String[]> parsedSample  = new ArrayList<>();
+            String         record;
+
+            while (sample.size() < Constants.CSV_FORMAT_SAMPLE_ROWS &&
+                   (record = ReadRecord(reader)) != null)
+            {
+                sample.add(record);
+
+                if (!record.isEmpty())
+                {
+                    parsedSample.add(parser.parseLine(record));
+                }
+            }
+
+            target.Detect(parsedSample);
+
+            return RunPipeline(reader,
+                               sample,
+                               target,
+                               counter,
+                               Files.size(csvFile),
+                               progressListener);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error reading file " + csvFile + ": " +
+                                       e.getMessage());
+        }
+    }
+
+    /**
+     * Set the number of rows written per JDBC batch and transaction
+     * @param batchSize The batch size
+     * @throws RuntimeException If the batch size is not positive
+     */
+    public void SetBatchSize(int batchSize)
+    {
+        if (batchSize <= 0)
+        {
+            throw new RuntimeException("Batch size must be positive");
+        }
+
+        m_batchSize = batchSize;
+    }
+
+    /**
+     * Set the number of threads that parse and validate the rows
+     * @param workerThreads The number of threads, or 0 to use one per available
+     *     processor
+     * @throws RuntimeException If the number of threads is negative
+     */
+    public void SetWorkerThreads(int workerThreads)
+    {
+        if (workerThreads < 0)
+        {
+            throw new RuntimeException("Number of worker threads cannot be negative");
+        }
+
+        m_workerThreads = workerThreads;
+    }
+
+    /**
+     * Resolve the position of each mapped database column in the CSV header
+     * @param header The CSV header
+     * @param columnMapping A map from the CSV columns to the database columns
+     * @return A map from the database columns to their index in each record
+     * @throws RuntimeException If a mapped CSV column is not in the header
+     */
+    private Map<String, Integer> ResolveColumnIndexes(String[]            header,
+                                                      Map<String, String> columnMapping)
+    {
+        Map<String, Integer> headerIndexes = new HashMap<>();
+
+        for (int i = 0; i < header.length; i++)
+        {
+            headerIndexes.putIfAbsent(StripHeader(header[i]), i);
+        }
+
+        Map<String, Integer> columnIndexes = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : columnMapping.entrySet())
+        {
+            if (entry.getValue() == null || entry.getValue().isBlank())
+            {
+                continue;
+            }
+
+            Integer index = headerIndexes.get(entry.getKey().strip());
+
+            if (index == null)
+            {
+                throw new RuntimeException("Column " + entry.getKey() +
+                                           " not found in the file");
+            }
+
+            columnIndexes.put(entry.getValue(), index);
+        }
+
+        return columnIndexes;
+    }
+
+    /**
+     * Remove surrounding whitespace and the UTF-8 byte order mark from a header
+     * @param column The header column
+     * @return The clean column name
+     */
+    public static String StripHeader(String column)
+    {
+        if (column.startsWith(Constants.UTF8_BOM))
+        {
+            column = column.substring(Constants.UTF8_BOM.length());
+        }
+
+        return column.strip();
+    }
+
+    /**
+     * Read the raw text of the next CSV record
+     *
+     * A record ends at the first line break outside quotes, so quoted values may
+     * span several lines. Escaped quotes are written twice and do not change the
+     * parity of the quote count
+     *
+     * @param reader The reader
+     * @return The record, or null at the end of the file
+     */
+    private static String ReadRecord(BufferedReader reader) throws IOException
+    {
+        String line = reader.readLine();
+
+        if (line == null)
+        {
+            return null;
+        }
+
+        int quotes = CountQuotes(line);
+
+        if (quotes % 2 == 0)
+        {
+            return line;
+        }
+
+        StringBuilder record = new StringBuilder(line);
+
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null)
+        {
+            record.append('\n').append(line);
+            quotes += CountQuotes(line);
+        }
+
+        return record.toString();
+    }
+
+    private static int CountQuotes(String line)
+    {
+        int quotes = 0;
+
+        for (int i = 0; i < line.length(); i++)
+        {
+            if (line.charAt(i) == '"')
+            {
+                quotes++;
+            }
+        }
+
+        return quotes;
+    }
+
+    private int GetWorkerThreads()
+    {
+        if (m_workerThreads > 0)
+        {
+            return m_workerThreads;
+        }
+
+        return Math.min(Runtime.getRuntime().availableProcessors(),
+                        Constants.CSV_IMPORT_MAX_WORKER_THREADS);
+    }
+
+    /**
+     * Run the read, convert and write stages until the file is consumed
+     */
+    private CSVImportProgress RunPipeline(BufferedReader              reader,
+                                          List<String>                sample,
+                                          ImportTarget                target,
+                                          CountingInputStream         counter,
+                                          long                        totalBytes,
+                                          Consumer<CSVImportProgress> progressListener)
+    {
+        int workers   = GetWorkerThreads();
+        int batchSize = m_batchSize;
+
+        BlockingQueue<RawChunk> rawChunks =
+            new ArrayBlockingQueue<>(Constants.CSV_IMPORT_QUEUE_CAPACITY);
+        BlockingQueue<ConvertedChunk> convertedChunks =
+            new ArrayBlockingQueue<>(Constants.CSV_IMPORT_QUEUE_CAPACITY);
+
+        // The writer keeps the chunks that arrive out of order until the previous
+        // ones are written, so the number of chunks between the reader and the
+        // writer is limited here instead of by the queues
+        Semaphore inFlight =
+            new Semaphore(Constants.CSV_IMPORT_QUEUE_CAPACITY + workers);
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Thread>               threads = new ArrayList<>();
+
+        threads.add(new Thread(() -> {
+            try
+            {
+                Iterator<String> sampleIterator = sample.iterator();
+
+                long     sequence  = 0;
+                long     rowNumber = 1; // The header is row 1
+                RawChunk chunk     = new RawChunk(sequence++, batchSize);
+                String   record;
+
+                while ((record = sampleIterator.hasNext() ? sampleIterator.next()
+                                                          : ReadRecord(reader)) != null)
+                {
+                    rowNumber++;
+
+                    if (record.isEmpty())
+                    {
+                        continue;
+                    }
+
+                    chunk.records.add(record);
+                    chunk.rowNumbers.add(rowNumber);
+
+                    if (chunk.records.size() == batchSize)
+                    {
+                        inFlight.acquire();
+                        rawChunks.put(chunk);
+                        chunk = new RawChunk(sequence++, batchSize);
+                    }
+                }
+
+                if (!chunk.records.isEmpty())
+                {
+                    inFlight.acquire();
+                    rawChunks.put(chunk);
+                }
+            }
+            catch (InterruptedException e)
+            {
+                return;
+            }
+            catch (Exception e)
+            {
+                failure.compareAndSet(null, e);
+            }
+
+            for (int i = 0; i < workers; i++)
+            {
+                PutQuietly(rawChunks, RawChunk.END_OF_INPUT);
+            }
+        }, "moinex-csv-reader"));
+
+        for (int i = 0; i < workers; i++)
+        {
+            threads.add(new Thread(() -> {
+                RFC4180Parser parser = new RFC4180ParserBuilder().build();
+
+                try
+                {
+                    RawChunk chunk;
+
+                    while ((chunk = rawChunks.take()) != RawChunk.END_OF_INPUT)
+                    {
+                        convertedChunks.put(Convert(chunk, parser, target));
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    return;
+                }
+                catch (Exception e)
+                {
+                    failure.compareAndSet(null, e);
+                }
+
+                PutQuietly(convertedChunks, ConvertedChunk.END_OF_INPUT);
+            }, "moinex-csv-worker-" + i));
+        }
+
+        threads.forEach(thread -> {
+            thread.setDaemon(true);
+            thread.start();
+        });
+
+        TransactionTemplate transactionTemplate =
+            new TransactionTemplate(m_transactionManager);
+
+        Map<Long, ConvertedChunk> pending = new HashMap<>();
+
+        long         nextSequence    = 0;
+        int          finishedWorkers = 0;
+        long         rowsRead        = 0;
+        long         rowsImported    = 0;
+        long         rowsRejected    = 0;
+        long         rowsDuplicated  = 0;
+        List<String> errors          = new ArrayList<>();
+
+        try
+        {
+            while (finishedWorkers < workers)
+            {
+                ConvertedChunk chunk =
+                    convertedChunks.poll(Constants.CSV_IMPORT_POLL_INTERVAL,
+                                         TimeUnit.MILLISECONDS);
+
+                if (chunk == null)
+                {
+                    // A failed stage may leave a gap in the sequence of chunks
+                    if (failure.get() != null)
+                    {
+                        break;
+                    }
+
+                    continue;
+                }
+
+                if (chunk == ConvertedChunk.END_OF_INPUT)
+                {
+                    finishedWorkers++;
+                    continue;
+                }
+
+                pending.put(chunk.sequence, chunk);
+
+                // Write the chunks in file order
+                while ((chunk = pending.remove(nextSequence)) != null)
+                {
+                    nextSequence++;
+
+                    rowsRead += chunk.rowCount;
+                    rowsRejected += chunk.errors.size();
+                    rowsDuplicated += chunk.duplicates;
+                    AddErrors(errors, chunk.errors);
+
+                    if (!chunk.parameters.isEmpty())
+                    {
+                        String error =
+                            WriteChunk(transactionTemplate, target, chunk.parameters);
+
+                        if (error == null)
+                        {
+                            rowsImported += chunk.parameters.size();
+                        }
+                        else
+                        {
+                            rowsRejected += chunk.parameters.size();
+                            AddErrors(errors, List.of(error));
+                        }
+                    }
+
+                    inFlight.release();
+
+                    progressListener.accept(new CSVImportProgress(rowsRead,
+                                                                  rowsImported,
+                                                                  rowsRejected,
+                                                                  rowsDuplicated,
+                                                                  counter.GetCount(),
+                                                                  totalBytes,
+                                                                  errors));
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("CSV import interrupted");
+        }
+        finally
+        {
+            threads.forEach(Thread::interrupt);
+        }
+
+        if (failure.get() != null)
+        {
+            throw new RuntimeException("Error importing file after " + rowsRead +
+                                       " rows: " + failure.get().getMessage());
+        }
+
+        // The rows were written with JDBC, so the cached entities, query results
+        // and lookup lists are stale
+        if (rowsImported > 0)
+        {
+            m_referenceDataCache.RefreshAfterExternalWrite();
+            m_transactionSuggestionService.Invalidate();
+            m_transactionAnalyticsService.Invalidate();
+        }
+
+        m_logger.info(target.GetTableName() + " import finished: " + rowsImported +
+                      " rows imported, " + rowsRejected + " rows rejected, " +
+                      rowsDuplicated + " duplicated rows skipped");
+
+        return new CSVImportProgress(rowsRead,
+                                     rowsImported,
+                                     rowsRejected,
+                                     rowsDuplicated,
+                                     totalBytes,
+                                     totalBytes,
+                                     errors);
+    }
+
+    /**
+     * Parse and validate the records of a chunk
+     * @param chunk The chunk
+     * @param parser The parser of the calling thread
+     * @param target The import target
+     * @return The converted chunk
+     */
+    private static ConvertedChunk
+    Convert(RawChunk chunk, RFC4180Parser parser, ImportTarget target)
+    {
+        ConvertedChunk converted =
+            new ConvertedChunk(chunk.sequence, chunk.records.size());
+
+        for (int i = 0; i < chunk.records.size(); i++)
+        {
+            try
+            {
+                converted.parameters.add(
+                    target.Convert(parser.parseLine(chunk.records.get(i))));
+            }
+            catch (DuplicateRowException e)
+            {
+                converted.duplicates++;
+            }
+            catch (IOException | RuntimeException e)
+            {
+                converted.errors.add("Row " + chunk.rowNumbers.get(i) + ": " +
+                                     e.getMessage());
+            }
+        }
+
+        return converted;
+    }
+
+    /**
+     * Write the rows of a chunk in a single transaction
+     * @return null if the rows were written, or the error otherwise
+     */
+    private String WriteChunk(TransactionTemplate transactionTemplate,
+                              ImportTarget        target,
+                              List<Object[]>      rows)
+    {
+        try
+        {
+            transactionTemplate.executeWithoutResult(status -> target.Write(rows));
+            return null;
+        }
+        catch (DataAccessException e)
+        {
+            return "Batch of " + rows.size() + " rows rejected: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Add errors to the reported list, up to Constants.CSV_IMPORT_MAX_ERRORS
+     */
+    private void AddErrors(List<String> errors, List<String> newErrors)
+    {
+        for (String error : newErrors)
+        {
+            if (errors.size() >= Constants.CSV_IMPORT_MAX_ERRORS)
+            {
+                return;
+            }
+
+            errors.add(error);
+        }
+    }
+
+    private static <T> void PutQuietly(BlockingQueue<T> queue, T element)
+    {
+        try
+        {
+            queue.put(element);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Load the keys of the rows already in a table into a duplicate index
+     * @param sql Query that returns the owner id, the date, the amount and the
+     *     description of each row, in this order
+     * @return The duplicate index
+     */
+    private DuplicateIndex LoadDuplicateIndex(String sql)
+    {
+        DuplicateIndex index = new DuplicateIndex();
+
+        m_jdbcTemplate.query(sql, (RowCallbackHandler)rs -> {
+            index.Add(DuplicateIndex.Key(
+                rs.getLong(1),
+                LocalDateTime.parse(rs.getString(2), Constants.DB_DATE_FORMATTER)
+                    .toLocalDate(),
+                rs.getBigDecimal(3),
+                rs.getString(4)));
+        });
+
+        return index;
+    }
+
+    /**
+     * Create the import target for a table
+     * @param tableName The entity name of the table
+     * @return The import target
+     * @throws RuntimeException If the table cannot be imported
+     */
+    private ImportTarget CreateTarget(String tableName)
+    {
+        EntityDescriptor entity = EntityRegistry.Find(tableName);
+
+        if (entity == null || !entity.IsImportable())
+        {
+            throw new RuntimeException("Import into table " + tableName +
+                                       " is not supported");
+        }
+
+        Class<?> entityClass = entity.GetEntityClass();
+
+        if (entityClass == Category.class)
+        {
+            return new CategoryTarget(entity);
+        }
+        else if (entityClass == Wallet.class)
+        {
+            return new WalletTarget(entity);
+        }
+        else if (entityClass == CreditCard.class)
+        {
+            return new CreditCardTarget(entity);
+        }
+        else if (entityClass == WalletTransaction.class)
+        {
+            return new WalletTransactionTarget(entity);
+        }
+        else if (entityClass == CreditCardDebt.class)
+        {
+            return new CreditCardDebtTarget(entity);
+        }
+
+        throw new RuntimeException("No import target for table " + tableName);
+    }
+
+    /**
+     * Raw records of a chunk of the file and the row number of each one
+     */
+    private static final class RawChunk
+    {
+        static final RawChunk END_OF_INPUT = new RawChunk(-1, 0);
+
+        final long         sequence;
+        final List<String> records;
+        final List<Long>   rowNumbers;
+
+        RawChunk(long sequence, int capacity)
+        {
+            this.sequence   = sequence;
+            this.records    = new ArrayList<>(capacity);
+            this.rowNumbers = new ArrayList<>(capacity);
+        }
+    }
+
+    /**
+     * Rows of a chunk that passed the validation, converted into the parameters of
+     * the insert statement, and the errors of the rows that did not
+     */
+    private static final class ConvertedChunk
+    {
+        static final ConvertedChunk END_OF_INPUT = new ConvertedChunk(-1, 0);
+
+        final long           sequence;
+        final int            rowCount;
+        final List<Object[]> parameters;
+        final List<String>   errors     = new ArrayList<>();
+        int                  duplicates = 0;
+
+        ConvertedChunk(long sequence, int rowCount)
+        {
+            this.sequence   = sequence;
+            this.rowCount   = rowCount;
+            this.parameters = new ArrayList<>(rowCount);
+        }
+    }
+
+    /**
+     * Thrown when a row is already in the database. The row is skipped and
+     * counted, but it is not reported as an error
+     */
+    private static final class DuplicateRowException extends RuntimeException
+    {
+        DuplicateRowException()
+        {
+            super("Duplicated row", null, false, false);
+        }
+    }
+
+    /**
+     * Multiset of the hashes of the rows already in a table
+     *
+     * A row is identified by its owner (the wallet or the credit card), the day,
+     * the amount and the description. Each row of the file consumes one matching
+     * row of the table, so a statement with two identical purchases on the same
+     * day is imported twice unless the table already has both
+     */
+    private static final class DuplicateIndex
+    {
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME        = 0x100000001b3L;
+
+        private final ConcurrentHashMap<Long, Integer> counts =
+            new ConcurrentHashMap<>();
+
+        /**
+         * Compute the 64-bit FNV-1a hash of a row
+         */
+        static long
+        Key(long ownerId, LocalDate date, BigDecimal amount, String description)
+        {
+            String normalizedDescription =
+                description == null ? "" : description.strip().toLowerCase(Locale.ROOT);
+
+            String text = ownerId + "|" + date + "|" +
+                          amount.stripTrailingZeros().toPlainString() + "|" +
+                          normalizedDescription;
+
+            long hash = FNV_OFFSET_BASIS;
+
+            for (int i = 0; i < text.length(); i++)
+            {
+                hash ^= text.charAt(i);
+                hash *= FNV_PRIME;
+            }
+
+            return hash;
+        }
+
+        void Add(long key)
+        {
+            counts.merge(key, 1, Integer::sum);
+        }
+
+        /**
+         * Consume one row with the given key
+         * @return True if there was a row with the key
+         */
+        boolean Consume(long key)
+        {
+            boolean[] consumed = { false };
+
+            counts.computeIfPresent(key, (k, count) -> {
+                consumed[0] = true;
+                return count > 1 ? count - 1 : null;
+            });
+
+            return consumed[0];
+        }
+    }
+
+    /**
+     * Describes how the records of a CSV file are validated and inserted into a
+     * table
+     *
+     * The records are converted by several threads at once, so the state shared by
+     * the conversions must be thread safe. The state set up by Prepare and Detect
+     * is only read afterwards
+     */
+    private abstract class ImportTarget
+    {
+        private final EntityDescriptor entity;
+
+        private Map<String, Integer> columnIndexes;
+        private Map<String, String>  defaultValues;
+
+        ImportTarget(EntityDescriptor entity)
+        {
+            this.entity = entity;
+        }
+
+        String GetTableName()
+        {
+            return entity.GetName();
+        }
+
+        /**
+         * Get the columns that must be mapped or have a default value
+         */
+        List<String> GetRequiredColumns()
+        {
+            return entity.GetRequiredColumns();
+        }
+
+        /**
+         * Get all the columns that can be mapped, the required ones first
+         */
+        List<String> GetColumns()
+        {
+            return entity.GetImportableColumns();
+        }
+
+        abstract String GetInsertSql();
+
+        /**
+         * Validate a record and convert it into the parameters of the insert
+         * @param record The CSV record
+         * @return The parameters of the insert statement
+         * @throws RuntimeException If the record is not valid
+         * @throws DuplicateRowException If the record is already in the table
+         */
+        abstract Object[] Convert(String[] record);
+
+        /**
+         * Get the names that can be used as default value of the columns that
+         * reference other tables
+         */
+        Map<String, List<String>> GetDefaultValueOptions()
+        {
+            return Map.of();
+        }
+
+        /**
+         * Resolve the column indexes before the first record is converted
+         * @param columnIndexes A map from the database columns to their index
+         * @param defaultValues A map from the database columns to their default
+         * @throws RuntimeException If a required column is not mapped
+         */
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            this.columnIndexes = columnIndexes;
+            this.defaultValues = defaultValues;
+
+            for (String column : GetRequiredColumns())
+            {
+                if (!columnIndexes.containsKey(column) && DefaultValue(column) == null)
+                {
+                    throw new RuntimeException("Column " + column +
+                                               " must be mapped to import into " +
+                                               GetTableName());
+                }
+            }
+        }
+
+        /**
+         * Detect the format of the values from the first records of the file
+         * @param sample The first records
+         * @throws RuntimeException If the format cannot be detected
+         */
+        void Detect(List<String[]> sample)
+        {
+            // Values of the default format only
+        }
+
+        /**
+         * Write a chunk of converted rows. Called inside the transaction of the
+         * chunk
+         * @param rows The parameters returned by Convert
+         */
+        void Write(List<Object[]> rows)
+        {
+            m_jdbcTemplate.batchUpdate(GetInsertSql(), rows);
+        }
+
+        /**
+         * Get the index of a database column in each record
+         * @param column The database column
+         * @return The index, or -1 if the column is not mapped
+         */
+        int IndexOf(String column)
+        {
+            return columnIndexes.getOrDefault(column, -1);
+        }
+
+        /**
+         * Get the default value of a column
+         * @return The value, or null if the column has no default
+         */
+        String DefaultValue(String column)
+        {
+            String value = defaultValues.get(column);
+
+            return value == null || value.isBlank() ? null : value.strip();
+        }
+
+        /**
+         * Check that the default value of a column references an existing row
+         * @param column The column
+         * @param values A map from the names of the referenced rows to the rows
+         * @throws RuntimeException If no row has the default name
+         */
+        void CheckDefaultValue(String column, Map<String, ?> values)
+        {
+            String value = DefaultValue(column);
+
+            if (value != null && !values.containsKey(value))
+            {
+                throw new RuntimeException("Default " + column + " " + value +
+                                           " does not exist");
+            }
+        }
+
+        /**
+         * Resolve a column that references another table by name
+         * @param record The CSV record
+         * @param index The index of the column, or -1 if it is not mapped
+         * @param values A map from the names of the referenced rows to the rows
+         * @param column The column
+         * @return The referenced row. The default value is used if the column is
+         *     not mapped or empty
+         * @throws RuntimeException If there is no value or no row has that name
+         */
+        <T> T Resolve(String[] record, int index, Map<String, T> values, String column)
+        {
+            String name = Value(record, index);
+
+            if (name == null || name.isEmpty())
+            {
+                name = DefaultValue(column);
+            }
+
+            if (name == null)
+            {
+                throw new RuntimeException(column + " cannot be empty");
+            }
+
+            T value = values.get(name);
+
+            if (value == null)
+            {
+                throw new RuntimeException(column + " " + name + " does not exist");
+            }
+
+            return value;
+        }
+
+        /**
+         * Get the stripped value of a column from a record
+         * @return The value, or null if the column is not mapped or is missing
+         */
+        static String Value(String[] record, int index)
+        {
+            if (index < 0 || index >= record.length)
+            {
+                return null;
+            }
+
+            return record[index].strip();
+        }
+
+        static String RequiredValue(String[] record, int index, String column)
+        {
+            String value = Value(record, index);
+
+            if (value == null || value.isEmpty())
+            {
+                throw new RuntimeException(column + " cannot be empty");
+            }
+
+            return value;
+        }
+
+        static BigDecimal ParseAmount(String value, String column)
+        {
+            try
+            {
+                return new BigDecimal(value);
+            }
+            catch (NumberFormatException e)
+            {
+                throw new RuntimeException(column + " is not a number: " + value);
+            }
+        }
+
+        static Integer ParseInteger(String value, String column)
+        {
+            try
+            {
+                return Integer.parseInt(value);
+            }
+            catch (NumberFormatException e)
+            {
+                throw new RuntimeException(column + " is not an integer: " + value);
+            }
+        }
+
+        static <E extends Enum<E>> E
+        ParseEnum(Class<E> type, String value, String column)
+        {
+            try
+            {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new RuntimeException(column + " must be one of " +
+                                           Arrays.toString(type.getEnumConstants()));
+            }
+        }
+
+        /**
+         * Check that a name is not in use and reserve it
+         * @param names The names already in use. Must be thread safe
+         * @param name The name to be checked
+         * @throws RuntimeException If the name is already in use
+         */
+        void ReserveName(Set<String> names, String name)
+        {
+            if (!names.add(name))
+            {
+                throw new RuntimeException(GetTableName() + " with name " + name +
+                                           " already exists");
+            }
+        }
+    }
+
+    private final class CategoryTarget extends ImportTarget
+    {
+        private int         nameIndex;
+        private Set<String> names;
+
+        CategoryTarget(EntityDescriptor entity)
+        {
+            super(entity);
+        }
+
+        @Override
+        String GetInsertSql()
+        {
+            return "INSERT INTO category (name, archived) VALUES (?, ?)";
+        }
+
+        @Override
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            super.Prepare(columnIndexes, defaultValues);
+            nameIndex = IndexOf("name");
+
+            names = ConcurrentHashMap.newKeySet();
+            m_categoryRepository.findAll().forEach(c -> names.add(c.GetName()));
+        }
+
+        @Override
+        Object[] Convert(String[] record)
+        {
+            String name = RequiredValue(record, nameIndex, "name");
+            ReserveName(names, name);
+
+            return new Object[] { name, false };
+        }
+    }
+
+    private final class WalletTarget extends ImportTarget
+    {
+        private int         nameIndex;
+        private int         balanceIndex;
+        private Set<String> names;
+
+        WalletTarget(EntityDescriptor entity)
+        {
+            super(entity);
+        }
+
+        @Override
+        String GetInsertSql()
+        {
+            return "INSERT INTO wallet (name, balance, archived) VALUES (?, ?, ?)";
+        }
+
+        @Override
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            super.Prepare(columnIndexes, defaultValues);
+            nameIndex    = IndexOf("name");
+            balanceIndex = IndexOf("balance");
+
+            names = ConcurrentHashMap.newKeySet();
+            m_walletRepository.findAll().forEach(w -> names.add(w.GetName()));
+        }
+
+        @Override
+        Object[] Convert(String[] record)
+        {
+            String name    = RequiredValue(record, nameIndex, "name");
+            String balance = Value(record, balanceIndex);
+
+            BigDecimal amount = balance == null || balance.isEmpty()
+                                    ? BigDecimal.ZERO
+                                    : ParseAmount(balance, "balance");
+
+            ReserveName(names, name);
+
+            return new Object[] { name, amount, false };
+        }
+    }
+
+    private final class CreditCardTarget extends ImportTarget
+    {
+        private int         nameIndex;
+        private int         billingDueDayIndex;
+        private int         closingDayIndex;
+        private int         maxDebtIndex;
+        private int         lastFourDigitsIndex;
+        private Set<String> names;
+
+        CreditCardTarget(EntityDescriptor entity)
+        {
+            super(entity);
+        }
+
+        @Override
+        String GetInsertSql()
+        {
+            return "INSERT INTO credit_card (name, billing_due_day, closing_day, "
+                + "max_debt, last_four_digits, operator_id, archived) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            super.Prepare(columnIndexes, defaultValues);
+            nameIndex           = IndexOf("name");
+            billingDueDayIndex  = IndexOf("billing_due_day");
+            closingDayIndex     = IndexOf("closing_day");
+            maxDebtIndex        = IndexOf("max_debt");
+            lastFourDigitsIndex = IndexOf("last_four_digits");
+
+            names = ConcurrentHashMap.newKeySet();
+            m_creditCardRepository.findAll().forEach(c -> names.add(c.GetName()));
+        }
+
+        @Override
+        Object[] Convert(String[] record)
+        {
+            String  name = RequiredValue(record, nameIndex, "name");
+            Integer billingDueDay = ParseInteger(
+                RequiredValue(record, billingDueDayIndex, "billing_due_day"),
+                "billing_due_day");
+            Integer closingDay =
+                ParseInteger(RequiredValue(record, closingDayIndex, "closing_day"),
+                             "closing_day");
+            BigDecimal maxDebt =
+                ParseAmount(RequiredValue(record, maxDebtIndex, "max_debt"),
+                            "max_debt");
+            String lastFourDigits =
+                RequiredValue(record, lastFourDigitsIndex, "last_four_digits");
+
+            if (billingDueDay < 1 || billingDueDay > Constants.MAX_BILLING_DUE_DAY)
+            {
+                throw new RuntimeException("Billing due day must be in the range [1, " +
+                                           Constants.MAX_BILLING_DUE_DAY + "]");
+            }
+
+            if (closingDay < 1 || closingDay > Constants.MAX_BILLING_DUE_DAY)
+            {
+                throw new RuntimeException("Closing day must be in the range [1, " +
+                                           Constants.MAX_BILLING_DUE_DAY + "]");
+            }
+
+            if (maxDebt.compareTo(BigDecimal.ZERO) <= 0)
+            {
+                throw new RuntimeException("Max debt must be positive");
+            }
+
+            if (lastFourDigits.length() != 4)
+            {
+                throw new RuntimeException("Last four digits must have length 4");
+            }
+
+            ReserveName(names, name);
+
+            return new Object[] { name,
+                                  billingDueDay,
+                                  closingDay,
+                                  maxDebt,
+                                  lastFourDigits,
+                                  Constants.CSV_IMPORT_DEFAULT_OPERATOR_ID,
+                                  false };
+        }
+    }
+
+    /**
+     * Target for the rows of a bank statement: a date, a signed amount, a
+     * description and the category, owned by a wallet or a credit card
+     *
+     * Rows already in the table are skipped, see DuplicateIndex
+     */
+    private abstract class StatementTarget extends ImportTarget
+    {
+        int               dateIndex;
+        int               amountIndex;
+        int               descriptionIndex;
+        int               categoryIndex;
+        Map<String, Long> categoryIds;
+        Set<Long>         archivedCategoryIds;
+        StatementFormat   format;
+
+        private DuplicateIndex duplicates;
+
+        StatementTarget(EntityDescriptor entity)
+        {
+            super(entity);
+        }
+
+        /**
+         * Get the query that returns the owner id, the date, the amount and the
+         * description of the rows already in the table
+         */
+        abstract String GetExistingRowsSql();
+
+        @Override
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            super.Prepare(columnIndexes, defaultValues);
+            dateIndex        = IndexOf("date");
+            amountIndex      = IndexOf("amount");
+            descriptionIndex = IndexOf("description");
+            categoryIndex    = IndexOf("category");
+
+            categoryIds         = new HashMap<>();
+            archivedCategoryIds = new HashSet<>();
+            m_categoryRepository.findAll().forEach(c -> {
+                categoryIds.put(c.GetName(), c.GetId());
+
+                if (c.IsArchived())
+                {
+                    archivedCategoryIds.add(c.GetId());
+                }
+            });
+
+            CheckDefaultValue("category", categoryIds);
+
+            duplicates = LoadDuplicateIndex(GetExistingRowsSql());
+        }
+
+        @Override
+        void Detect(List<String[]> sample)
+        {
+            format = StatementFormat.Detect(ColumnValues(sample, dateIndex),
+                                            ColumnValues(sample, amountIndex));
+        }
+
+        List<String> ColumnValues(List<String[]> records, int index)
+        {
+            List<String> values = new ArrayList<>(records.size());
+            records.forEach(r -> values.add(Value(r, index)));
+            return values;
+        }
+
+        List<String> CategoryNames()
+        {
+            List<String> names = new ArrayList<>();
+            m_categoryRepository.findAllByArchivedFalseOrderByNameAsc().forEach(
+                c -> names.add(c.GetName()));
+            return names;
+        }
+
+        LocalDateTime ParseDate(String[] record)
+        {
+            return format.ParseDate(RequiredValue(record, dateIndex, "date"));
+        }
+
+        BigDecimal ParseSignedAmount(String[] record)
+        {
+            return format.ParseAmount(RequiredValue(record, amountIndex, "amount"));
+        }
+
+        String Description(String[] record)
+        {
+            String description = Value(record, descriptionIndex);
+            return description == null ? "" : description;
+        }
+
+        /**
+         * Skip the row if it is already in the table
+         * @throws DuplicateRowException If the row is already in the table
+         */
+        void CheckDuplicate(Long          ownerId,
+                            LocalDateTime date,
+                            BigDecimal    amount,
+                            String        description)
+        {
+            long key =
+                DuplicateIndex.Key(ownerId, date.toLocalDate(), amount, description);
+
+            if (duplicates.Consume(key))
+            {
+                throw new DuplicateRowException();
+            }
+        }
+
+        static BigDecimal PositiveAmount(BigDecimal amount)
+        {
+            if (amount.signum() == 0)
+            {
+                throw new RuntimeException("amount must be greater than zero");
+            }
+
+            return amount.abs();
+        }
+    }
+
+    /**
+     * Imports the statement of a bank account as wallet transactions
+     *
+     * Negative amounts are expenses and positive amounts are incomes, unless the
+     * type column is mapped. The balance of the wallets is updated with the
+     * confirmed transactions in the same transaction as the inserts
+     */
+    private final class WalletTransactionTarget extends StatementTarget
+    {
+        private int               typeIndex;
+        private int               statusIndex;
+        private int               walletIndex;
+        private Map<String, Long> walletIds;
+        private Set<Long>         archivedWalletIds;
+
+        WalletTransactionTarget(EntityDescriptor entity)
+        {
+            super(entity);
+        }
+
+        @Override
+        String GetInsertSql()
+        {
+            return "INSERT INTO wallet_transaction (wallet_id, category_id, type, "
+                + "amount, description, date, status, visible) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        String GetExistingRowsSql()
+        {
+            // The rows already imported may have been moved to the archive table
+            return "SELECT wallet_id, date, amount, description "
+                + "FROM wallet_transaction "
+                + "UNION ALL "
+                + "SELECT wallet_id, date, amount, description "
+                + "FROM wallet_transaction_archive";
+        }
+
+        @Override
+        Map<String, List<String>> GetDefaultValueOptions()
+        {
+            List<String> walletNames = new ArrayList<>();
+            m_walletRepository.findAllByArchivedFalseOrderByNameAsc().forEach(
+                w -> walletNames.add(w.GetName()));
+
+            Map<String, List<String>> options = new LinkedHashMap<>();
+            options.put("wallet", walletNames);
+            options.put("category", CategoryNames());
+            return options;
+        }
+
+        @Override
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            super.Prepare(columnIndexes, defaultValues);
+            typeIndex   = IndexOf("type");
+            statusIndex = IndexOf("status");
+            walletIndex = IndexOf("wallet");
+
+            walletIds         = new HashMap<>();
+            archivedWalletIds = new HashSet<>();
+            m_walletRepository.findAll().forEach(w -> {
+                walletIds.put(w.GetName(), w.GetId());
+
+                if (w.IsArchived())
+                {
+                    archivedWalletIds.add(w.GetId());
+                }
+            });
+
+            CheckDefaultValue("wallet", walletIds);
+        }
+
+        @Override
+        Object[] Convert(String[] record)
+        {
+            LocalDateTime date   = ParseDate(record);
+            BigDecimal    signed = ParseSignedAmount(record);
+            BigDecimal    amount = PositiveAmount(signed);
+
+            String          typeValue = Value(record, typeIndex);
+            TransactionType type =
+                typeValue == null || typeValue.isEmpty()
+                    ? (signed.signum() < 0 ? TransactionType.EXPENSE
+                                           : TransactionType.INCOME)
+                    : ParseEnum(TransactionType.class, typeValue, "type");
+
+            String            statusValue = Value(record, statusIndex);
+            TransactionStatus status =
+                statusValue == null || statusValue.isEmpty()
+                    ? TransactionStatus.CONFIRMED
+                    : ParseEnum(TransactionStatus.class, statusValue, "status");
+
+            Long walletId = Resolve(record, walletIndex, walletIds, "wallet");
+            Long categoryId =
+                Resolve(record, categoryIndex, categoryIds, "category");
+            String description = Description(record);
+
+            CheckDuplicate(walletId, date, amount, description);
+
+            // The inserts skip the callbacks of the entity, so the visible flag is
+            // set here, as WalletTransaction does
+            boolean visible = !archivedWalletIds.contains(walletId) &&
+                              !archivedCategoryIds.contains(categoryId);
+
+            return new Object[] { walletId,
+                                  categoryId,
+                                  type.name(),
+                                  amount,
+                                  description,
+                                  date.format(Constants.DB_DATE_FORMATTER),
+                                  status.name(),
+                                  visible };
+        }
+
+        @Override
+        void Write(List<Object[]> rows)
+        {
+            Map<Long, BigDecimal> balanceChanges = new HashMap<>();
+            List<Object[]>        ledgerEntries  = new ArrayList<>();
+
+            for (Object[] row : rows)
+            {
+                if (!TransactionStatus.CONFIRMED.name().equals(row[6]))
+                {
+                    continue;
+                }
+
+                BigDecimal amount = (BigDecimal)row[3];
+                BigDecimal change = TransactionType.INCOME.name().equals(row[2])
+                                        ? amount
+                                        : amount.negate();
+
+                balanceChanges.merge((Long)row[0], change, BigDecimal::add);
+                ledgerEntries.add(new Object[] { row[0], row[5], change });
+            }
+
+            // The locks are taken before the first statement of the chunk, so the
+            // writer connection is not held while waiting for a write that holds
+            // one of them
+            m_walletLockService.LockUntilCompletion(
+                balanceChanges.keySet().toArray(new Long[0]));
+
+            super.Write(rows);
+
+            // Read and write the balance as BigDecimal, since SQLite would add the
+            // values as floating point numbers. The version is incremented as
+            // Hibernate does, so copies of the wallets loaded before the import
+            // are not written back over the new balance
+            balanceChanges.forEach((walletId, change) -> {
+                BigDecimal balance =
+                    m_jdbcTemplate.queryForObject("SELECT balance FROM wallet "
+                                                      + "WHERE id = ?",
+                                                  BigDecimal.class,
+                                                  walletId);
+
+                m_jdbcTemplate.update("UPDATE wallet SET balance = ?, "
+                                          + "version = version + 1 WHERE id = ?",
+                                      balance.add(change),
+                                      walletId);
+            });
+
+            m_balanceLedgerService.RecordAll(ledgerEntries);
+        }
+    }
+
+    /**
+     * Imports the statement of a credit card as credit card debts
+     *
+     * Each debt is split in installments as in CreditCardService.RegisterDebt, and
+     * the first installment is due on the invoice that is open on the date of the
+     * purchase. The credit limit is not checked, since the purchases were already
+     * accepted by the bank. Most rows of a card statement are purchases, so the
+     * rows with the opposite sign of the majority in the sample are refunds or
+     * payments and are rejected
+     */
+    private final class CreditCardDebtTarget extends StatementTarget
+    {
+        private static final String INSERT_PAYMENT_SQL =
+            "INSERT INTO credit_card_payment (debt_id, date, amount, installment, "
+            + "visible) VALUES (?, ?, ?, ?, ?)";
+
+        CreditCardDebtTarget(EntityDescriptor entity)
+        {
+            super(entity);
+        }
+
+        private int                     installmentsIndex;
+        private int                     creditCardIndex;
+        private Map<String, CreditCard> creditCards;
+        private int                     purchaseSign = 1;
+
+        @Override
+        String GetInsertSql()
+        {
+            return "INSERT INTO credit_card_debt (crc_id, category_id, date, "
+                + "total_amount, installments, description) VALUES (?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        String GetExistingRowsSql()
+        {
+            return "SELECT crc_id, date, total_amount, description "
+                + "FROM credit_card_debt";
+        }
+
+        @Override
+        Map<String, List<String>> GetDefaultValueOptions()
+        {
+            List<String> creditCardNames = new ArrayList<>();
+            m_creditCardRepository.findAllByArchivedFalseOrderByNameAsc().forEach(
+                c -> creditCardNames.add(c.GetName()));
+
+            Map<String, List<String>> options = new LinkedHashMap<>();
+            options.put("credit_card", creditCardNames);
+            options.put("category", CategoryNames());
+            return options;
+        }
+
+        @Override
+        void Prepare(Map<String, Integer> columnIndexes,
+                     Map<String, String>  defaultValues)
+        {
+            super.Prepare(columnIndexes, defaultValues);
+            installmentsIndex = IndexOf("installments");
+            creditCardIndex   = IndexOf("credit_card");
+
+            creditCards = new HashMap<>();
+            m_creditCardRepository.findAll().forEach(
+                c -> creditCards.put(c.GetName(), c));
+
+            CheckDefaultValue("credit_card", creditCards);
+        }
+
+        @Override
+        void Detect(List<String[]> sample)
+        {
+            super.Detect(sample);
+
+            int negatives = 0;
+            int positives = 0;
+
+            for (String value : ColumnValues(sample, amountIndex))
+            {
+                try
+                {
+                    int sign = format.ParseAmount(value).signum();
+                    negatives += sign < 0 ? 1 : 0;
+                    positives += sign > 0 ? 1 : 0;
+                }
+                catch (RuntimeException e)
+                {
+                    // Invalid amounts are reported when the row is converted
+                }
+            }
+
+            purchaseSign = negatives > positives ? -1 : 1;
+        }
+
+        @Override
+        Object[] Convert(String[] record)
+        {
+            LocalDateTime date   = ParseDate(record);
+            BigDecimal    signed = ParseSignedAmount(record);
+
+            if (signed.signum() == -purchaseSign)
+            {
+                throw new RuntimeException("Refunds and payments are not imported "
+                                           + "as debts");
+            }
+
+            BigDecimal amount = PositiveAmount(signed);
+
+            String  installmentsValue = Value(record, installmentsIndex);
+            Integer installments =
+                installmentsValue == null || installmentsValue.isEmpty()
+                    ? 1
+                    : ParseInteger(installmentsValue, "installments");
+
+            if (installments < 1 || installments > Constants.MAX_INSTALLMENTS)
+            {
+                throw new RuntimeException("Installment must be in the range [1, " +
+                                           Constants.MAX_INSTALLMENTS + "]");
+            }
+
+            CreditCard creditCard =
+                Resolve(record, creditCardIndex, creditCards, "credit_card");
+            Long categoryId =
+                Resolve(record, categoryIndex, categoryIds, "category");
+            String description = Description(record);
+
+            CheckDuplicate(creditCard.GetId(), date, amount, description);
+
+            YearMonth invoiceMonth = YearMonth.from(date);
+
+            if (date.getDayOfMonth() > creditCard.GetClosingDay())
+            {
+                invoiceMonth = invoiceMonth.plusMonths(1);
+            }
+
+            BigDecimal installmentValue =
+                amount.divide(new BigDecimal(installments), 2, RoundingMode.FLOOR);
+            BigDecimal remainder = amount.subtract(
+                installmentValue.multiply(new BigDecimal(installments)));
+
+            List<Object[]> payments = new ArrayList<>(installments);
+
+            for (int i = 0; i < installments; i++)
+            {
+                LocalDateTime paymentDate = invoiceMonth.plusMonths(i)
+                                                .atDay(creditCard.GetBillingDueDay())
+                                                .atTime(23, 59);
+
+                payments.add(
+                    new Object[] { paymentDate.format(Constants.DB_DATE_FORMATTER),
+                                   i == 0 ? installmentValue.add(remainder)
+                                          : installmentValue,
+                                   i + 1 });
+            }
+
+            return new Object[] { creditCard.GetId(),
+                                  categoryId,
+                                  date.format(Constants.DB_DATE_FORMATTER),
+                                  amount,
+                                  installments,
+                                  description,
+                                  payments };
+        }
+
+        /**
+         * Insert the debts one by one to get their ids, then insert the payments
+         * of all of them as a single batch
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        void Write(List<Object[]> rows)
+        {
+            List<Object[]> payments = new ArrayList<>();
+
+            for (Object[] row : rows)
+            {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+
+                m_jdbcTemplate.update(connection -> {
+                    PreparedStatement statement =
+                        connection.prepareStatement(GetInsertSql(),
+                                                    Statement.RETURN_GENERATED_KEYS);
+
+                    new ArgumentPreparedStatementSetter(Arrays.copyOf(row, 6))
+                        .setValues(statement);
+
+                    return statement;
+                }, keyHolder);
+
+                Number debtId = keyHolder.getKey();
+
+                // The payments have no wallet until they are paid, so only the
+                // category hides them, as in CreditCardPayment
+                boolean visible = !archivedCategoryIds.contains((Long)row[1]);
+
+                if (debtId == null)
+                {
+                    throw new DataRetrievalFailureException(
+                        "Could not get the id of the imported debt");
+                }
+
+                for (Object[] payment : (List<Object[]>)row[6])
+                {
+                    payments.add(new Object[] { debtId.longValue(),
+                                                payment[0],
+                                                payment[1],
+                                                payment[2],
+                                                visible });
+                }
+            }
+
+            m_jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, payments);
+        }
+    }
+}
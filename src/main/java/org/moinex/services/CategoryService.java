@@ -7,9 +7,15 @@
 package org.moinex.services;
 
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.moinex.entities.Category;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
 import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.CreditCardPaymentRepository;
+import org.moinex.repositories.WalletTransactionRepository;
 import org.moinex.util.LoggerConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,6 +30,18 @@ public class CategoryService
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private WalletTransactionRepository walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private CreditCardPaymentRepository creditCardPaymentRepository;
+
     private static final Logger m_logger = LoggerConfig.GetLogger();
 
     public CategoryService() { }
@@ -53,6 +71,7 @@ public class CategoryService
         Category category = new Category(name);
 
         categoryRepository.save(category);
+        referenceDataCache.RefreshCategories();
 
         m_logger.info("Category " + name + " added successfully");
 
@@ -70,6 +89,7 @@ public class CategoryService
             () -> new RuntimeException("Category with ID " + id + " not found"));
 
         categoryRepository.delete(category);
+        referenceDataCache.RefreshCategories();
 
         m_logger.info("Category " + category.GetName() + " deleted successfully");
     }
@@ -102,6 +122,7 @@ public class CategoryService
         category.SetName(newName);
 
         categoryRepository.save(category);
+        referenceDataCache.RefreshCategories();
 
         m_logger.info("Category " + newName + " renamed successfully");
     }
@@ -121,8 +142,17 @@ public class CategoryService
         category.SetArchived(true);
 
         categoryRepository.save(category);
+        referenceDataCache.RefreshCategories();
+
+        int archived =
+            walletTransactionRepository.CopyTransactionsToArchiveByCategory(id);
+        walletTransactionRepository.DeleteTransactionsByCategory(id);
 
-        m_logger.info("Category with id " + id + " was archived");
+        int hiddenPayments = creditCardPaymentRepository.HidePaymentsByCategory(id);
+
+        m_logger.info("Category with id " + id + " was archived. " + archived +
+                      " transactions were moved to the archive and " +
+                      hiddenPayments + " credit card payments were hidden");
     }
 
     /**
@@ -140,8 +170,22 @@ public class CategoryService
         category.SetArchived(false);
 
         categoryRepository.save(category);
+        referenceDataCache.RefreshCategories();
+
+        // The transactions in archived wallets stay in the archive, or hidden if
+        // they were saved while the category was archived
+        int shown = walletTransactionRepository.ShowTransactionsByCategory(id);
+
+        int restored =
+            archivedTransactionRepository.RestoreTransactionsByCategory(id);
+        archivedTransactionRepository.DeleteRestoredTransactionsByCategory(id);
 
-        m_logger.info("Category with id " + id + " was unarchived");
+        int shownPayments = creditCardPaymentRepository.ShowPaymentsByCategory(id);
+
+        m_logger.info("Category with id " + id + " was unarchived. " + restored +
+                      " transactions were moved back from the archive, " + shown +
+                      " transactions and " + shownPayments +
+                      " credit card payments were shown");
     }
 
     /**
@@ -155,21 +199,21 @@ public class CategoryService
     }
 
     /**
-     * Get all categories
-     * @return List of categories
+     * Get all categories ordered by name
+     * @return Immutable list of categories, from the reference data cache
      */
     public List<Category> GetCategories()
     {
-        return categoryRepository.findAll();
+        return referenceDataCache.GetCategories();
     }
 
     /**
      * Get all non-archived categories ordered by name
-     * @return List of categories
+     * @return Immutable list of categories, from the reference data cache
      */
     public List<Category> GetNonArchivedCategoriesOrderedByName()
     {
-        return categoryRepository.findAllByArchivedFalseOrderByNameAsc();
+        return referenceDataCache.GetNonArchivedCategoriesOrderedByName();
     }
 
     /**
@@ -179,6 +223,23 @@ public class CategoryService
      */
     public Long CountTransactions(Long categoryId)
     {
-        return categoryRepository.CountTransactions(categoryId);
+        return categoryRepository.CountTransactions(categoryId) +
+            archivedTransactionRepository.CountTransactionsByCategory(categoryId);
+    }
+
+    /**
+     * Get the number of transactions associated with each category
+     * @return A map from the category ID to the number of transactions. Categories
+     *    without transactions are not included
+     */
+    public Map<Long, Long> CountTransactionsPerCategory()
+    {
+        return Stream
+            .concat(categoryRepository.CountTransactionsPerCategory().stream(),
+                    archivedTransactionRepository.CountTransactionsPerCategory()
+                        .stream())
+            .collect(Collectors.toMap(row -> (Long)row[0],
+                                      row -> (Long)row[1],
+                                      Long::sum));
     }
 }
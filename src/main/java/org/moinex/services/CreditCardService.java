@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import org.moinex.entities.Category;
 import org.moinex.entities.CreditCard;
 import org.moinex.entities.CreditCardDebt;
@@ -30,7 +33,9 @@ import org.moinex.util.CreditCardInvoiceStatus;
 import org.moinex.util.LoggerConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * This class is responsible for the business logic Credit Card entities
@@ -56,6 +61,18 @@ public class CreditCardService
     @Autowired
     private CategoryRepository m_categoryRepository;
 
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
     private static final Logger m_logger = LoggerConfig.GetLogger();
 
     public CreditCardService() { }
@@ -339,8 +356,10 @@ public class CreditCardService
 
         m_creditCardDebtRepository.save(debt);
 
-        m_logger.info("Debit registered on credit card with id " + crcId +
-                      " with value " + value + " and description " + description);
+        m_logger.info(()
+                          -> "Debit registered on credit card with id " + crcId +
+                                 " with value " + value + " in " + installments +
+                                 " installments and description " + description);
 
         // Divide the value exactly, with full precision
         BigDecimal exactInstallmentValue =
@@ -372,16 +391,28 @@ public class CreditCardService
 
             m_creditCardPaymentRepository.save(payment);
 
-            m_logger.info("Payment of debt " + description +
-                          " on credit card with id " + crcId +
-                          " registered with value " + currentInstallmentValue +
-                          " and due date " + paymentDate);
+            // Logged per installment only when debugging, the summary above is
+            // enough for normal operation
+            if (m_logger.isLoggable(Level.FINE))
+            {
+                m_logger.fine("Payment of debt " + description +
+                              " on credit card with id " + crcId +
+                              " registered with value " + currentInstallmentValue +
+                              " and due date " + paymentDate);
+            }
         }
     }
 
-    @Transactional
     public void DeleteDebt(Long debtId)
     {
+        // Lock the wallets that paid installments, which are refunded
+        WriteLocked(debtId, () -> DeleteLockedDebt(debtId));
+    }
+
+    private void DeleteLockedDebt(Long debtId)
+    {
+        m_referenceDataCache.RefreshWallets();
+
         CreditCardDebt debt = m_creditCardDebtRepository.findById(debtId).orElseThrow(
             () -> new RuntimeException("Debt with id " + debtId + " not found"));
 
@@ -453,9 +484,17 @@ public class CreditCardService
      * @throws RuntimeException If the total amount of the debt is less than or equal to
      *     zero
      */
-    @Transactional
     public void UpdateCreditCardDebt(CreditCardDebt debt, YearMonth invoiceMonth)
     {
+        // Lock the wallets that paid installments, whose balances change with the
+        // amount of the installments
+        WriteLocked(debt.GetId(), () -> UpdateLockedDebt(debt, invoiceMonth));
+    }
+
+    private void UpdateLockedDebt(CreditCardDebt debt, YearMonth invoiceMonth)
+    {
+        m_referenceDataCache.RefreshWallets();
+
         CreditCardDebt oldDebt =
             m_creditCardDebtRepository.findById(debt.GetId())
                 .orElseThrow(()
@@ -479,6 +518,9 @@ public class CreditCardService
         ChangeDebtTotalAmount(oldDebt, debt.GetTotalAmount());
         ChangeDebtInstallments(oldDebt, debt.GetInstallments());
 
+        boolean categoryChanged =
+            !oldDebt.GetCategory().GetId().equals(debt.GetCategory().GetId());
+
         // Trivial update
         oldDebt.SetCreditCard(debt.GetCreditCard());
         oldDebt.SetCategory(debt.GetCategory());
@@ -486,6 +528,18 @@ public class CreditCardService
 
         m_creditCardDebtRepository.save(oldDebt);
 
+        if (categoryChanged)
+        {
+            if (debt.GetCategory().IsArchived())
+            {
+                m_creditCardPaymentRepository.HidePaymentsByDebt(oldDebt.GetId());
+            }
+            else
+            {
+                m_creditCardPaymentRepository.ShowPaymentsByDebt(oldDebt.GetId());
+            }
+        }
+
         m_logger.info("Debt with id " + debt.GetId() + " updated successfully");
     }
 
@@ -501,6 +555,9 @@ public class CreditCardService
     @Transactional
     public void PayInvoice(Long crcId, Long walletId, Integer month, Integer year)
     {
+        m_walletLockService.LockUntilCompletion(walletId);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(walletId).orElseThrow(
             ()
                 -> new RuntimeException("Wallet with id " + walletId +
@@ -523,6 +580,10 @@ public class CreditCardService
             payment.SetWallet(wallet);
             m_creditCardPaymentRepository.save(payment);
 
+            m_balanceLedgerService.Record(walletId,
+                                          payment.GetDate(),
+                                          payment.GetAmount().negate());
+
             m_logger.info(
                 "Payment number " + payment.GetInstallment() + " of debt with id " +
                 payment.GetCreditCardDebt().GetId() + " on credit card with id " +
@@ -538,6 +599,7 @@ public class CreditCardService
      * Get all credit cards
      * @return A list with all credit cards
      */
+    @Transactional(readOnly = true)
     public List<CreditCard> GetAllCreditCards()
     {
         return m_creditCardRepository.findAll();
@@ -547,6 +609,7 @@ public class CreditCardService
      * Get all archived credit cards
      * @return A list with all archived credit cards
      */
+    @Transactional(readOnly = true)
     public List<CreditCard> GetAllArchivedCreditCards()
     {
         return m_creditCardRepository.findAllByArchivedTrue();
@@ -556,6 +619,7 @@ public class CreditCardService
      * Get all credit cards ordered by name
      * @return A list with all credit cards ordered by name
      */
+    @Transactional(readOnly = true)
     public List<CreditCard> GetAllCreditCardsOrderedByName()
     {
         return m_creditCardRepository.findAllByOrderByNameAsc();
@@ -565,6 +629,7 @@ public class CreditCardService
      * Get all credit cards are not archived ordered by name
      * @return A list with all credit cards that are not archived ordered by name
      */
+    @Transactional(readOnly = true)
     public List<CreditCard> GetAllNonArchivedCreditCardsOrderedByName()
     {
         return m_creditCardRepository.findAllByArchivedFalseOrderByNameAsc();
@@ -576,26 +641,28 @@ public class CreditCardService
      * @return A list with all credit cards that are not archived ordered by transaction
      *    count
      */
+    @Transactional(readOnly = true)
     public List<CreditCard> GetAllNonArchivedCreditCardsOrderedByTransactionCountDesc()
     {
+        Map<Long, Long> counts = GetDebtCountPerCreditCard();
+
         return m_creditCardRepository.findAllByArchivedFalse()
             .stream()
             .sorted(Comparator
                         .comparingLong(
-                            (CreditCard c)
-                                -> m_creditCardDebtRepository.GetDebtCountByCreditCard(
-                                    c.GetId()))
+                            (CreditCard c) -> counts.getOrDefault(c.GetId(), 0L))
                         .reversed())
             .toList();
     }
 
     /**
      * Get all credit card operators ordered by name
-     * @return A list with all credit card operators ordered by name
+     * @return An immutable list with all credit card operators ordered by name, from
+     *    the reference data cache
      */
     public List<CreditCardOperator> GetAllCreditCardOperatorsOrderedByName()
     {
-        return m_creditCardOperatorRepository.findAllByOrderByNameAsc();
+        return m_referenceDataCache.GetAllCreditCardOperatorsOrderedByName();
     }
 
     /**
@@ -604,6 +671,7 @@ public class CreditCardService
      * @return The available credit of the credit card
      * @throws RuntimeException If the credit card does not exist
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetAvailableCredit(Long id)
     {
         CreditCard creditCard = m_creditCardRepository.findById(id).orElseThrow(
@@ -623,6 +691,7 @@ public class CreditCardService
      * @param year The year
      * @return A list with all credit card payments in a month and year
      */
+    @Transactional(readOnly = true)
     public List<CreditCardPayment> GetCreditCardPayments(Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetCreditCardPayments(month, year);
@@ -636,6 +705,7 @@ public class CreditCardService
      * @return A list with all credit card payments in a month and year by credit card
      *     id
      */
+    @Transactional(readOnly = true)
     public List<CreditCardPayment>
     GetCreditCardPayments(Long crcId, Integer month, Integer year)
     {
@@ -650,6 +720,7 @@ public class CreditCardService
      * @return A list with all credit card pending payments in a month and year by
      *     credit card id
      */
+    @Transactional(readOnly = true)
     public List<CreditCardPayment>
     GetPendingCreditCardPayments(Long crcId, Integer month, Integer year)
     {
@@ -663,6 +734,7 @@ public class CreditCardService
      * @param crcId The id of the credit card
      * @return A list with all pending credit card payments
      */
+    @Transactional(readOnly = true)
     public List<CreditCardPayment> GetAllPendingCreditCardPayments(Long crcId)
     {
         return m_creditCardPaymentRepository.GetAllPendingCreditCardPayments(crcId);
@@ -673,6 +745,7 @@ public class CreditCardService
      * @param debtId The debt id
      * @return A list with all credit card payments by debt id
      */
+    @Transactional(readOnly = true)
     public List<CreditCardPayment> GetPaymentsByDebtId(Long debtId)
     {
         return m_creditCardPaymentRepository.GetPaymentsByDebtId(debtId);
@@ -684,18 +757,39 @@ public class CreditCardService
      * @param year The year
      * @return A list with all paid payments of all credit cards in a month and year
      */
+    @Transactional(readOnly = true)
     public List<CreditCardPayment> GetAllPaidPaymentsByMonth(Integer month,
                                                              Integer year)
     {
         return m_creditCardPaymentRepository.GetAllPaidPaymentsByMonth(month, year);
     }
 
+    /**
+     * Get all paid payments in a month and year, except the ones made by archived
+     * wallets or of debts with archived categories
+     * @param month The month
+     * @param year The year
+     * @return A list with the paid payments in a month and year
+     */
+    @Transactional(readOnly = true)
+    public List<CreditCardPayment> GetAllNonArchivedPaidPaymentsByMonth(Integer month,
+                                                                        Integer year)
+    {
+        YearMonth yearMonth = YearMonth.of(year, month);
+
+        return m_creditCardPaymentRepository.GetAllNonArchivedPaidPaymentsByMonth(
+            yearMonth.atDay(1).atStartOfDay().format(Constants.DB_DATE_FORMATTER),
+            yearMonth.plusMonths(1).atDay(1).atStartOfDay().format(
+                Constants.DB_DATE_FORMATTER));
+    }
+
     /**
      * Get the total debt amount of all credit cards in a month and year
      * @param month The month
      * @param year The year
      * @return The total debt amount of all credit cards in a month and year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetTotalDebtAmount(Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetTotalDebtAmount(month, year);
@@ -706,6 +800,7 @@ public class CreditCardService
      * @param year The year
      * @return The total debt amount of all credit cards in a year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetTotalDebtAmount(Integer year)
     {
         return m_creditCardPaymentRepository.GetTotalDebtAmount(year);
@@ -719,6 +814,7 @@ public class CreditCardService
      * @return The total of all pending payments of all credit cards from the specified
      *     month and year onward
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetTotalPendingPayments(Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetTotalPendingPayments(month, year);
@@ -732,6 +828,7 @@ public class CreditCardService
      * @return The total of all paid payments of all credit cards from the specified
      *   month and year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetPaidPaymentsByMonth(Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetPaidPaymentsByMonth(month, year);
@@ -746,6 +843,7 @@ public class CreditCardService
      * @return The total of all paid payments of all credit cards from the specified
      *   month and year by a wallet
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetPaidPaymentsByMonth(Long walletId, Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetPaidPaymentsByMonth(walletId,
@@ -761,6 +859,7 @@ public class CreditCardService
      * @return The total of all pending payments of all credit cards from the specified
      *    month and year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetPendingPaymentsByMonth(Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetPendingPaymentsByMonth(month, year);
@@ -773,6 +872,7 @@ public class CreditCardService
      * @return The total of all pending payments of all credit cards from the specified
      *    year onward
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetTotalPendingPayments(Integer year)
     {
         return m_creditCardPaymentRepository.GetTotalPendingPayments(year);
@@ -784,6 +884,7 @@ public class CreditCardService
      * @return The total of all paid payments of all credit cards from the specified
      *     year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetPaidPaymentsByYear(Integer year)
     {
         return m_creditCardPaymentRepository.GetPaidPaymentsByYear(year);
@@ -795,6 +896,7 @@ public class CreditCardService
      * @return The total of all pending payments of all credit cards from the specified
      *     year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetPendingPaymentsByYear(Integer year)
     {
         return m_creditCardPaymentRepository.GetPendingPaymentsByYear(year);
@@ -804,6 +906,7 @@ public class CreditCardService
      * Get the total of all pending payments of a credit card
      * @return The total of all pending payments of all credit cards
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetTotalPendingPayments(Long crcId)
     {
         return m_creditCardPaymentRepository.GetTotalPendingPayments(crcId);
@@ -813,6 +916,7 @@ public class CreditCardService
      * Get the total of all pending payments of all credit cards
      * @return The total of all pending payments of all credit cards
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetTotalPendingPayments()
     {
         return m_creditCardPaymentRepository.GetTotalPendingPayments();
@@ -823,6 +927,7 @@ public class CreditCardService
      * @param debtId The id of the debt
      * @return The remaining debt of the purchase
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetRemainingDebt(Long debtId)
     {
         return m_creditCardPaymentRepository.GetRemainingDebt(debtId);
@@ -835,6 +940,7 @@ public class CreditCardService
      * @param year The year
      * @return The invoice amount of the credit card in the specified month and year
      */
+    @Transactional(readOnly = true)
     public BigDecimal GetInvoiceAmount(Long crcId, Integer month, Integer year)
     {
         return m_creditCardPaymentRepository.GetInvoiceAmount(crcId, month, year);
@@ -849,6 +955,7 @@ public class CreditCardService
      * @return The invoice status of the credit card in the specified month and year
      * @throws RuntimeException If the credit card does not exist
      */
+    @Transactional(readOnly = true)
     public CreditCardInvoiceStatus
     GetInvoiceStatus(Long crcId, Integer month, Integer year)
     {
@@ -873,6 +980,7 @@ public class CreditCardService
      * @return The next invoice date of the credit card
      * @throws RuntimeException If the credit card does not exist
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetNextInvoiceDate(Long crcId)
     {
         String nextInvoiceDate =
@@ -909,6 +1017,7 @@ public class CreditCardService
      * Get the date of the latest payment
      * @return The date of the latest payment or the current date if there are no debts
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetEarliestPaymentDate()
     {
         String date = m_creditCardDebtRepository.FindEarliestPaymentDate();
@@ -925,6 +1034,7 @@ public class CreditCardService
      * Get the date of the latest payment
      * @return The date of the latest payment or the current date if there are no debts
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetLatestPaymentDate()
     {
         String date = m_creditCardDebtRepository.FindLatestPaymentDate();
@@ -942,12 +1052,25 @@ public class CreditCardService
      * @param id The id of the credit card
      * @return The count of debts by credit card
      */
+    @Transactional(readOnly = true)
     public Long GetDebtCountByCreditCard(Long id)
     {
 
         return m_creditCardDebtRepository.GetDebtCountByCreditCard(id);
     }
 
+    /**
+     * Get the count of debts of each credit card
+     * @return A map from the credit card id to the count of debts of the credit
+     *    card. Credit cards without debts are not included
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> GetDebtCountPerCreditCard()
+    {
+        return m_creditCardDebtRepository.GetDebtCountPerCreditCard().stream().collect(
+            Collectors.toMap(row -> (Long)row[0], row -> (Long)row[1]));
+    }
+
     /**
      * Basic checks for credit card creation or update
      * @param name The name of the credit card
@@ -997,6 +1120,37 @@ public class CreditCardService
         }
     }
 
+    /**
+     * Run a write of an existing debt in a transaction that holds the locks of the
+     * wallets that paid its installments
+     * @param debtId The id of the debt
+     * @param write The write
+     * @throws RuntimeException If an installment is paid by another wallet while
+     *     the locks are being taken
+     * @note The wallets are looked up before the transaction opens, so their locks
+     *     are taken before the writer connection, in the same order as the payment
+     *     of an invoice
+     */
+    private void WriteLocked(Long debtId, Runnable write)
+    {
+        List<Long> walletIds =
+            m_creditCardPaymentRepository.FindWalletIdsByDebtId(debtId);
+
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            m_walletLockService.LockUntilCompletion(walletIds.toArray(new Long[0]));
+
+            // Paid by a wallet that was not locked after the lookup
+            if (!walletIds.containsAll(
+                    m_creditCardPaymentRepository.FindWalletIdsByDebtId(debtId)))
+            {
+                throw new RuntimeException("Debt with id " + debtId +
+                                           " was changed by another write");
+            }
+
+            write.run();
+        });
+    }
+
     /**
      * Delete a payment of a debt
      * @param id The id of the payment
@@ -1025,6 +1179,10 @@ public class CreditCardService
                           payment.GetWallet().GetId());
 
             m_walletRepository.save(payment.GetWallet());
+
+            m_balanceLedgerService.Record(payment.GetWallet().GetId(),
+                                          payment.GetDate(),
+                                          payment.GetAmount());
         }
 
         m_creditCardPaymentRepository.delete(payment);
@@ -1065,14 +1223,26 @@ public class CreditCardService
                     .atDay(oldDebt.GetCreditCard().GetBillingDueDay())
                     .atTime(23, 59);
 
+            // The payments already paid move in the balance history of the wallet
+            if (payment.GetWallet() != null)
+            {
+                m_balanceLedgerService.Move(payment.GetWallet().GetId(),
+                                            payment.GetDate(),
+                                            paymentDate,
+                                            payment.GetAmount().negate());
+            }
+
             payment.SetDate(paymentDate);
             m_creditCardPaymentRepository.save(payment);
 
-            m_logger.info("Payment number " + payment.GetInstallment() +
-                          " of debt with id " + oldDebt.GetId() +
-                          " on credit card with id " +
-                          oldDebt.GetCreditCard().GetId() + " updated with due date " +
-                          paymentDate);
+            if (m_logger.isLoggable(Level.FINE))
+            {
+                m_logger.fine("Payment number " + payment.GetInstallment() +
+                              " of debt with id " + oldDebt.GetId() +
+                              " on credit card with id " +
+                              oldDebt.GetCreditCard().GetId() +
+                              " updated with due date " + paymentDate);
+            }
         }
     }
 
@@ -1125,12 +1295,15 @@ public class CreditCardService
                     payment.SetAmount(i == 0 ? firstInstallment : installmentValue);
                     m_creditCardPaymentRepository.save(payment);
 
-                    m_logger.info("Payment number " + payment.GetInstallment() +
-                                  " of debt with id " + oldDebt.GetId() +
-                                  " on credit card with id " +
-                                  oldDebt.GetCreditCard().GetId() +
-                                  " updated with value " +
-                                  (i == 0 ? firstInstallment : installmentValue));
+                    if (m_logger.isLoggable(Level.FINE))
+                    {
+                        m_logger.fine("Payment number " + payment.GetInstallment() +
+                                      " of debt with id " + oldDebt.GetId() +
+                                      " on credit card with id " +
+                                      oldDebt.GetCreditCard().GetId() +
+                                      " updated with value " +
+                                      (i == 0 ? firstInstallment : installmentValue));
+                    }
                 }
             }
         }
@@ -1152,11 +1325,14 @@ public class CreditCardService
 
                     m_creditCardPaymentRepository.save(payment);
 
-                    m_logger.info("Payment number " + i + " of debt with id " +
-                                  oldDebt.GetId() + " on credit card with id " +
-                                  oldDebt.GetCreditCard().GetId() +
-                                  " registered with value " + installmentValue +
-                                  " and due date " + paymentDate);
+                    if (m_logger.isLoggable(Level.FINE))
+                    {
+                        m_logger.fine("Payment number " + i + " of debt with id " +
+                                      oldDebt.GetId() + " on credit card with id " +
+                                      oldDebt.GetCreditCard().GetId() +
+                                      " registered with value " + installmentValue +
+                                      " and due date " + paymentDate);
+                    }
 
                     // Add new payment to the list
                     payments.add(payment);
@@ -1168,12 +1344,15 @@ public class CreditCardService
                     payment.SetAmount(i == 0 ? firstInstallment : installmentValue);
                     m_creditCardPaymentRepository.save(payment);
 
-                    m_logger.info("Payment number " + payment.GetInstallment() +
-                                  " of debt with id " + oldDebt.GetId() +
-                                  " on credit card with id " +
-                                  oldDebt.GetCreditCard().GetId() +
-                                  " updated with value " +
-                                  (i == 0 ? firstInstallment : installmentValue));
+                    if (m_logger.isLoggable(Level.FINE))
+                    {
+                        m_logger.fine("Payment number " + payment.GetInstallment() +
+                                      " of debt with id " + oldDebt.GetId() +
+                                      " on credit card with id " +
+                                      oldDebt.GetCreditCard().GetId() +
+                                      " updated with value " +
+                                      (i == 0 ? firstInstallment : installmentValue));
+                    }
                 }
             }
         }
@@ -1226,24 +1405,34 @@ public class CreditCardService
                 payment.GetWallet().SetBalance(
                     payment.GetWallet().GetBalance().add(diff));
 
-                m_logger.info("Payment number " + payment.GetInstallment() +
-                              " of debt with id " + oldDebt.GetId() +
-                              " on credit card with id " +
-                              oldDebt.GetCreditCard().GetId() +
-                              " updated and added to wallet with id " +
-                              payment.GetWallet().GetId());
+                if (m_logger.isLoggable(Level.FINE))
+                {
+                    m_logger.fine("Payment number " + payment.GetInstallment() +
+                                  " of debt with id " + oldDebt.GetId() +
+                                  " on credit card with id " +
+                                  oldDebt.GetCreditCard().GetId() +
+                                  " updated and added to wallet with id " +
+                                  payment.GetWallet().GetId());
+                }
 
                 m_walletRepository.save(payment.GetWallet());
+
+                m_balanceLedgerService.Record(payment.GetWallet().GetId(),
+                                              payment.GetDate(),
+                                              diff);
             }
 
             payment.SetAmount(i == 0 ? firstInstallment : installmentValue);
             m_creditCardPaymentRepository.save(payment);
 
-            m_logger.info("Payment number " + payment.GetInstallment() +
-                          " of debt with id " + oldDebt.GetId() +
-                          " on credit card with id " +
-                          oldDebt.GetCreditCard().GetId() + " updated with value " +
-                          (i == 0 ? firstInstallment : installmentValue));
+            if (m_logger.isLoggable(Level.FINE))
+            {
+                m_logger.fine("Payment number " + payment.GetInstallment() +
+                              " of debt with id " + oldDebt.GetId() +
+                              " on credit card with id " +
+                              oldDebt.GetCreditCard().GetId() + " updated with value " +
+                              (i == 0 ? firstInstallment : installmentValue));
+            }
         }
 
         // Update the total amount
@@ -0,0 +1,597 @@
+/*
+ * Filename: DataExportService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.moinex.entities.EntityRegistry;
+import org.moinex.util.BufferedChannelWriter;
+import org.moinex.util.ColumnarFileWriter;
+import org.moinex.util.ColumnarFileWriter.ColumnType;
+import org.moinex.util.Constants;
+import org.moinex.util.DataExportProgress;
+import org.moinex.util.EntityDescriptor;
+import org.moinex.util.ExportFormat;
+import org.moinex.util.LoggerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * This class is responsible for exporting the tables of the database to files
+ *
+ * Each table is read through a forward-only cursor with a fixed fetch size and
+ * written row by row to its own file, so the memory usage does not depend on the
+ * size of the database. The files are written to a temporary name and renamed
+ * when complete, so an interrupted export never leaves a truncated file behind
+ */
+@Service
+public class DataExportService
+{
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Value("${moinex.export.fetch-size:1000}")
+    private int m_fetchSize = Constants.EXPORT_DEFAULT_FETCH_SIZE;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public DataExportService() { }
+
+    /**
+     * Export the tables of all the entities
+     * @param outputDir The directory where one file per table is written. It is
+     *     created if it does not exist
+     * @param format The file format
+     * @param gzip True if the files must be compressed with gzip
+     * @param from The first day of the exported rows, or null for no limit
+     * @param to The last day of the exported rows, or null for no limit
+     * @param progressListener Receives a snapshot while the rows are written. It is
+     *     called from the thread that runs the export
+     * @return The final state of the export
+     * @throws RuntimeException If the date range is invalid or a file cannot be
+     *     written
+     * @note The date range only applies to the tables with a date column. The
+     *     other tables, such as wallets and categories, are exported in full, so
+     *     the exported rows can always be resolved
+     */
+    public DataExportProgress Export(Path                         outputDir,
+                                     ExportFormat                 format,
+                                     boolean                      gzip,
+                                     LocalDate                    from,
+                                     LocalDate                    to,
+                                     Consumer<DataExportProgress> progressListener)
+    {
+        if (from != null && to != null && from.isAfter(to))
+        {
+            throw new RuntimeException("Start date must be before the end date");
+        }
+
+        try
+        {
+            Files.createDirectories(outputDir);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error creating directory " + outputDir + ": " +
+                                       e.getMessage());
+        }
+
+        ExportRun run =
+            new ExportRun(outputDir, format, gzip, from, to, progressListener);
+
+        return m_jdbcTemplate.execute((ConnectionCallback<DataExportProgress>)run::Run);
+    }
+
+    /**
+     * Set the number of rows fetched from the database at a time
+     * @param fetchSize The fetch size
+     * @throws RuntimeException If the fetch size is not positive
+     */
+    public void SetFetchSize(int fetchSize)
+    {
+        if (fetchSize <= 0)
+        {
+            throw new RuntimeException("Fetch size must be positive");
+        }
+
+        m_fetchSize = fetchSize;
+    }
+
+    /**
+     * A table to be exported
+     */
+    private static final class ExportTable
+    {
+        final String name;
+        final String dateColumn;
+        long         rowCount;
+
+        ExportTable(String name, String dateColumn)
+        {
+            this.name       = name;
+            this.dateColumn = dateColumn;
+        }
+    }
+
+    /**
+     * Destination of the rows of a table
+     */
+    private interface TableSink extends Closeable
+    {
+        void Write(ResultSet row) throws SQLException, IOException;
+
+        long GetBytesWritten();
+    }
+
+    /**
+     * Writes the rows as CSV, quoting the values as in RFC 4180. Null values are
+     * written as empty values
+     */
+    private static final class CsvSink implements TableSink
+    {
+        private final BufferedChannelWriter m_out;
+        private final int                   m_columns;
+
+        CsvSink(BufferedChannelWriter out, ResultSetMetaData metaData)
+            throws SQLException, IOException
+        {
+            m_out     = out;
+            m_columns = metaData.getColumnCount();
+
+            for (int i = 1; i <= m_columns; i++)
+            {
+                WriteValue(metaData.getColumnLabel(i), i);
+            }
+
+            m_out.WriteByte('\n');
+        }
+
+        @Override
+        public void Write(ResultSet row) throws SQLException, IOException
+        {
+            for (int i = 1; i <= m_columns; i++)
+            {
+                WriteValue(row.getString(i), i);
+            }
+
+            m_out.WriteByte('\n');
+        }
+
+        @Override
+        public long GetBytesWritten()
+        {
+            return m_out.GetBytesWritten();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            m_out.close();
+        }
+
+        private void WriteValue(String value, int column) throws IOException
+        {
+            if (column > 1)
+            {
+                m_out.WriteByte(',');
+            }
+
+            if (value == null)
+            {
+                return;
+            }
+
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 &&
+                value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            {
+                m_out.WriteText(value);
+                return;
+            }
+
+            m_out.WriteByte('"');
+            m_out.WriteText(value.replace("\"", "\"\""));
+            m_out.WriteByte('"');
+        }
+    }
+
+    /**
+     * Writes the rows with ColumnarFileWriter. The type of each column comes from
+     * its SQL type
+     */
+    private static final class ColumnarSink implements TableSink
+    {
+        private final BufferedChannelWriter m_out;
+        private final ColumnarFileWriter    m_writer;
+        private final ColumnType[]          m_types;
+        private final Object[]              m_values;
+
+        ColumnarSink(BufferedChannelWriter out,
+                     String                table,
+                     ResultSetMetaData     metaData) throws SQLException, IOException
+        {
+            int columns = metaData.getColumnCount();
+
+            List<String>     names = new ArrayList<>(columns);
+            List<ColumnType> types = new ArrayList<>(columns);
+
+            for (int i = 1; i <= columns; i++)
+            {
+                names.add(metaData.getColumnLabel(i));
+                types.add(ToColumnType(metaData.getColumnType(i)));
+            }
+
+            m_out    = out;
+            m_types  = types.toArray(new ColumnType[0]);
+            m_values = new Object[columns];
+            m_writer = new ColumnarFileWriter(out,
+                                              table,
+                                              names,
+                                              types,
+                                              Constants.EXPORT_ROW_GROUP_SIZE);
+        }
+
+        @Override
+        public void Write(ResultSet row) throws SQLException, IOException
+        {
+            for (int i = 0; i < m_types.length; i++)
+            {
+                Object value;
+
+                switch (m_types[i])
+                {
+                    case LONG:
+                        value = row.getLong(i + 1);
+                        break;
+                    case DOUBLE:
+                        value = row.getDouble(i + 1);
+                        break;
+                    case DECIMAL:
+                        value = row.getBigDecimal(i + 1);
+                        break;
+                    default:
+                        value = row.getString(i + 1);
+                        break;
+                }
+
+                m_values[i] = row.wasNull() ? null : value;
+            }
+
+            m_writer.AddRow(m_values);
+        }
+
+        @Override
+        public long GetBytesWritten()
+        {
+            return m_out.GetBytesWritten();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            m_writer.close();
+        }
+
+        private static ColumnType ToColumnType(int sqlType)
+        {
+            switch (sqlType)
+            {
+                case Types.BIGINT:
+                case Types.INTEGER:
+                case Types.SMALLINT:
+                case Types.TINYINT:
+                case Types.BOOLEAN:
+                case Types.BIT:
+                    return ColumnType.LONG;
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case Types.REAL:
+                    return ColumnType.DOUBLE;
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    return ColumnType.DECIMAL;
+                default:
+                    return ColumnType.TEXT;
+            }
+        }
+    }
+
+    /**
+     * State of a single export
+     */
+    private final class ExportRun
+    {
+        private final Path                         m_outputDir;
+        private final ExportFormat                 m_format;
+        private final boolean                      m_gzip;
+        private final String                       m_from;
+        private final String                       m_to;
+        private final Consumer<DataExportProgress> m_progressListener;
+
+        private String m_currentTable   = null;
+        private int    m_tablesExported = 0;
+        private int    m_tableCount     = 0;
+        private long   m_rowsExported   = 0;
+        private long   m_totalRows      = 0;
+        private long   m_bytesWritten   = 0;
+
+        ExportRun(Path                         outputDir,
+                  ExportFormat                 format,
+                  boolean                      gzip,
+                  LocalDate                    from,
+                  LocalDate                    to,
+                  Consumer<DataExportProgress> progressListener)
+        {
+            m_outputDir = outputDir;
+            m_format    = format;
+            m_gzip      = gzip;
+
+            // The dates are stored as text in Constants.DB_DATE_FORMATTER format,
+            // which sorts in chronological order
+            m_from = from == null
+                         ? null
+                         : from.atStartOfDay().format(Constants.DB_DATE_FORMATTER);
+            m_to   = to == null ? null
+                                : to.plusDays(1).atStartOfDay().format(
+                                    Constants.DB_DATE_FORMATTER);
+
+            m_progressListener = progressListener;
+        }
+
+        DataExportProgress Run(Connection connection) throws SQLException
+        {
+            List<ExportTable> tables = ListTables();
+            m_tableCount             = tables.size();
+
+            for (ExportTable table : tables)
+            {
+                table.rowCount = CountRows(connection, table);
+                m_totalRows += table.rowCount;
+            }
+
+            for (ExportTable table : tables)
+            {
+                m_currentTable = table.name;
+                Report();
+
+                ExportTable(connection, table);
+
+                m_tablesExported++;
+            }
+
+            m_currentTable = null;
+            Report();
+
+            m_logger.info("Export to " + m_outputDir + " finished: " + m_tableCount +
+                          " tables, " + m_rowsExported + " rows, " + m_bytesWritten +
+                          " bytes");
+
+            return Snapshot(0);
+        }
+
+        /**
+         * List the tables of the entities, with their date column
+         *
+         * The tables and columns come from the entity registry, so they are
+         * written unquoted and resolve in the case the database stores them
+         */
+        private List<ExportTable> ListTables()
+        {
+            List<ExportTable> tables = new ArrayList<>();
+
+            for (EntityDescriptor entity : EntityRegistry.GetEntities())
+            {
+                tables.add(new ExportTable(
+                    entity.GetTableName(),
+                    entity.HasColumn(Constants.EXPORT_DATE_COLUMN)
+                        ? Constants.EXPORT_DATE_COLUMN
+                        : null));
+            }
+
+            tables.sort(Comparator.comparing(t -> t.name));
+            return tables;
+        }
+
+        private long CountRows(Connection connection, ExportTable table)
+            throws SQLException
+        {
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM " + table.name + Where(table)))
+            {
+                BindDateRange(statement, table);
+
+                try (ResultSet rs = statement.executeQuery())
+                {
+                    return rs.next() ? rs.getLong(1) : 0;
+                }
+            }
+        }
+
+        /**
+         * Stream the rows of a table to its file
+         */
+        private void ExportTable(Connection connection, ExportTable table)
+            throws SQLException
+        {
+            String fileName = table.name.toLowerCase(Locale.ROOT) +
+                              m_format.GetExtension() +
+                              (m_gzip ? Constants.GZIP_EXTENSION : "");
+
+            Path file    = m_outputDir.resolve(fileName);
+            Path partial = m_outputDir.resolve(fileName + ".tmp");
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM " + table.name + Where(table),
+                     ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY))
+            {
+                statement.setFetchSize(m_fetchSize);
+                BindDateRange(statement, table);
+
+                long bytesBefore = m_bytesWritten;
+
+                try (ResultSet rs = statement.executeQuery();
+                     TableSink sink = CreateSink(partial, table, rs.getMetaData()))
+                {
+                    long rows = 0;
+
+                    while (rs.next())
+                    {
+                        sink.Write(rs);
+                        rows++;
+
+                        if (rows % Constants.EXPORT_PROGRESS_INTERVAL == 0)
+                        {
+                            m_bytesWritten = bytesBefore + sink.GetBytesWritten();
+                            Report(rows);
+                        }
+                    }
+
+                    m_rowsExported += rows;
+                    m_bytesWritten = bytesBefore + sink.GetBytesWritten();
+                }
+
+                Files.move(partial,
+                           file,
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException e)
+            {
+                DeleteQuietly(partial);
+                throw new RuntimeException("Error writing " + file + ": " +
+                                           e.getMessage());
+            }
+            catch (SQLException | RuntimeException e)
+            {
+                DeleteQuietly(partial);
+                throw e;
+            }
+        }
+
+        private TableSink
+        CreateSink(Path file, ExportTable table, ResultSetMetaData metaData)
+            throws SQLException, IOException
+        {
+            BufferedChannelWriter out =
+                BufferedChannelWriter.Open(file, m_gzip, Constants.EXPORT_BUFFER_SIZE);
+
+            try
+            {
+                if (m_format == ExportFormat.COLUMNAR)
+                {
+                    return new ColumnarSink(out, table.name, metaData);
+                }
+
+                return new CsvSink(out, metaData);
+            }
+            catch (SQLException | IOException | RuntimeException e)
+            {
+                out.close();
+                throw e;
+            }
+        }
+
+        private String Where(ExportTable table)
+        {
+            if (table.dateColumn == null)
+            {
+                return "";
+            }
+
+            List<String> conditions = new ArrayList<>(2);
+
+            if (m_from != null)
+            {
+                conditions.add(table.dateColumn + " >= ?");
+            }
+
+            if (m_to != null)
+            {
+                conditions.add(table.dateColumn + " < ?");
+            }
+
+            return conditions.isEmpty() ? ""
+                                        : " WHERE " + String.join(" AND ", conditions);
+        }
+
+        private void BindDateRange(PreparedStatement statement, ExportTable table)
+            throws SQLException
+        {
+            if (table.dateColumn == null)
+            {
+                return;
+            }
+
+            int index = 1;
+
+            if (m_from != null)
+            {
+                statement.setString(index++, m_from);
+            }
+
+            if (m_to != null)
+            {
+                statement.setString(index, m_to);
+            }
+        }
+
+        private void Report()
+        {
+            Report(0);
+        }
+
+        /**
+         * Send a snapshot to the listener
+         * @param currentTableRows The rows of the current table written so far
+         */
+        private void Report(long currentTableRows)
+        {
+            m_progressListener.accept(Snapshot(currentTableRows));
+        }
+
+        private DataExportProgress Snapshot(long currentTableRows)
+        {
+            return new DataExportProgress(m_currentTable,
+                                          m_tablesExported,
+                                          m_tableCount,
+                                          m_rowsExported + currentTableRows,
+                                          m_totalRows,
+                                          m_bytesWritten);
+        }
+    }
+
+    private static void DeleteQuietly(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e)
+        {
+            m_logger.warning("Could not delete " + file + ": " + e.getMessage());
+        }
+    }
+}
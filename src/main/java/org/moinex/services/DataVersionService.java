@@ -0,0 +1,48 @@
+/*
+ * Filename: DataVersionService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+/**
+ * This class is responsible for the version of the data in the database
+ *
+ * The version changes after each commit that may have changed the data, so a
+ * result computed at a version is still current while the version is the same.
+ * The commits of the transaction manager are counted by TransactionConfig, and
+ * the writes made without it must call MarkChanged
+ *
+ * @note The version starts at 0 on each run, so it only compares results of the
+ *     same run
+ */
+@Service
+public class DataVersionService
+{
+    private final AtomicLong m_version = new AtomicLong();
+
+    public DataVersionService() { }
+
+    /**
+     * Get the current version
+     * @return The version
+     * @note A result must be tagged with the version read before it is computed,
+     *     so a commit made while it is computed makes it stale
+     */
+    public long GetVersion()
+    {
+        return m_version.get();
+    }
+
+    /**
+     * Change the version, after a write to the database is committed
+     */
+    public void MarkChanged()
+    {
+        m_version.incrementAndGet();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Filename: FxStallWatchdogService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import org.moinex.util.Constants;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.OperationStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Watchdog that detects stalls of the JavaFX Application Thread
+ *
+ * A background thread periodically posts a heartbeat to the FX thread. If the
+ * heartbeat is not executed within the configured threshold, the FX thread is
+ * considered blocked: its stack trace is captured, the controller method it is
+ * running is identified and both are written to the stall log. When the
+ * heartbeat finally runs, the total blocked time is recorded in the
+ * MetricsService, grouped by controller method
+ */
+@Service
+public class FxStallWatchdogService
+{
+    @Autowired
+    private MetricsService m_metricsService;
+
+    @Value("${moinex.fx-watchdog.enabled:true}")
+    private boolean m_enabled;
+
+    @Value("${moinex.fx-watchdog.threshold-ms:250}")
+    private long m_thresholdMillis;
+
+    @Value("${moinex.fx-watchdog.sample-interval-ms:50}")
+    private long m_sampleIntervalMillis;
+
+    private final AtomicBoolean m_heartbeatPending = new AtomicBoolean(false);
+
+    private volatile long m_heartbeatPostedAt;
+
+    private volatile Thread m_fxThread;
+
+    // Location of the stall being tracked, or null if the FX thread is responsive
+    private volatile String m_stallLocation;
+
+    // Posts the heartbeats to the thread being watched
+    private Executor m_fxExecutor = Platform::runLater;
+
+    private ScheduledExecutorService m_scheduler;
+
+    private Logger m_stallLogger;
+
+    private static final String UI_PACKAGE = "org.moinex.ui.";
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public FxStallWatchdogService() { }
+
+    /**
+     * Start watching the JavaFX Application Thread
+     * @note Must be called after the JavaFX toolkit has been started
+     */
+    public synchronized void Start()
+    {
+        if (!m_enabled || m_scheduler != null)
+        {
+            return;
+        }
+
+        m_stallLogger =
+            LoggerConfig.CreateFileLogger(FxStallWatchdogService.class.getName(),
+                                          Constants.FX_STALL_LOG_FILE,
+                                          Constants.FX_STALL_LOG_FILE_LIMIT,
+                                          Constants.FX_STALL_LOG_FILE_COUNT);
+
+        m_scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "moinex-fx-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        m_scheduler.scheduleAtFixedRate(this::Sample,
+                                        m_sampleIntervalMillis,
+                                        m_sampleIntervalMillis,
+                                        TimeUnit.MILLISECONDS);
+
+        m_logger.info("FX stall watchdog started with a threshold of " +
+                      m_thresholdMillis + " ms");
+    }
+
+    @PreDestroy
+    public synchronized void Stop()
+    {
+        if (m_scheduler == null)
+        {
+            return;
+        }
+
+        m_scheduler.shutdownNow();
+        m_scheduler = null;
+
+        LogWorstOffenders();
+    }
+
+    public void SetEnabled(boolean enabled)
+    {
+        m_enabled = enabled;
+    }
+
+    /**
+     * Set how the FX thread is sampled
+     * @param thresholdMillis The time after which a heartbeat not yet executed
+     *     is a stall, in milliseconds
+     * @param sampleIntervalMillis The interval between two samples in milliseconds
+     * @note Only takes effect on the next start
+     */
+    public void SetSampling(long thresholdMillis, long sampleIntervalMillis)
+    {
+        m_thresholdMillis      = thresholdMillis;
+        m_sampleIntervalMillis = sampleIntervalMillis;
+    }
+
+    /**
+     * Set the executor that runs the heartbeats on the watched thread
+     * @param fxExecutor The executor. Platform.runLater by default
+     */
+    public void SetFxExecutor(Executor fxExecutor)
+    {
+        m_fxExecutor = fxExecutor;
+    }
+
+    /**
+     * Get the threshold above which the FX thread is considered stalled
+     * @return The threshold in milliseconds
+     */
+    public long GetThresholdMillis()
+    {
+        return m_thresholdMillis;
+    }
+
+    /**
+     * Get the locations that blocked the FX thread for the longest total time
+     * @param limit The maximum number of locations to return
+     * @return The worst offenders sorted descending by total blocked time
+     */
+    public List<OperationStats> GetWorstOffenders(int limit)
+    {
+        return m_metricsService.GetFxStallStats().stream().limit(limit).toList();
+    }
+
+    /**
+     * Check whether the FX thread executed the last heartbeat and post a new one
+     */
+    private void Sample()
+    {
+        try
+        {
+            if (m_heartbeatPending.compareAndSet(false, true))
+            {
+                m_heartbeatPostedAt = System.nanoTime();
+                m_fxExecutor.execute(this::Heartbeat);
+                return;
+            }
+
+            long blockedNanos = System.nanoTime() - m_heartbeatPostedAt;
+
+            if (m_stallLocation == null &&
+                blockedNanos >= TimeUnit.MILLISECONDS.toNanos(m_thresholdMillis))
+            {
+                CaptureStall(blockedNanos);
+            }
+        }
+        catch (Exception e)
+        {
+            // The watchdog must never die, otherwise stalls go unnoticed
+            m_logger.warning("FX stall watchdog sample failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs on the FX thread and marks the heartbeat as executed
+     */
+    private void Heartbeat()
+    {
+        long blockedNanos = System.nanoTime() - m_heartbeatPostedAt;
+
+        m_fxThread = Thread.currentThread();
+
+        String location = m_stallLocation;
+
+        if (location != null)
+        {
+            m_stallLocation = null;
+            m_metricsService.RecordFxStall(location, blockedNanos);
+
+            if (m_stallLogger != null)
+            {
+                m_stallLogger.warning(
+                    String.format("FX thread released after %d ms in %s",
+                                  TimeUnit.NANOSECONDS.toMillis(blockedNanos),
+                                  location));
+            }
+        }
+
+        m_heartbeatPending.set(false);
+    }
+
+    /**
+     * Capture the stack trace of the blocked FX thread and write it to the stall log
+     * @param blockedNanos For how long the FX thread has been blocked
+     */
+    private void CaptureStall(long blockedNanos)
+    {
+        Thread fxThread = m_fxThread;
+
+        if (fxThread == null)
+        {
+            // The first heartbeat has not run yet, so the FX thread is unknown
+            return;
+        }
+
+        StackTraceElement[] stackTrace = fxThread.getStackTrace();
+        String              location   = FindControllerMethod(stackTrace);
+
+        m_stallLocation = location;
+
+        if (m_stallLogger == null)
+        {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("FX thread blocked for more than %d ms in %s",
+                                TimeUnit.NANOSECONDS.toMillis(blockedNanos),
+                                location));
+
+        for (StackTraceElement element : stackTrace)
+        {
+            sb.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+
+        m_stallLogger.warning(sb.toString());
+    }
+
+    /**
+     * Find the innermost controller method in a stack trace
+     * @param stackTrace The stack trace of the FX thread
+     * @return The controller method as Class.method, or the top frame if no
+     *     controller is in the stack
+     */
+    private String FindControllerMethod(StackTraceElement[] stackTrace)
+    {
+        for (StackTraceElement element : stackTrace)
+        {
+            if (element.getClassName().startsWith(UI_PACKAGE))
+            {
+                String className = element.getClassName();
+
+                return className.substring(className.lastIndexOf('.') + 1) + "." +
+                    element.getMethodName();
+            }
+        }
+
+        if (stackTrace.length == 0)
+        {
+            return "unknown";
+        }
+
+        return stackTrace[0].getClassName() + "." + stackTrace[0].getMethodName();
+    }
+
+    /**
+     * Write the summary of the worst offenders to the stall log
+     */
+    private void LogWorstOffenders()
+    {
+        List<OperationStats> offenders =
+            GetWorstOffenders(Constants.FX_STALL_SUMMARY_COUNT);
+
+        if (m_stallLogger == null || offenders.isEmpty())
+        {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder("Worst FX thread offenders");
+
+        for (OperationStats stats : offenders)
+        {
+            sb.append(System.lineSeparator()).append("  ").append(stats);
+        }
+
+        m_stallLogger.info(sb.toString());
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.logging.Logger;
 import org.moinex.entities.Goal;
 import org.moinex.entities.WalletType;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
 import org.moinex.repositories.GoalRepository;
 import org.moinex.repositories.TransferRepository;
 import org.moinex.repositories.WalletRepository;
@@ -42,9 +43,21 @@ public class GoalService
     @Autowired
     private WalletTransactionRepository m_walletTransactionRepository;
 
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
     @Autowired
     private WalletTypeRepository m_walletTypeRepository;
 
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
     private static final Logger logger = LoggerConfig.GetLogger();
 
     public GoalService() { }
@@ -142,6 +155,11 @@ public class GoalService
                              walletType);
 
         m_goalRepository.save(goal);
+        m_referenceDataCache.RefreshWallets();
+
+        m_balanceLedgerService.Record(goal.GetId(),
+                                      LocalDateTime.now(),
+                                      initialBalance);
 
         logger.info("Goal " + name + " created with initial balance " + initialBalance);
 
@@ -157,10 +175,14 @@ public class GoalService
     @Transactional
     public void DeleteGoal(Long idGoal)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
         if (m_walletTransactionRepository.GetTransactionCountByWallet(idGoal) > 0 ||
+            m_archivedTransactionRepository.CountTransactionsByWallet(idGoal) > 0 ||
             m_transfersRepository.GetTransferCountByWallet(idGoal) > 0)
         {
             throw new RuntimeException(
@@ -169,6 +191,7 @@ public class GoalService
                 + "the transactions first or archive the goal");
         }
 
+        m_balanceLedgerService.DeleteHistory(idGoal);
         m_goalRepository.delete(goal);
 
         logger.info("Goal " + goal.GetName() + " was permanently deleted");
@@ -185,6 +208,9 @@ public class GoalService
     @Transactional
     public void UpdateGoal(Goal goal)
     {
+        m_walletLockService.LockUntilCompletion(goal.GetId());
+        m_referenceDataCache.RefreshWallets();
+
         Goal oldGoal =
             m_goalRepository.findById(goal.GetId())
                 .orElseThrow(()
@@ -217,6 +243,10 @@ public class GoalService
                                 goal.GetTargetBalance(),
                                 goal.GetTargetDate());
 
+        m_balanceLedgerService.Record(goal.GetId(),
+                                      LocalDateTime.now(),
+                                      goal.GetBalance().subtract(oldGoal.GetBalance()));
+
         oldGoal.SetName(goal.GetName());
         oldGoal.SetInitialBalance(goal.GetInitialBalance());
         oldGoal.SetBalance(goal.GetBalance());
@@ -254,6 +284,9 @@ public class GoalService
     @Transactional
     public void ArchiveGoal(Long idGoal)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             ()
                 -> new RuntimeException("Goal with id " + idGoal +
@@ -276,6 +309,9 @@ public class GoalService
     @Transactional
     public void UnarchiveGoal(Long idGoal)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             ()
                 -> new RuntimeException("Goal with id " + idGoal +
@@ -297,6 +333,9 @@ public class GoalService
     @Transactional
     public void CompleteGoal(Long idGoal)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
@@ -324,6 +363,9 @@ public class GoalService
     @Transactional
     public void ReopenGoal(Long idGoal)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
@@ -350,6 +392,9 @@ public class GoalService
             throw new RuntimeException("The name of the goal cannot be empty");
         }
 
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
@@ -381,6 +426,9 @@ public class GoalService
                 "The initial balance of the goal cannot be negative");
         }
 
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
@@ -407,6 +455,9 @@ public class GoalService
                 "The target balance of the goal cannot be negative");
         }
 
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
@@ -426,6 +477,9 @@ public class GoalService
     @Transactional
     public void ChangeTargetDate(Long idGoal, LocalDateTime newTargetDate)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
@@ -451,6 +505,9 @@ public class GoalService
     @Transactional
     public void ChangeMotivation(Long idGoal, String newMotivation)
     {
+        m_walletLockService.LockUntilCompletion(idGoal);
+        m_referenceDataCache.RefreshWallets();
+
         Goal goal = m_goalRepository.findById(idGoal).orElseThrow(
             () -> new RuntimeException("Goal with id " + idGoal + " not found"));
 
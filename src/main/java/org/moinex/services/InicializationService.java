@@ -19,11 +19,20 @@ public class InicializationService
     @Autowired
     private RecurringTransactionService recurringTransactionService;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
     public InicializationService() { }
 
     @PostConstruct
     public void Initialize()
     {
+        // Databases created before the balance history have their history
+        // recorded once
+        balanceLedgerService.RecordMissingHistory();
+
         recurringTransactionService.ProcessRecurringTransactions();
+
+        balanceLedgerService.CreateCheckpoints();
     }
 }
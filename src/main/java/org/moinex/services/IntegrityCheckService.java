@@ -0,0 +1,237 @@
+/*
+ * Filename: IntegrityCheckService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.moinex.util.IntegrityIssue;
+import org.moinex.util.LoggerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * This class is responsible for checking the integrity of the database
+ *
+ * Besides the checks of SQLite, it checks the values the services keep in sync:
+ * the balance of each wallet against its ledger, the balance checkpoints against
+ * the ledger and the installments of each credit card debt against its total.
+ * The checks only read the database, and the problems are reported as they are
+ * found, so large databases are checked without holding their rows
+ */
+@Service
+public class IntegrityCheckService
+{
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    private static final String WALLET_BALANCE_SQL =
+        "SELECT w.id, w.name, w.balance, COALESCE(SUM(e.amount), 0) "
+        + "FROM wallet w LEFT JOIN balance_ledger e ON e.wallet_id = w.id "
+        + "GROUP BY w.id, w.name, w.balance ORDER BY w.id";
+
+    private static final String LEDGER_MONTHS_SQL =
+        "SELECT wallet_id, SUBSTR(date, 1, 7) AS period, SUM(amount) "
+        + "FROM balance_ledger GROUP BY wallet_id, SUBSTR(date, 1, 7)";
+
+    private static final String CHECKPOINTS_SQL =
+        "SELECT wallet_id, period, balance FROM balance_checkpoint "
+        + "ORDER BY wallet_id, period";
+
+    private static final String DEBT_INSTALLMENTS_SQL =
+        "SELECT d.id, d.total_amount, d.installments, "
+        + "COALESCE(SUM(p.amount), 0), COUNT(p.id) "
+        + "FROM credit_card_debt d LEFT JOIN credit_card_payment p "
+        + "ON p.debt_id = d.id "
+        + "GROUP BY d.id, d.total_amount, d.installments ORDER BY d.id";
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public IntegrityCheckService() { }
+
+    /**
+     * Run all the checks
+     * @param issueListener Receives each problem as it is found. It is called from
+     *     the thread that runs the checks
+     * @return The number of problems found
+     */
+    @Transactional(readOnly = true)
+    public int Check(Consumer<IntegrityIssue> issueListener)
+    {
+        int[]                    found    = { 0 };
+        Consumer<IntegrityIssue> reporter = issue -> {
+            found[0]++;
+            issueListener.accept(issue);
+        };
+
+        if (IsSQLite())
+        {
+            CheckDatabase(reporter);
+            CheckForeignKeys(reporter);
+        }
+
+        CheckWalletBalances(reporter);
+        CheckBalanceCheckpoints(reporter);
+        CheckDebtInstallments(reporter);
+
+        m_logger.info("Integrity check found " + found[0] + " problems");
+
+        return found[0];
+    }
+
+    private boolean IsSQLite()
+    {
+        return m_jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>)connection
+            -> "SQLite".equals(connection.getMetaData().getDatabaseProductName()));
+    }
+
+    /**
+     * Check the structure of the database file
+     */
+    private void CheckDatabase(Consumer<IntegrityIssue> reporter)
+    {
+        m_jdbcTemplate.query("PRAGMA integrity_check", row -> {
+            String result = row.getString(1);
+
+            if (!"ok".equals(result))
+            {
+                reporter.accept(new IntegrityIssue("database", result));
+            }
+        });
+    }
+
+    /**
+     * Check the rows that reference rows that do not exist
+     */
+    private void CheckForeignKeys(Consumer<IntegrityIssue> reporter)
+    {
+        m_jdbcTemplate.query("PRAGMA foreign_key_check", row -> {
+            reporter.accept(new IntegrityIssue(
+                "foreign-key",
+                "Row " + row.getLong(2) + " of " + row.getString(1) +
+                    " references a row of " + row.getString(3) +
+                    " that does not exist"));
+        });
+    }
+
+    /**
+     * Check if the balance of each wallet is the sum of its ledger
+     */
+    private void CheckWalletBalances(Consumer<IntegrityIssue> reporter)
+    {
+        m_jdbcTemplate.query(WALLET_BALANCE_SQL, row -> {
+            long balance = ToCents(row.getBigDecimal(3));
+            long ledger  = row.getLong(4);
+
+            if (balance != ledger)
+            {
+                reporter.accept(new IntegrityIssue(
+                    "wallet-balance",
+                    "Wallet " + row.getString(2) + " has balance " +
+                        FromCents(balance) + ", but its ledger sums " +
+                        FromCents(ledger)));
+            }
+        });
+    }
+
+    /**
+     * Check if each balance checkpoint is the sum of the ledger of its wallet up to
+     * the end of its month
+     */
+    private void CheckBalanceCheckpoints(Consumer<IntegrityIssue> reporter)
+    {
+        // The ledger of each wallet summed by month, which is small even for large
+        // ledgers, and then accumulated so each checkpoint is a lookup
+        Map<Long, TreeMap<String, Long>> accumulated = new HashMap<>();
+
+        m_jdbcTemplate.query(LEDGER_MONTHS_SQL, row -> {
+            accumulated.computeIfAbsent(row.getLong(1), id -> new TreeMap<>())
+                .put(row.getString(2), row.getLong(3));
+        });
+
+        for (TreeMap<String, Long> months : accumulated.values())
+        {
+            long total = 0;
+
+            for (Map.Entry<String, Long> month : months.entrySet())
+            {
+                total += month.getValue();
+                month.setValue(total);
+            }
+        }
+
+        m_jdbcTemplate.query(CHECKPOINTS_SQL, row -> {
+            Long   walletId   = row.getLong(1);
+            String period     = row.getString(2);
+            long   checkpoint = row.getLong(3);
+
+            TreeMap<String, Long>   months = accumulated.get(walletId);
+            Map.Entry<String, Long> ledger =
+                months == null ? null : months.floorEntry(period);
+
+            long expected = ledger == null ? 0 : ledger.getValue();
+
+            if (checkpoint != expected)
+            {
+                reporter.accept(new IntegrityIssue(
+                    "balance-checkpoint",
+                    "Checkpoint of wallet " + walletId + " in " + period + " is " +
+                        FromCents(checkpoint) + ", but the ledger sums " +
+                        FromCents(expected)));
+            }
+        });
+    }
+
+    /**
+     * Check if each credit card debt has its installments and if they sum its total
+     */
+    private void CheckDebtInstallments(Consumer<IntegrityIssue> reporter)
+    {
+        m_jdbcTemplate.query(DEBT_INSTALLMENTS_SQL, row -> {
+            long debtId       = row.getLong(1);
+            long total        = ToCents(row.getBigDecimal(2));
+            int  installments = row.getInt(3);
+            long paid         = ToCents(row.getBigDecimal(4));
+            int  payments     = row.getInt(5);
+
+            if (installments != payments)
+            {
+                reporter.accept(new IntegrityIssue(
+                    "debt-installments",
+                    "Debt " + debtId + " has " + installments +
+                        " installments, but " + payments + " payments"));
+            }
+            else if (total != paid)
+            {
+                reporter.accept(new IntegrityIssue(
+                    "debt-installments",
+                    "Debt " + debtId + " has total " + FromCents(total) +
+                        ", but its payments sum " + FromCents(paid)));
+            }
+        });
+    }
+
+    private static long ToCents(BigDecimal amount)
+    {
+        return amount.setScale(2, RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    private static BigDecimal FromCents(long cents)
+    {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Filename: MetricsService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.moinex.util.Constants;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.OperationStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * This class is responsible for collecting the metrics of the application
+ *
+ * Metrics are kept in memory and periodically written to a rolling file next to
+ * the application log. Repository level timings come from the Hibernate
+ * statistics, which must be enabled with the property
+ * spring.jpa.properties.hibernate.generate_statistics, and the statements of each
+ * call from StatementCounter
+ */
+@Service
+public class MetricsService
+{
+    @Autowired
+    private EntityManagerFactory m_entityManagerFactory;
+
+    private final Map<String, OperationStats> m_operations = new ConcurrentHashMap<>();
+
+    private final Map<String, OperationStats> m_fxStalls = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService m_scheduler;
+
+    private Logger m_metricsLogger;
+
+    private Statistics m_statistics;
+
+    private long m_lastFlushedCalls = -1;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public MetricsService() { }
+
+    @PostConstruct
+    public void Start()
+    {
+        m_metricsLogger =
+            LoggerConfig.CreateFileLogger(MetricsService.class.getName(),
+                                          Constants.METRICS_LOG_FILE,
+                                          Constants.METRICS_LOG_FILE_LIMIT,
+                                          Constants.METRICS_LOG_FILE_COUNT);
+
+        m_scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "moinex-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        m_scheduler.scheduleAtFixedRate(this::Flush,
+                                        Constants.METRICS_FLUSH_INTERVAL,
+                                        Constants.METRICS_FLUSH_INTERVAL,
+                                        TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void Stop()
+    {
+        if (m_scheduler != null)
+        {
+            m_scheduler.shutdownNow();
+        }
+
+        Flush();
+    }
+
+    /**
+     * Record a call of an operation
+     * @param operation The name of the operation
+     * @param durationNanos The duration of the call in nanoseconds
+     * @param queryCount The number of SQL statements prepared by the thread of the
+     *     call, as counted by StatementCounter
+     * @param rowCount The number of rows returned by the call
+     * @param failed True if the call threw an exception
+     */
+    public void Record(String  operation,
+                       long    durationNanos,
+                       long    queryCount,
+                       long    rowCount,
+                       boolean failed)
+    {
+        m_operations.computeIfAbsent(operation, OperationStats::new)
+            .Record(durationNanos, queryCount, rowCount, failed);
+    }
+
+    /**
+     * Record a stall of the JavaFX Application Thread
+     * @param location The code location that was running when the stall was detected
+     * @param durationNanos For how long the thread was blocked in nanoseconds
+     */
+    public void RecordFxStall(String location, long durationNanos)
+    {
+        m_fxStalls.computeIfAbsent(location, OperationStats::new)
+            .Record(durationNanos, 0, 0, false);
+    }
+
+    /**
+     * Get the Hibernate statistics
+     * @return The Hibernate statistics or null if they are not available
+     */
+    public Statistics GetHibernateStatistics()
+    {
+        if (m_statistics == null && m_entityManagerFactory != null)
+        {
+            m_statistics =
+                m_entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        }
+
+        return m_statistics;
+    }
+
+    /**
+     * Get the metrics of all operations, sorted descending by total time
+     * @return A list with the metrics of all operations
+     */
+    public List<OperationStats> GetOperationStats()
+    {
+        return SortByTotalTime(m_operations);
+    }
+
+    /**
+     * Get the stalls of the JavaFX Application Thread grouped by location, sorted
+     * descending by total blocked time
+     * @return A list with the stalls grouped by location
+     */
+    public List<OperationStats> GetFxStallStats()
+    {
+        return SortByTotalTime(m_fxStalls);
+    }
+
+    /**
+     * Get the statistics of the repository queries, sorted descending by total
+     * execution time
+     * @return A map with the query string as key and its statistics as value
+     */
+    public Map<String, QueryStatistics> GetRepositoryQueryStats()
+    {
+        Map<String, QueryStatistics> queryStats = new LinkedHashMap<>();
+        Statistics                   statistics = GetHibernateStatistics();
+
+        if (statistics == null || !statistics.isStatisticsEnabled())
+        {
+            return queryStats;
+        }
+
+        for (String query : statistics.getQueries())
+        {
+            queryStats.put(query, statistics.getQueryStatistics(query));
+        }
+
+        return queryStats.entrySet()
+            .stream()
+            .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, QueryStatistics> e)
+                            -> e.getValue().getExecutionAvgTime() *
+                                   e.getValue().getExecutionCount())
+                        .reversed())
+            .collect(LinkedHashMap::new,
+                     (map, e) -> map.put(e.getKey(), e.getValue()),
+                     Map::putAll);
+    }
+
+    /**
+     * Get the statistics of the regions of the second-level cache, which hold
+     * both entities and query results
+     * @return A map with the region name as key and its statistics as value,
+     *    sorted by name
+     */
+    public Map<String, CacheRegionStatistics> GetCacheRegionStats()
+    {
+        Map<String, CacheRegionStatistics> regionStats = new TreeMap<>();
+        Statistics                         statistics  = GetHibernateStatistics();
+
+        if (statistics == null || !statistics.isStatisticsEnabled())
+        {
+            return regionStats;
+        }
+
+        for (String region : statistics.getSecondLevelCacheRegionNames())
+        {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+
+            if (stats != null)
+            {
+                regionStats.put(region, stats);
+            }
+        }
+
+        return regionStats;
+    }
+
+    /**
+     * Reset all the metrics collected so far
+     */
+    public void Reset()
+    {
+        m_operations.clear();
+        m_fxStalls.clear();
+
+        Statistics statistics = GetHibernateStatistics();
+
+        if (statistics != null)
+        {
+            statistics.clear();
+        }
+
+        m_lastFlushedCalls = -1;
+    }
+
+    /**
+     * Write a snapshot of the metrics to the metrics file
+     * @note Nothing is written if no operation was recorded since the last flush
+     */
+    public synchronized void Flush()
+    {
+        if (m_metricsLogger == null)
+        {
+            return;
+        }
+
+        long calls =
+            m_operations.values().stream().mapToLong(OperationStats::GetCount).sum() +
+            m_fxStalls.values().stream().mapToLong(OperationStats::GetCount).sum();
+
+        if (calls == m_lastFlushedCalls)
+        {
+            return;
+        }
+
+        m_lastFlushedCalls = calls;
+
+        StringBuilder sb = new StringBuilder("Metrics snapshot");
+
+        for (OperationStats stats : GetOperationStats())
+        {
+            sb.append(System.lineSeparator()).append("  op ").append(stats);
+        }
+
+        for (OperationStats stats : GetFxStallStats())
+        {
+            sb.append(System.lineSeparator()).append("  fx-stall ").append(stats);
+        }
+
+        GetRepositoryQueryStats()
+            .entrySet()
+            .stream()
+            .limit(Constants.METRICS_TOP_QUERIES_COUNT)
+            .forEach(e
+                     -> sb.append(System.lineSeparator())
+                            .append(String.format("  query count=%d avg_ms=%d "
+                                                      + "max_ms=%d rows=%d %s",
+                                                  e.getValue().getExecutionCount(),
+                                                  e.getValue().getExecutionAvgTime(),
+                                                  e.getValue().getExecutionMaxTime(),
+                                                  e.getValue().getExecutionRowCount(),
+                                                  e.getKey())));
+
+        GetCacheRegionStats().forEach(
+            (region, stats)
+                -> sb.append(System.lineSeparator())
+                       .append(String.format("  cache hits=%d misses=%d puts=%d %s",
+                                             stats.getHitCount(),
+                                             stats.getMissCount(),
+                                             stats.getPutCount(),
+                                             region)));
+
+        m_metricsLogger.log(Level.INFO, sb.toString());
+    }
+
+    /**
+     * Sort a map of operation metrics descending by total time
+     * @param operations The map of operation metrics
+     * @return The sorted list of operation metrics
+     */
+    private List<OperationStats> SortByTotalTime(Map<String, OperationStats> operations)
+    {
+        return operations.values()
+            .stream()
+            .sorted(
+                Comparator.comparingDouble(OperationStats::GetTotalMillis).reversed())
+            .toList();
+    }
+}
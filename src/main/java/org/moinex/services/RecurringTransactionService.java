@@ -16,6 +16,7 @@ import java.time.temporal.TemporalUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import org.moinex.entities.Category;
 import org.moinex.entities.RecurringTransaction;
@@ -48,6 +49,9 @@ public class RecurringTransactionService
     @Autowired
     private WalletRepository walletRepository;
 
+    @Autowired
+    private WriteCoordinatorService writeCoordinatorService;
+
     private static final Logger m_logger = LoggerConfig.GetLogger();
 
     public RecurringTransactionService() { }
@@ -309,9 +313,19 @@ public class RecurringTransactionService
      * Process the recurring transactions
      * This method checks if the next due date of the recurring transactions has
      * already passed and generates the missing transactions
+     *
+     * The catch-up of each recurring transaction is a single command of the write
+     * coordinator, so the missing transactions of all the recurring transactions
+     * are committed in a few groups. If a transaction cannot be created, the
+     * catch-up of its recurring transaction is rolled back and tried again on the
+     * next run
+     *
+     * The recurring transactions whose wallet or category is archived are skipped,
+     * keeping their next due date, so their missing transactions are created on
+     * the first run after the wallet and the category are unarchived
+     * @return The number of transactions created
      */
-    @Transactional
-    public void ProcessRecurringTransactions()
+    public int ProcessRecurringTransactions()
     {
         List<RecurringTransaction> activeRecurringTransactions =
             recurringTransactionRepository.findByStatus(
@@ -319,73 +333,121 @@ public class RecurringTransactionService
 
         LocalDateTime today = LocalDateTime.now();
 
+        List<CompletableFuture<Integer>> catchUps = new ArrayList<>();
+
         for (RecurringTransaction recurring : activeRecurringTransactions)
         {
             LocalDateTime nextDueDate = recurring.GetNextDueDate();
 
-            // Check if the next due date has already passed and generate the missing
-            // transactions
-            if (!nextDueDate.isAfter(today) && !recurring.GetEndDate().isBefore(today))
-            {
-                while (!nextDueDate.isAfter(today))
-                {
-                    CreateTransactionForDate(recurring, nextDueDate);
+            boolean isDue =
+                !nextDueDate.isAfter(today) && !recurring.GetEndDate().isBefore(today);
+            boolean hasEnded = recurring.GetEndDate().isBefore(today);
 
-                    nextDueDate =
-                        CalculateNextDueDate(nextDueDate, recurring.GetFrequency());
-                }
+            if (!isDue && !hasEnded)
+            {
+                continue;
+            }
 
-                // Update the next due date in the recurring transaction
-                recurring.SetNextDueDate(nextDueDate);
-                recurringTransactionRepository.save(recurring);
+            if (recurring.GetWallet().IsArchived() ||
+                recurring.GetCategory().IsArchived())
+            {
+                m_logger.info("Recurring transaction " + recurring.GetId() +
+                              " skipped, since its wallet or category is archived");
+                continue;
             }
 
-            // Check if the recurring transaction has ended
-            if (recurring.GetEndDate().isBefore(today))
+            catchUps.add(
+                writeCoordinatorService
+                    .Submit(() -> CatchUp(recurring, nextDueDate, today),
+                            recurring.GetWallet().GetId())
+                    .exceptionally(e -> {
+                        m_logger.warning(
+                            "Failed to process recurring transaction " +
+                            recurring.GetId() + ": " + e.getMessage());
+                        return 0;
+                    }));
+        }
+
+        CompletableFuture.allOf(catchUps.toArray(new CompletableFuture[0])).join();
+
+        return catchUps.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    /**
+     * Generate the missing transactions of a recurring transaction and update its
+     * next due date and status
+     * @param recurring The recurring transaction
+     * @param firstDueDate The next due date of the recurring transaction before the
+     *     catch-up. The command may run again after a rollback, so the dates are
+     *     always computed from this value
+     * @param today The date the catch-up started
+     * @return The number of transactions created
+     */
+    private int CatchUp(RecurringTransaction recurring,
+                        LocalDateTime        firstDueDate,
+                        LocalDateTime        today)
+    {
+        LocalDateTime nextDueDate = firstDueDate;
+        int           created     = 0;
+
+        // Check if the next due date has already passed and generate the missing
+        // transactions
+        if (!nextDueDate.isAfter(today) && !recurring.GetEndDate().isBefore(today))
+        {
+            while (!nextDueDate.isAfter(today))
             {
-                recurring.SetStatus(RecurringTransactionStatus.INACTIVE);
-                recurringTransactionRepository.save(recurring);
+                CreateTransactionForDate(recurring, nextDueDate);
+                created++;
+
+                nextDueDate =
+                    CalculateNextDueDate(nextDueDate, recurring.GetFrequency());
             }
+
+            // Update the next due date in the recurring transaction
+            recurring.SetNextDueDate(nextDueDate);
+            recurringTransactionRepository.save(recurring);
+        }
+
+        // Check if the recurring transaction has ended
+        if (recurring.GetEndDate().isBefore(today))
+        {
+            recurring.SetStatus(RecurringTransactionStatus.INACTIVE);
+            recurringTransactionRepository.save(recurring);
         }
+
+        return created;
     }
 
     /**
      * Create a wallet transaction for a recurring transaction
      * @param recurring The recurring transaction
      * @param dueDate The due date of the transaction
+     * @throws RuntimeException If the transaction type is invalid
      */
     private void CreateTransactionForDate(RecurringTransaction recurring,
                                           LocalDateTime        dueDate)
     {
-        try
+        if (recurring.GetType().equals(TransactionType.INCOME))
         {
-            if (recurring.GetType().equals(TransactionType.INCOME))
-            {
-                walletTransactionService.AddIncome(recurring.GetWallet().GetId(),
-                                                   recurring.GetCategory(),
-                                                   dueDate,
-                                                   recurring.GetAmount(),
-                                                   recurring.GetDescription(),
-                                                   TransactionStatus.PENDING);
-            }
-            else if (recurring.GetType().equals(TransactionType.EXPENSE))
-            {
-                walletTransactionService.AddExpense(recurring.GetWallet().GetId(),
-                                                    recurring.GetCategory(),
-                                                    dueDate,
-                                                    recurring.GetAmount(),
-                                                    recurring.GetDescription(),
-                                                    TransactionStatus.PENDING);
-            }
-            else
-            {
-                throw new RuntimeException("Invalid transaction type");
-            }
+            walletTransactionService.AddIncome(recurring.GetWallet().GetId(),
+                                               recurring.GetCategory(),
+                                               dueDate,
+                                               recurring.GetAmount(),
+                                               recurring.GetDescription(),
+                                               TransactionStatus.PENDING);
+        }
+        else if (recurring.GetType().equals(TransactionType.EXPENSE))
+        {
+            walletTransactionService.AddExpense(recurring.GetWallet().GetId(),
+                                                recurring.GetCategory(),
+                                                dueDate,
+                                                recurring.GetAmount(),
+                                                recurring.GetDescription(),
+                                                TransactionStatus.PENDING);
         }
-        catch (RuntimeException e)
+        else
         {
-            m_logger.warning("Failed to create transaction for recurring transaction " +
-                             recurring.GetId() + ": " + e.getMessage());
+            throw new RuntimeException("Invalid transaction type");
         }
     }
 
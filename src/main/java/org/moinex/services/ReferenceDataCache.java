@@ -0,0 +1,423 @@
+/*
+ * Filename: ReferenceDataCache.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.hibernate.SessionFactory;
+import org.moinex.entities.Category;
+import org.moinex.entities.CreditCardOperator;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletType;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.CreditCardOperatorRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTypeRepository;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class is responsible for keeping the lookup lists of the dialogs in memory
+ *
+ * Categories, wallets, wallet types and credit card operators are small tables
+ * read every time a dialog opens. The cache holds immutable snapshots of them,
+ * sorted by name. The services that change these tables mark the snapshots as
+ * stale after the commit of the transaction, and the next read loads them again,
+ * so the readers never see a list being changed nor the changes of a transaction
+ * that is rolled back.
+ *
+ * Nothing is loaded after a commit, since the committing transaction still holds
+ * its connection, which is the only one when the routing is disabled. Each table
+ * has a generation, incremented when its snapshot is marked as stale, so a load
+ * that read the table before the commit is not taken as current.
+ *
+ * Wallet types and credit card operators are only created by the initial data,
+ * so they are loaded once
+ *
+ * The entities of these lists are also kept in the second-level cache of
+ * Hibernate, which is kept current by the changes done through it. Writes done
+ * with plain JDBC must call RefreshAfterExternalWrite
+ */
+@Service
+public class ReferenceDataCache
+{
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private WalletTypeRepository m_walletTypeRepository;
+
+    @Autowired
+    private CreditCardOperatorRepository m_creditCardOperatorRepository;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private EntityManagerFactory m_entityManagerFactory;
+
+    private TransactionTemplate m_readTemplate;
+
+    private final AtomicLong m_categoriesGeneration = new AtomicLong();
+
+    private final AtomicLong m_walletsGeneration = new AtomicLong();
+
+    private final AtomicLong m_initialDataGeneration = new AtomicLong();
+
+    private volatile Snapshot<Category> m_categories;
+
+    private volatile Snapshot<Category> m_nonArchivedCategories;
+
+    private volatile Snapshot<Wallet> m_nonArchivedWallets;
+
+    private volatile Snapshot<WalletType> m_walletTypes;
+
+    private volatile Snapshot<CreditCardOperator> m_creditCardOperators;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    /**
+     * A list loaded from the database and the generation of its table when the
+     * load started
+     */
+    private record Snapshot<T>(long generation, List<T> items)
+    {
+        boolean IsCurrent(AtomicLong tableGeneration)
+        {
+            return generation == tableGeneration.get();
+        }
+    }
+
+    /**
+     * Marks the snapshots changed by a transaction as stale after it commits
+     */
+    private class RefreshOnCommit implements TransactionSynchronization
+    {
+        private boolean m_refreshCategories = false;
+        private boolean m_refreshWallets    = false;
+
+        @Override
+        public void afterCommit()
+        {
+            if (m_refreshCategories)
+            {
+                m_categoriesGeneration.incrementAndGet();
+            }
+
+            if (m_refreshWallets)
+            {
+                m_walletsGeneration.incrementAndGet();
+            }
+        }
+    }
+
+    public ReferenceDataCache() { }
+
+    @PostConstruct
+    private void Init()
+    {
+        // Joins the transaction of the caller, if any, instead of taking another
+        // connection while it holds one
+        m_readTemplate = new TransactionTemplate(m_transactionManager);
+        m_readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Get all categories ordered by name
+     * @return An immutable list with all categories
+     */
+    public List<Category> GetCategories()
+    {
+        Snapshot<Category> snapshot = m_categories;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_categoriesGeneration))
+        {
+            snapshot = LoadCategories(false);
+        }
+
+        return snapshot.items();
+    }
+
+    /**
+     * Get the categories that are not archived ordered by name
+     * @return An immutable list with the categories that are not archived
+     */
+    public List<Category> GetNonArchivedCategoriesOrderedByName()
+    {
+        Snapshot<Category> snapshot = m_nonArchivedCategories;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_categoriesGeneration))
+        {
+            snapshot = LoadCategories(true);
+        }
+
+        return snapshot.items();
+    }
+
+    /**
+     * Get the wallets that are not archived ordered by name
+     * @return An immutable list with the wallets that are not archived
+     */
+    public List<Wallet> GetAllNonArchivedWalletsOrderedByName()
+    {
+        Snapshot<Wallet> snapshot = m_nonArchivedWallets;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_walletsGeneration))
+        {
+            snapshot = LoadWallets();
+        }
+
+        return snapshot.items();
+    }
+
+    /**
+     * Get all wallet types ordered by name
+     * @return An immutable list with all wallet types
+     */
+    public List<WalletType> GetAllWalletTypes()
+    {
+        Snapshot<WalletType> snapshot = m_walletTypes;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_initialDataGeneration))
+        {
+            snapshot = LoadWalletTypes();
+        }
+
+        return snapshot.items();
+    }
+
+    /**
+     * Get all credit card operators ordered by name
+     * @return An immutable list with all credit card operators
+     */
+    public List<CreditCardOperator> GetAllCreditCardOperatorsOrderedByName()
+    {
+        Snapshot<CreditCardOperator> snapshot = m_creditCardOperators;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_initialDataGeneration))
+        {
+            snapshot = LoadCreditCardOperators();
+        }
+
+        return snapshot.items();
+    }
+
+    /**
+     * Mark the categories as stale after the current transaction commits, or now
+     * if there is no transaction
+     */
+    public void RefreshCategories()
+    {
+        RefreshOnCommit refresh = GetRefreshOnCommit();
+
+        if (refresh == null)
+        {
+            m_categoriesGeneration.incrementAndGet();
+            return;
+        }
+
+        refresh.m_refreshCategories = true;
+    }
+
+    /**
+     * Mark the wallets as stale after the current transaction commits, or now if
+     * there is no transaction
+     * @note Must be called by every change of a wallet, including its balance,
+     *    since the dialogs show the balances of the wallets
+     */
+    public void RefreshWallets()
+    {
+        RefreshOnCommit refresh = GetRefreshOnCommit();
+
+        if (refresh == null)
+        {
+            m_walletsGeneration.incrementAndGet();
+            return;
+        }
+
+        refresh.m_refreshWallets = true;
+    }
+
+    /**
+     * Drop everything cached from the database, so it is loaded again on the next
+     * read
+     * @note Must be called after the tables are changed without Hibernate, which
+     *    doesn't know the entities and the query results it cached are stale
+     */
+    public void RefreshAfterExternalWrite()
+    {
+        // The JPA eviction only drops the entities, so the query results are
+        // evicted through the session factory
+        m_entityManagerFactory.unwrap(SessionFactory.class)
+            .getCache()
+            .evictAllRegions();
+
+        // Only created by the initial data, but a restore may bring other ids
+        m_initialDataGeneration.incrementAndGet();
+        m_categoriesGeneration.incrementAndGet();
+        m_walletsGeneration.incrementAndGet();
+    }
+
+    /**
+     * Get the refresh registered in the current transaction, registering it on the
+     * first call
+     * @return The refresh, or null if there is no transaction
+     */
+    private RefreshOnCommit GetRefreshOnCommit()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return null;
+        }
+
+        for (TransactionSynchronization synchronization :
+             TransactionSynchronizationManager.getSynchronizations())
+        {
+            if (synchronization instanceof RefreshOnCommit refresh)
+            {
+                return refresh;
+            }
+        }
+
+        RefreshOnCommit refresh = new RefreshOnCommit();
+        TransactionSynchronizationManager.registerSynchronization(refresh);
+
+        return refresh;
+    }
+
+    /**
+     * Load a table, keeping the snapshot if it only has committed data
+     * @param tableGeneration The generation of the table
+     * @param load Reads the table
+     * @param what The name of the table for the log
+     * @return The snapshot
+     */
+    private <T> Snapshot<T>
+    Load(AtomicLong tableGeneration, Supplier<List<T>> load, String what)
+    {
+        // Read before the table, so the snapshot is stale if the table is changed
+        // during the load
+        long generation = tableGeneration.get();
+
+        try
+        {
+            return new Snapshot<>(generation,
+                                  List.copyOf(m_readTemplate.execute(
+                                      status -> load.get())));
+        }
+        catch (RuntimeException e)
+        {
+            // The next read tries again
+            m_logger.log(Level.WARNING, "Error loading the " + what, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Load the categories
+     * @param nonArchived Whether to return the snapshot of the non-archived ones
+     * @return The snapshot of all categories or of the non-archived ones
+     */
+    private synchronized Snapshot<Category> LoadCategories(boolean nonArchived)
+    {
+        Snapshot<Category> all      = m_categories;
+        Snapshot<Category> filtered = m_nonArchivedCategories;
+
+        // Loaded by another thread while this one waited
+        if (all == null || !all.IsCurrent(m_categoriesGeneration) ||
+            filtered == null || !filtered.IsCurrent(m_categoriesGeneration))
+        {
+            all = Load(m_categoriesGeneration,
+                       () -> m_categoryRepository.findAll(Sort.by("name")),
+                       "categories");
+
+            filtered = new Snapshot<>(
+                all.generation(),
+                all.items().stream().filter(c -> !c.IsArchived()).toList());
+
+            if (TransactionUtils.ReadsCommittedData())
+            {
+                m_nonArchivedCategories = filtered;
+                m_categories            = all;
+            }
+        }
+
+        return nonArchived ? filtered : all;
+    }
+
+    private synchronized Snapshot<Wallet> LoadWallets()
+    {
+        Snapshot<Wallet> snapshot = m_nonArchivedWallets;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_walletsGeneration))
+        {
+            snapshot = Load(m_walletsGeneration,
+                            m_walletRepository::findAllByArchivedFalseOrderByNameAsc,
+                            "wallets");
+
+            if (TransactionUtils.ReadsCommittedData())
+            {
+                m_nonArchivedWallets = snapshot;
+            }
+        }
+
+        return snapshot;
+    }
+
+    private synchronized Snapshot<WalletType> LoadWalletTypes()
+    {
+        Snapshot<WalletType> snapshot = m_walletTypes;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_initialDataGeneration))
+        {
+            snapshot = Load(m_initialDataGeneration,
+                            m_walletTypeRepository::findAllByOrderByNameAsc,
+                            "wallet types");
+
+            if (TransactionUtils.ReadsCommittedData())
+            {
+                m_walletTypes = snapshot;
+            }
+        }
+
+        return snapshot;
+    }
+
+    private synchronized Snapshot<CreditCardOperator> LoadCreditCardOperators()
+    {
+        Snapshot<CreditCardOperator> snapshot = m_creditCardOperators;
+
+        if (snapshot == null || !snapshot.IsCurrent(m_initialDataGeneration))
+        {
+            snapshot = Load(m_initialDataGeneration,
+                            m_creditCardOperatorRepository::findAllByOrderByNameAsc,
+                            "credit card operators");
+
+            if (TransactionUtils.ReadsCommittedData())
+            {
+                m_creditCardOperators = snapshot;
+            }
+        }
+
+        return snapshot;
+    }
+}
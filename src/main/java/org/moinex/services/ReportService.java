@@ -0,0 +1,148 @@
+/*
+ * Filename: ReportService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.List;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.util.AggregateStats;
+import org.moinex.util.PeriodSummary;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionSummary;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * This class is responsible for the summaries of the incomes and expenses of a
+ * month or a year, shared by the resume pane and the command line
+ *
+ * The stored transactions are summed by the in-memory store of the analytics
+ * service. The transactions of the recurring transactions are not stored until
+ * they are due, so they are generated and summed apart
+ */
+@Service
+public class ReportService
+{
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private RecurringTransactionService m_recurringTransactionService;
+
+    @Autowired
+    private CreditCardService m_creditCardService;
+
+    public ReportService() { }
+
+    /**
+     * Summarize the incomes and expenses of a month
+     * @param month The month
+     * @return The summary of the month
+     */
+    public PeriodSummary GetMonthSummary(YearMonth month)
+    {
+        return Summarize(
+            month.atDay(1),
+            month.atEndOfMonth(),
+            m_recurringTransactionService.GetFutureTransactionsByMonth(month, month),
+            m_creditCardService.GetTotalDebtAmount(month.getMonthValue(),
+                                                   month.getYear()),
+            m_creditCardService.GetPendingPaymentsByMonth(month.getMonthValue(),
+                                                          month.getYear()),
+            m_creditCardService.GetPaidPaymentsByMonth(month.getMonthValue(),
+                                                       month.getYear()));
+    }
+
+    /**
+     * Summarize the incomes and expenses of a year
+     * @param year The year
+     * @return The summary of the year
+     */
+    public PeriodSummary GetYearSummary(Year year)
+    {
+        return Summarize(
+            year.atDay(1),
+            year.atMonth(12).atEndOfMonth(),
+            m_recurringTransactionService.GetFutureTransactionsByYear(year, year),
+            m_creditCardService.GetTotalDebtAmount(year.getValue()),
+            m_creditCardService.GetPendingPaymentsByYear(year.getValue()),
+            m_creditCardService.GetPaidPaymentsByYear(year.getValue()));
+    }
+
+    private PeriodSummary Summarize(LocalDate               from,
+                                    LocalDate               to,
+                                    List<WalletTransaction> futureTransactions,
+                                    BigDecimal              crcTotalDebtAmount,
+                                    BigDecimal              crcPendingPayments,
+                                    BigDecimal              crcPaidPayments)
+    {
+        // Stats of the stored transactions of the period, aggregated in parallel by
+        // month
+        TransactionSummary summary = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(from, to).Summarize());
+
+        AggregateStats confirmedIncome =
+            summary.Total(TransactionType.INCOME, TransactionStatus.CONFIRMED);
+        AggregateStats confirmedExpenses =
+            summary.Total(TransactionType.EXPENSE, TransactionStatus.CONFIRMED);
+        AggregateStats foreseenIncome   = summary.Total(TransactionType.INCOME, null);
+        AggregateStats foreseenExpenses = summary.Total(TransactionType.EXPENSE, null);
+
+        BigDecimal totalConfirmedIncome =
+            SumFuture(futureTransactions,
+                      TransactionType.INCOME,
+                      TransactionStatus.CONFIRMED,
+                      confirmedIncome.GetSumAmount());
+
+        // Consider the paid payments of the credit card as total expenses
+        BigDecimal totalConfirmedExpenses =
+            SumFuture(futureTransactions,
+                      TransactionType.EXPENSE,
+                      TransactionStatus.CONFIRMED,
+                      confirmedExpenses.GetSumAmount())
+                .add(crcPaidPayments);
+
+        BigDecimal totalForeseenIncome = SumFuture(futureTransactions,
+                                                   TransactionType.INCOME,
+                                                   null,
+                                                   foreseenIncome.GetSumAmount());
+
+        // Consider the payments of the credit card as total of foreseen expenses
+        BigDecimal totalForeseenExpenses =
+            SumFuture(futureTransactions,
+                      TransactionType.EXPENSE,
+                      null,
+                      foreseenExpenses.GetSumAmount())
+                .add(crcPendingPayments)
+                .add(crcPaidPayments);
+
+        return new PeriodSummary(from,
+                                 to,
+                                 totalConfirmedIncome,
+                                 totalConfirmedExpenses,
+                                 totalForeseenIncome,
+                                 totalForeseenExpenses,
+                                 crcTotalDebtAmount,
+                                 crcPendingPayments);
+    }
+
+    private static BigDecimal SumFuture(List<WalletTransaction> futureTransactions,
+                                        TransactionType         type,
+                                        TransactionStatus       status,
+                                        BigDecimal              stored)
+    {
+        return futureTransactions.stream()
+            .filter(t -> t.GetType() == type)
+            .filter(t -> status == null || t.GetStatus() == status)
+            .map(WalletTransaction::GetAmount)
+            .reduce(stored, BigDecimal::add);
+    }
+}
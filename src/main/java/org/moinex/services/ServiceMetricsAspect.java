@@ -0,0 +1,109 @@
+/*
+ * Filename: ServiceMetricsAspect.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.moinex.util.StatementCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect that records the metrics of the public methods of the services
+ *
+ * Each call records its duration, the number of SQL statements prepared by its
+ * thread during the call and the number of rows returned. The aspect runs outside
+ * the transactional proxy, so the measured time includes the commit
+ *
+ * @note The statements flushed by a commit are only counted when the call opened
+ *     the transaction. A call submitted to the writer thread is measured on that
+ *     thread, and the flush of its group is counted by the group
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect
+{
+    @Autowired
+    private MetricsService m_metricsService;
+
+    public ServiceMetricsAspect() { }
+
+    @Around("within(org.moinex.services.WalletTransactionService) ||"
+            + "within(org.moinex.services.CreditCardService) ||"
+            + "within(org.moinex.services.RecurringTransactionService) ||"
+            + "within(org.moinex.services.GoalService) ||"
+            + "within(org.moinex.services.WalletService)")
+    public Object Measure(ProceedingJoinPoint joinPoint) throws Throwable
+    {
+        // within() also matches private methods, which are not proxied and thus
+        // never reach this advice
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName() +
+                           "." + joinPoint.getSignature().getName();
+
+        long    queriesBefore = StatementCounter.GetCount();
+        long    start         = System.nanoTime();
+        boolean failed        = false;
+        Object  result        = null;
+
+        try
+        {
+            result = joinPoint.proceed();
+            return result;
+        }
+        catch (Throwable e)
+        {
+            failed = true;
+            throw e;
+        }
+        finally
+        {
+            long duration = System.nanoTime() - start;
+            long queries =
+                StatementCounter.GetCount() - queriesBefore;
+
+            m_metricsService.Record(operation,
+                                    duration,
+                                    Math.max(queries, 0),
+                                    CountRows(result),
+                                    failed);
+        }
+    }
+
+    /**
+     * Count the number of rows returned by a service method
+     * @param result The value returned by the method
+     * @return The number of rows
+     */
+    private long CountRows(Object result)
+    {
+        if (result == null)
+        {
+            return 0;
+        }
+        else if (result instanceof Collection<?> collection)
+        {
+            return collection.size();
+        }
+        else if (result instanceof Map<?, ?> map)
+        {
+            return map.size();
+        }
+        else if (result instanceof Optional<?> optional)
+        {
+            return optional.isPresent() ? 1 : 0;
+        }
+
+        return 1;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Filename: TransactionAnalyticsService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.Constants;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.TransactionColumns;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.moinex.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class is responsible for the in-memory store used by the summaries and
+ * charts of the wallet transactions
+ *
+ * The store is loaded at startup, or on the first query, and is kept current by
+ * the services that change the transactions, which report each change after
+ * their commit. Writes that change many transactions at once drop the store,
+ * which is loaded again on the next query.
+ *
+ * The queries run under a read lock, so they run in parallel with each other and
+ * never see a change being applied
+ */
+@Service
+public class TransactionAnalyticsService
+{
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private TransactionTemplate m_readTemplate;
+
+    private final ReadWriteLock m_lock = new ReentrantReadWriteLock();
+
+    private TransactionColumns m_columns;
+
+    // Incremented by every change reported, so a store read before the change is
+    // not kept. Guarded by the lock
+    private long m_generation = 0;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public TransactionAnalyticsService() { }
+
+    @PostConstruct
+    private void Init()
+    {
+        // Joins the transaction of the caller, if any, instead of taking another
+        // connection while it holds one
+        m_readTemplate = new TransactionTemplate(m_transactionManager);
+        m_readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Load the store, if it is not loaded yet
+     * @note Called at startup, so the first summaries do not wait for the load
+     */
+    public void Load()
+    {
+        long generation;
+
+        m_lock.readLock().lock();
+
+        try
+        {
+            if (m_columns != null)
+            {
+                return;
+            }
+
+            generation = m_generation;
+        }
+        finally
+        {
+            m_lock.readLock().unlock();
+        }
+
+        Publish(ReadColumns(), generation);
+    }
+
+    /**
+     * Run a query over all transactions
+     * @param query Builds and runs the query. Must not keep the query after it
+     *    returns
+     * @return The result of the query
+     */
+    public <T> T Query(Function<TransactionColumns.Query, T> query)
+    {
+        // The store may be dropped between the load and the query
+        while (true)
+        {
+            long generation;
+
+            m_lock.readLock().lock();
+
+            try
+            {
+                if (m_columns != null)
+                {
+                    return query.apply(m_columns.Query());
+                }
+
+                generation = m_generation;
+            }
+            finally
+            {
+                m_lock.readLock().unlock();
+            }
+
+            TransactionColumns columns = ReadColumns();
+
+            // Not shared with the other threads, so it is queried without the lock
+            if (!Publish(columns, generation))
+            {
+                return query.apply(columns.Query());
+            }
+        }
+    }
+
+    /**
+     * Run a query over the transactions whose wallet and category are not
+     * archived
+     * @param query Builds and runs the query. Must not keep the query after it
+     *    returns
+     * @return The result of the query
+     */
+    public <T> T QueryNonArchived(Function<TransactionColumns.Query, T> query)
+    {
+        List<Long> walletIds =
+            m_referenceDataCache.GetAllNonArchivedWalletsOrderedByName()
+                .stream()
+                .map(Wallet::GetId)
+                .toList();
+
+        List<Long> categoryIds =
+            m_referenceDataCache.GetNonArchivedCategoriesOrderedByName()
+                .stream()
+                .map(Category::GetId)
+                .toList();
+
+        return Query(
+            q -> query.apply(q.InWallets(walletIds).InCategories(categoryIds)));
+    }
+
+    /**
+     * Add or replace a transaction in the store after the current transaction
+     * commits, or now if there is no transaction
+     * @param transaction The transaction, with its values after the change
+     */
+    public void RecordTransaction(WalletTransaction transaction)
+    {
+        // The entity may still change before the commit
+        Long              id         = transaction.GetId();
+        LocalDate         date       = transaction.GetDate().toLocalDate();
+        BigDecimal        amount     = transaction.GetAmount();
+        Long              walletId   = transaction.GetWallet().GetId();
+        Long              categoryId = transaction.GetCategory().GetId();
+        TransactionType   type       = transaction.GetType();
+        TransactionStatus status     = transaction.GetStatus();
+
+        RunAfterCommit(() -> Apply(columns -> {
+            columns.Put(id, date, amount, walletId, categoryId, type, status);
+        }));
+    }
+
+    /**
+     * Remove a transaction from the store after the current transaction commits,
+     * or now if there is no transaction
+     * @param transactionId The id of the transaction
+     */
+    public void RemoveTransaction(Long transactionId)
+    {
+        RunAfterCommit(() -> Apply(columns -> columns.Remove(transactionId)));
+    }
+
+    /**
+     * Drop the store after the current transaction commits, or now if there is no
+     * transaction
+     * @note Must be called when transactions are written without the services
+     */
+    public void Invalidate()
+    {
+        RunAfterCommit(() -> {
+            m_lock.writeLock().lock();
+
+            try
+            {
+                m_columns = null;
+                m_generation++;
+            }
+            finally
+            {
+                m_lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Apply a change to the store, if it is loaded
+     *
+     * When the store is not loaded the change is skipped, since it is already
+     * committed and will be read by the load
+     */
+    private void Apply(Consumer<TransactionColumns> change)
+    {
+        m_lock.writeLock().lock();
+
+        try
+        {
+            if (m_columns != null)
+            {
+                change.accept(m_columns);
+            }
+
+            m_generation++;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep a store that was read from the database, unless it may miss a change
+     * reported during the read or have changes that are not committed
+     * @param columns The store
+     * @param generation The generation when the read started
+     * @return True if the store was kept or another one was kept first
+     * @note The store is read without the lock, since the changes are reported
+     *    after a commit, while the committing transaction still holds its
+     *    connection
+     */
+    private boolean Publish(TransactionColumns columns, long generation)
+    {
+        if (!TransactionUtils.ReadsCommittedData())
+        {
+            return false;
+        }
+
+        m_lock.writeLock().lock();
+
+        try
+        {
+            if (m_generation != generation)
+            {
+                return false;
+            }
+
+            if (m_columns == null)
+            {
+                m_columns = columns;
+            }
+
+            return true;
+        }
+        finally
+        {
+            m_lock.writeLock().unlock();
+        }
+    }
+
+    private void RunAfterCommit(Runnable action)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+    }
+
+    private TransactionColumns ReadColumns()
+    {
+        long start = System.nanoTime();
+
+        TransactionColumns columns = new TransactionColumns();
+
+        // The transactions moved to the archive table are kept in the store, so
+        // archiving and unarchiving don't change it
+        m_readTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = Stream.concat(
+                     m_walletTransactionRepository.StreamAnalyticsRows(),
+                     m_archivedTransactionRepository.StreamAnalyticsRows()))
+            {
+                rows.forEach(row -> {
+                    LocalDateTime date =
+                        LocalDateTime.parse((String)row[1],
+                                            Constants.DB_DATE_FORMATTER);
+
+                    columns.Put((Long)row[0],
+                                date.toLocalDate(),
+                                (BigDecimal)row[2],
+                                (Long)row[3],
+                                (Long)row[4],
+                                (TransactionType)row[5],
+                                (TransactionStatus)row[6]);
+                });
+            }
+        });
+
+        m_logger.info("Analytics store loaded with " + columns.Size() +
+                      " transactions in " + (System.nanoTime() - start) / 1_000_000 +
+                      " ms");
+
+        return columns;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Filename: TransactionSuggestionService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.Constants;
+import org.moinex.util.DescriptionIndex;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.TransactionSuggestion;
+import org.moinex.util.TransactionType;
+import org.moinex.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class is responsible for the description suggestions of the add income and
+ * add expense dialogs
+ *
+ * The descriptions of all transactions are kept in memory, one index per
+ * transaction type, so the suggestions are found while the user types without
+ * querying the database. The indexes are loaded on the first use and new
+ * transactions are added to them after their commit. Changes to existing
+ * transactions drop the indexes, which are loaded again on the next use
+ */
+@Service
+public class TransactionSuggestionService
+{
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private TransactionTemplate m_readTemplate;
+
+    private Map<TransactionType, DescriptionIndex> m_indexes;
+
+    // Incremented by every change reported, so indexes read before the change are
+    // not kept. Guarded by the lock of the service
+    private long m_generation = 0;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public TransactionSuggestionService() { }
+
+    @PostConstruct
+    private void Init()
+    {
+        // Joins the transaction of the caller, if any, instead of taking another
+        // connection while it holds one
+        m_readTemplate = new TransactionTemplate(m_transactionManager);
+        m_readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Get the suggestions for a text typed in the description field
+     * @param type The type of the transaction being added
+     * @param text The typed text
+     * @return The best ranked descriptions with a word starting with the text,
+     *    whose wallet and category are not archived
+     */
+    public List<TransactionSuggestion> GetSuggestions(TransactionType type, String text)
+    {
+        Set<Long> walletIds =
+            m_referenceDataCache.GetAllNonArchivedWalletsOrderedByName()
+                .stream()
+                .map(Wallet::GetId)
+                .collect(Collectors.toSet());
+
+        Set<Long> categoryIds =
+            m_referenceDataCache.GetNonArchivedCategoriesOrderedByName()
+                .stream()
+                .map(Category::GetId)
+                .collect(Collectors.toSet());
+
+        Map<TransactionType, DescriptionIndex> indexes = GetIndexes();
+
+        synchronized (this)
+        {
+            return indexes.get(type).Find(
+                text,
+                Constants.SUGGESTIONS_MAX_ITEMS,
+                s
+                -> walletIds.contains(s.GetWalletId()) &&
+                       categoryIds.contains(s.GetCategoryId()));
+        }
+    }
+
+    /**
+     * Add a new transaction to the suggestions after the current transaction
+     * commits, or now if there is no transaction
+     * @param type The type of the transaction
+     * @param description The description of the transaction
+     * @param date The date of the transaction
+     * @param amount The amount of the transaction
+     * @param walletId The wallet of the transaction
+     * @param categoryId The category of the transaction
+     */
+    public void RecordTransaction(TransactionType type,
+                                  String          description,
+                                  LocalDateTime   date,
+                                  BigDecimal      amount,
+                                  Long            walletId,
+                                  Long            categoryId)
+    {
+        Runnable record = () -> {
+            synchronized (this)
+            {
+                // Not loaded yet, the transaction is read with the others
+                if (m_indexes != null)
+                {
+                    m_indexes.get(type).Add(description,
+                                            date,
+                                            amount,
+                                            walletId,
+                                            categoryId);
+                }
+
+                m_generation++;
+            }
+        };
+
+        RunAfterCommit(record);
+    }
+
+    /**
+     * Drop the suggestions after the current transaction commits, or now if there
+     * is no transaction
+     * @note Must be called when existing transactions are changed or deleted, or
+     *    when transactions are written without the services
+     */
+    public void Invalidate()
+    {
+        RunAfterCommit(() -> {
+            synchronized (this)
+            {
+                m_indexes = null;
+                m_generation++;
+            }
+        });
+    }
+
+    private void RunAfterCommit(Runnable action)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit()
+                {
+                    action.run();
+                }
+            });
+    }
+
+    /**
+     * Get the indexes, loading them if needed
+     * @return The indexes. Must be searched holding the lock of the service
+     * @note The indexes are loaded without the lock, since the changes are
+     *    reported after a commit, while the committing transaction still holds
+     *    its connection. They are only kept if no change was reported during the
+     *    load and they have no changes that are not committed
+     */
+    private Map<TransactionType, DescriptionIndex> GetIndexes()
+    {
+        long generation;
+
+        synchronized (this)
+        {
+            if (m_indexes != null)
+            {
+                return m_indexes;
+            }
+
+            generation = m_generation;
+        }
+
+        Map<TransactionType, DescriptionIndex> indexes = Load();
+
+        synchronized (this)
+        {
+            if (m_indexes == null && m_generation == generation &&
+                TransactionUtils.ReadsCommittedData())
+            {
+                m_indexes = indexes;
+            }
+        }
+
+        return indexes;
+    }
+
+    private Map<TransactionType, DescriptionIndex> Load()
+    {
+        Map<TransactionType, DescriptionIndex> indexes =
+            new EnumMap<>(TransactionType.class);
+
+        for (TransactionType type : TransactionType.values())
+        {
+            indexes.put(type,
+                        new DescriptionIndex(Constants.SUGGESTIONS_HALF_LIFE_DAYS));
+        }
+
+        // The archived transactions are filtered when suggesting, so they are
+        // loaded too and archiving and unarchiving don't change the indexes
+        List<Object[]> rows = m_readTemplate.execute(status -> {
+            List<Object[]> all =
+                new ArrayList<>(m_walletTransactionRepository.FindSuggestionRows());
+            all.addAll(m_archivedTransactionRepository.FindSuggestionRows());
+            return all;
+        });
+
+        for (Object[] row : rows)
+        {
+            indexes.get((TransactionType)row[0])
+                .Add((String)row[1],
+                     LocalDateTime.parse((String)row[2], Constants.DB_DATE_FORMATTER),
+                     (BigDecimal)row[3],
+                     (Long)row[4],
+                     (Long)row[5]);
+        }
+
+        m_logger.info("Description suggestions loaded from " + rows.size() +
+                      " transactions");
+
+        return indexes;
+    }
+}
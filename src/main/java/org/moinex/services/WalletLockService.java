@@ -0,0 +1,112 @@
+/*
+ * Filename: WalletLockService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.moinex.util.Constants;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * This class is responsible for serializing the updates of the wallet balances
+ *
+ * Balances are updated with read-modify-write, so two transactions changing the
+ * same wallet at the same time would lose one of the changes. Each wallet maps to
+ * one of a fixed number of locks, which is held until the transaction that took
+ * it completes, so the next transaction reads the committed balance. The version
+ * of the wallet catches the updates that bypass the locks.
+ *
+ * The locks must be taken before the wallets are read in the transaction
+ */
+@Service
+public class WalletLockService
+{
+    private final ReentrantLock[] m_stripes;
+
+    public WalletLockService()
+    {
+        m_stripes = new ReentrantLock[Constants.WALLET_LOCK_STRIPES];
+
+        for (int i = 0; i < m_stripes.length; i++)
+        {
+            m_stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Lock the wallets until the current transaction completes
+     * @param walletIds The ids of the wallets. Null ids are ignored
+     * @throws RuntimeException If there is no active transaction
+     * @throws RuntimeException If a lock is not acquired within
+     *     Constants.WALLET_LOCK_TIMEOUT seconds
+     * @note The locks are acquired in the order of their stripes, so transactions
+     *     locking the same wallets never wait for each other in a cycle. Ordering
+     *     by wallet id would not be enough, since two wallets may share a stripe
+     */
+    public void LockUntilCompletion(Long... walletIds)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            throw new RuntimeException("Wallets can only be locked in a transaction");
+        }
+
+        TreeSet<Integer> stripes = new TreeSet<>();
+
+        for (Long walletId : walletIds)
+        {
+            if (walletId != null)
+            {
+                stripes.add(Math.floorMod(walletId.hashCode(), m_stripes.length));
+            }
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>();
+
+        try
+        {
+            for (Integer stripe : stripes)
+            {
+                ReentrantLock lock = m_stripes[stripe];
+
+                if (!lock.tryLock(Constants.WALLET_LOCK_TIMEOUT, TimeUnit.SECONDS))
+                {
+                    throw new RuntimeException("Timed out waiting for the lock of " +
+                                               "wallets " +
+                                               Arrays.toString(walletIds));
+                }
+
+                acquired.add(lock);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            acquired.forEach(ReentrantLock::unlock);
+            throw new RuntimeException("Interrupted while waiting for a wallet lock");
+        }
+        catch (RuntimeException e)
+        {
+            acquired.forEach(ReentrantLock::unlock);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    acquired.forEach(ReentrantLock::unlock);
+                }
+            });
+    }
+}
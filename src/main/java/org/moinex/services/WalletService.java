@@ -7,11 +7,16 @@
 package org.moinex.services;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import org.moinex.entities.Wallet;
 import org.moinex.entities.WalletType;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.CreditCardPaymentRepository;
 import org.moinex.repositories.TransferRepository;
 import org.moinex.repositories.WalletRepository;
 import org.moinex.repositories.WalletTransactionRepository;
@@ -36,9 +41,24 @@ public class WalletService
     @Autowired
     private WalletTransactionRepository m_walletTransactionRepository;
 
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
     @Autowired
     private WalletTypeRepository m_walletTypeRepository;
 
+    @Autowired
+    private CreditCardPaymentRepository m_creditCardPaymentRepository;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
     private static final Logger m_logger = LoggerConfig.GetLogger();
 
     public WalletService() { }
@@ -71,6 +91,9 @@ public class WalletService
         Wallet wt = new Wallet(name, balance);
 
         m_walletRepository.save(wt);
+        m_referenceDataCache.RefreshWallets();
+
+        m_balanceLedgerService.Record(wt.GetId(), LocalDateTime.now(), balance);
 
         return wt.GetId();
     }
@@ -104,6 +127,9 @@ public class WalletService
         Wallet wt = new Wallet(name, balance, walletType);
 
         m_walletRepository.save(wt);
+        m_referenceDataCache.RefreshWallets();
+
+        m_balanceLedgerService.Record(wt.GetId(), LocalDateTime.now(), balance);
 
         return wt.GetId();
     }
@@ -117,12 +143,16 @@ public class WalletService
     @Transactional
     public void DeleteWallet(Long id)
     {
+        m_walletLockService.LockUntilCompletion(id);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(id).orElseThrow(
             ()
                 -> new RuntimeException("Wallet with id " + id +
                                         " not found and cannot be deleted"));
 
         if (m_walletTransactionRepository.GetTransactionCountByWallet(id) > 0 ||
+            m_archivedTransactionRepository.CountTransactionsByWallet(id) > 0 ||
             m_transfersRepository.GetTransferCountByWallet(id) > 0)
         {
             throw new RuntimeException(
@@ -131,6 +161,7 @@ public class WalletService
                 + "the transactions first or archive the wallet");
         }
 
+        m_balanceLedgerService.DeleteHistory(id);
         m_walletRepository.delete(wallet);
 
         m_logger.info("Wallet with id " + id + " was permanently deleted");
@@ -147,6 +178,9 @@ public class WalletService
     @Transactional
     public void ArchiveWallet(Long id)
     {
+        m_walletLockService.LockUntilCompletion(id);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(id).orElseThrow(
             ()
                 -> new RuntimeException("Wallet with id " + id +
@@ -155,7 +189,16 @@ public class WalletService
         wallet.SetArchived(true);
         m_walletRepository.save(wallet);
 
-        m_logger.info("Wallet with id " + id + " was archived");
+        int archived =
+            m_walletTransactionRepository.CopyTransactionsToArchiveByWallet(id);
+        m_walletTransactionRepository.DeleteTransactionsByWallet(id);
+
+        int hiddenPayments =
+            m_creditCardPaymentRepository.HidePaymentsByWallet(id);
+
+        m_logger.info("Wallet with id " + id + " was archived. " + archived +
+                      " transactions were moved to the archive and " +
+                      hiddenPayments + " credit card payments were hidden");
     }
 
     /**
@@ -168,6 +211,9 @@ public class WalletService
     @Transactional
     public void UnarchiveWallet(Long id)
     {
+        m_walletLockService.LockUntilCompletion(id);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(id).orElseThrow(
             ()
                 -> new RuntimeException("Wallet with id " + id +
@@ -176,7 +222,20 @@ public class WalletService
         wallet.SetArchived(false);
         m_walletRepository.save(wallet);
 
-        m_logger.info("Wallet with id " + id + " was unarchived");
+        // The transactions in archived categories stay in the archive, or hidden
+        // if they were saved while the wallet was archived
+        int shown = m_walletTransactionRepository.ShowTransactionsByWallet(id);
+
+        int restored =
+            m_archivedTransactionRepository.RestoreTransactionsByWallet(id);
+        m_archivedTransactionRepository.DeleteRestoredTransactionsByWallet(id);
+
+        int shownPayments = m_creditCardPaymentRepository.ShowPaymentsByWallet(id);
+
+        m_logger.info("Wallet with id " + id + " was unarchived. " + restored +
+                      " transactions were moved back from the archive, " + shown +
+                      " transactions and " + shownPayments +
+                      " credit card payments were shown");
     }
 
     /**
@@ -197,6 +256,9 @@ public class WalletService
             throw new RuntimeException("Wallet name cannot be empty");
         }
 
+        m_walletLockService.LockUntilCompletion(id);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(id).orElseThrow(
             () -> new RuntimeException("Wallet with id " + id + " not found"));
 
@@ -223,6 +285,9 @@ public class WalletService
     @Transactional
     public void ChangeWalletType(Long id, WalletType newType)
     {
+        m_walletLockService.LockUntilCompletion(id);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(id).orElseThrow(
             () -> new RuntimeException("Wallet with id " + id + " not found"));
 
@@ -252,12 +317,21 @@ public class WalletService
     @Transactional
     public void UpdateWalletBalance(Long id, BigDecimal newBalance)
     {
+        m_walletLockService.LockUntilCompletion(id);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(id).orElseThrow(
             () -> new RuntimeException("Wallet with id " + id + " not found"));
 
+        BigDecimal oldBalance = wallet.GetBalance();
+
         wallet.SetBalance(newBalance);
         m_walletRepository.save(wallet);
 
+        m_balanceLedgerService.Record(id,
+                                      LocalDateTime.now(),
+                                      newBalance.subtract(oldBalance));
+
         m_logger.info("Wallet with id " + id + " balance updated to " + newBalance);
     }
 
@@ -309,7 +383,7 @@ public class WalletService
      */
     public List<WalletType> GetAllWalletTypes()
     {
-        return m_walletTypeRepository.findAllByOrderByNameAsc();
+        return m_referenceDataCache.GetAllWalletTypes();
     }
 
     /**
@@ -327,7 +401,7 @@ public class WalletService
      */
     public List<Wallet> GetAllNonArchivedWalletsOrderedByName()
     {
-        return m_walletRepository.findAllByArchivedFalseOrderByNameAsc();
+        return m_referenceDataCache.GetAllNonArchivedWalletsOrderedByName();
     }
 
     /**
@@ -335,18 +409,44 @@ public class WalletService
      * transactions
      * @return A list with all wallets that are not archived
      */
+    @Transactional(readOnly = true)
     public List<Wallet> GetAllNonArchivedWalletsOrderedByTransactionCountDesc()
     {
+        Map<Long, Long> counts = GetTransactionCountPerWallet();
+
         return m_walletRepository.findAllByArchivedFalse()
             .stream()
             .sorted(Comparator
                         .comparingLong(
-                            (Wallet w)
-                                -> m_walletTransactionRepository
-                                           .GetTransactionCountByWallet(w.GetId()) +
-                                       m_transfersRepository.GetTransferCountByWallet(
-                                           w.GetId()))
+                            (Wallet w) -> counts.getOrDefault(w.GetId(), 0L))
                         .reversed())
             .toList();
     }
+
+    /**
+     * Get the count of transactions and transfers of each wallet
+     * @return A map from the wallet id to the count of transactions and transfers
+     *    in the wallet. Wallets without transactions are not included
+     * @note The counts are obtained with one grouped query per table, instead of
+     *    one query per wallet
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> GetTransactionCountPerWallet()
+    {
+        Map<Long, Long> counts = new HashMap<>();
+
+        for (List<Object[]> rows :
+             List.of(m_walletTransactionRepository.GetTransactionCountPerWallet(),
+                     m_archivedTransactionRepository.CountTransactionsPerWallet(),
+                     m_transfersRepository.GetTransferCountPerSenderWallet(),
+                     m_transfersRepository.GetTransferCountPerReceiverWallet()))
+        {
+            for (Object[] row : rows)
+            {
+                counts.merge((Long)row[0], (Long)row[1], Long::sum);
+            }
+        }
+
+        return counts;
+    }
 }
@@ -8,12 +8,18 @@ package org.moinex.services;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.logging.Logger;
+import org.moinex.entities.ArchivedWalletTransaction;
 import org.moinex.entities.Category;
 import org.moinex.entities.Transfer;
 import org.moinex.entities.Wallet;
 import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
 import org.moinex.repositories.TransferRepository;
 import org.moinex.repositories.WalletRepository;
 import org.moinex.repositories.WalletTransactionRepository;
@@ -24,13 +30,16 @@ import org.moinex.util.TransactionType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * This class is responsible for the business logic of the wallet transactions
  *
  * Each method to get transactions has a version that returns only transactions
- * that have a category that is not archived
+ * that have a category that is not archived. The other versions also return the
+ * transactions moved to the archive table, as read-only copies
  */
 @Service
 public class WalletTransactionService
@@ -44,6 +53,27 @@ public class WalletTransactionService
     @Autowired
     private WalletTransactionRepository m_walletTransactionRepository;
 
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Autowired
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
     private static final Logger m_logger = LoggerConfig.GetLogger();
 
     public WalletTransactionService() { }
@@ -79,6 +109,9 @@ public class WalletTransactionService
             throw new RuntimeException("Amount to transfer must be greater than zero");
         }
 
+        m_walletLockService.LockUntilCompletion(senderId, receiverId);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet senderWallet = m_walletRepository.findById(senderId).orElseThrow(
             ()
                 -> new RuntimeException(
@@ -106,6 +139,9 @@ public class WalletTransactionService
         m_walletRepository.save(senderWallet);
         m_walletRepository.save(receiverWallet);
 
+        m_balanceLedgerService.Record(senderId, date, amount.negate());
+        m_balanceLedgerService.Record(receiverId, date, amount);
+
         m_logger.info("Transfer from wallet with id " + senderId +
                       " to wallet with id " + receiverId + " of " + amount +
                       " was successful");
@@ -133,6 +169,9 @@ public class WalletTransactionService
                           String            description,
                           TransactionStatus status)
     {
+        m_walletLockService.LockUntilCompletion(walletId);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(walletId).orElseThrow(
             () -> new RuntimeException("Wallet with id " + walletId + " not found"));
 
@@ -151,14 +190,25 @@ public class WalletTransactionService
 
         m_walletTransactionRepository.save(wt);
 
+        m_transactionAnalyticsService.RecordTransaction(wt);
+        m_transactionSuggestionService.RecordTransaction(TransactionType.INCOME,
+                                                         description,
+                                                         date,
+                                                         amount,
+                                                         walletId,
+                                                         category.GetId());
+
         if (status == TransactionStatus.CONFIRMED)
         {
             wallet.SetBalance(wallet.GetBalance().add(amount));
             m_walletRepository.save(wallet);
+
+            m_balanceLedgerService.Record(walletId, date, amount);
         }
 
-        m_logger.info("Income with status " + status.toString() + " of " + amount +
-                      " added to wallet with id " + walletId);
+        m_logger.info(()
+                          -> "Income with status " + status + " of " + amount +
+                                 " added to wallet with id " + walletId);
 
         return wt.GetId();
     }
@@ -183,6 +233,9 @@ public class WalletTransactionService
                            String            description,
                            TransactionStatus status)
     {
+        m_walletLockService.LockUntilCompletion(walletId);
+        m_referenceDataCache.RefreshWallets();
+
         Wallet wallet = m_walletRepository.findById(walletId).orElseThrow(
             () -> new RuntimeException("Wallet with id " + walletId + " not found"));
 
@@ -201,14 +254,25 @@ public class WalletTransactionService
 
         m_walletTransactionRepository.save(wt);
 
+        m_transactionAnalyticsService.RecordTransaction(wt);
+        m_transactionSuggestionService.RecordTransaction(TransactionType.EXPENSE,
+                                                         description,
+                                                         date,
+                                                         amount,
+                                                         walletId,
+                                                         category.GetId());
+
         if (status.equals(TransactionStatus.CONFIRMED))
         {
             wallet.SetBalance(wallet.GetBalance().subtract(amount));
             m_walletRepository.save(wallet);
+
+            m_balanceLedgerService.Record(walletId, date, amount.negate());
         }
 
-        m_logger.info("Expense with status " + status.toString() + " of " + amount +
-                      " added to wallet with id " + walletId);
+        m_logger.info(()
+                          -> "Expense with status " + status + " of " + amount +
+                                 " added to wallet with id " + walletId);
 
         return wt.GetId();
     }
@@ -217,19 +281,29 @@ public class WalletTransactionService
      * Update a transaction
      * @param transaction The transaction to be updated
      * @throws RuntimeException If the transaction does not exist
+     * @throws RuntimeException If the wallet or category of the transaction is
+     *     archived
      * @throws RuntimeException If the wallet does not exist
      * @throws RuntimeException If the amount is less than or equal to zero
      */
-    @Transactional
     public void UpdateTransaction(WalletTransaction transaction)
     {
+        // Lock the current and the new wallet of the transaction before they are
+        // read
+        WriteLocked(transaction.GetId(),
+                    transaction.GetWallet().GetId(),
+                    () -> UpdateLockedTransaction(transaction));
+    }
+
+    private void UpdateLockedTransaction(WalletTransaction transaction)
+    {
+        m_referenceDataCache.RefreshWallets();
+        m_transactionSuggestionService.Invalidate();
+
         // Check if the transaction exists
         WalletTransaction oldTransaction =
             m_walletTransactionRepository.findById(transaction.GetId())
-                .orElseThrow(()
-                                 -> new RuntimeException("Transaction with id " +
-                                                         transaction.GetId() +
-                                                         " not found"));
+                .orElseThrow(() -> TransactionNotFound(transaction.GetId()));
 
         // Check if the wallet exists
         m_walletTransactionRepository.FindWalletByTransactionId(transaction.GetId())
@@ -245,17 +319,27 @@ public class WalletTransactionService
         }
 
         // Complex update of the transaction
-        ChangeTransactionWallet(oldTransaction, transaction.GetWallet());
+        ChangeTransactionWallet(oldTransaction, transaction.GetWallet().GetId());
         ChangeTransactionType(oldTransaction, transaction.GetType());
         ChangeTransactionAmount(oldTransaction, transaction.GetAmount());
         ChangeTransactionStatus(oldTransaction, transaction.GetStatus());
 
+        // The changes above were recorded in the balance history at the old date
+        if (oldTransaction.GetStatus().equals(TransactionStatus.CONFIRMED))
+        {
+            m_balanceLedgerService.Move(oldTransaction.GetWallet().GetId(),
+                                        oldTransaction.GetDate(),
+                                        transaction.GetDate(),
+                                        SignedAmount(oldTransaction));
+        }
+
         // Trivial update of the transaction
         oldTransaction.SetDate(transaction.GetDate());
         oldTransaction.SetDescription(transaction.GetDescription());
         oldTransaction.SetCategory(transaction.GetCategory());
 
         m_walletTransactionRepository.save(oldTransaction);
+        m_transactionAnalyticsService.RecordTransaction(oldTransaction);
 
         m_logger.info("Transaction with id " + transaction.GetId() +
                       " updated successfully");
@@ -278,7 +362,8 @@ public class WalletTransactionService
             return;
         }
 
-        Wallet wallet = oldTransaction.GetWallet();
+        Wallet     wallet     = oldTransaction.GetWallet();
+        BigDecimal oldBalance = wallet.GetBalance();
 
         TransactionType oldType = oldTransaction.GetType();
 
@@ -319,6 +404,8 @@ public class WalletTransactionService
             }
 
             m_walletRepository.save(wallet);
+
+            RecordBalanceChange(wallet, oldBalance, oldTransaction.GetDate());
         }
 
         oldTransaction.SetType(newType);
@@ -328,21 +415,29 @@ public class WalletTransactionService
     /**
      * Change the wallet of a transaction
      * @param transaction The transaction to be updated
-     * @param newWallet The new wallet of the transaction
+     * @param newWalletId The id of the new wallet of the transaction
      * @throws RuntimeException If the transaction type does not exist
+     * @throws RuntimeException If the new wallet does not exist
      *
      * @note This method persists the changes in the wallet balances
      * and the transaction in the database
      */
     private void ChangeTransactionWallet(WalletTransaction oldTransaction,
-                                         Wallet            newWallet)
+                                         Long              newWalletId)
     {
-        if (oldTransaction.GetWallet().GetId() == newWallet.GetId())
+        if (oldTransaction.GetWallet().GetId().equals(newWalletId))
         {
             return;
         }
 
-        Wallet oldWallet = oldTransaction.GetWallet();
+        // Read the new wallet in this transaction, since the copy held by the caller
+        // may have a stale balance
+        Wallet newWallet = m_walletRepository.findById(newWalletId).orElseThrow(
+            () -> new RuntimeException("Wallet with id " + newWalletId + " not found"));
+
+        Wallet     oldWallet           = oldTransaction.GetWallet();
+        BigDecimal oldWalletOldBalance = oldWallet.GetBalance();
+        BigDecimal newWalletOldBalance = newWallet.GetBalance();
 
         if (oldTransaction.GetStatus().equals(TransactionStatus.CONFIRMED))
         {
@@ -375,6 +470,13 @@ public class WalletTransactionService
 
             m_walletRepository.save(oldWallet);
             m_walletRepository.save(newWallet);
+
+            RecordBalanceChange(oldWallet,
+                                oldWalletOldBalance,
+                                oldTransaction.GetDate());
+            RecordBalanceChange(newWallet,
+                                newWalletOldBalance,
+                                oldTransaction.GetDate());
         }
 
         oldTransaction.SetWallet(newWallet);
@@ -403,7 +505,8 @@ public class WalletTransactionService
             return;
         }
 
-        Wallet wallet = oldTransaction.GetWallet();
+        Wallet     wallet     = oldTransaction.GetWallet();
+        BigDecimal oldBalance = wallet.GetBalance();
 
         // Apply the difference to the wallet balance
         if (oldTransaction.GetStatus().equals(TransactionStatus.CONFIRMED))
@@ -433,6 +536,8 @@ public class WalletTransactionService
             }
 
             m_walletRepository.save(wallet);
+
+            RecordBalanceChange(wallet, oldBalance, oldTransaction.GetDate());
         }
 
         oldTransaction.SetAmount(newAmount);
@@ -456,8 +561,9 @@ public class WalletTransactionService
             return;
         }
 
-        Wallet            wallet    = transaction.GetWallet();
-        TransactionStatus oldStatus = transaction.GetStatus();
+        Wallet            wallet     = transaction.GetWallet();
+        BigDecimal        oldBalance = wallet.GetBalance();
+        TransactionStatus oldStatus  = transaction.GetStatus();
 
         if (transaction.GetType().equals(TransactionType.EXPENSE))
         {
@@ -519,21 +625,29 @@ public class WalletTransactionService
         transaction.SetStatus(newStatus);
         m_walletRepository.save(wallet);
         m_walletTransactionRepository.save(transaction);
+
+        RecordBalanceChange(wallet, oldBalance, transaction.GetDate());
     }
 
     /**
      * Delete a transaction from a wallet
      * @param transactionId The id of the transaction to be removed
      * @throws RuntimeException If the transaction does not exist
+     * @throws RuntimeException If the wallet or category of the transaction is
+     *     archived
      */
-    @Transactional
     public void DeleteTransaction(Long transactionId)
     {
+        WriteLocked(transactionId, null, () -> DeleteLockedTransaction(transactionId));
+    }
+
+    private void DeleteLockedTransaction(Long transactionId)
+    {
+        m_referenceDataCache.RefreshWallets();
+
         WalletTransaction transaction =
             m_walletTransactionRepository.findById(transactionId)
-                .orElseThrow(()
-                                 -> new RuntimeException("Transaction with id " +
-                                                         transactionId + " not found"));
+                .orElseThrow(() -> TransactionNotFound(transactionId));
 
         Wallet wallet = transaction.GetWallet();
 
@@ -551,9 +665,15 @@ public class WalletTransactionService
             }
 
             m_walletRepository.save(wallet);
+
+            m_balanceLedgerService.Record(wallet.GetId(),
+                                          transaction.GetDate(),
+                                          SignedAmount(transaction).negate());
         }
 
         m_walletTransactionRepository.delete(transaction);
+        m_transactionSuggestionService.Invalidate();
+        m_transactionAnalyticsService.RemoveTransaction(transactionId);
 
         m_logger.info("Transaction " + transactionId + " deleted from wallet " +
                       wallet.GetName());
@@ -563,16 +683,22 @@ public class WalletTransactionService
      * Confirm a pending transaction
      * @param transactionId The id of the transaction to be confirmed
      * @throws RuntimeException If the transaction does not exist
+     * @throws RuntimeException If the wallet or category of the transaction is
+     *     archived
      * @throws RuntimeException If the transaction is already confirmed
      */
-    @Transactional
     public void ConfirmTransaction(Long transactionId)
     {
+        WriteLocked(transactionId, null, () -> ConfirmLockedTransaction(transactionId));
+    }
+
+    private void ConfirmLockedTransaction(Long transactionId)
+    {
+        m_referenceDataCache.RefreshWallets();
+
         WalletTransaction transaction =
             m_walletTransactionRepository.findById(transactionId)
-                .orElseThrow(()
-                                 -> new RuntimeException("Transaction with id " +
-                                                         transactionId + " not found"));
+                .orElseThrow(() -> TransactionNotFound(transactionId));
 
         if (transaction.GetStatus() == TransactionStatus.CONFIRMED)
         {
@@ -595,33 +721,218 @@ public class WalletTransactionService
 
         m_walletRepository.save(wallet);
         m_walletTransactionRepository.save(transaction);
+        m_transactionAnalyticsService.RecordTransaction(transaction);
+
+        m_balanceLedgerService.Record(wallet.GetId(),
+                                      transaction.GetDate(),
+                                      SignedAmount(transaction));
+    }
+
+    /**
+     * Run a write of an existing transaction in a transaction that holds the lock
+     * of its wallet
+     * @param transactionId The id of the transaction
+     * @param newWalletId The id of another wallet to lock, or null
+     * @param write The write
+     * @throws RuntimeException If the transaction is moved to another wallet while
+     *     its lock is being taken
+     * @note The wallet is looked up before the transaction opens, so its lock is
+     *     taken before the writer connection, in the same order as the writes that
+     *     add transactions. Looking it up in the transaction would hold the
+     *     connection while waiting for a lock that a write waiting for the
+     *     connection may hold
+     */
+    private void WriteLocked(Long transactionId, Long newWalletId, Runnable write)
+    {
+        Long walletId = m_walletTransactionRepository
+                            .FindWalletIdByTransactionId(transactionId)
+                            .orElse(null);
+
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            m_walletLockService.LockUntilCompletion(walletId, newWalletId);
+
+            // Moved by a write that committed after the lookup
+            if (!Objects.equals(walletId,
+                                m_walletTransactionRepository
+                                    .FindWalletIdByTransactionId(transactionId)
+                                    .orElse(null)))
+            {
+                throw new RuntimeException("Transaction with id " + transactionId +
+                                           " was changed by another write");
+            }
+
+            write.run();
+        });
+    }
+
+    /**
+     * Get the error of a write of a transaction that is not in the
+     * wallet_transaction table
+     * @param transactionId The id of the transaction
+     * @return The error, telling apart the transactions that were archived
+     */
+    private RuntimeException TransactionNotFound(Long transactionId)
+    {
+        if (m_archivedTransactionRepository.existsById(transactionId))
+        {
+            return new RuntimeException("Transaction with id " + transactionId +
+                                        " belongs to an archived wallet or category"
+                                        + " and cannot be changed");
+        }
+
+        return new RuntimeException("Transaction with id " + transactionId +
+                                    " not found");
+    }
+
+    /**
+     * Get the amount a transaction adds to the balance of its wallet when confirmed
+     * @param transaction The transaction
+     * @return The amount, negative for expenses
+     */
+    private static BigDecimal SignedAmount(WalletTransaction transaction)
+    {
+        return transaction.GetType().equals(TransactionType.EXPENSE)
+            ? transaction.GetAmount().negate()
+            : transaction.GetAmount();
+    }
+
+    /**
+     * Add the transactions moved to the archive table to the ones of the
+     * wallet_transaction table
+     * @param transactions The transactions of the wallet_transaction table
+     * @param archived The archived transactions
+     * @return The transactions of both tables, the most recent first
+     * @note The archived transactions are detached copies with their original ids.
+     *     GetTransactionById resolves these ids, but updating, confirming or
+     *     deleting them is rejected until the wallet and category are unarchived
+     */
+    private static List<WalletTransaction>
+    WithArchived(List<WalletTransaction>         transactions,
+                 List<ArchivedWalletTransaction> archived)
+    {
+        if (archived.isEmpty())
+        {
+            return transactions;
+        }
+
+        List<WalletTransaction> merged =
+            new ArrayList<>(transactions.size() + archived.size());
+
+        merged.addAll(transactions);
+        archived.forEach(a -> merged.add(a.ToWalletTransaction()));
+        merged.sort(Comparator.comparing(WalletTransaction::GetDate).reversed());
+
+        return merged;
+    }
+
+    /**
+     * Get the earliest of two dates as stored in the database
+     * @param first The first date, or null
+     * @param second The second date, or null
+     * @return The earliest date, or null if both are null
+     */
+    private static String Earliest(String first, String second)
+    {
+        if (first == null || second == null)
+        {
+            return first == null ? second : first;
+        }
+
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    /**
+     * Get the latest of two dates as stored in the database
+     * @param first The first date, or null
+     * @param second The second date, or null
+     * @return The latest date, or null if both are null
+     */
+    private static String Latest(String first, String second)
+    {
+        if (first == null || second == null)
+        {
+            return first == null ? second : first;
+        }
+
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    /**
+     * Get the first moment of a month as stored in the database, so the queries of a
+     * period compare the dates as a range of the date indexes
+     * @param month The month
+     * @param year The year
+     * @return The formatted date
+     */
+    private static String MonthStart(Integer month, Integer year)
+    {
+        return MonthStart(month, year, 0);
+    }
+
+    /**
+     * Get the first moment of a month some months after another one
+     * @param month The month
+     * @param year The year
+     * @param months The number of months to add
+     * @return The formatted date
+     */
+    private static String MonthStart(Integer month, Integer year, int months)
+    {
+        return YearMonth.of(year, month)
+            .plusMonths(months)
+            .atDay(1)
+            .atStartOfDay()
+            .format(Constants.DB_DATE_FORMATTER);
+    }
+
+    /**
+     * Record the change in the balance of a wallet in the balance history
+     * @param wallet The wallet, with the new balance
+     * @param oldBalance The balance before the change
+     * @param date The date from which the change applies
+     */
+    private void
+    RecordBalanceChange(Wallet wallet, BigDecimal oldBalance, LocalDateTime date)
+    {
+        m_balanceLedgerService.Record(wallet.GetId(),
+                                      date,
+                                      wallet.GetBalance().subtract(oldBalance));
     }
 
     /**
      * Get all transactions
      * @return A list with all transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetAllTransactions()
     {
-        return m_walletTransactionRepository.findAll();
+        return WithArchived(m_walletTransactionRepository.findAll(),
+                            m_archivedTransactionRepository.FindTransactions());
     }
 
     /**
      * Get transaction by id
      * @param id The id of the transaction
-     * @return The transaction with the provided id
+     * @return The transaction with the provided id. If its wallet or category is
+     *     archived, a read-only copy of the archived transaction
      * @throws RuntimeException If the transaction does not exist
      */
+    @Transactional(readOnly = true)
     public WalletTransaction GetTransactionById(Long id)
     {
-        return m_walletTransactionRepository.findById(id).orElseThrow(
-            () -> new RuntimeException("Transaction with id " + id + " not found"));
+        return m_walletTransactionRepository.findById(id)
+            .or(()
+                    -> m_archivedTransactionRepository.findById(id).map(
+                        ArchivedWalletTransaction::ToWalletTransaction))
+            .orElseThrow(
+                () -> new RuntimeException("Transaction with id " + id + " not found"));
     }
 
     /**
      * Get all transactions where both wallet and category are not archived
      * @return A list with all transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedTransactions()
     {
         return m_walletTransactionRepository.FindNonArchivedTransactions();
@@ -631,15 +942,20 @@ public class WalletTransactionService
      * Get all income transactions
      * @return A list with all income transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetIncomes()
     {
-        return m_walletTransactionRepository.FindIncomeTransactions();
+        return WithArchived(
+            m_walletTransactionRepository.FindIncomeTransactions(),
+            m_archivedTransactionRepository.FindTransactionsByType(
+                TransactionType.INCOME));
     }
 
     /**
      * Get all income transactions where both wallet and category are not archived
      * @return A list with all income transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedIncomes()
     {
         return m_walletTransactionRepository.FindNonArchivedIncomeTransactions();
@@ -649,15 +965,20 @@ public class WalletTransactionService
      * Get all expense transactions
      * @return A list with all expense transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetExpenses()
     {
-        return m_walletTransactionRepository.FindExpenseTransactions();
+        return WithArchived(
+            m_walletTransactionRepository.FindExpenseTransactions(),
+            m_archivedTransactionRepository.FindTransactionsByType(
+                TransactionType.EXPENSE));
     }
 
     /**
      * Get all expense transactions where both wallet and category are not archived
      * @return A list with all expense transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedExpenses()
     {
         return m_walletTransactionRepository.FindNonArchivedExpenseTransactions();
@@ -668,9 +989,14 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetTransactionsByMonth(Integer month, Integer year)
     {
-        return m_walletTransactionRepository.FindTransactionsByMonth(month, year);
+        return WithArchived(
+            m_walletTransactionRepository.FindTransactionsByMonth(month, year),
+            m_archivedTransactionRepository.FindTransactionsInPeriod(
+                MonthStart(month, year),
+                MonthStart(month, year, 1)));
     }
 
     /**
@@ -678,11 +1004,13 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedTransactionsByMonth(Integer month,
                                                                      Integer year)
     {
-        return m_walletTransactionRepository.FindNonArchivedTransactionsByMonth(month,
-                                                                                year);
+        return m_walletTransactionRepository.FindNonArchivedTransactionsByMonth(
+            MonthStart(month, year),
+            MonthStart(month, year, 1));
     }
 
     /**
@@ -690,9 +1018,14 @@ public class WalletTransactionService
      * @param year The year of the transactions
      * @return A list with all transactions of the year
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetTransactionsByYear(Integer year)
     {
-        return m_walletTransactionRepository.FindTransactionsByYear(year);
+        return WithArchived(
+            m_walletTransactionRepository.FindTransactionsByYear(year),
+            m_archivedTransactionRepository.FindTransactionsInPeriod(
+                MonthStart(1, year),
+                MonthStart(1, year, 12)));
     }
 
     /**
@@ -700,9 +1033,12 @@ public class WalletTransactionService
      * @param year The year of the transactions
      * @return A list with all transactions of the year
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedTransactionsByYear(Integer year)
     {
-        return m_walletTransactionRepository.FindNonArchivedTransactionsByYear(year);
+        return m_walletTransactionRepository.FindNonArchivedTransactionsByYear(
+            MonthStart(1, year),
+            MonthStart(1, year, 12));
     }
 
     /**
@@ -711,12 +1047,18 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction>
     GetTransactionsByWalletAndMonth(Long walletId, Integer month, Integer year)
     {
-        return m_walletTransactionRepository.FindTransactionsByWalletAndMonth(walletId,
-                                                                              month,
-                                                                              year);
+        return WithArchived(
+            m_walletTransactionRepository.FindTransactionsByWalletAndMonth(walletId,
+                                                                           month,
+                                                                           year),
+            m_archivedTransactionRepository.FindTransactionsByWalletInPeriod(
+                walletId,
+                MonthStart(month, year),
+                MonthStart(month, year, 1)));
     }
 
     /**
@@ -725,13 +1067,16 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction>
     GetNonArchivedTransactionsByWalletAndMonth(Long    walletId,
                                                Integer month,
                                                Integer year)
     {
         return m_walletTransactionRepository
-            .FindNonArchivedTransactionsByWalletAndMonth(walletId, month, year);
+            .FindNonArchivedTransactionsByWalletAndMonth(walletId,
+                                                         MonthStart(month, year),
+                                                         MonthStart(month, year, 1));
     }
 
     /**
@@ -740,14 +1085,19 @@ public class WalletTransactionService
      * @param endDate The end date
      * @return A list with all transactions between the two dates
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetTransactionsBetweenDates(LocalDateTime startDate,
                                                                LocalDateTime endDate)
     {
         String startDateStr = startDate.format(Constants.DB_DATE_FORMATTER);
         String endDateStr   = endDate.format(Constants.DB_DATE_FORMATTER);
 
-        return m_walletTransactionRepository.FindTransactionsBetweenDates(startDateStr,
-                                                                          endDateStr);
+        return WithArchived(
+            m_walletTransactionRepository.FindTransactionsBetweenDates(startDateStr,
+                                                                       endDateStr),
+            m_archivedTransactionRepository.FindTransactionsBetweenDates(
+                startDateStr,
+                endDateStr));
     }
 
     /**
@@ -757,6 +1107,7 @@ public class WalletTransactionService
      * @param endDate The end date
      * @return A list with all transactions between the two dates
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction>
     GetNonArchivedTransactionsBetweenDates(LocalDateTime startDate,
                                            LocalDateTime endDate)
@@ -774,11 +1125,16 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetConfirmedTransactionsByMonth(Integer month,
                                                                    Integer year)
     {
-        return m_walletTransactionRepository.FindConfirmedTransactionsByMonth(month,
-                                                                              year);
+        return WithArchived(
+            m_walletTransactionRepository.FindConfirmedTransactionsByMonth(month, year),
+            m_archivedTransactionRepository.FindTransactionsByStatusInPeriod(
+                TransactionStatus.CONFIRMED,
+                MonthStart(month, year),
+                MonthStart(month, year, 1)));
     }
 
     /**
@@ -787,11 +1143,13 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction>
     GetNonArchivedConfirmedTransactionsByMonth(Integer month, Integer year)
     {
         return m_walletTransactionRepository
-            .FindNonArchivedConfirmedTransactionsByMonth(month, year);
+            .FindNonArchivedConfirmedTransactionsByMonth(MonthStart(month, year),
+                                                         MonthStart(month, year, 1));
     }
 
     /**
@@ -799,11 +1157,16 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetPendingTransactionsByMonth(Integer month,
                                                                  Integer year)
     {
-        return m_walletTransactionRepository.FindPendingTransactionsByMonth(month,
-                                                                            year);
+        return WithArchived(
+            m_walletTransactionRepository.FindPendingTransactionsByMonth(month, year),
+            m_archivedTransactionRepository.FindTransactionsByStatusInPeriod(
+                TransactionStatus.PENDING,
+                MonthStart(month, year),
+                MonthStart(month, year, 1)));
     }
 
     /**
@@ -812,12 +1175,13 @@ public class WalletTransactionService
      * @param month The month of the transactions
      * @param year The year of the transactions
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction>
     GetNonArchivedPendingTransactionsByMonth(Integer month, Integer year)
     {
         return m_walletTransactionRepository.FindNonArchivedPendingTransactionsByMonth(
-            month,
-            year);
+            MonthStart(month, year),
+            MonthStart(month, year, 1));
     }
 
     /**
@@ -825,10 +1189,17 @@ public class WalletTransactionService
      * @param n The number of transactions to get
      * @return A list with the last n transactions of all wallets
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetLastTransactions(Integer n)
     {
-        return m_walletTransactionRepository.FindLastTransactions(
-            PageRequest.ofSize(n));
+        return WithArchived(
+                   m_walletTransactionRepository.FindLastTransactions(
+                       PageRequest.ofSize(n)),
+                   m_archivedTransactionRepository.FindLastTransactions(
+                       PageRequest.ofSize(n)))
+            .stream()
+            .limit(n)
+            .toList();
     }
 
     /**
@@ -837,6 +1208,7 @@ public class WalletTransactionService
      * @param n The number of transactions to get
      * @return A list with the last n transactions of all wallets
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedLastTransactions(Integer n)
     {
         return m_walletTransactionRepository.FindNonArchivedLastTransactions(
@@ -849,11 +1221,19 @@ public class WalletTransactionService
      * @param n The number of transactions to get
      * @return A list with the last n transactions of the wallet
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetLastTransactionsByWallet(Long walletId, Integer n)
     {
-        return m_walletTransactionRepository.FindLastTransactionsByWallet(
-            walletId,
-            PageRequest.ofSize(n));
+        return WithArchived(
+                   m_walletTransactionRepository.FindLastTransactionsByWallet(
+                       walletId,
+                       PageRequest.ofSize(n)),
+                   m_archivedTransactionRepository.FindLastTransactionsByWallet(
+                       walletId,
+                       PageRequest.ofSize(n)))
+            .stream()
+            .limit(n)
+            .toList();
     }
 
     /**
@@ -863,6 +1243,7 @@ public class WalletTransactionService
      * @param n The number of transactions to get
      * @return A list with the last n transactions of the wallet
      */
+    @Transactional(readOnly = true)
     public List<WalletTransaction> GetNonArchivedLastTransactionsByWallet(Long walletId,
                                                                           Integer n)
     {
@@ -876,9 +1257,12 @@ public class WalletTransactionService
      * @return The date of the oldest transaction or the current date if there are no
      *     transactions
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetOldestTransactionDate()
     {
-        String date = m_walletTransactionRepository.FindOldestTransactionDate();
+        String date =
+            Earliest(m_walletTransactionRepository.FindOldestTransactionDate(),
+                     m_archivedTransactionRepository.FindOldestTransactionDate());
 
         if (date == null)
         {
@@ -894,6 +1278,7 @@ public class WalletTransactionService
      * @return The date of the oldest transaction or the current date if there are no
      *    transactions
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetNonArchivedOldestTransactionDate()
     {
         String date =
@@ -912,9 +1297,12 @@ public class WalletTransactionService
      * @return The date of the newest transaction or the current date if there are no
      *     transactions
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetNewestTransactionDate()
     {
-        String date = m_walletTransactionRepository.FindNewestTransactionDate();
+        String date =
+            Latest(m_walletTransactionRepository.FindNewestTransactionDate(),
+                   m_archivedTransactionRepository.FindNewestTransactionDate());
 
         if (date == null)
         {
@@ -930,6 +1318,7 @@ public class WalletTransactionService
      * @return The date of the newest transaction or the current date if there are no
      *     transactions
      */
+    @Transactional(readOnly = true)
     public LocalDateTime GetNonArchivedNewestTransactionDate()
     {
         String date =
@@ -948,9 +1337,11 @@ public class WalletTransactionService
      * @param walletId The id of the wallet
      * @return The count of transactions in the wallet
      */
+    @Transactional(readOnly = true)
     public Long GetTransactionCountByWallet(Long walletId)
     {
         return m_walletTransactionRepository.GetTransactionCountByWallet(walletId) +
+            m_archivedTransactionRepository.CountTransactionsByWallet(walletId) +
             m_transferRepository.GetTransferCountByWallet(walletId);
     }
 
@@ -960,6 +1351,7 @@ public class WalletTransactionService
      * @param walletId The id of the wallet
      * @return The count of transactions in the wallet
      */
+    @Transactional(readOnly = true)
     public Long GetNonArchivedTransactionCountByWallet(Long walletId)
     {
         return m_walletTransactionRepository.CountNonArchivedTransactionsByWallet(
@@ -971,6 +1363,7 @@ public class WalletTransactionService
      * @param walletId The id of the wallet
      * @return A list with the transfers in the wallet
      */
+    @Transactional(readOnly = true)
     public List<Transfer> GetTransfersByWallet(Long walletId)
     {
         return m_transferRepository.FindTransfersByWallet(walletId);
@@ -982,6 +1375,7 @@ public class WalletTransactionService
      * @param year The year
      * @return A list with the transfers by month and year
      */
+    @Transactional(readOnly = true)
     public List<Transfer> GetTransfersByMonthAndYear(Integer month, Integer year)
     {
         return m_transferRepository.FindTransferByMonthAndYear(month, year);
@@ -994,6 +1388,7 @@ public class WalletTransactionService
      * @param year The year
      * @return A list with the transfers in the wallet by month
      */
+    @Transactional(readOnly = true)
     public List<Transfer>
     GetTransfersByWalletAndMonth(Long walletId, Integer month, Integer year)
     {
@@ -1001,24 +1396,4 @@ public class WalletTransactionService
                                                                   month,
                                                                   year);
     }
-
-    /**
-     * Get income suggestions. Suggestions are transactions with distinct descriptions
-     * and most recent date
-     * @return A list with the suggestions
-     */
-    public List<WalletTransaction> GetIncomeSuggestions()
-    {
-        return m_walletTransactionRepository.FindSuggestions(TransactionType.INCOME);
-    }
-
-    /**
-     * Get expense suggestions. Suggestions are transactions with distinct descriptions
-     * and most recent date
-     * @return A list with the suggestions
-     */
-    public List<WalletTransaction> GetExpenseSuggestions()
-    {
-        return m_walletTransactionRepository.FindSuggestions(TransactionType.EXPENSE);
-    }
 }
@@ -0,0 +1,485 @@
+/*
+ * Filename: WriteCoordinatorService.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.moinex.util.Constants;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.StatementCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * This class is responsible for running the mutations of the database on a single
+ * writer thread, committing them in groups
+ *
+ * Every commit of SQLite in WAL mode costs a sync of the log, so committing one
+ * transaction per mutation limits bulk flows to a few hundred writes per second.
+ * The writer drains the submitted commands and runs a group of them in a single
+ * transaction. A group is closed when it reaches the configured size or when the
+ * configured latency has passed since its first command.
+ *
+ * Each command keeps the semantics of its own transaction: when a command fails,
+ * the transaction of the group is rolled back, the command fails alone and the
+ * other commands of the group are run again in a new transaction. The results
+ * are only published after the commit.
+ *
+ * The group takes the locks of the wallets of all its commands before its first
+ * statement, so it never holds the writer connection while waiting for a lock
+ * held by a write that waits for the connection.
+ */
+@Service
+public class WriteCoordinatorService
+{
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private MetricsService m_metricsService;
+
+    @Autowired
+    private EntityManagerFactory m_entityManagerFactory;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    // Changed by any thread and read by the writer thread
+    @Value("${moinex.write.group-size:64}")
+    private volatile int m_groupSize = Constants.WRITE_DEFAULT_GROUP_SIZE;
+
+    @Value("${moinex.write.group-latency-ms:2}")
+    private volatile long m_groupLatencyMillis = Constants.WRITE_DEFAULT_GROUP_LATENCY;
+
+    private final BlockingQueue<WriteCommand<?>> m_queue = new LinkedBlockingQueue<>();
+
+    private volatile Thread m_writerThread;
+
+    private TransactionTemplate m_transactionTemplate;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    /**
+     * A mutation waiting to be committed and the future that receives its result
+     */
+    private static class WriteCommand<T>
+    {
+        private final Supplier<T>          m_command;
+        private final Long[]               m_walletIds;
+        private final CompletableFuture<T> m_future = new CompletableFuture<>();
+        private T                          m_result;
+        private RuntimeException           m_failure;
+
+        WriteCommand(Supplier<T> command, Long[] walletIds)
+        {
+            m_command   = command;
+            m_walletIds = walletIds;
+        }
+
+        /**
+         * Run the command, keeping its result or the exception it threw
+         * @param flush Writes the changes of the command, so a failure to write
+         *     them fails the command
+         * @return True if the command succeeded
+         */
+        boolean Run(Runnable flush)
+        {
+            try
+            {
+                m_result = m_command.get();
+                flush.run();
+                m_failure = null;
+                return true;
+            }
+            catch (RuntimeException e)
+            {
+                m_failure = e;
+                return false;
+            }
+        }
+
+        /**
+         * Publish the outcome of the last run of the command
+         */
+        void Complete()
+        {
+            if (m_failure != null)
+            {
+                m_future.completeExceptionally(m_failure);
+            }
+            else
+            {
+                m_future.complete(m_result);
+            }
+        }
+
+        void Fail(Throwable e)
+        {
+            m_future.completeExceptionally(e);
+        }
+    }
+
+    public WriteCoordinatorService() { }
+
+    /**
+     * Start the writer thread
+     * @note Does nothing if the writer is already running
+     */
+    @PostConstruct
+    public synchronized void Start()
+    {
+        if (m_writerThread != null)
+        {
+            return;
+        }
+
+        m_transactionTemplate = new TransactionTemplate(m_transactionManager);
+
+        m_writerThread = new Thread(this::Run, "moinex-writer");
+        m_writerThread.setDaemon(true);
+        m_writerThread.start();
+    }
+
+    /**
+     * Stop the writer thread
+     *
+     * The commands already submitted are committed before the writer stops
+     */
+    @PreDestroy
+    public synchronized void Stop()
+    {
+        Thread writer = m_writerThread;
+
+        if (writer == null)
+        {
+            return;
+        }
+
+        m_writerThread = null;
+        writer.interrupt();
+
+        try
+        {
+            writer.join(TimeUnit.SECONDS.toMillis(Constants.WRITE_STOP_TIMEOUT));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        List<WriteCommand<?>> pending = new ArrayList<>();
+        m_queue.drainTo(pending);
+
+        RuntimeException stopped = new RuntimeException("Write coordinator stopped");
+        pending.forEach(c -> c.Fail(stopped));
+    }
+
+    /**
+     * Set the maximum number of commands committed in a single transaction
+     * @param groupSize The group size
+     * @throws RuntimeException If the group size is not positive
+     */
+    public void SetGroupSize(int groupSize)
+    {
+        if (groupSize <= 0)
+        {
+            throw new RuntimeException("Group size must be positive");
+        }
+
+        m_groupSize = groupSize;
+    }
+
+    /**
+     * Set for how long the writer waits for more commands after the first command
+     * of a group
+     * @param groupLatencyMillis The latency in milliseconds
+     * @throws RuntimeException If the latency is negative
+     */
+    public void SetGroupLatency(long groupLatencyMillis)
+    {
+        if (groupLatencyMillis < 0)
+        {
+            throw new RuntimeException("Group latency cannot be negative");
+        }
+
+        m_groupLatencyMillis = groupLatencyMillis;
+    }
+
+    /**
+     * Submit a mutation to be committed by the writer thread
+     * @param command The mutation. It runs inside the transaction of its group and
+     *     may run again if another command of the group fails, so it must not
+     *     depend on the state of objects changed by a previous attempt
+     * @param walletIds The ids of the wallets whose locks the command takes
+     * @return A future completed with the result of the command after the commit,
+     *     or with the exception thrown by the command
+     * @note The command runs on the calling thread if it already is in a
+     *     transaction, since waiting for the writer while holding the connection of
+     *     a transaction could deadlock, or if the writer is not running
+     * @note A command that locks a wallet not in walletIds takes the lock while its
+     *     group holds the writer connection, which deadlocks with a write that
+     *     holds the lock and waits for the connection
+     */
+    public <T> CompletableFuture<T> Submit(Supplier<T> command, Long... walletIds)
+    {
+        WriteCommand<T> writeCommand = new WriteCommand<>(command, walletIds);
+
+        if (Thread.currentThread() == m_writerThread || m_writerThread == null ||
+            TransactionSynchronizationManager.isActualTransactionActive())
+        {
+            // Written by the commit of the transaction it runs in
+            writeCommand.Run(() -> {});
+            writeCommand.Complete();
+        }
+        else
+        {
+            m_queue.add(writeCommand);
+        }
+
+        return writeCommand.m_future;
+    }
+
+    /**
+     * Submit a mutation without a result to be committed by the writer thread
+     * @param command The mutation
+     * @param walletIds The ids of the wallets whose locks the command takes
+     * @return A future completed after the commit
+     */
+    public CompletableFuture<Void> Submit(Runnable command, Long... walletIds)
+    {
+        return Submit(() -> {
+            command.run();
+            return null;
+        }, walletIds);
+    }
+
+    /**
+     * Run a mutation and wait for its commit
+     * @param command The mutation
+     * @param walletIds The ids of the wallets whose locks the command takes
+     * @return The result of the command
+     * @throws RuntimeException The exception thrown by the command
+     */
+    public <T> T Execute(Supplier<T> command, Long... walletIds)
+    {
+        try
+        {
+            return Submit(command, walletIds).get();
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the commit");
+        }
+    }
+
+    /**
+     * Run a mutation without a result and wait for its commit
+     * @param command The mutation
+     * @param walletIds The ids of the wallets whose locks the command takes
+     * @throws RuntimeException The exception thrown by the command
+     */
+    public void Execute(Runnable command, Long... walletIds)
+    {
+        Execute(() -> {
+            command.run();
+            return null;
+        }, walletIds);
+    }
+
+    private void Run()
+    {
+        List<WriteCommand<?>> group = new ArrayList<>();
+
+        while (true)
+        {
+            try
+            {
+                // After a stop, the commands already queued are still committed
+                WriteCommand<?> first = m_writerThread == null
+                                            ? m_queue.poll()
+                                            : m_queue.take();
+
+                if (first == null)
+                {
+                    return;
+                }
+
+                group.add(first);
+                FillGroup(group);
+            }
+            catch (InterruptedException e)
+            {
+                if (group.isEmpty())
+                {
+                    continue;
+                }
+            }
+
+            try
+            {
+                CommitGroup(group);
+            }
+            catch (Throwable e)
+            {
+                m_logger.log(Level.SEVERE, "Failed to commit a group of writes", e);
+                group.forEach(c -> c.Fail(e));
+            }
+
+            group.clear();
+        }
+    }
+
+    /**
+     * Add the commands that arrive until the group is full or its latency expires
+     */
+    private void FillGroup(List<WriteCommand<?>> group) throws InterruptedException
+    {
+        long deadline =
+            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(m_groupLatencyMillis);
+
+        while (group.size() < m_groupSize)
+        {
+            m_queue.drainTo(group, m_groupSize - group.size());
+
+            long remaining = deadline - System.nanoTime();
+
+            if (group.size() >= m_groupSize || remaining <= 0 ||
+                m_writerThread == null)
+            {
+                return;
+            }
+
+            WriteCommand<?> next = m_queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+            if (next == null)
+            {
+                return;
+            }
+
+            group.add(next);
+        }
+    }
+
+    /**
+     * Run the commands of a group in a single transaction
+     *
+     * A failed command is removed from the group, and the commands that ran
+     * before it are run again, since they were rolled back with it. The changes of
+     * each command are flushed after it runs, so a constraint they violate fails
+     * that command and not the next one that runs a query. If the commit itself
+     * fails, each command is committed in its own transaction, so only the
+     * command that caused the failure fails.
+     *
+     * The locks of the wallets of the commands are taken in the transaction before
+     * its first statement, which takes the writer connection. The commands take
+     * them again when they run, without waiting, since the locks are reentrant
+     */
+    private void CommitGroup(List<WriteCommand<?>> group)
+    {
+        List<WriteCommand<?>> pending = new ArrayList<>(group);
+
+        while (!pending.isEmpty())
+        {
+            long      start   = System.nanoTime();
+            long      queries = StatementCounter.GetCount();
+            Throwable failure = null;
+            Integer   failedIndex;
+
+            try
+            {
+                failedIndex = m_transactionTemplate.execute(status -> {
+                    m_walletLockService.LockUntilCompletion(
+                        pending.stream()
+                            .flatMap(c -> Arrays.stream(c.m_walletIds))
+                            .toArray(Long[]::new));
+
+                    for (int i = 0; i < pending.size(); i++)
+                    {
+                        if (!pending.get(i).Run(this::Flush))
+                        {
+                            status.setRollbackOnly();
+                            return i;
+                        }
+                    }
+
+                    return -1;
+                });
+            }
+            catch (RuntimeException e)
+            {
+                failure     = e;
+                failedIndex = null;
+            }
+
+            m_metricsService.Record("WriteCoordinatorService.CommitGroup",
+                                    System.nanoTime() - start,
+                                    StatementCounter.GetCount() - queries,
+                                    pending.size(),
+                                    failedIndex == null || failedIndex >= 0);
+
+            if (failedIndex == null)
+            {
+                if (pending.size() == 1)
+                {
+                    pending.get(0).Fail(failure);
+                    return;
+                }
+
+                m_logger.warning("Failed to commit a group of " + pending.size() +
+                                 " writes, committing them one by one: " +
+                                 failure.getMessage());
+
+                pending.forEach(c -> CommitGroup(List.of(c)));
+                return;
+            }
+
+            if (failedIndex < 0)
+            {
+                pending.forEach(WriteCommand::Complete);
+                return;
+            }
+
+            pending.remove((int)failedIndex).Complete();
+        }
+    }
+
+    /**
+     * Write the pending changes of the transaction of the group
+     */
+    private void Flush()
+    {
+        EntityManagerFactoryUtils.getTransactionalEntityManager(m_entityManagerFactory)
+            .flush();
+    }
+}
@@ -10,16 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.time.YearMonth;
-import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
-import org.moinex.entities.WalletTransaction;
-import org.moinex.services.CreditCardService;
-import org.moinex.services.RecurringTransactionService;
-import org.moinex.services.WalletTransactionService;
+import org.moinex.services.ReportService;
 import org.moinex.util.Constants;
-import org.moinex.util.TransactionStatus;
-import org.moinex.util.TransactionType;
+import org.moinex.util.PeriodSummary;
 import org.moinex.util.UIUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -97,27 +92,17 @@ public class ResumePaneController
     @FXML
     private Label creditCardsForeseenValue;
 
-    private WalletTransactionService walletTransactionService;
-
-    private RecurringTransactionService recurringTransactionService;
-
-    private CreditCardService creditCardService;
+    private ReportService reportService;
 
     /**
      * Constructor
-     * @param walletTransactionService WalletTransactionService
-     * @param recurringTransactionService RecurringTransactionService
-     * @param creditCardService CreditCardService
+     * @param reportService ReportService
      * @note This constructor is used for dependency injection
      */
     @Autowired
-    public ResumePaneController(WalletTransactionService    walletTransactionService,
-                                RecurringTransactionService recurringTransactionService,
-                                CreditCardService           creditCardService)
+    public ResumePaneController(ReportService reportService)
     {
-        this.walletTransactionService    = walletTransactionService;
-        this.recurringTransactionService = recurringTransactionService;
-        this.creditCardService           = creditCardService;
+        this.reportService = reportService;
     }
 
     @FXML
@@ -132,26 +117,7 @@ public class ResumePaneController
      */
     public void UpdateResumePane(Integer year)
     {
-        List<WalletTransaction> allYearTransactions =
-            walletTransactionService.GetNonArchivedTransactionsByYear(year);
-
-        List<WalletTransaction> futureTransactions =
-            recurringTransactionService.GetFutureTransactionsByYear(Year.of(year),
-                                                                    Year.of(year));
-
-        allYearTransactions.addAll(futureTransactions);
-
-        BigDecimal crcTotalDebtAmount = creditCardService.GetTotalDebtAmount(year);
-
-        BigDecimal crcPendingPayments =
-            creditCardService.GetPendingPaymentsByYear(year);
-
-        BigDecimal crcPaidPayments = creditCardService.GetPaidPaymentsByYear(year);
-
-        UpdateResumePane(allYearTransactions,
-                         crcTotalDebtAmount,
-                         crcPendingPayments,
-                         crcPaidPayments);
+        UpdateResumePane(reportService.GetYearSummary(Year.of(year)));
     }
 
     /**
@@ -159,71 +125,17 @@ public class ResumePaneController
      */
     public void UpdateResumePane(Integer month, Integer year)
     {
-        // Get all transactions of the month, including future transactions
-        List<WalletTransaction> transactions =
-            walletTransactionService.GetNonArchivedTransactionsByMonth(month, year);
-
-        List<WalletTransaction> futureTransactions =
-            recurringTransactionService.GetFutureTransactionsByMonth(
-                YearMonth.of(year, month),
-                YearMonth.of(year, month));
-
-        transactions.addAll(futureTransactions);
-
-        BigDecimal crcTotalDebtAmount =
-            creditCardService.GetTotalDebtAmount(month, year);
-
-        BigDecimal crcPendingPayments =
-            creditCardService.GetPendingPaymentsByMonth(month, year);
-
-        BigDecimal crcPaidPayments =
-            creditCardService.GetPaidPaymentsByMonth(month, year);
-
-        UpdateResumePane(transactions,
-                         crcTotalDebtAmount,
-                         crcPendingPayments,
-                         crcPaidPayments);
+        UpdateResumePane(reportService.GetMonthSummary(YearMonth.of(year, month)));
     }
 
-    private void UpdateResumePane(List<WalletTransaction> transactions,
-                                  BigDecimal              crcTotalDebtAmount,
-                                  BigDecimal              crcTotalPendingPayments,
-                                  BigDecimal              crcTotalPaidPayments)
+    private void UpdateResumePane(PeriodSummary summary)
     {
-        BigDecimal totalConfirmedIncome =
-            transactions.stream()
-                .filter(t -> t.GetType().equals(TransactionType.INCOME))
-                .filter(t -> t.GetStatus().equals(TransactionStatus.CONFIRMED))
-                .map(WalletTransaction::GetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalConfirmedExpenses =
-            transactions.stream()
-                .filter(t -> t.GetType().equals(TransactionType.EXPENSE))
-                .filter(t -> t.GetStatus().equals(TransactionStatus.CONFIRMED))
-                .map(WalletTransaction::GetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Consider the paid payments of the credit card as total expenses
-        totalConfirmedExpenses = totalConfirmedExpenses.add(crcTotalPaidPayments);
-
-        BigDecimal totalForeseenIncome =
-            transactions.stream()
-                .filter(t -> t.GetType() == TransactionType.INCOME)
-                .map(WalletTransaction::GetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalForeseenExpenses =
-            transactions.stream()
-                .filter(t -> t.GetType() == TransactionType.EXPENSE)
-                .map(WalletTransaction::GetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Consider the payments of the credit card as total of foreseen expenses
-        totalForeseenExpenses = totalForeseenExpenses.add(crcTotalPendingPayments)
-                                    .add(crcTotalPaidPayments);
-
-        BigDecimal balance = totalConfirmedIncome.subtract(totalConfirmedExpenses);
+        BigDecimal totalConfirmedIncome   = summary.GetConfirmedIncome();
+        BigDecimal totalConfirmedExpenses = summary.GetConfirmedExpenses();
+        BigDecimal totalForeseenIncome    = summary.GetForeseenIncome();
+        BigDecimal totalForeseenExpenses  = summary.GetForeseenExpenses();
+
+        BigDecimal balance = summary.GetBalance();
 
         incomesCurrentValue.setText(UIUtils.FormatCurrency(totalConfirmedIncome));
         incomesCurrentSign.setText(" "); // default
@@ -280,8 +192,7 @@ public class ResumePaneController
             balanceCurrentSign.getStyleClass().add(Constants.NEUTRAL_BALANCE_STYLE);
         }
 
-        BigDecimal foreseenBalance =
-            totalForeseenIncome.subtract(totalForeseenExpenses);
+        BigDecimal foreseenBalance = summary.GetForeseenBalance();
 
         if (foreseenBalance.compareTo(BigDecimal.ZERO) > 0)
         {
@@ -300,18 +211,7 @@ public class ResumePaneController
         }
 
         // Mensal Economies
-        Double savingsPercentage = 0.0;
-
-        if (totalConfirmedIncome.compareTo(BigDecimal.ZERO) <= 0)
-        {
-            savingsPercentage = 0.0;
-        }
-        else
-        {
-            savingsPercentage =
-                totalConfirmedIncome.subtract(totalConfirmedExpenses).doubleValue() /
-                totalConfirmedIncome.doubleValue() * 100;
-        }
+        Double savingsPercentage = summary.GetSavingsPercentage();
 
         // Set the economy label and sign label according to the economy value
         if (savingsPercentage > 0)
@@ -351,14 +251,7 @@ public class ResumePaneController
             savingsCurrentSign.getStyleClass().add(Constants.NEUTRAL_BALANCE_STYLE);
         }
 
-        Double foreseenSavingsPercentage = 0.0;
-
-        if (totalForeseenIncome.compareTo(BigDecimal.ZERO) > 0)
-        {
-            foreseenSavingsPercentage =
-                totalForeseenIncome.subtract(totalForeseenExpenses).doubleValue() /
-                totalForeseenIncome.doubleValue() * 100;
-        }
+        Double foreseenSavingsPercentage = summary.GetForeseenSavingsPercentage();
 
         if (foreseenSavingsPercentage > 0)
         {
@@ -379,11 +272,12 @@ public class ResumePaneController
         }
 
         // Credit Card
-        creditCardsCurrentValue.setText(UIUtils.FormatCurrency(crcTotalDebtAmount));
+        creditCardsCurrentValue.setText(
+            UIUtils.FormatCurrency(summary.GetCreditCardDebt()));
         creditCardsCurrentSign.setText(" "); // default
 
         creditCardsForeseenValue.setText(
-            String.format(UIUtils.FormatCurrency(crcTotalPendingPayments)));
+            UIUtils.FormatCurrency(summary.GetCreditCardPendingPayments()));
         creditCardsForeseenSign.setText(" "); // default
     }
 }
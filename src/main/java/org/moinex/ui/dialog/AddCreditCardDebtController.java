@@ -22,6 +22,7 @@ import org.moinex.entities.Category;
 import org.moinex.entities.CreditCard;
 import org.moinex.services.CategoryService;
 import org.moinex.services.CreditCardService;
+import org.moinex.services.WriteCoordinatorService;
 import org.moinex.util.Constants;
 import org.moinex.util.UIUtils;
 import org.moinex.util.WindowUtils;
@@ -69,12 +70,16 @@ public class AddCreditCardDebtController
 
     private CreditCardService creditCardService;
 
+    private WriteCoordinatorService writeCoordinatorService;
+
     @Autowired
-    public AddCreditCardDebtController(CategoryService   categoryService,
-                                       CreditCardService creditCardService)
+    public AddCreditCardDebtController(CategoryService         categoryService,
+                                       CreditCardService       creditCardService,
+                                       WriteCoordinatorService writeCoordinatorService)
     {
-        this.categoryService   = categoryService;
-        this.creditCardService = creditCardService;
+        this.categoryService         = categoryService;
+        this.creditCardService       = creditCardService;
+        this.writeCoordinatorService = writeCoordinatorService;
     }
 
     public void SetCreditCard(CreditCard crc)
@@ -174,13 +179,16 @@ public class AddCreditCardDebtController
                                     .findFirst()
                                     .get();
 
-            creditCardService.RegisterDebt(crc.GetId(),
-                                           category,
-                                           LocalDateTime.now(), // register date
-                                           invoiceMonth,
-                                           debtValue,
-                                           installments,
-                                           description);
+            writeCoordinatorService.Execute(
+                ()
+                    -> creditCardService.RegisterDebt(crc.GetId(),
+                                                      category,
+                                                      // register date
+                                                      LocalDateTime.now(),
+                                                      invoiceMonth,
+                                                      debtValue,
+                                                      installments,
+                                                      description));
 
             WindowUtils.ShowSuccessDialog("Success",
                                           "Debt created",
@@ -26,12 +26,15 @@ import javafx.stage.Popup;
 import javafx.stage.Stage;
 import org.moinex.entities.Category;
 import org.moinex.entities.Wallet;
-import org.moinex.entities.WalletTransaction;
 import org.moinex.services.CategoryService;
+import org.moinex.services.TransactionSuggestionService;
 import org.moinex.services.WalletService;
 import org.moinex.services.WalletTransactionService;
+import org.moinex.services.WriteCoordinatorService;
 import org.moinex.util.Constants;
 import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionSuggestion;
+import org.moinex.util.TransactionType;
 import org.moinex.util.UIUtils;
 import org.moinex.util.WindowUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -69,7 +72,7 @@ public class AddExpenseController
 
     private Popup suggestionsPopup;
 
-    private ListView<WalletTransaction> suggestionListView;
+    private ListView<TransactionSuggestion> suggestionListView;
 
     private WalletService walletService;
 
@@ -77,12 +80,14 @@ public class AddExpenseController
 
     private CategoryService categoryService;
 
+    private WriteCoordinatorService writeCoordinatorService;
+
+    private TransactionSuggestionService transactionSuggestionService;
+
     private List<Wallet> wallets;
 
     private List<Category> categories;
 
-    private List<WalletTransaction> suggestions;
-
     private ChangeListener<String> descriptionFieldListener;
 
     public AddExpenseController() { }
@@ -92,16 +97,23 @@ public class AddExpenseController
      * @param walletService WalletService
      * @param walletTransactionService WalletTransactionService
      * @param categoryService CategoryService
+     * @param writeCoordinatorService WriteCoordinatorService
+     * @param transactionSuggestionService TransactionSuggestionService
      * @note This constructor is used for dependency injection
      */
     @Autowired
-    public AddExpenseController(WalletService            walletService,
-                                WalletTransactionService walletTransactionService,
-                                CategoryService          categoryService)
+    public AddExpenseController(
+        WalletService                walletService,
+        WalletTransactionService     walletTransactionService,
+        CategoryService              categoryService,
+        WriteCoordinatorService      writeCoordinatorService,
+        TransactionSuggestionService transactionSuggestionService)
     {
-        this.walletService            = walletService;
-        this.walletTransactionService = walletTransactionService;
-        this.categoryService          = categoryService;
+        this.walletService                = walletService;
+        this.walletTransactionService     = walletTransactionService;
+        this.categoryService              = categoryService;
+        this.writeCoordinatorService      = writeCoordinatorService;
+        this.transactionSuggestionService = transactionSuggestionService;
     }
 
     public void SetWalletComboBox(Wallet wt)
@@ -121,7 +133,6 @@ public class AddExpenseController
     {
         LoadWallets();
         LoadCategories();
-        LoadSuggestions();
 
         // Configure date picker
         UIUtils.SetDatePickerFormat(expenseDatePicker);
@@ -192,12 +203,15 @@ public class AddExpenseController
             LocalTime     currentTime             = LocalTime.now();
             LocalDateTime dateTimeWithCurrentHour = expenseDate.atTime(currentTime);
 
-            walletTransactionService.AddExpense(wallet.GetId(),
-                                                category,
-                                                dateTimeWithCurrentHour,
-                                                expenseValue,
-                                                description,
-                                                status);
+            writeCoordinatorService.Execute(
+                ()
+                    -> walletTransactionService.AddExpense(wallet.GetId(),
+                                                           category,
+                                                           dateTimeWithCurrentHour,
+                                                           expenseValue,
+                                                           description,
+                                                           status),
+                wallet.GetId());
 
             WindowUtils.ShowSuccessDialog("Success",
                                           "Expense created",
@@ -327,11 +341,6 @@ public class AddExpenseController
         }
     }
 
-    private void LoadSuggestions()
-    {
-        suggestions = walletTransactionService.GetExpenseSuggestions();
-    }
-
     private void ConfigureListeners()
     {
         // Store the listener in a variable to be able to disable and enable it
@@ -346,20 +355,11 @@ public class AddExpenseController
 
             suggestionListView.getItems().clear();
 
-            // Filter the suggestions list to show only the transactions that
-            // contain similar descriptions to the one typed by the user
-            List<WalletTransaction> filteredSuggestions =
-                suggestions.stream()
-                    .filter(tx
-                            -> tx.GetDescription().toLowerCase().contains(
-                                newValue.toLowerCase()))
-                    .toList();
-
-            if (filteredSuggestions.size() > Constants.SUGGESTIONS_MAX_ITEMS)
-            {
-                filteredSuggestions =
-                    filteredSuggestions.subList(0, Constants.SUGGESTIONS_MAX_ITEMS);
-            }
+            // Show the descriptions with a word that starts with the text typed
+            // by the user, the most used and recent first
+            List<TransactionSuggestion> filteredSuggestions =
+                transactionSuggestionService.GetSuggestions(TransactionType.EXPENSE,
+                                                            newValue);
 
             suggestionListView.getItems().addAll(filteredSuggestions);
 
@@ -411,7 +411,7 @@ public class AddExpenseController
         //    Amount | Wallet | Category
         suggestionListView.setCellFactory(param -> new ListCell<>() {
             @Override
-            protected void updateItem(WalletTransaction item, boolean empty)
+            protected void updateItem(TransactionSuggestion item, boolean empty)
             {
                 super.updateItem(item, empty);
                 if (empty || item == null)
@@ -426,8 +426,8 @@ public class AddExpenseController
                     Label descriptionLabel = new Label(item.GetDescription());
 
                     String infoString = UIUtils.FormatCurrency(item.GetAmount()) +
-                                        " | " + item.GetWallet().GetName() + " | " +
-                                        item.GetCategory().GetName();
+                                        " | " + GetWalletName(item.GetWalletId()) +
+                                        " | " + GetCategoryName(item.GetCategoryId());
 
                     Label infoLabel = new Label(infoString);
 
@@ -446,7 +446,7 @@ public class AddExpenseController
             (observable, oldValue, newValue) -> {
                 if (newValue != null)
                 {
-                    FillFieldsWithTransaction(newValue);
+                    FillFieldsWithSuggestion(newValue);
                     suggestionsPopup.hide();
                 }
             });
@@ -483,22 +483,39 @@ public class AddExpenseController
         suggestionListView.setPrefHeight(totalHeight);
     }
 
-    private void FillFieldsWithTransaction(WalletTransaction wt)
+    private String GetWalletName(Long walletId)
+    {
+        return wallets.stream()
+            .filter(w -> w.GetId().equals(walletId))
+            .map(Wallet::GetName)
+            .findFirst()
+            .orElse("");
+    }
+
+    private String GetCategoryName(Long categoryId)
+    {
+        return categories.stream()
+            .filter(c -> c.GetId().equals(categoryId))
+            .map(Category::GetName)
+            .findFirst()
+            .orElse("");
+    }
+
+    private void FillFieldsWithSuggestion(TransactionSuggestion suggestion)
     {
-        walletComboBox.setValue(wt.GetWallet().GetName());
+        walletComboBox.setValue(GetWalletName(suggestion.GetWalletId()));
 
         // Deactivate the listener to avoid the event of changing the text of
         // the descriptionField from being triggered. After changing the text,
         // the listener is activated again
         descriptionField.textProperty().removeListener(descriptionFieldListener);
 
-        descriptionField.setText(wt.GetDescription());
+        descriptionField.setText(suggestion.GetDescription());
 
         descriptionField.textProperty().addListener(descriptionFieldListener);
 
-        expenseValueField.setText(wt.GetAmount().toString());
-        statusComboBox.setValue(wt.GetStatus().name());
-        categoryComboBox.setValue(wt.GetCategory().GetName());
+        expenseValueField.setText(suggestion.GetAmount().toString());
+        categoryComboBox.setValue(GetCategoryName(suggestion.GetCategoryId()));
 
         UpdateWalletBalance();
         WalletAfterBalance();
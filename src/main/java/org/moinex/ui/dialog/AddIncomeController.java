@@ -26,12 +26,15 @@ import javafx.stage.Popup;
 import javafx.stage.Stage;
 import org.moinex.entities.Category;
 import org.moinex.entities.Wallet;
-import org.moinex.entities.WalletTransaction;
 import org.moinex.services.CategoryService;
+import org.moinex.services.TransactionSuggestionService;
 import org.moinex.services.WalletService;
 import org.moinex.services.WalletTransactionService;
+import org.moinex.services.WriteCoordinatorService;
 import org.moinex.util.Constants;
 import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionSuggestion;
+import org.moinex.util.TransactionType;
 import org.moinex.util.UIUtils;
 import org.moinex.util.WindowUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -69,7 +72,7 @@ public class AddIncomeController
 
     private Popup suggestionsPopup;
 
-    private ListView<WalletTransaction> suggestionListView;
+    private ListView<TransactionSuggestion> suggestionListView;
 
     private WalletService walletService;
 
@@ -77,12 +80,14 @@ public class AddIncomeController
 
     private CategoryService categoryService;
 
+    private WriteCoordinatorService writeCoordinatorService;
+
+    private TransactionSuggestionService transactionSuggestionService;
+
     private List<Wallet> wallets;
 
     private List<Category> categories;
 
-    private List<WalletTransaction> suggestions;
-
     private ChangeListener<String> descriptionFieldListener;
 
     public AddIncomeController() { }
@@ -93,13 +98,18 @@ public class AddIncomeController
      * @note This constructor is used for dependency injection
      */
     @Autowired
-    public AddIncomeController(WalletService            walletService,
-                               WalletTransactionService walletTransactionService,
-                               CategoryService          categoryService)
+    public AddIncomeController(
+        WalletService                walletService,
+        WalletTransactionService     walletTransactionService,
+        CategoryService              categoryService,
+        WriteCoordinatorService      writeCoordinatorService,
+        TransactionSuggestionService transactionSuggestionService)
     {
-        this.walletService            = walletService;
-        this.walletTransactionService = walletTransactionService;
-        this.categoryService          = categoryService;
+        this.walletService                = walletService;
+        this.walletTransactionService     = walletTransactionService;
+        this.categoryService              = categoryService;
+        this.writeCoordinatorService      = writeCoordinatorService;
+        this.transactionSuggestionService = transactionSuggestionService;
     }
 
     public void SetWalletComboBox(Wallet wt)
@@ -119,7 +129,6 @@ public class AddIncomeController
     {
         LoadWallets();
         LoadCategories();
-        LoadSuggestions();
 
         // Configure date picker
         UIUtils.SetDatePickerFormat(incomeDatePicker);
@@ -190,12 +199,15 @@ public class AddIncomeController
             LocalTime     currentTime             = LocalTime.now();
             LocalDateTime dateTimeWithCurrentHour = incomeDate.atTime(currentTime);
 
-            walletTransactionService.AddIncome(wallet.GetId(),
-                                               category,
-                                               dateTimeWithCurrentHour,
-                                               incomeValue,
-                                               description,
-                                               status);
+            writeCoordinatorService.Execute(
+                ()
+                    -> walletTransactionService.AddIncome(wallet.GetId(),
+                                                          category,
+                                                          dateTimeWithCurrentHour,
+                                                          incomeValue,
+                                                          description,
+                                                          status),
+                wallet.GetId());
 
             WindowUtils.ShowSuccessDialog("Success",
                                           "Income created",
@@ -324,11 +336,6 @@ public class AddIncomeController
         }
     }
 
-    private void LoadSuggestions()
-    {
-        suggestions = walletTransactionService.GetIncomeSuggestions();
-    }
-
     private void ConfigureListeners()
     {
         // Store the listener in a variable to be able to disable and enable it
@@ -343,20 +350,11 @@ public class AddIncomeController
 
             suggestionListView.getItems().clear();
 
-            // Filter the suggestions list to show only the transactions that
-            // contain similar descriptions to the one typed by the user
-            List<WalletTransaction> filteredSuggestions =
-                suggestions.stream()
-                    .filter(tx
-                            -> tx.GetDescription().toLowerCase().contains(
-                                newValue.toLowerCase()))
-                    .toList();
-
-            if (filteredSuggestions.size() > Constants.SUGGESTIONS_MAX_ITEMS)
-            {
-                filteredSuggestions =
-                    filteredSuggestions.subList(0, Constants.SUGGESTIONS_MAX_ITEMS);
-            }
+            // Show the descriptions with a word that starts with the text typed
+            // by the user, the most used and recent first
+            List<TransactionSuggestion> filteredSuggestions =
+                transactionSuggestionService.GetSuggestions(TransactionType.INCOME,
+                                                            newValue);
 
             suggestionListView.getItems().addAll(filteredSuggestions);
 
@@ -408,7 +406,7 @@ public class AddIncomeController
         //    Amount | Wallet | Category
         suggestionListView.setCellFactory(param -> new ListCell<>() {
             @Override
-            protected void updateItem(WalletTransaction item, boolean empty)
+            protected void updateItem(TransactionSuggestion item, boolean empty)
             {
                 super.updateItem(item, empty);
                 if (empty || item == null)
@@ -423,8 +421,8 @@ public class AddIncomeController
                     Label descriptionLabel = new Label(item.GetDescription());
 
                     String infoString = UIUtils.FormatCurrency(item.GetAmount()) +
-                                        " | " + item.GetWallet().GetName() + " | " +
-                                        item.GetCategory().GetName();
+                                        " | " + GetWalletName(item.GetWalletId()) +
+                                        " | " + GetCategoryName(item.GetCategoryId());
 
                     Label infoLabel = new Label(infoString);
 
@@ -443,7 +441,7 @@ public class AddIncomeController
             (observable, oldValue, newValue) -> {
                 if (newValue != null)
                 {
-                    FillFieldsWithTransaction(newValue);
+                    FillFieldsWithSuggestion(newValue);
                     suggestionsPopup.hide();
                 }
             });
@@ -480,22 +478,39 @@ public class AddIncomeController
         suggestionListView.setPrefHeight(totalHeight);
     }
 
-    private void FillFieldsWithTransaction(WalletTransaction wt)
+    private String GetWalletName(Long walletId)
+    {
+        return wallets.stream()
+            .filter(w -> w.GetId().equals(walletId))
+            .map(Wallet::GetName)
+            .findFirst()
+            .orElse("");
+    }
+
+    private String GetCategoryName(Long categoryId)
+    {
+        return categories.stream()
+            .filter(c -> c.GetId().equals(categoryId))
+            .map(Category::GetName)
+            .findFirst()
+            .orElse("");
+    }
+
+    private void FillFieldsWithSuggestion(TransactionSuggestion suggestion)
     {
-        walletComboBox.setValue(wt.GetWallet().GetName());
+        walletComboBox.setValue(GetWalletName(suggestion.GetWalletId()));
 
         // Deactivate the listener to avoid the event of changing the text of
         // the descriptionField from being triggered. After changing the text,
         // the listener is activated again
         descriptionField.textProperty().removeListener(descriptionFieldListener);
 
-        descriptionField.setText(wt.GetDescription());
+        descriptionField.setText(suggestion.GetDescription());
 
         descriptionField.textProperty().addListener(descriptionFieldListener);
 
-        incomeValueField.setText(wt.GetAmount().toString());
-        statusComboBox.setValue(wt.GetStatus().name());
-        categoryComboBox.setValue(wt.GetCategory().GetName());
+        incomeValueField.setText(suggestion.GetAmount().toString());
+        categoryComboBox.setValue(GetCategoryName(suggestion.GetCategoryId()));
 
         UpdateWalletBalance();
         WalletAfterBalance();
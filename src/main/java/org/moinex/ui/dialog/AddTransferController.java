@@ -20,6 +20,7 @@ import javafx.stage.Stage;
 import org.moinex.entities.Wallet;
 import org.moinex.services.WalletService;
 import org.moinex.services.WalletTransactionService;
+import org.moinex.services.WriteCoordinatorService;
 import org.moinex.util.Constants;
 import org.moinex.util.UIUtils;
 import org.moinex.util.WindowUtils;
@@ -63,6 +64,8 @@ public class AddTransferController
 
     private WalletTransactionService walletTransactionService;
 
+    private WriteCoordinatorService writeCoordinatorService;
+
     private List<Wallet> wallets;
 
     public AddTransferController() { }
@@ -71,14 +74,17 @@ public class AddTransferController
      * Constructor
      * @param walletService WalletService
      * @param walletTransactionService WalletTransactionService
+     * @param writeCoordinatorService WriteCoordinatorService
      * @note This constructor is used for dependency injection
      */
     @Autowired
     public AddTransferController(WalletService            walletService,
-                                 WalletTransactionService walletTransactionService)
+                                 WalletTransactionService walletTransactionService,
+                                 WriteCoordinatorService  writeCoordinatorService)
     {
         this.walletService            = walletService;
         this.walletTransactionService = walletTransactionService;
+        this.writeCoordinatorService  = writeCoordinatorService;
     }
 
     public void SetSenderWalletComboBox(Wallet wt)
@@ -189,11 +195,15 @@ public class AddTransferController
             LocalTime     currentTime             = LocalTime.now();
             LocalDateTime dateTimeWithCurrentHour = transferDate.atTime(currentTime);
 
-            walletTransactionService.TransferMoney(senderWallet.GetId(),
-                                                   receiverWallet.GetId(),
-                                                   dateTimeWithCurrentHour,
-                                                   transferValue,
-                                                   description);
+            writeCoordinatorService.Execute(
+                ()
+                    -> walletTransactionService.TransferMoney(senderWallet.GetId(),
+                                                              receiverWallet.GetId(),
+                                                              dateTimeWithCurrentHour,
+                                                              transferValue,
+                                                              description),
+                senderWallet.GetId(),
+                receiverWallet.GetId());
 
             WindowUtils.ShowSuccessDialog("Success",
                                           "Transfer created",
@@ -7,6 +7,7 @@
 package org.moinex.ui.dialog;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.ComboBox;
@@ -129,7 +130,8 @@ public class AddWalletController
      */
     private void LoadWalletTypes()
     {
-        walletTypes = walletService.GetAllWalletTypes();
+        // Copied, since the cached list is immutable
+        walletTypes = new ArrayList<>(walletService.GetAllWalletTypes());
 
         String nameToMove = "Others";
 
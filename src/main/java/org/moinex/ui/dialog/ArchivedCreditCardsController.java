@@ -7,6 +7,7 @@
 package org.moinex.ui.dialog;
 
 import java.util.List;
+import java.util.Map;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
@@ -35,6 +36,8 @@ public class ArchivedCreditCardsController
 
     private List<CreditCard> archivedCreditCards;
 
+    private Map<Long, Long> debtCountByCreditCard;
+
     private CreditCardService creditCardService;
 
     /**
@@ -167,7 +170,8 @@ public class ArchivedCreditCardsController
      */
     private void LoadArchivedCreditCardsFromDatabase()
     {
-        archivedCreditCards = creditCardService.GetAllArchivedCreditCards();
+        archivedCreditCards   = creditCardService.GetAllArchivedCreditCards();
+        debtCountByCreditCard = creditCardService.GetDebtCountPerCreditCard();
     }
 
     /**
@@ -242,7 +246,7 @@ public class ArchivedCreditCardsController
         numOfDebtsColumn.setCellValueFactory(
             param
             -> new SimpleObjectProperty<>(
-                creditCardService.GetDebtCountByCreditCard(param.getValue().GetId())));
+                debtCountByCreditCard.getOrDefault(param.getValue().GetId(), 0L)));
 
         numOfDebtsColumn.setCellFactory(column -> new TableCell<CreditCard, Long>() {
             @Override
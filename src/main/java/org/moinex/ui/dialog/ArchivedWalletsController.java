@@ -7,6 +7,7 @@
 package org.moinex.ui.dialog;
 
 import java.util.List;
+import java.util.Map;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
@@ -36,6 +37,8 @@ public class ArchivedWalletsController
 
     private List<Wallet> archivedWallets;
 
+    private Map<Long, Long> transactionCountByWallet;
+
     private WalletService walletService;
 
     private WalletTransactionService walletTransactionService;
@@ -171,7 +174,8 @@ public class ArchivedWalletsController
      */
     private void LoadArchivedWalletsFromDatabase()
     {
-        archivedWallets = walletService.GetAllArchivedWallets();
+        archivedWallets          = walletService.GetAllArchivedWallets();
+        transactionCountByWallet = walletService.GetTransactionCountPerWallet();
     }
 
     /**
@@ -245,8 +249,7 @@ public class ArchivedWalletsController
         numOfTransactionsColumn.setCellValueFactory(
             param
             -> new SimpleObjectProperty<>(
-                walletTransactionService.GetTransactionCountByWallet(
-                    param.getValue().GetId())));
+                transactionCountByWallet.getOrDefault(param.getValue().GetId(), 0L)));
 
         numOfTransactionsColumn.setCellFactory(column -> new TableCell<Wallet, Long>() {
             @Override
@@ -6,6 +6,7 @@
 
 package org.moinex.ui.dialog;
 
+import java.util.ArrayList;
 import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.ComboBox;
@@ -151,7 +152,8 @@ public class ChangeWalletTypeController
 
     private void LoadWalletTypes()
     {
-        walletTypes = walletService.GetAllWalletTypes();
+        // Copied, since the cached list is immutable
+        walletTypes = new ArrayList<>(walletService.GetAllWalletTypes());
 
         String nameToMove = "Others";
 
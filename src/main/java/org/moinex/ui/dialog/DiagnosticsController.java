@@ -0,0 +1,236 @@
+/*
+ * Filename: DiagnosticsController.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.ui.dialog;
+
+import java.util.Map;
+import java.util.function.Function;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.moinex.services.FxStallWatchdogService;
+import org.moinex.services.MetricsService;
+import org.moinex.util.OperationStats;
+import org.moinex.util.WindowUtils;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Controller for the Diagnostics dialog
+ */
+@Controller
+public class DiagnosticsController
+{
+    @FXML
+    private Label summaryLabel;
+
+    @FXML
+    private TableView<OperationStats> operationsTableView;
+
+    @FXML
+    private TableView<Map.Entry<String, QueryStatistics>> queriesTableView;
+
+    @FXML
+    private TableView<OperationStats> fxStallsTableView;
+
+    @FXML
+    private Tab fxStallsTab;
+
+    private MetricsService metricsService;
+
+    private FxStallWatchdogService fxStallWatchdogService;
+
+    /**
+     * Constructor
+     * @param metricsService MetricsService
+     * @param fxStallWatchdogService FxStallWatchdogService
+     * @note This constructor is used for dependency injection
+     */
+    public DiagnosticsController(MetricsService         metricsService,
+                                 FxStallWatchdogService fxStallWatchdogService)
+    {
+        this.metricsService         = metricsService;
+        this.fxStallWatchdogService = fxStallWatchdogService;
+    }
+
+    @FXML
+    public void initialize()
+    {
+        ConfigureOperationsTableView(operationsTableView);
+        ConfigureOperationsTableView(fxStallsTableView);
+        ConfigureQueriesTableView();
+
+        fxStallsTab.setText("UI Stalls (> " +
+                            fxStallWatchdogService.GetThresholdMillis() + " ms)");
+
+        UpdateTableViews();
+    }
+
+    @FXML
+    private void handleRefresh()
+    {
+        UpdateTableViews();
+    }
+
+    @FXML
+    private void handleReset()
+    {
+        if (WindowUtils.ShowConfirmationDialog(
+                "Confirmation",
+                "Reset metrics",
+                "Are you sure you want to discard all the metrics collected so far?"))
+        {
+            metricsService.Reset();
+            UpdateTableViews();
+        }
+    }
+
+    @FXML
+    private void handleClose()
+    {
+        Stage stage = (Stage)summaryLabel.getScene().getWindow();
+        stage.close();
+    }
+
+    /**
+     * Updates the table views with the current metrics
+     */
+    private void UpdateTableViews()
+    {
+        operationsTableView.getItems().setAll(metricsService.GetOperationStats());
+        fxStallsTableView.getItems().setAll(metricsService.GetFxStallStats());
+        queriesTableView.getItems().setAll(
+            metricsService.GetRepositoryQueryStats().entrySet());
+
+        Statistics statistics = metricsService.GetHibernateStatistics();
+
+        if (statistics == null || !statistics.isStatisticsEnabled())
+        {
+            summaryLabel.setText("Hibernate statistics are disabled");
+        }
+        else
+        {
+            summaryLabel.setText(
+                String.format("Statements prepared: %d | Entities loaded: %d | "
+                                  + "Transactions: %d | Slowest query: %d ms | "
+                                  + "L2 cache hits/misses: %d/%d | "
+                                  + "Query cache hits/misses: %d/%d",
+                              statistics.getPrepareStatementCount(),
+                              statistics.getEntityLoadCount(),
+                              statistics.getTransactionCount(),
+                              statistics.getQueryExecutionMaxTime(),
+                              statistics.getSecondLevelCacheHitCount(),
+                              statistics.getSecondLevelCacheMissCount(),
+                              statistics.getQueryCacheHitCount(),
+                              statistics.getQueryCacheMissCount()));
+        }
+
+        operationsTableView.refresh();
+        fxStallsTableView.refresh();
+        queriesTableView.refresh();
+    }
+
+    /**
+     * Configures the columns of a table view that shows operation metrics
+     * @param tableView The table view to be configured
+     */
+    private void ConfigureOperationsTableView(TableView<OperationStats> tableView)
+    {
+        TableColumn<OperationStats, String> nameColumn = new TableColumn<>("Name");
+        nameColumn.setCellValueFactory(
+            param -> new SimpleStringProperty(param.getValue().GetName()));
+        nameColumn.setPrefWidth(300);
+
+        tableView.getColumns().add(nameColumn);
+        tableView.getColumns().add(
+            CreateNumberColumn("Calls", OperationStats::GetCount));
+        tableView.getColumns().add(
+            CreateNumberColumn("Avg (ms)", s -> Round(s.GetAverageMillis())));
+        tableView.getColumns().add(
+            CreateNumberColumn("Max (ms)", s -> Round(s.GetMaxMillis())));
+        tableView.getColumns().add(
+            CreateNumberColumn("Total (ms)", s -> Round(s.GetTotalMillis())));
+        tableView.getColumns().add(
+            CreateNumberColumn("Queries", OperationStats::GetQueries));
+        tableView.getColumns().add(CreateNumberColumn("Rows", OperationStats::GetRows));
+        tableView.getColumns().add(
+            CreateNumberColumn("Errors", OperationStats::GetErrors));
+    }
+
+    /**
+     * Configures the columns of the repository queries table view
+     */
+    private void ConfigureQueriesTableView()
+    {
+        TableColumn<Map.Entry<String, QueryStatistics>, String> queryColumn =
+            new TableColumn<>("Query");
+        queryColumn.setCellValueFactory(
+            param -> new SimpleStringProperty(param.getValue().getKey()));
+        queryColumn.setPrefWidth(500);
+
+        queriesTableView.getColumns().add(queryColumn);
+        queriesTableView.getColumns().add(
+            CreateNumberColumn("Calls", e -> e.getValue().getExecutionCount()));
+        queriesTableView.getColumns().add(
+            CreateNumberColumn("Avg (ms)", e -> e.getValue().getExecutionAvgTime()));
+        queriesTableView.getColumns().add(
+            CreateNumberColumn("Max (ms)", e -> e.getValue().getExecutionMaxTime()));
+        queriesTableView.getColumns().add(
+            CreateNumberColumn("Rows", e -> e.getValue().getExecutionRowCount()));
+    }
+
+    /**
+     * Creates a centered numeric column
+     * @param title The title of the column
+     * @param valueGetter The function that extracts the value from a row
+     * @return The column
+     */
+    private <T> TableColumn<T, Number>
+    CreateNumberColumn(String title, Function<T, Number> valueGetter)
+    {
+        TableColumn<T, Number> column = new TableColumn<>(title);
+        column.setCellValueFactory(
+            param -> new SimpleObjectProperty<>(valueGetter.apply(param.getValue())));
+
+        column.setCellFactory(col -> new TableCell<T, Number>() {
+            @Override
+            protected void updateItem(Number item, boolean empty)
+            {
+                super.updateItem(item, empty);
+                if (item == null || empty)
+                {
+                    setText(null);
+                }
+                else
+                {
+                    setText(item.toString());
+                    setAlignment(Pos.CENTER);
+                    setStyle("-fx-padding: 0;");
+                }
+            }
+        });
+
+        return column;
+    }
+
+    /**
+     * Rounds a value to three decimal places
+     * @param value The value to be rounded
+     * @return The rounded value
+     */
+    private Double Round(double value)
+    {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -7,6 +7,7 @@
 package org.moinex.ui.dialog;
 
 import java.util.List;
+import java.util.Map;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
@@ -41,6 +42,8 @@ public class ManageCategoryController
 
     private List<Category> categories;
 
+    private Map<Long, Long> transactionCountByCategory;
+
     private CategoryService categoryService;
 
     public ManageCategoryController(CategoryService categoryService)
@@ -149,7 +152,8 @@ public class ManageCategoryController
      */
     private void LoadCategoryFromDatabase()
     {
-        categories = categoryService.GetCategories();
+        categories                 = categoryService.GetCategories();
+        transactionCountByCategory = categoryService.CountTransactionsPerCategory();
     }
 
     /**
@@ -220,7 +224,8 @@ public class ManageCategoryController
         numOfTransactionsColumn.setCellValueFactory(
             param
             -> new SimpleObjectProperty<>(
-                categoryService.CountTransactions(param.getValue().GetId())));
+                transactionCountByCategory.getOrDefault(param.getValue().GetId(),
+                                                        0L)));
 
         numOfTransactionsColumn.setCellFactory(
             column -> new TableCell<Category, Long>() {
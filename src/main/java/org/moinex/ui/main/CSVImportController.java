@@ -7,48 +7,46 @@
 package org.moinex.ui.main;
 
 import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
-import jakarta.persistence.Column;
 import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.ComboBoxTableCell;
+import javafx.scene.layout.HBox;
 import javafx.stage.FileChooser;
-import org.moinex.entities.CreditCard;
-import org.moinex.entities.Wallet;
-import org.moinex.services.CategoryService;
-import org.moinex.services.CreditCardService;
-import org.moinex.services.WalletService;
-import org.moinex.services.WalletTransactionService;
+import org.moinex.services.CSVImportService;
+import org.moinex.util.CSVImportProgress;
+import org.moinex.util.Constants;
 import org.moinex.util.LoggerConfig;
 import org.moinex.util.MappingRow;
 import org.moinex.util.WindowUtils;
-import org.reflections.Reflections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
 /**
  * Controller for the CSV Import screen
- * TODO: Implement the logic to input data from a CSV file into the database
- * TODO: Add option to default values
+ *
+ * Only the first rows of the file are loaded for the preview. The import itself
+ * is streamed by the CSVImportService in a background task
  */
 @Controller
 public class CSVImportController
@@ -62,33 +60,36 @@ public class CSVImportController
     @FXML
     private TableView<MappingRow> mappingTableView;
 
+    @FXML
+    private HBox defaultValuesBox;
+
     @FXML
     private ComboBox<String> tableSelectorComboBox;
 
-    private CategoryService categoryService;
+    @FXML
+    private Button importButton;
 
-    private CreditCardService creditCardService;
+    @FXML
+    private ProgressBar importProgressBar;
 
-    private WalletService walletService;
+    @FXML
+    private Label importStatusLabel;
 
-    private WalletTransactionService walletTransactionService;
+    private CSVImportService csvImportService;
 
     private ObservableList<String> availableDbColumns;
 
+    private Map<String, ComboBox<String>> defaultValueComboBoxes =
+        new LinkedHashMap<>();
+
     private static final Logger m_logger = LoggerConfig.GetLogger();
 
     public CSVImportController() { }
 
     @Autowired
-    public CSVImportController(CategoryService          categoryService,
-                               CreditCardService        creditCardService,
-                               WalletService            walletService,
-                               WalletTransactionService walletTransactionService)
+    public CSVImportController(CSVImportService csvImportService)
     {
-        this.categoryService          = categoryService;
-        this.creditCardService        = creditCardService;
-        this.walletService            = walletService;
-        this.walletTransactionService = walletTransactionService;
+        this.csvImportService = csvImportService;
     }
 
     @FXML
@@ -99,7 +100,10 @@ public class CSVImportController
 
         // Add a listener to the table selector
         tableSelectorComboBox.getSelectionModel().selectedItemProperty().addListener(
-            (observable, oldValue, newValue) -> { PopulateMappingTable(); });
+            (observable, oldValue, newValue) -> {
+                PopulateMappingTable();
+                PopulateDefaultValues();
+            });
     }
 
     /**
@@ -134,93 +138,125 @@ public class CSVImportController
         }
     }
 
+    /**
+     * Import the selected CSV file into the selected table
+     */
     @FXML
-    private void handleTableSelection()
+    private void handleImport()
     {
         String selectedTable =
             tableSelectorComboBox.getSelectionModel().getSelectedItem();
 
-        if (selectedTable != null)
+        if (selectedCsvField.getText().isEmpty() || selectedTable == null)
         {
-            try
-            {
-                List<String> dbColumns = GetDbColumnsForTable(selectedTable);
+            WindowUtils.ShowErrorDialog("Error",
+                                        "Missing information",
+                                        "Please select a file and a table");
+            return;
+        }
 
-                for (MappingRow row : mappingTableView.getItems())
-                {
-                    row.GetDbColumnOptions().clear();
-                    row.GetDbColumnOptions().addAll(dbColumns);
-                }
+        Map<String, String> columnMapping = new HashMap<>();
 
-                mappingTableView.refresh();
-            }
-            catch (ClassNotFoundException e)
+        for (MappingRow row : mappingTableView.getItems())
+        {
+            if (row.GetSelectedDbColumn() != null &&
+                !row.GetSelectedDbColumn().isEmpty())
             {
-                WindowUtils.ShowErrorDialog(
-                    "Error",
-                    "Error getting columns",
-                    "An error occurred while getting the "
-                        + "columns for the table. Please try again.");
-
-                m_logger.severe(e.getMessage());
+                columnMapping.put(row.GetCsvColumn(), row.GetSelectedDbColumn());
             }
         }
-    }
 
-    /**
-     * Get a list of column names from a JPA entity
-     * @param tableName The name of the table
-     * @return A list of column names
-     */
-    public List<String> GetDbColumnsForTable(String tableName)
-        throws ClassNotFoundException
-    {
-        Class<?> entityClass = Class.forName("org.moinex.entities." + tableName);
+        if (columnMapping.isEmpty())
+        {
+            WindowUtils.ShowErrorDialog("Error",
+                                        "No columns mapped",
+                                        "Please map at least one column");
+            return;
+        }
 
-        return GetDbColumnsForTable(entityClass);
-    }
+        Map<String, String> defaultValues = new HashMap<>();
 
-    /**
-     * Get a list of column names from a JPA entity
-     * @param entityClass The entity class
-     * @return A list of column names
-     */
-    public List<String> GetDbColumnsForTable(Class<?> entityClass)
-    {
-        List<String> columns = new ArrayList<>();
+        defaultValueComboBoxes.forEach((column, comboBox) -> {
+            if (comboBox.getValue() != null)
+            {
+                defaultValues.put(column, comboBox.getValue());
+            }
+        });
 
-        Field[] fields = entityClass.getDeclaredFields();
+        File csvFile = new File(selectedCsvField.getText());
 
-        for (Field field : fields)
-        {
-            Column col = field.getAnnotation(Column.class);
-            if (col != null)
+        Task<CSVImportProgress> importTask = new Task<>() {
+            @Override
+            protected CSVImportProgress call()
             {
-                // if the anotation @Column has a name defined, use it
-                // else, use the field name
-                if (!col.name().isEmpty())
-                {
-                    columns.add(col.name());
-                }
-                else
-                {
-                    columns.add(field.getName());
-                }
+                return csvImportService.Import(csvFile.toPath(),
+                                               selectedTable,
+                                               columnMapping,
+                                               defaultValues,
+                                               progress -> {
+                                                   updateProgress(
+                                                       progress.GetBytesRead(),
+                                                       progress.GetTotalBytes());
+                                                   updateMessage(
+                                                       FormatProgress(progress));
+                                               });
             }
-        }
-        return columns;
+        };
+
+        importProgressBar.progressProperty().bind(importTask.progressProperty());
+        importStatusLabel.textProperty().bind(importTask.messageProperty());
+        importButton.setDisable(true);
+
+        importTask.setOnSucceeded(event -> {
+            FinishImport();
+            CSVImportProgress result = importTask.getValue();
+            importStatusLabel.setText(FormatProgress(result));
+
+            String message = result.GetRowsImported() + " rows imported, " +
+                             result.GetRowsRejected() + " rows rejected, " +
+                             result.GetRowsDuplicated() +
+                             " rows already registered skipped";
+
+            if (!result.GetErrors().isEmpty())
+            {
+                message += "\n\n" + String.join("\n", result.GetErrors());
+            }
+
+            WindowUtils.ShowSuccessDialog("Success", "Import finished", message);
+        });
+
+        importTask.setOnFailed(event -> {
+            FinishImport();
+            importStatusLabel.setText("");
+
+            WindowUtils.ShowErrorDialog("Error",
+                                        "Error importing file",
+                                        importTask.getException().getMessage());
+
+            m_logger.severe(importTask.getException().getMessage());
+        });
+
+        Thread thread = new Thread(importTask, "moinex-csv-import");
+        thread.setDaemon(true);
+        thread.start();
     }
 
+    /**
+     * Load the header and the first rows of a CSV file into the preview table
+     * @param csvFile The CSV file
+     * @note Only Constants.CSV_PREVIEW_ROWS rows are read, whatever the file size
+     */
     private void LoadCsvIntoTableView(File csvFile)
     {
         csvPreviewTableView.getColumns().clear();
         csvPreviewTableView.getItems().clear();
 
-        try
+        try (CSVReader reader = new CSVReader(
+                 Files.newBufferedReader(csvFile.toPath(), StandardCharsets.UTF_8)))
         {
-            List<String> lines = Files.readAllLines(csvFile.toPath());
+            String[] headers = reader.readNext();
 
-            if (lines.isEmpty())
+            if (headers == null)
             {
                 WindowUtils.ShowInformationDialog(
                     "Info",
@@ -229,15 +265,12 @@ public class CSVImportController
                 return;
             }
 
-            String   headerLine = lines.get(0);
-            String[] headers    = headerLine.split(",");
-
             // Add the columns to the TableView
             for (int i = 0; i < headers.length; i++)
             {
                 final int                                   colIndex = i;
                 TableColumn<ObservableList<String>, String> column =
-                    new TableColumn<>(headers[i]);
+                    new TableColumn<>(CSVImportService.StripHeader(headers[i]));
 
                 column.setCellValueFactory(cellData -> {
                     // if column not exists for this row
@@ -256,11 +289,12 @@ public class CSVImportController
                 csvPreviewTableView.getColumns().add(column);
             }
 
-            // Add the data to the TableView
-            for (int i = 1; i < lines.size(); i++)
-            {
-                String[] row = lines.get(i).split(",");
+            // Add the first rows to the TableView
+            String[] row;
 
+            while (csvPreviewTableView.getItems().size() < Constants.CSV_PREVIEW_ROWS &&
+                   (row = reader.readNext()) != null)
+            {
                 ObservableList<String> rowData = FXCollections.observableArrayList(row);
 
                 csvPreviewTableView.getItems().add(rowData);
@@ -294,247 +328,82 @@ public class CSVImportController
             return;
         }
 
-        try
-        {
-
-            List<String> dbColumns = GetDbColumnsForTable(selectedTable);
-
-            List<String> csvColumns = csvPreviewTableView.getColumns()
-                                          .stream()
-                                          .map(TableColumn::getText)
-                                          .collect(Collectors.toList());
-
-            for (String csvColumn : csvColumns)
-            {
-                MappingRow row = new MappingRow(csvColumn, dbColumns);
-                mappingTableView.getItems().add(row);
-            }
-
-            availableDbColumns = FXCollections.observableArrayList(dbColumns);
-            // Remove ID column and sort the list
-            availableDbColumns.remove("id");
-            FXCollections.sort(availableDbColumns);
-        }
-        catch (ClassNotFoundException e)
-        {
-            WindowUtils.ShowErrorDialog("Error",
-                                        "Error getting columns",
-                                        "An error occurred while getting the "
-                                            +
-                                            "columns for the table. Please try again.");
-
-            m_logger.severe(e.getMessage());
-        }
-    }
-
-    public void PopulateSelectTableComboBox()
-    {
-        List<String> entityNames = new ArrayList<>();
-
-        // Scan all classes in the package entities
-        Reflections reflections = new Reflections("org.moinex.entities");
+        List<String> dbColumns = csvImportService.GetImportableColumns(selectedTable);
 
-        Set<Class<?>> entities =
-            reflections.getTypesAnnotatedWith(jakarta.persistence.Entity.class);
+        List<String> csvColumns = csvPreviewTableView.getColumns()
+                                      .stream()
+                                      .map(TableColumn::getText)
+                                      .collect(Collectors.toList());
 
-        // Get the table names
-        for (Class<?> entity : entities)
+        for (String csvColumn : csvColumns)
         {
-            entityNames.add(entity.getSimpleName());
+            MappingRow row = new MappingRow(csvColumn, dbColumns);
+            mappingTableView.getItems().add(row);
         }
 
-        tableSelectorComboBox.getItems().setAll(entityNames);
+        availableDbColumns = FXCollections.observableArrayList(dbColumns);
+        FXCollections.sort(availableDbColumns);
     }
 
     /**
-     * reads a CSV file
-     * @param csvFilePath path to the CSV file
-     * @return a list of string arrays, where each array represents a row in the CSV
-     *     file
-     * @throws IOException if the file is not found or cannot be read
-     * @throws CsvException if the CSV file is not well formatted
+     * Show a selector for the default value of each column of the selected table
+     * that references another table, such as the wallet of a transaction
      */
-    public List<String[]> ReadCSV(String csvFilePath) throws IOException, CsvException
+    private void PopulateDefaultValues()
     {
-        try (CSVReader reader = new CSVReader(new FileReader(csvFilePath)))
-        {
-            return reader.readAll();
-        }
-    }
+        defaultValuesBox.getChildren().clear();
+        defaultValueComboBoxes.clear();
 
-    /**
-     * Maps and inserts categories into the database
-     * @param csvData the data from the CSV file
-     * @param columnMapping a map that maps the CSV columns to the database columns
-     */
-    public void MapAndInsertCategory(List<String[]>      csvData,
-                                     Map<String, String> columnMapping)
-    {
-        String[]       csvHeaders = csvData.get(0);                     // CSV Headers
-        List<String[]> dataRows   = csvData.subList(1, csvData.size()); // Data
+        String selectedTable =
+            tableSelectorComboBox.getSelectionModel().getSelectedItem();
 
-        for (String[] row : dataRows)
+        if (selectedTable == null)
         {
-            for (Map.Entry<String, String> entry : columnMapping.entrySet())
-            {
-                String csvColumn = entry.getKey();
-                String dbColumn  = entry.getValue();
-
-                if (dbColumn.equals("name"))
-                {
-                    try
-                    {
-                        categoryService.AddCategory(
-                            GetValueForColumn(csvHeaders, row, csvColumn));
-                    }
-                    catch (IllegalArgumentException e)
-                    {
-                        m_logger.severe(e.getMessage());
-                    }
-                    catch (RuntimeException e)
-                    {
-                        m_logger.warning(e.getMessage());
-                    }
-                }
-            }
+            return;
         }
-    }
-
-    /**
-     * Maps and inserts wallet into the database
-     * @param csvData the data from the CSV file
-     * @param columnMapping a map that maps the CSV columns to the database columns
-     */
-    public void MapAndInsertWallet(List<String[]>      csvData,
-                                   Map<String, String> columnMapping)
-    {
-        String[]       csvHeaders = csvData.get(0);                     // CSV Headers
-        List<String[]> dataRows   = csvData.subList(1, csvData.size()); // Data
 
-        for (String[] row : dataRows)
-        {
-            Wallet wt = new Wallet();
+        csvImportService.GetDefaultValueOptions(selectedTable)
+            .forEach((column, names) -> {
+                ComboBox<String> comboBox =
+                    new ComboBox<>(FXCollections.observableArrayList(names));
 
-            for (Map.Entry<String, String> entry : columnMapping.entrySet())
-            {
-                String csvColumn = entry.getKey();
-                String dbColumn  = entry.getValue();
+                comboBox.setPromptText("Default " + column);
 
-                try
-                {
-                    if (dbColumn.equals("name"))
-                    {
-                        wt.SetName(GetValueForColumn(csvHeaders, row, csvColumn));
-                    }
-                    else if (dbColumn.equals("balance"))
-                    {
-                        wt.SetBalance(new BigDecimal(
-                            GetValueForColumn(csvHeaders, row, csvColumn)));
-                    }
-                }
-                catch (IllegalArgumentException e)
-                {
-                    m_logger.severe(e.getMessage());
-                }
-                catch (RuntimeException e)
-                {
-                    m_logger.warning(e.getMessage());
-                }
-            }
+                defaultValuesBox.getChildren().add(comboBox);
+                defaultValueComboBoxes.put(column, comboBox);
+            });
+    }
 
-            walletService.CreateWallet(wt.GetName(), wt.GetBalance());
-        }
+    public void PopulateSelectTableComboBox()
+    {
+        tableSelectorComboBox.getItems().setAll(
+            csvImportService.GetImportableTables());
     }
 
     /**
-     * Maps and inserts credit card into the database
-     * @param csvData the data from the CSV file
-     * @param columnMapping a map that maps the CSV columns to the database columns
+     * Restore the import controls after the import task ends
      */
-    public void MapAndInsertCreditCard(List<String[]>      csvData,
-                                       Map<String, String> columnMapping)
+    private void FinishImport()
     {
-        String[]       csvHeaders = csvData.get(0);                     // CSV Headers
-        List<String[]> dataRows   = csvData.subList(1, csvData.size()); // Data
-
-        for (String[] row : dataRows)
-        {
-            CreditCard crc = new CreditCard();
-
-            for (Map.Entry<String, String> entry : columnMapping.entrySet())
-            {
-                String csvColumn = entry.getKey();
-                String dbColumn  = entry.getValue();
-
-                try
-                {
-                    if (dbColumn.equals("name"))
-                    {
-                        crc.SetName(GetValueForColumn(csvHeaders, row, csvColumn));
-                    }
-                    else if (dbColumn.equals("max_debt"))
-                    {
-                        crc.SetMaxDebt(new BigDecimal(
-                            GetValueForColumn(csvHeaders, row, csvColumn)));
-                    }
-                    else if (dbColumn.equals("closing_day"))
-                    {
-                        crc.SetClosingDay(Integer.parseInt(
-                            GetValueForColumn(csvHeaders, row, csvColumn)));
-                    }
-                    else if (dbColumn.equals("billing_due_day"))
-                    {
-                        crc.SetBillingDueDay(Integer.parseInt(
-                            GetValueForColumn(csvHeaders, row, csvColumn)));
-                    }
-                    else if (dbColumn.equals("last_four_digits"))
-                    {
-                        crc.SetLastFourDigits(
-                            GetValueForColumn(csvHeaders, row, csvColumn));
-                    }
-                }
-                catch (NumberFormatException e)
-                {
-                    m_logger.severe(e.getMessage());
-                }
-                catch (IllegalArgumentException e)
-                {
-                    m_logger.severe(e.getMessage());
-                }
-                catch (RuntimeException e)
-                {
-                    m_logger.warning(e.getMessage());
-                }
-            }
-
-            creditCardService.CreateCreditCard(crc.GetName(),
-                                               crc.GetBillingDueDay(),
-                                               crc.GetClosingDay(),
-                                               crc.GetMaxDebt(),
-                                               crc.GetLastFourDigits(),
-                                               0L); // default operator id
-        }
+        importProgressBar.progressProperty().unbind();
+        importStatusLabel.textProperty().unbind();
+        importButton.setDisable(false);
     }
 
     /**
-     * Gets the value for a given column
-     * @param csvHeaders the CSV headers
-     * @param row the row from the CSV file
-     * @param csvColumn the column to get the value from
-     * @return the value for the given column
+     * Format the progress of an import to be shown in the status label
+     * @param progress The progress of the import
+     * @return The formatted progress
      */
-    private String
-    GetValueForColumn(String[] csvHeaders, String[] row, String csvColumn)
+    private String FormatProgress(CSVImportProgress progress)
     {
-        for (int i = 0; i < csvHeaders.length; i++)
-        {
-            if (csvHeaders[i].equals(csvColumn))
-            {
-                return row[i];
-            }
-        }
-
-        throw new IllegalArgumentException("Column " + csvColumn + " not found");
+        return String.format(
+            "%d rows read, %d imported, %d rejected, %d skipped (%.0f%%)",
+            progress.GetRowsRead(),
+            progress.GetRowsImported(),
+            progress.GetRowsRejected(),
+            progress.GetRowsDuplicated(),
+            progress.GetFraction() * 100);
     }
 
     private void ConfigureMappingTable()
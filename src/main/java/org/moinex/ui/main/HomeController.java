@@ -8,6 +8,7 @@ package org.moinex.ui.main;
 
 import com.jfoenix.controls.JFXButton;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
@@ -42,12 +43,14 @@ import org.moinex.entities.Wallet;
 import org.moinex.entities.WalletTransaction;
 import org.moinex.services.CreditCardService;
 import org.moinex.services.RecurringTransactionService;
+import org.moinex.services.TransactionAnalyticsService;
 import org.moinex.services.WalletService;
 import org.moinex.services.WalletTransactionService;
 import org.moinex.ui.common.ResumePaneController;
 import org.moinex.util.Animation;
 import org.moinex.util.Constants;
 import org.moinex.util.LoggerConfig;
+import org.moinex.util.TransactionColumns;
 import org.moinex.util.TransactionType;
 import org.moinex.util.UIUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -115,6 +118,8 @@ public class HomeController
 
     private WalletTransactionService walletTransactionService;
 
+    private TransactionAnalyticsService transactionAnalyticsService;
+
     private RecurringTransactionService recurringTransactionService;
 
     private CreditCardService creditCardService;
@@ -129,6 +134,7 @@ public class HomeController
      * Constructor for injecting the wallet and credit card services
      * @param walletService The wallet service
      * @param walletTransactionService The wallet transaction service
+     * @param transactionAnalyticsService The transaction analytics service
      * @param recurringTransactionService The recurring transaction service
      * @param creditCardService The credit card service
      * @note This constructor is used for dependency injection
@@ -136,11 +142,13 @@ public class HomeController
     @Autowired
     public HomeController(WalletService               walletService,
                           WalletTransactionService    walletTransactionService,
+                          TransactionAnalyticsService transactionAnalyticsService,
                           RecurringTransactionService recurringTransactionService,
                           CreditCardService           creditCardService)
     {
         this.walletService               = walletService;
         this.walletTransactionService    = walletTransactionService;
+        this.transactionAnalyticsService = transactionAnalyticsService;
         this.recurringTransactionService = recurringTransactionService;
         this.creditCardService           = creditCardService;
     }
@@ -430,6 +438,25 @@ public class HomeController
         Integer totalMonths =
             Constants.XYBAR_CHART_MONTHS + Constants.XYBAR_CHART_FUTURE_MONTHS;
 
+        LocalDate firstDay =
+            YearMonth.from(maxMonth.minusMonths(totalMonths - 1)).atDay(1);
+        LocalDate lastDay = YearMonth.from(maxMonth).atEndOfMonth();
+
+        // Totals of the stored transactions of each month
+        Map<YearMonth, Long> storedExpenses =
+            transactionAnalyticsService.QueryNonArchived(
+                q
+                -> q.Between(firstDay, lastDay)
+                       .OfType(TransactionType.EXPENSE)
+                       .SumByMonth());
+
+        Map<YearMonth, Long> storedIncomes =
+            transactionAnalyticsService.QueryNonArchived(
+                q
+                -> q.Between(firstDay, lastDay)
+                       .OfType(TransactionType.INCOME)
+                       .SumByMonth());
+
         // Collect data for the last months and the future months
         for (Integer i = 0; i < totalMonths; i++)
         {
@@ -438,21 +465,15 @@ public class HomeController
             Integer       month = date.getMonthValue();
             Integer       year  = date.getYear();
 
-            // Get transactions
-            List<WalletTransaction> transactions =
-                walletTransactionService.GetNonArchivedTransactionsByMonth(month, year);
+            YearMonth yearMonth = YearMonth.of(year, month);
 
-            // Get future transactions and merge with the current transactions
+            // Get future transactions, which are added to the stored ones
             List<WalletTransaction> futureTransactions =
-                recurringTransactionService.GetFutureTransactionsByMonth(
-                    YearMonth.of(year, month),
-                    YearMonth.of(year, month));
-
-            transactions.addAll(futureTransactions);
+                recurringTransactionService.GetFutureTransactionsByMonth(yearMonth,
+                                                                         yearMonth);
 
-            logger.info("Found " + transactions.size() + " (" +
-                        futureTransactions.size() + " future) transactions for " +
-                        month + "/" + year);
+            logger.info("Found " + futureTransactions.size() +
+                        " future transactions for " + month + "/" + year);
 
             BigDecimal crcPaidPayments =
                 creditCardService.GetPaidPaymentsByMonth(month, year);
@@ -462,20 +483,24 @@ public class HomeController
 
             // Calculate total expenses for the month
             BigDecimal totalExpenses =
-                transactions.stream()
+                futureTransactions.stream()
                     .filter(t -> t.GetType().equals(TransactionType.EXPENSE))
                     .map(WalletTransaction::GetAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .reduce(TransactionColumns.ToAmount(
+                                storedExpenses.getOrDefault(yearMonth, 0L)),
+                            BigDecimal::add);
 
             // Consider credit card payments as expenses
             totalExpenses = totalExpenses.add(crcPaidPayments).add(crcPendingPayments);
 
             // Calculate total incomes for the month
             BigDecimal totalIncomes =
-                transactions.stream()
+                futureTransactions.stream()
                     .filter(t -> t.GetType().equals(TransactionType.INCOME))
                     .map(WalletTransaction::GetAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .reduce(TransactionColumns.ToAmount(
+                                storedIncomes.getOrDefault(yearMonth, 0L)),
+                            BigDecimal::add);
 
             monthlyExpenses.put(date.format(formatter), totalExpenses.doubleValue());
             monthlyIncomes.put(date.format(formatter), totalIncomes.doubleValue());
@@ -18,6 +18,7 @@ import javafx.scene.control.ContentDisplay;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
+import org.moinex.services.MetricsService;
 import org.moinex.util.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -68,6 +69,9 @@ public class MainController
     @Autowired
     private ConfigurableApplicationContext springContext;
 
+    @Autowired
+    private MetricsService metricsService;
+
     private boolean  isMenuExpanded = false;
     private Button[] sidebarButtons;
 
@@ -139,6 +143,9 @@ public class MainController
      */
     public void LoadContent(String fxmlFile, String styleSheet)
     {
+        long    start  = System.nanoTime();
+        boolean failed = false;
+
         try
         {
             FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlFile));
@@ -161,8 +168,19 @@ public class MainController
         }
         catch (IOException e)
         {
+            failed = true;
             e.printStackTrace();
         }
+        finally
+        {
+            String screen = fxmlFile.substring(fxmlFile.lastIndexOf('/') + 1);
+
+            metricsService.Record("screen." + screen,
+                                  System.nanoTime() - start,
+                                  0,
+                                  0,
+                                  failed);
+        }
     }
 
     private void UpdateSelectedButton(Button selectedButton)
@@ -0,0 +1,356 @@
+/*
+ * Filename: SettingsController.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.ui.main;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.logging.Logger;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.stage.DirectoryChooser;
+import org.moinex.services.BackupService;
+import org.moinex.services.DataExportService;
+import org.moinex.ui.dialog.DiagnosticsController;
+import org.moinex.util.BackupResult;
+import org.moinex.util.BackupSnapshot;
+import org.moinex.util.Constants;
+import org.moinex.util.DataExportProgress;
+import org.moinex.util.ExportFormat;
+import org.moinex.util.LoggerConfig;
+import org.moinex.util.UIUtils;
+import org.moinex.util.WindowUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Controller for the settings view
+ */
+@Controller
+public class SettingsController
+{
+    @FXML
+    private ComboBox<ExportFormat> exportFormatComboBox;
+
+    @FXML
+    private CheckBox exportGzipCheckBox;
+
+    @FXML
+    private DatePicker exportFromDatePicker;
+
+    @FXML
+    private DatePicker exportToDatePicker;
+
+    @FXML
+    private Button exportButton;
+
+    @FXML
+    private ProgressBar exportProgressBar;
+
+    @FXML
+    private Label exportStatusLabel;
+
+    @FXML
+    private Button backupButton;
+
+    @FXML
+    private ComboBox<BackupSnapshot> backupSnapshotComboBox;
+
+    @FXML
+    private Button restoreButton;
+
+    @FXML
+    private Label backupStatusLabel;
+
+    @Autowired
+    private ConfigurableApplicationContext springContext;
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private BackupService backupService;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    public SettingsController() { }
+
+    @FXML
+    public void initialize()
+    {
+        exportFormatComboBox.getItems().setAll(ExportFormat.values());
+        exportFormatComboBox.setValue(ExportFormat.CSV);
+
+        UIUtils.SetDatePickerFormat(exportFromDatePicker);
+        UIUtils.SetDatePickerFormat(exportToDatePicker);
+
+        LoadBackupSnapshots();
+        UpdateBackupStatus();
+    }
+
+    @FXML
+    private void handleOpenDiagnostics()
+    {
+        WindowUtils.OpenModalWindow(Constants.DIAGNOSTICS_FXML,
+                                    "Diagnostics",
+                                    springContext,
+                                    (DiagnosticsController controller) -> {});
+    }
+
+    /**
+     * Export the database to a directory chosen by the user
+     */
+    @FXML
+    private void handleExport()
+    {
+        ExportFormat format = exportFormatComboBox.getValue();
+        boolean      gzip   = exportGzipCheckBox.isSelected();
+        LocalDate    from   = exportFromDatePicker.getValue();
+        LocalDate    to     = exportToDatePicker.getValue();
+
+        if (from != null && to != null && from.isAfter(to))
+        {
+            WindowUtils.ShowErrorDialog("Error",
+                                        "Invalid date range",
+                                        "The start date must be before the end date");
+            return;
+        }
+
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Select Export Directory");
+
+        File outputDir = directoryChooser.showDialog(null);
+
+        if (outputDir == null)
+        {
+            return;
+        }
+
+        Task<DataExportProgress> exportTask = new Task<>() {
+            @Override
+            protected DataExportProgress call()
+            {
+                return dataExportService.Export(outputDir.toPath(),
+                                                format,
+                                                gzip,
+                                                from,
+                                                to,
+                                                progress -> {
+                                                    updateProgress(
+                                                        progress.GetFraction(),
+                                                        1.0);
+                                                    updateMessage(
+                                                        FormatProgress(progress));
+                                                });
+            }
+        };
+
+        exportProgressBar.progressProperty().bind(exportTask.progressProperty());
+        exportStatusLabel.textProperty().bind(exportTask.messageProperty());
+        exportButton.setDisable(true);
+
+        exportTask.setOnSucceeded(event -> {
+            FinishExport();
+            DataExportProgress result = exportTask.getValue();
+            exportStatusLabel.setText(FormatProgress(result));
+
+            WindowUtils.ShowSuccessDialog("Success",
+                                          "Export finished",
+                                          result.GetTablesExported() +
+                                              " tables and " +
+                                              result.GetRowsExported() +
+                                              " rows exported to " + outputDir);
+        });
+
+        exportTask.setOnFailed(event -> {
+            FinishExport();
+            exportStatusLabel.setText("");
+
+            WindowUtils.ShowErrorDialog("Error",
+                                        "Error exporting data",
+                                        exportTask.getException().getMessage());
+
+            m_logger.severe(exportTask.getException().getMessage());
+        });
+
+        Thread thread = new Thread(exportTask, "moinex-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Take a backup of the database in the background
+     */
+    @FXML
+    private void handleBackup()
+    {
+        Task<BackupResult> backupTask = new Task<>() {
+            @Override
+            protected BackupResult call()
+            {
+                return backupService.Backup();
+            }
+        };
+
+        RunBackupTask(backupTask, "moinex-backup-now", this::UpdateBackupStatus);
+    }
+
+    /**
+     * Restore the selected snapshot in the background
+     */
+    @FXML
+    private void handleRestore()
+    {
+        BackupSnapshot snapshot = backupSnapshotComboBox.getValue();
+
+        if (snapshot == null)
+        {
+            WindowUtils.ShowErrorDialog("Error",
+                                        "No snapshot selected",
+                                        "Select the snapshot to restore");
+            return;
+        }
+
+        if (!WindowUtils.ShowConfirmationDialog(
+                "Confirmation",
+                "Restore the snapshot of " + snapshot + "?",
+                "The current data will be replaced. A backup of it is taken "
+                    + "first, so the restore can be undone"))
+        {
+            return;
+        }
+
+        Task<Void> restoreTask = new Task<>() {
+            @Override
+            protected Void call()
+            {
+                backupService.Restore(snapshot);
+                return null;
+            }
+        };
+
+        RunBackupTask(restoreTask, "moinex-restore", () -> {
+            UpdateBackupStatus();
+
+            WindowUtils.ShowSuccessDialog("Success",
+                                          "Backup restored",
+                                          "The restored data is shown as the "
+                                              + "screens are opened again");
+        });
+    }
+
+    /**
+     * Run a backup or restore task on a background thread, disabling the backup
+     * controls while it runs
+     * @param task The task
+     * @param threadName The name of the thread
+     * @param onSucceeded Runs on the JavaFX thread if the task succeeds
+     */
+    private void RunBackupTask(Task<?> task, String threadName, Runnable onSucceeded)
+    {
+        backupButton.setDisable(true);
+        restoreButton.setDisable(true);
+        backupStatusLabel.setText("Running...");
+
+        task.setOnSucceeded(event -> {
+            FinishBackupTask();
+            onSucceeded.run();
+        });
+
+        task.setOnFailed(event -> {
+            FinishBackupTask();
+            UpdateBackupStatus();
+
+            WindowUtils.ShowErrorDialog("Error",
+                                        "Error running the backup",
+                                        task.getException().getMessage());
+
+            m_logger.severe(task.getException().getMessage());
+        });
+
+        Thread thread = new Thread(task, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void FinishBackupTask()
+    {
+        backupButton.setDisable(false);
+        restoreButton.setDisable(false);
+        LoadBackupSnapshots();
+    }
+
+    private void LoadBackupSnapshots()
+    {
+        try
+        {
+            backupSnapshotComboBox.getItems().setAll(backupService.GetSnapshots());
+        }
+        catch (RuntimeException e)
+        {
+            m_logger.warning(e.getMessage());
+        }
+    }
+
+    /**
+     * Show the size and throughput of the last backup
+     */
+    private void UpdateBackupStatus()
+    {
+        BackupResult result = backupService.GetLastResult();
+
+        if (result == null)
+        {
+            backupStatusLabel.setText("No backup taken since the application started");
+            return;
+        }
+
+        backupStatusLabel.setText(
+            String.format("Last backup: %s, %d of %d pages written, %.1f MB/s",
+                          result.GetSnapshot() == null ? "no changes"
+                                                       : result.GetSnapshot(),
+                          result.GetPagesWritten(),
+                          result.GetPagesCopied(),
+                          result.GetThroughput() / (1024 * 1024)));
+    }
+
+    /**
+     * Restore the export controls after the export task ends
+     */
+    private void FinishExport()
+    {
+        exportProgressBar.progressProperty().unbind();
+        exportStatusLabel.textProperty().unbind();
+        exportButton.setDisable(false);
+    }
+
+    /**
+     * Format the progress of an export to be shown in the status label
+     * @param progress The progress of the export
+     * @return The formatted progress
+     */
+    private String FormatProgress(DataExportProgress progress)
+    {
+        String table = progress.GetCurrentTable() == null
+                           ? ""
+                           : progress.GetCurrentTable() + ": ";
+
+        return String.format("%s%d of %d rows, %d of %d tables (%.0f%%)",
+                             table,
+                             progress.GetRowsExported(),
+                             progress.GetTotalRows(),
+                             progress.GetTablesExported(),
+                             progress.GetTableCount(),
+                             progress.GetFraction() * 100);
+    }
+}
@@ -32,6 +32,7 @@ import javafx.scene.chart.StackedBarChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -43,6 +44,7 @@ import org.moinex.entities.CreditCardPayment;
 import org.moinex.entities.WalletTransaction;
 import org.moinex.services.CategoryService;
 import org.moinex.services.CreditCardService;
+import org.moinex.services.TransactionAnalyticsService;
 import org.moinex.services.WalletTransactionService;
 import org.moinex.ui.common.ResumePaneController;
 import org.moinex.ui.dialog.AddExpenseController;
@@ -53,6 +55,7 @@ import org.moinex.ui.dialog.RecurringTransactionController;
 import org.moinex.util.Animation;
 import org.moinex.util.Constants;
 import org.moinex.util.LoggerConfig;
+import org.moinex.util.TransactionColumns;
 import org.moinex.util.TransactionStatus;
 import org.moinex.util.TransactionType;
 import org.moinex.util.UIUtils;
@@ -103,6 +106,9 @@ public class TransactionController
     @FXML
     private TextField transactionsSearchField;
 
+    @FXML
+    private Label transactionsRangeTotalsLabel;
+
     @Autowired
     private ConfigurableApplicationContext springContext;
 
@@ -110,6 +116,8 @@ public class TransactionController
 
     private WalletTransactionService walletTransactionService;
 
+    private TransactionAnalyticsService transactionAnalyticsService;
+
     private CreditCardService creditCardService;
 
     private CategoryService categoryService;
@@ -117,18 +125,22 @@ public class TransactionController
     /**
      * Constructor
      * @param walletTransactionService WalletTransactionService
+     * @param transactionAnalyticsService TransactionAnalyticsService
      * @param creditCardService CreditCardService
      * @param categoryService CategoryService
      * @note This constructor is used for dependency injection
      */
     @Autowired
-    public TransactionController(WalletTransactionService walletTransactionService,
-                                 CreditCardService        creditCardService,
-                                 CategoryService          categoryService)
+    public TransactionController(
+        WalletTransactionService    walletTransactionService,
+        TransactionAnalyticsService transactionAnalyticsService,
+        CreditCardService           creditCardService,
+        CategoryService             categoryService)
     {
-        this.walletTransactionService = walletTransactionService;
-        this.creditCardService        = creditCardService;
-        this.categoryService          = categoryService;
+        this.walletTransactionService    = walletTransactionService;
+        this.transactionAnalyticsService = transactionAnalyticsService;
+        this.creditCardService           = creditCardService;
+        this.categoryService             = categoryService;
     }
 
     @FXML
@@ -187,6 +199,13 @@ public class TransactionController
         transactionsEndDatePicker.setOnAction(
             event -> { UpdateTransactionTableView(); });
 
+        // The totals follow the pickers as the dates change, before the table
+        transactionsStartDatePicker.valueProperty().addListener(
+            (observable, oldValue, newValue) -> { UpdateRangeTotals(); });
+
+        transactionsEndDatePicker.valueProperty().addListener(
+            (observable, oldValue, newValue) -> { UpdateRangeTotals(); });
+
         // Add listener to the search field
         transactionsSearchField.textProperty().addListener(
             (observable, oldValue, newValue) -> { UpdateTransactionTableView(); });
@@ -423,6 +442,36 @@ public class TransactionController
         }
 
         transactionsTableView.refresh();
+
+        UpdateRangeTotals();
+    }
+
+    /**
+     * Update the totals of the period selected in the date pickers
+     * @note The totals are read from the range index of the analytics store, so
+     *   this is cheap enough to run on every change of the pickers
+     */
+    private void UpdateRangeTotals()
+    {
+        LocalDate startDate = transactionsStartDatePicker.getValue();
+        LocalDate endDate   = transactionsEndDatePicker.getValue();
+
+        if (startDate == null || endDate == null || startDate.isAfter(endDate))
+        {
+            transactionsRangeTotalsLabel.setText("");
+            return;
+        }
+
+        long[] totals = transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(startDate, endDate).SumByType());
+
+        transactionsRangeTotalsLabel.setText(
+            "Income: " +
+            UIUtils.FormatCurrency(TransactionColumns.ToAmount(
+                totals[TransactionType.INCOME.ordinal()])) +
+            "   Expenses: " +
+            UIUtils.FormatCurrency(TransactionColumns.ToAmount(
+                totals[TransactionType.EXPENSE.ordinal()])));
     }
 
     /**
@@ -463,30 +512,30 @@ public class TransactionController
                 currentDate.minusMonths(Constants.XYBAR_CHART_MONTHS - i - 1);
             YearMonth yearMonth = YearMonth.of(date.getYear(), date.getMonthValue());
 
-            // Get confirmed transactions for the month
-            List<WalletTransaction> transactions =
-                walletTransactionService.GetNonArchivedConfirmedTransactionsByMonth(
-                    date.getMonthValue(),
-                    date.getYear());
+            // Get the total of the confirmed transactions of each category
+            Map<Long, Long> categoryTotals =
+                transactionAnalyticsService.QueryNonArchived(
+                    q
+                    -> q.In(yearMonth)
+                           .OfType(selectedTransactionType)
+                           .WithStatus(TransactionStatus.CONFIRMED)
+                           .SumByCategory());
 
             // Get paid credit card payments for the month
             // Only get paid payments if the selected transaction type is expense
             // Otherwise, create an empty list
             List<CreditCardPayment> creditCardPayments =
                 selectedTransactionType.equals(TransactionType.EXPENSE)
-                    ? creditCardService.GetAllPaidPaymentsByMonth(date.getMonthValue(),
-                                                                  date.getYear())
+                    ? creditCardService.GetAllNonArchivedPaidPaymentsByMonth(
+                          date.getMonthValue(),
+                          date.getYear())
                     : new ArrayList<>();
 
             // Calculate total for each category
             for (Category category : categories)
             {
-                BigDecimal totalWalletTransaction =
-                    transactions.stream()
-                        .filter(t -> t.GetType().equals(selectedTransactionType))
-                        .filter(t -> t.GetCategory().GetId() == category.GetId())
-                        .map(WalletTransaction::GetAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                BigDecimal totalWalletTransaction = TransactionColumns.ToAmount(
+                    categoryTotals.getOrDefault(category.GetId(), 0L));
 
                 BigDecimal totalCreditCardPayment =
                     creditCardPayments.stream()
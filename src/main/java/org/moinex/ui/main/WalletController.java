@@ -316,7 +316,8 @@ public class WalletController
      */
     private void LoadWalletTypesFromDatabase()
     {
-        walletTypes = walletService.GetAllWalletTypes();
+        // Copied, since the cached list is immutable
+        walletTypes = new ArrayList<>(walletService.GetAllWalletTypes());
 
         String nameToMove = "Others";
 
@@ -0,0 +1,97 @@
+/*
+ * Filename: AggregateStats.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum, count, minimum and maximum of the amounts of a group of transactions
+ *
+ * The amounts are kept in cents. Stats are only changed while they are built, so
+ * the ones already shared are never changed by a merge
+ */
+public final class AggregateStats
+{
+    private long sum   = 0;
+    private long count = 0;
+    private long min   = Long.MAX_VALUE;
+    private long max   = Long.MIN_VALUE;
+
+    public static final AggregateStats EMPTY = new AggregateStats();
+
+    AggregateStats() { }
+
+    /**
+     * Add an amount to the stats being built
+     * @param cents The amount, in cents
+     */
+    void Add(long cents)
+    {
+        sum += cents;
+        count++;
+        min = Math.min(min, cents);
+        max = Math.max(max, cents);
+    }
+
+    /**
+     * Merge two stats
+     * @param other The other stats
+     * @return New stats with the amounts of both
+     */
+    public AggregateStats Merge(AggregateStats other)
+    {
+        AggregateStats merged = new AggregateStats();
+
+        merged.sum   = sum + other.sum;
+        merged.count = count + other.count;
+        merged.min   = Math.min(min, other.min);
+        merged.max   = Math.max(max, other.max);
+
+        return merged;
+    }
+
+    /**
+     * Get the sum of the amounts
+     * @return The sum, in cents
+     */
+    public long GetSum()
+    {
+        return sum;
+    }
+
+    /**
+     * Get the sum of the amounts
+     * @return The sum, with two decimal places
+     */
+    public BigDecimal GetSumAmount()
+    {
+        return TransactionColumns.ToAmount(sum);
+    }
+
+    public long GetCount()
+    {
+        return count;
+    }
+
+    /**
+     * Get the smallest amount
+     * @return The smallest amount, in cents, or zero if there are no amounts
+     */
+    public long GetMin()
+    {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Get the largest amount
+     * @return The largest amount, in cents, or zero if there are no amounts
+     */
+    public long GetMax()
+    {
+        return count == 0 ? 0 : max;
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Filename: AsyncLogHandler.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Logging handler that writes records to a file in a background thread
+ *
+ * The threads that log only push the record into a lock-free ring buffer and
+ * return. A single writer thread drains the buffer in batches, formats the
+ * records, writes them through a buffered stream and flushes once per batch.
+ * The file is rotated when it exceeds the size limit: file becomes file.1,
+ * file.1 becomes file.2 and so on, keeping at most fileCount files
+ *
+ * If the buffer is full the record is dropped instead of blocking the caller,
+ * and the number of dropped records is written to the file later
+ */
+public final class AsyncLogHandler extends Handler
+{
+    private final RingBuffer<LogRecord> m_buffer;
+    private final Path                  m_file;
+    private final long                  m_fileLimit;
+    private final int                   m_fileCount;
+    private final boolean               m_echoToConsole;
+    private final Thread                m_writerThread;
+    private final LongAdder             m_dropped = new LongAdder();
+
+    // Number of records taken from the buffer whose output was flushed to the file
+    private final AtomicLong m_flushed = new AtomicLong();
+
+    private volatile boolean m_closed = false;
+
+    // Only accessed by the writer thread
+    private OutputStream m_out;
+    private long         m_written;
+    private long         m_drained;
+
+    /**
+     * Constructor
+     * @param file The log file
+     * @param fileLimit The maximum size of the log file in bytes before rotation
+     * @param fileCount The number of files kept, including the current one
+     * @param echoToConsole True if the records must also be written to stderr
+     */
+    public AsyncLogHandler(Path    file,
+                           long    fileLimit,
+                           int     fileCount,
+                           boolean echoToConsole)
+    {
+        this(file, fileLimit, fileCount, echoToConsole, Constants.LOG_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     * @param file The log file
+     * @param fileLimit The maximum size of the log file in bytes before rotation
+     * @param fileCount The number of files kept, including the current one
+     * @param echoToConsole True if the records must also be written to stderr
+     * @param bufferCapacity The number of records the buffer holds before records
+     *     are dropped
+     */
+    public AsyncLogHandler(Path    file,
+                           long    fileLimit,
+                           int     fileCount,
+                           boolean echoToConsole,
+                           int     bufferCapacity)
+    {
+        m_buffer        = new RingBuffer<>(bufferCapacity);
+        m_file          = file;
+        m_fileLimit     = fileLimit;
+        m_fileCount     = Math.max(fileCount, 1);
+        m_echoToConsole = echoToConsole;
+
+        setFormatter(new SimpleFormatter());
+        setLevel(Level.ALL);
+
+        m_writerThread =
+            new Thread(this::Run, "moinex-log-writer-" + file.getFileName());
+        m_writerThread.setDaemon(true);
+        m_writerThread.start();
+    }
+
+    @Override
+    public void publish(LogRecord record)
+    {
+        if (m_closed || !isLoggable(record))
+        {
+            return;
+        }
+
+        // The source is inferred from the stack of the calling thread, so it must
+        // be resolved before the record is handed over to the writer thread
+        record.getSourceClassName();
+
+        if (!m_buffer.Offer(record))
+        {
+            m_dropped.increment();
+            return;
+        }
+
+        if (record.getLevel().intValue() >= Level.WARNING.intValue())
+        {
+            LockSupport.unpark(m_writerThread);
+        }
+    }
+
+    /**
+     * Wait until all the records published so far are written and flushed to the
+     * file
+     * @note An empty buffer is not enough, since the writer thread may still be
+     *     writing the last batch or holding it in the buffered stream
+     */
+    @Override
+    public void flush()
+    {
+        long published = m_buffer.GetAddedCount();
+        long deadline  = System.nanoTime() +
+                         TimeUnit.MILLISECONDS.toNanos(Constants.LOG_FLUSH_TIMEOUT);
+
+        while (m_flushed.get() < published && m_writerThread.isAlive() &&
+               System.nanoTime() < deadline)
+        {
+            LockSupport.unpark(m_writerThread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if (m_closed)
+        {
+            return;
+        }
+
+        m_closed = true;
+        LockSupport.unpark(m_writerThread);
+
+        try
+        {
+            m_writerThread.join(Constants.LOG_FLUSH_TIMEOUT);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the number of records dropped because the buffer was full
+     * @return The number of dropped records not yet reported in the file
+     */
+    public long GetDroppedCount()
+    {
+        return m_dropped.sum();
+    }
+
+    /**
+     * Writer thread loop
+     */
+    private void Run()
+    {
+        Open();
+
+        while (!m_closed || !m_buffer.IsEmpty())
+        {
+            int written = m_buffer.Drain(this::Write, Constants.LOG_BATCH_SIZE);
+
+            if (written > 0)
+            {
+                m_drained += written;
+
+                WriteDroppedCount();
+                FlushStream();
+                m_flushed.set(m_drained);
+            }
+            else
+            {
+                LockSupport.parkNanos(
+                    TimeUnit.MILLISECONDS.toNanos(Constants.LOG_FLUSH_INTERVAL));
+            }
+        }
+
+        WriteDroppedCount();
+        CloseStream();
+    }
+
+    /**
+     * Format a record and write it to the file
+     * @param record The record to be written
+     */
+    private void Write(LogRecord record)
+    {
+        String line;
+
+        try
+        {
+            line = getFormatter().format(record);
+        }
+        catch (Exception e)
+        {
+            reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+
+        WriteLine(line);
+    }
+
+    /**
+     * Write a formatted line to the file, rotating it if necessary
+     * @param line The line to be written
+     */
+    private void WriteLine(String line)
+    {
+        if (m_echoToConsole)
+        {
+            System.err.print(line);
+        }
+
+        if (m_out == null)
+        {
+            return;
+        }
+
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+
+        try
+        {
+            m_out.write(bytes);
+            m_written += bytes.length;
+
+            if (m_written >= m_fileLimit)
+            {
+                Rotate();
+            }
+        }
+        catch (IOException e)
+        {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * Write a line with the number of dropped records, if any
+     */
+    private void WriteDroppedCount()
+    {
+        long dropped = m_dropped.sumThenReset();
+
+        if (dropped > 0)
+        {
+            WriteLine("Log buffer full, " + dropped + " records dropped" +
+                      System.lineSeparator());
+        }
+    }
+
+    /**
+     * Open the log file in append mode
+     */
+    private void Open()
+    {
+        try
+        {
+            if (m_file.getParent() != null)
+            {
+                Files.createDirectories(m_file.getParent());
+            }
+
+            m_out = new BufferedOutputStream(
+                Files.newOutputStream(m_file,
+                                      StandardOpenOption.CREATE,
+                                      StandardOpenOption.APPEND),
+                Constants.LOG_WRITE_BUFFER_SIZE);
+
+            m_written = Files.size(m_file);
+        }
+        catch (IOException e)
+        {
+            m_out = null;
+            reportError(null, e, ErrorManager.OPEN_FAILURE);
+        }
+    }
+
+    /**
+     * Rotate the log files and open a new one
+     */
+    private void Rotate() throws IOException
+    {
+        CloseStream();
+
+        for (int i = m_fileCount - 1; i >= 1; i--)
+        {
+            Path source = i == 1 ? m_file : RotatedFile(i - 1);
+
+            if (Files.exists(source))
+            {
+                Files.move(source, RotatedFile(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        if (m_fileCount == 1)
+        {
+            Files.deleteIfExists(m_file);
+        }
+
+        Open();
+    }
+
+    /**
+     * Get the path of a rotated log file
+     * @param generation The generation of the file, starting at 1
+     * @return The path of the rotated file
+     */
+    private Path RotatedFile(int generation)
+    {
+        return m_file.resolveSibling(m_file.getFileName() + "." + generation);
+    }
+
+    private void FlushStream()
+    {
+        if (m_out == null)
+        {
+            return;
+        }
+
+        try
+        {
+            m_out.flush();
+        }
+        catch (IOException e)
+        {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    private void CloseStream()
+    {
+        if (m_out == null)
+        {
+            return;
+        }
+
+        try
+        {
+            m_out.close();
+        }
+        catch (IOException e)
+        {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+
+        m_out = null;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Filename: BackupResult.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+/**
+ * Result and throughput of a backup
+ */
+public final class BackupResult
+{
+    private final BackupSnapshot snapshot;
+    private final long           pagesCopied;
+    private final long           pagesWritten;
+    private final int            pageSize;
+    private final long           durationNanos;
+
+    /**
+     * Constructor
+     * @param snapshot The stored snapshot, or null if the database did not change
+     *     since the previous snapshot
+     * @param pagesCopied The number of pages copied from the database
+     * @param pagesWritten The number of pages written to the snapshot
+     * @param pageSize The page size of the database in bytes
+     * @param durationNanos The duration of the backup in nanoseconds
+     */
+    public BackupResult(BackupSnapshot snapshot,
+                        long           pagesCopied,
+                        long           pagesWritten,
+                        int            pageSize,
+                        long           durationNanos)
+    {
+        this.snapshot      = snapshot;
+        this.pagesCopied   = pagesCopied;
+        this.pagesWritten  = pagesWritten;
+        this.pageSize      = pageSize;
+        this.durationNanos = durationNanos;
+    }
+
+    public BackupSnapshot GetSnapshot()
+    {
+        return snapshot;
+    }
+
+    public long GetPagesCopied()
+    {
+        return pagesCopied;
+    }
+
+    public long GetPagesWritten()
+    {
+        return pagesWritten;
+    }
+
+    public long GetBytesCopied()
+    {
+        return pagesCopied * pageSize;
+    }
+
+    public long GetBytesWritten()
+    {
+        return pagesWritten * pageSize;
+    }
+
+    public long GetDurationNanos()
+    {
+        return durationNanos;
+    }
+
+    /**
+     * Get the rate at which the database was read
+     * @return The throughput in bytes per second
+     */
+    public double GetThroughput()
+    {
+        if (durationNanos == 0)
+        {
+            return 0;
+        }
+
+        return GetBytesCopied() * Constants.ONE_SECOND_IN_NS / durationNanos;
+    }
+}
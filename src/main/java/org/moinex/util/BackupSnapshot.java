@@ -0,0 +1,85 @@
+/*
+ * Filename: BackupSnapshot.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * A snapshot stored by the backup service
+ *
+ * Snapshots are grouped in chains. The first snapshot of a chain is a full copy
+ * of the database and the others only hold the pages that changed since the
+ * previous snapshot of the same chain
+ */
+public final class BackupSnapshot
+{
+    private final Path          chain;
+    private final int           sequence;
+    private final LocalDateTime createdAt;
+    private final Path          file;
+    private final long          size;
+
+    /**
+     * Constructor
+     * @param chain The directory of the chain the snapshot belongs to
+     * @param sequence The position of the snapshot in its chain, 0 for the full
+     *     copy
+     * @param createdAt When the snapshot was taken
+     * @param file The file of the snapshot
+     * @param size The size of the file in bytes
+     */
+    public BackupSnapshot(Path          chain,
+                          int           sequence,
+                          LocalDateTime createdAt,
+                          Path          file,
+                          long          size)
+    {
+        this.chain     = chain;
+        this.sequence  = sequence;
+        this.createdAt = createdAt;
+        this.file      = file;
+        this.size      = size;
+    }
+
+    public Path GetChain()
+    {
+        return chain;
+    }
+
+    public int GetSequence()
+    {
+        return sequence;
+    }
+
+    public LocalDateTime GetCreatedAt()
+    {
+        return createdAt;
+    }
+
+    public Path GetFile()
+    {
+        return file;
+    }
+
+    public long GetSize()
+    {
+        return size;
+    }
+
+    public boolean IsFull()
+    {
+        return sequence == 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return createdAt.format(Constants.DATE_FORMATTER_WITH_TIME) +
+               (IsFull() ? " (full)" : " (incremental)");
+    }
+}
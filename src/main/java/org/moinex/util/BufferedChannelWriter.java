@@ -0,0 +1,208 @@
+/*
+ * Filename: BufferedChannelWriter.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes primitive values and text to a channel through a fixed size buffer
+ *
+ * The values are encoded in big-endian order. The buffer is only written to the
+ * channel when it is full, so writing a value is usually a copy into memory
+ */
+public final class BufferedChannelWriter implements Closeable
+{
+    private final WritableByteChannel m_channel;
+    private final ByteBuffer          m_buffer;
+    private long                      m_bytesWritten = 0;
+
+    /**
+     * Constructor
+     * @param channel The channel the data is written to
+     * @param bufferSize The size of the buffer in bytes
+     */
+    public BufferedChannelWriter(WritableByteChannel channel, int bufferSize)
+    {
+        m_channel = channel;
+        m_buffer  = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Create a writer for a file, replacing its contents
+     * @param file The file
+     * @param gzip True if the data must be compressed with gzip
+     * @param bufferSize The size of the buffer in bytes
+     * @return The writer
+     * @throws IOException If the file cannot be opened
+     */
+    public static BufferedChannelWriter Open(Path file, boolean gzip, int bufferSize)
+        throws IOException
+    {
+        FileChannel channel = FileChannel.open(file,
+                                               StandardOpenOption.CREATE,
+                                               StandardOpenOption.TRUNCATE_EXISTING,
+                                               StandardOpenOption.WRITE);
+
+        if (!gzip)
+        {
+            return new BufferedChannelWriter(channel, bufferSize);
+        }
+
+        return new BufferedChannelWriter(
+            Channels.newChannel(
+                new GZIPOutputStream(Channels.newOutputStream(channel), bufferSize)),
+            bufferSize);
+    }
+
+    public void WriteByte(int value) throws IOException
+    {
+        Ensure(Byte.BYTES);
+        m_buffer.put((byte)value);
+    }
+
+    public void WriteInt(int value) throws IOException
+    {
+        Ensure(Integer.BYTES);
+        m_buffer.putInt(value);
+    }
+
+    public void WriteLong(long value) throws IOException
+    {
+        Ensure(Long.BYTES);
+        m_buffer.putLong(value);
+    }
+
+    public void WriteDouble(double value) throws IOException
+    {
+        Ensure(Double.BYTES);
+        m_buffer.putDouble(value);
+    }
+
+    /**
+     * Write an unsigned value with 7 bits per byte, the high bit set on all bytes
+     * but the last one
+     * @param value The value, interpreted as unsigned
+     */
+    public void WriteVarLong(long value) throws IOException
+    {
+        Ensure(10);
+
+        while ((value & ~0x7FL) != 0)
+        {
+            m_buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        m_buffer.put((byte)value);
+    }
+
+    /**
+     * Write a signed value with the zigzag encoding, so that values close to zero
+     * take few bytes whatever their sign
+     * @param value The value
+     */
+    public void WriteZigZagLong(long value) throws IOException
+    {
+        WriteVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void WriteBytes(byte[] bytes) throws IOException
+    {
+        WriteBytes(bytes, 0, bytes.length);
+    }
+
+    public void WriteBytes(byte[] bytes, int offset, int length) throws IOException
+    {
+        while (length > 0)
+        {
+            if (!m_buffer.hasRemaining())
+            {
+                FlushBuffer();
+            }
+
+            int chunk = Math.min(length, m_buffer.remaining());
+            m_buffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Write the UTF-8 bytes of a text, without length
+     * @param text The text
+     */
+    public void WriteText(String text) throws IOException
+    {
+        WriteBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write the length of the UTF-8 bytes of a text followed by the bytes
+     * @param text The text
+     */
+    public void WriteString(String text) throws IOException
+    {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        WriteVarLong(bytes.length);
+        WriteBytes(bytes);
+    }
+
+    /**
+     * Get the number of bytes written so far, before compression
+     * @return The number of bytes
+     */
+    public long GetBytesWritten()
+    {
+        return m_bytesWritten + m_buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            FlushBuffer();
+        }
+        finally
+        {
+            m_channel.close();
+        }
+    }
+
+    /**
+     * Make room in the buffer for a value
+     * @param bytes The size of the value
+     */
+    private void Ensure(int bytes) throws IOException
+    {
+        if (m_buffer.remaining() < bytes)
+        {
+            FlushBuffer();
+        }
+    }
+
+    private void FlushBuffer() throws IOException
+    {
+        m_buffer.flip();
+
+        while (m_buffer.hasRemaining())
+        {
+            m_bytesWritten += m_channel.write(m_buffer);
+        }
+
+        m_buffer.clear();
+    }
+}
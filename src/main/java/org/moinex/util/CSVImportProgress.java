@@ -0,0 +1,104 @@
+/*
+ * Filename: CSVImportProgress.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the progress of a CSV import
+ *
+ * The same class is used for the intermediate updates and for the final result
+ * of the import
+ */
+public final class CSVImportProgress
+{
+    private final long         rowsRead;
+    private final long         rowsImported;
+    private final long         rowsRejected;
+    private final long         rowsDuplicated;
+    private final long         bytesRead;
+    private final long         totalBytes;
+    private final List<String> errors;
+
+    /**
+     * Constructor
+     * @param rowsRead The number of data rows read from the file
+     * @param rowsImported The number of rows written to the database
+     * @param rowsRejected The number of rows rejected by the validation or the
+     *     database
+     * @param rowsDuplicated The number of rows skipped because they are already in
+     *     the database
+     * @param bytesRead The number of bytes read from the file
+     * @param totalBytes The size of the file in bytes
+     * @param errors The first errors found, one message per rejected row
+     */
+    public CSVImportProgress(long         rowsRead,
+                             long         rowsImported,
+                             long         rowsRejected,
+                             long         rowsDuplicated,
+                             long         bytesRead,
+                             long         totalBytes,
+                             List<String> errors)
+    {
+        this.rowsRead       = rowsRead;
+        this.rowsImported   = rowsImported;
+        this.rowsRejected   = rowsRejected;
+        this.rowsDuplicated = rowsDuplicated;
+        this.bytesRead      = bytesRead;
+        this.totalBytes     = totalBytes;
+        this.errors         = List.copyOf(errors);
+    }
+
+    public long GetRowsRead()
+    {
+        return rowsRead;
+    }
+
+    public long GetRowsImported()
+    {
+        return rowsImported;
+    }
+
+    public long GetRowsRejected()
+    {
+        return rowsRejected;
+    }
+
+    public long GetRowsDuplicated()
+    {
+        return rowsDuplicated;
+    }
+
+    public long GetBytesRead()
+    {
+        return bytesRead;
+    }
+
+    public long GetTotalBytes()
+    {
+        return totalBytes;
+    }
+
+    public List<String> GetErrors()
+    {
+        return errors;
+    }
+
+    /**
+     * Get the fraction of the file that was already read
+     * @return A value between 0 and 1
+     */
+    public double GetFraction()
+    {
+        if (totalBytes <= 0)
+        {
+            return 0.0;
+        }
+
+        return Math.min(1.0, (double)bytesRead / totalBytes);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Filename: ColumnarFileReader.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.moinex.util.ColumnarFileWriter.ColumnType;
+
+/**
+ * Reads the files written by ColumnarFileWriter, one row group at a time
+ */
+public final class ColumnarFileReader implements Closeable
+{
+    private final DataInputStream  m_in;
+    private final String           m_tableName;
+    private final List<String>     m_columnNames = new ArrayList<>();
+    private final List<ColumnType> m_columnTypes = new ArrayList<>();
+
+    private Object[][] m_group     = new Object[0][];
+    private int        m_groupRows = 0;
+    private int        m_position  = 0;
+
+    /**
+     * Open a file, decompressing it if its name ends with .gz
+     * @param file The file
+     * @return The reader
+     * @throws IOException If the file cannot be read or is not a columnar file
+     */
+    public static ColumnarFileReader Open(Path file) throws IOException
+    {
+        InputStream in = Files.newInputStream(file);
+
+        if (file.getFileName().toString().endsWith(Constants.GZIP_EXTENSION))
+        {
+            in = new GZIPInputStream(in, Constants.EXPORT_BUFFER_SIZE);
+        }
+
+        return new ColumnarFileReader(in);
+    }
+
+    /**
+     * Constructor. Reads the header of the file
+     * @param in The source
+     * @throws IOException If the source is not a columnar file
+     */
+    public ColumnarFileReader(InputStream in) throws IOException
+    {
+        m_in = new DataInputStream(new BufferedInputStream(in));
+
+        byte[] magic = new byte[ColumnarFileWriter.MAGIC.length];
+        m_in.readFully(magic);
+
+        if (!Arrays.equals(magic, ColumnarFileWriter.MAGIC))
+        {
+            throw new IOException("Not a columnar file");
+        }
+
+        int version = m_in.readUnsignedByte();
+
+        if (version != ColumnarFileWriter.VERSION)
+        {
+            throw new IOException("Unsupported columnar file version " + version);
+        }
+
+        m_tableName = ReadString();
+
+        long columns = ReadVarLong();
+
+        for (long i = 0; i < columns; i++)
+        {
+            m_columnNames.add(ReadString());
+            m_columnTypes.add(ColumnType.values()[m_in.readUnsignedByte()]);
+        }
+    }
+
+    public String GetTableName()
+    {
+        return m_tableName;
+    }
+
+    public List<String> GetColumnNames()
+    {
+        return Collections.unmodifiableList(m_columnNames);
+    }
+
+    public List<ColumnType> GetColumnTypes()
+    {
+        return Collections.unmodifiableList(m_columnTypes);
+    }
+
+    /**
+     * Read the next row
+     * @return The values of the row, or null after the last row
+     * @throws IOException If the file cannot be read
+     */
+    public Object[] ReadRow() throws IOException
+    {
+        if (m_position == m_groupRows && !ReadGroup())
+        {
+            return null;
+        }
+
+        Object[] row = new Object[m_columnTypes.size()];
+
+        for (int c = 0; c < row.length; c++)
+        {
+            row[c] = m_group[c][m_position];
+        }
+
+        m_position++;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        m_in.close();
+    }
+
+    /**
+     * Read the next row group
+     * @return False if the end marker was reached
+     */
+    private boolean ReadGroup() throws IOException
+    {
+        int rows = (int)ReadVarLong();
+
+        if (rows == 0)
+        {
+            return false;
+        }
+
+        if (m_group.length != m_columnTypes.size() ||
+            (m_group.length > 0 && m_group[0].length < rows))
+        {
+            m_group = new Object[m_columnTypes.size()][rows];
+        }
+
+        for (int c = 0; c < m_columnTypes.size(); c++)
+        {
+            boolean[] nulls    = ReadNullBitmap(rows);
+            long      previous = 0;
+
+            for (int r = 0; r < rows; r++)
+            {
+                if (nulls[r])
+                {
+                    m_group[c][r] = null;
+                    continue;
+                }
+
+                switch (m_columnTypes.get(c))
+                {
+                    case LONG:
+                        previous += ReadZigZagLong();
+                        m_group[c][r] = previous;
+                        break;
+
+                    case DOUBLE:
+                        m_group[c][r] = m_in.readDouble();
+                        break;
+
+                    case DECIMAL:
+                        int    scale    = (int)ReadZigZagLong();
+                        byte[] unscaled = new byte[(int)ReadVarLong()];
+                        m_in.readFully(unscaled);
+                        m_group[c][r] = new BigDecimal(new BigInteger(unscaled), scale);
+                        break;
+
+                    case TEXT:
+                        m_group[c][r] = ReadString();
+                        break;
+                }
+            }
+        }
+
+        m_groupRows = rows;
+        m_position  = 0;
+        return true;
+    }
+
+    private boolean[] ReadNullBitmap(int rows) throws IOException
+    {
+        boolean[] nulls = new boolean[rows];
+
+        for (int r = 0; r < rows; r += 8)
+        {
+            int bits = m_in.readUnsignedByte();
+
+            for (int b = 0; b < 8 && r + b < rows; b++)
+            {
+                nulls[r + b] = (bits & (1 << b)) != 0;
+            }
+        }
+
+        return nulls;
+    }
+
+    private long ReadVarLong() throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = m_in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+
+    private long ReadZigZagLong() throws IOException
+    {
+        long value = ReadVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private String ReadString() throws IOException
+    {
+        byte[] bytes = new byte[(int)ReadVarLong()];
+        m_in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Filename: ColumnarFileWriter.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the rows of a table in a compact columnar binary format
+ *
+ * The rows are buffered in groups of a fixed size, and each group is written
+ * column by column, so the memory usage does not depend on the number of rows.
+ * Layout of the file, integers as in BufferedChannelWriter:
+ *
+ *  magic "MNXC", version (byte), table name (string),
+ *  column count (varint), then name (string) and type (byte) of each column,
+ *  row groups: row count (varint) followed by each column, ended by a group with
+ *  zero rows
+ *
+ * Each column of a group starts with a bitmap with one bit per row, set for the
+ * null values, followed by the non-null values:
+ *  - LONG: zigzag varint of the difference to the previous value of the group
+ *  - DOUBLE: 8 bytes
+ *  - DECIMAL: zigzag varint scale, then the two's complement bytes of the
+ *    unscaled value prefixed by their count
+ *  - TEXT: string
+ *
+ * Strings are written as the varint length of their UTF-8 bytes and the bytes
+ */
+public final class ColumnarFileWriter implements Closeable
+{
+    public static final byte[] MAGIC   = { 'M', 'N', 'X', 'C' };
+    public static final int    VERSION = 1;
+
+    /**
+     * Types of the columns. The ordinal is written to the file, so new types must
+     * be added at the end
+     */
+    public enum ColumnType
+    {
+        LONG,
+        DOUBLE,
+        DECIMAL,
+        TEXT
+    }
+
+    private final BufferedChannelWriter m_out;
+    private final ColumnType[]          m_types;
+    private final Object[][]            m_group;
+    private final int                   m_rowGroupSize;
+    private int                         m_rows = 0;
+
+    /**
+     * Constructor. Writes the header of the file
+     * @param out The destination
+     * @param tableName The name of the table
+     * @param columnNames The names of the columns
+     * @param columnTypes The types of the columns
+     * @param rowGroupSize The number of rows per group
+     * @throws IOException If the header cannot be written
+     */
+    public ColumnarFileWriter(BufferedChannelWriter out,
+                              String                tableName,
+                              List<String>          columnNames,
+                              List<ColumnType>      columnTypes,
+                              int                   rowGroupSize) throws IOException
+    {
+        m_out          = out;
+        m_types        = columnTypes.toArray(new ColumnType[0]);
+        m_group        = new Object[m_types.length][rowGroupSize];
+        m_rowGroupSize = rowGroupSize;
+
+        m_out.WriteBytes(MAGIC);
+        m_out.WriteByte(VERSION);
+        m_out.WriteString(tableName);
+        m_out.WriteVarLong(m_types.length);
+
+        for (int i = 0; i < m_types.length; i++)
+        {
+            m_out.WriteString(columnNames.get(i));
+            m_out.WriteByte(m_types[i].ordinal());
+        }
+    }
+
+    /**
+     * Add a row to the file
+     * @param values The values of the row, one per column: Long, Double,
+     *     BigDecimal or String according to the column type, or null
+     * @throws IOException If the group cannot be written
+     */
+    public void AddRow(Object[] values) throws IOException
+    {
+        for (int i = 0; i < m_types.length; i++)
+        {
+            m_group[i][m_rows] = values[i];
+        }
+
+        m_rows++;
+
+        if (m_rows == m_rowGroupSize)
+        {
+            WriteGroup();
+        }
+    }
+
+    /**
+     * Write the last group and the end marker, and close the destination
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            WriteGroup();
+            m_out.WriteVarLong(0);
+        }
+        finally
+        {
+            m_out.close();
+        }
+    }
+
+    private void WriteGroup() throws IOException
+    {
+        if (m_rows == 0)
+        {
+            return;
+        }
+
+        m_out.WriteVarLong(m_rows);
+
+        for (int c = 0; c < m_types.length; c++)
+        {
+            Object[] column = m_group[c];
+
+            WriteNullBitmap(column);
+
+            long previous = 0;
+
+            for (int r = 0; r < m_rows; r++)
+            {
+                if (column[r] == null)
+                {
+                    continue;
+                }
+
+                switch (m_types[c])
+                {
+                    case LONG:
+                        long value = (Long)column[r];
+                        m_out.WriteZigZagLong(value - previous);
+                        previous = value;
+                        break;
+
+                    case DOUBLE:
+                        m_out.WriteDouble((Double)column[r]);
+                        break;
+
+                    case DECIMAL:
+                        BigDecimal decimal  = (BigDecimal)column[r];
+                        byte[]     unscaled = decimal.unscaledValue().toByteArray();
+                        m_out.WriteZigZagLong(decimal.scale());
+                        m_out.WriteVarLong(unscaled.length);
+                        m_out.WriteBytes(unscaled);
+                        break;
+
+                    case TEXT:
+                        m_out.WriteString((String)column[r]);
+                        break;
+                }
+            }
+
+            Arrays.fill(column, 0, m_rows, null);
+        }
+
+        m_rows = 0;
+    }
+
+    private void WriteNullBitmap(Object[] column) throws IOException
+    {
+        for (int r = 0; r < m_rows; r += 8)
+        {
+            int bits = 0;
+
+            for (int b = 0; b < 8 && r + b < m_rows; b++)
+            {
+                if (column[r + b] == null)
+                {
+                    bits |= 1 << b;
+                }
+            }
+
+            m_out.WriteByte(bits);
+        }
+    }
+}
@@ -10,16 +10,41 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.logging.Level;
 
 /**
  * Constants used in the application
  */
 public final class Constants
 {
-    public static final String LOG_FILE =
-        System.getProperty("user.home") + "/.local/state/moinex/moinex.log";
+    public static final String LOG_DIR =
+        System.getProperty("user.home") + "/.local/state/moinex/";
+    public static final String LOG_FILE = LOG_DIR + "moinex.log";
     public static final String APP_NAME = "Moinex";
 
+    // Logging
+    public static final Level   LOG_LEVEL             = Level.INFO;
+    public static final Integer LOG_FILE_LIMIT        = 5 * 1024 * 1024; // bytes
+    public static final Integer LOG_FILE_COUNT        = 3;
+    public static final Integer LOG_BUFFER_CAPACITY   = 8192; // records
+    public static final Integer LOG_BATCH_SIZE        = 512;  // records
+    public static final Integer LOG_WRITE_BUFFER_SIZE = 64 * 1024; // bytes
+    public static final Integer LOG_FLUSH_INTERVAL    = 20;   // ms
+    public static final Integer LOG_FLUSH_TIMEOUT     = 2000; // ms
+
+    // Metrics
+    public static final String  METRICS_LOG_FILE          = LOG_DIR + "metrics.log";
+    public static final Integer METRICS_LOG_FILE_LIMIT    = 1024 * 1024; // bytes
+    public static final Integer METRICS_LOG_FILE_COUNT    = 5;
+    public static final Integer METRICS_FLUSH_INTERVAL    = 60; // s
+    public static final Integer METRICS_TOP_QUERIES_COUNT = 20;
+
+    // FX thread stall watchdog
+    public static final String  FX_STALL_LOG_FILE       = LOG_DIR + "fx-stalls.log";
+    public static final Integer FX_STALL_LOG_FILE_LIMIT = 1024 * 1024; // bytes
+    public static final Integer FX_STALL_LOG_FILE_COUNT = 3;
+    public static final Integer FX_STALL_SUMMARY_COUNT  = 10;
+
     // Paths
     public static final String WALLET_TYPE_ICONS_PATH  = "/icon/wallet_type/";
     public static final String SIDEBAR_ICONS_PATH      = "/icon/sidebar/";
@@ -100,6 +125,8 @@ public final class Constants
 
     public static final String ADD_GOAL_FXML = UI_DIALOG_PATH + "add_goal.fxml";
 
+    public static final String DIAGNOSTICS_FXML = UI_DIALOG_PATH + "diagnostics.fxml";
+
     public static final String WALLET_FULL_PANE_FXML =
         UI_COMMON_PATH + "wallet_full_pane.fxml";
     public static final String GOAL_FULL_PANE_FXML =
@@ -195,6 +222,74 @@ public final class Constants
     public static final Integer INSTALLMENTS_FIELD_MAX_DIGITS = 3;
     public static final Short   MAX_INSTALLMENTS              = 999;
 
+    // CSV import
+    public static final String  UTF8_BOM                       = "\uFEFF";
+    public static final Integer CSV_PREVIEW_ROWS               = 100;
+    public static final Integer CSV_READ_BUFFER_SIZE           = 64 * 1024; // bytes
+    public static final Integer CSV_IMPORT_DEFAULT_BATCH_SIZE  = 500; // rows
+    public static final Integer CSV_IMPORT_QUEUE_CAPACITY      = 4;   // chunks
+    public static final Integer CSV_IMPORT_MAX_ERRORS          = 100;
+    public static final Long    CSV_IMPORT_DEFAULT_OPERATOR_ID = 0L;
+    public static final Integer CSV_IMPORT_MAX_WORKER_THREADS  = 4;
+    public static final Long    CSV_IMPORT_POLL_INTERVAL       = 100L; // ms
+    public static final Integer CSV_FORMAT_SAMPLE_ROWS         = 50;
+
+    // Data export
+    public static final Integer EXPORT_DEFAULT_FETCH_SIZE = 1000;      // rows
+    public static final Integer EXPORT_BUFFER_SIZE        = 64 * 1024; // bytes
+    public static final Integer EXPORT_ROW_GROUP_SIZE     = 4096;      // rows
+    public static final Integer EXPORT_PROGRESS_INTERVAL  = 10_000;    // rows
+    public static final String  EXPORT_DATE_COLUMN        = "date";
+    public static final String  GZIP_EXTENSION            = ".gz";
+
+    // Database connections
+    public static final String  SQLITE_DRIVER_CLASS_NAME      = "org.sqlite.JDBC";
+    public static final Integer DATASOURCE_MAX_READ_POOL_SIZE = 4;
+
+    // Schema migrations
+    public static final String SCHEMA_MIGRATIONS_LOCATION = "classpath:db/migration/";
+    public static final String SCHEMA_VERSION_TABLE       = "schema_version";
+
+    // Wallet locks
+    public static final Integer WALLET_LOCK_STRIPES = 64;
+    public static final Integer WALLET_LOCK_TIMEOUT = 10; // s
+
+    // Second-level cache
+    public static final String SECOND_LEVEL_CACHE_CONFIG = "classpath:caffeine.conf";
+    public static final String DATE_RANGE_QUERY_CACHE_REGION =
+        "moinex.date-range-queries";
+
+    // Write coordinator
+    public static final Integer WRITE_DEFAULT_GROUP_SIZE    = 64; // commands
+    public static final Integer WRITE_DEFAULT_GROUP_LATENCY = 2;  // ms
+    public static final Integer WRITE_STOP_TIMEOUT          = 5;  // s
+
+    // Backup
+    public static final String  BACKUP_CHAIN_PREFIX       = "chain-";
+    public static final String  BACKUP_FULL_EXTENSION     = ".full";
+    public static final String  BACKUP_DELTA_EXTENSION    = ".delta";
+    public static final String  BACKUP_MANIFEST_FILE      = "manifest";
+    public static final String  BACKUP_HASH_ALGORITHM     = "SHA-256";
+    public static final Integer BACKUP_BUSY_SLEEP         = 100; // ms
+    public static final Integer BACKUP_BUSY_RETRIES       = 50;
+    public static final Integer BACKUP_INITIAL_DELAY      = 60;  // s
+    public static final Integer BACKUP_DEFAULT_PAGES      = 256; // pages per step
+    public static final Integer BACKUP_DEFAULT_PAUSE      = 10;  // ms between steps
+    public static final Integer BACKUP_DEFAULT_FULL_EVERY = 24;  // snapshots
+    public static final Integer BACKUP_DEFAULT_KEEP       = 4;   // chains
+    public static final Integer BACKUP_DEFAULT_MAX_AGE    = 30;  // days
+
+    // Query API
+    // String, since it is used in the hints of the repository
+    public static final String  API_SEARCH_FETCH_SIZE       = "500";     // rows
+    public static final Integer API_DEFAULT_PORT            = 8765;
+    public static final Integer API_SEARCH_DEFAULT_LIMIT    = 1000;      // rows
+    public static final Integer API_FORECAST_DEFAULT_MONTHS = 6;
+    public static final Integer API_FORECAST_MAX_MONTHS     = 120;
+    public static final Integer API_CACHE_MAX_ENTRIES       = 256;       // responses
+    public static final Integer API_BUFFER_SIZE             = 16 * 1024; // bytes
+    public static final Integer API_STOP_DELAY              = 1;         // s
+
     // Animation constants
     public static final Double MENU_COLLAPSED_WIDTH = 80.0;
     public static final Double MENU_EXPANDED_WIDTH  = 220.0;
@@ -223,7 +318,13 @@ public final class Constants
     public static final Double GOAL_PANE_PROGRESS_BAR_RADIUS = 80.0;
     public static final Double GOAL_PANE_PROGRESS_BAR_WIDTH  = 8.0;
 
-    public static final Integer SUGGESTIONS_MAX_ITEMS = 5;
+    // Description suggestions
+    public static final Integer SUGGESTIONS_MAX_ITEMS      = 5;
+    public static final Double  SUGGESTIONS_HALF_LIFE_DAYS = 90.0;
+
+    // Analytics store
+    // String, since it is used in the hints of the repository
+    public static final String ANALYTICS_LOAD_FETCH_SIZE = "1000"; // rows
 
     // WARNING: Do not change this value. If you do, update too on the database
     public static final String GOAL_DEFAULT_WALLET_TYPE_NAME = "Goal";
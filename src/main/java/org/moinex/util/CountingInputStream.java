@@ -0,0 +1,75 @@
+/*
+ * Filename: CountingInputStream.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Input stream that counts the bytes read from the underlying stream
+ *
+ * The count can be read from any thread, which allows the progress of a
+ * streaming reader to be reported while it is running
+ */
+public final class CountingInputStream extends FilterInputStream
+{
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param in The underlying stream
+     */
+    public CountingInputStream(InputStream in)
+    {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        int b = super.read();
+
+        if (b != -1)
+        {
+            count.incrementAndGet();
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        int n = super.read(b, off, len);
+
+        if (n > 0)
+        {
+            count.addAndGet(n);
+        }
+
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        long skipped = super.skip(n);
+        count.addAndGet(skipped);
+        return skipped;
+    }
+
+    /**
+     * Get the number of bytes read so far
+     * @return The number of bytes read
+     */
+    public long GetCount()
+    {
+        return count.get();
+    }
+}
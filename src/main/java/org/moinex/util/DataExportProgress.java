@@ -0,0 +1,91 @@
+/*
+ * Filename: DataExportProgress.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+/**
+ * Immutable snapshot of the progress of a data export
+ *
+ * The same class is used for the intermediate updates and for the final result
+ * of the export
+ */
+public final class DataExportProgress
+{
+    private final String currentTable;
+    private final int    tablesExported;
+    private final int    tableCount;
+    private final long   rowsExported;
+    private final long   totalRows;
+    private final long   bytesWritten;
+
+    /**
+     * Constructor
+     * @param currentTable The table being exported, or null when the export ended
+     * @param tablesExported The number of tables already exported
+     * @param tableCount The number of tables to export
+     * @param rowsExported The number of rows written so far
+     * @param totalRows The number of rows to export
+     * @param bytesWritten The number of bytes written so far, before compression
+     */
+    public DataExportProgress(String currentTable,
+                              int    tablesExported,
+                              int    tableCount,
+                              long   rowsExported,
+                              long   totalRows,
+                              long   bytesWritten)
+    {
+        this.currentTable   = currentTable;
+        this.tablesExported = tablesExported;
+        this.tableCount     = tableCount;
+        this.rowsExported   = rowsExported;
+        this.totalRows      = totalRows;
+        this.bytesWritten   = bytesWritten;
+    }
+
+    public String GetCurrentTable()
+    {
+        return currentTable;
+    }
+
+    public int GetTablesExported()
+    {
+        return tablesExported;
+    }
+
+    public int GetTableCount()
+    {
+        return tableCount;
+    }
+
+    public long GetRowsExported()
+    {
+        return rowsExported;
+    }
+
+    public long GetTotalRows()
+    {
+        return totalRows;
+    }
+
+    public long GetBytesWritten()
+    {
+        return bytesWritten;
+    }
+
+    /**
+     * Get the fraction of the rows that were already exported
+     * @return A value between 0 and 1
+     */
+    public double GetFraction()
+    {
+        if (totalRows <= 0)
+        {
+            return tableCount <= 0 ? 0.0 : (double)tablesExported / tableCount;
+        }
+
+        return Math.min(1.0, (double)rowsExported / totalRows);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Filename: DescriptionIndex.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Autocomplete index of the descriptions of the transactions
+ *
+ * Each description is kept once, with the values of its most recent transaction.
+ * The descriptions are indexed in a sorted map by every suffix that starts a
+ * word, so typing the start of any word of a description finds it with a range
+ * lookup instead of a scan.
+ *
+ * The suggestions are ranked by frecency: every transaction adds one to the score
+ * of its description, and the score halves every half-life. Scores are kept as
+ * log2(score) + lastDay / halfLife, which orders the descriptions as their decayed
+ * scores at any later date would, so they are never recomputed
+ *
+ * @note Not thread-safe
+ */
+public final class DescriptionIndex
+{
+    private final double halfLifeDays;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final NavigableMap<String, List<Entry>> words = new TreeMap<>();
+
+    private static final double SECONDS_PER_DAY = 86400.0;
+
+    private static final double LN_2 = Math.log(2);
+
+    private static final Comparator<Entry> BY_RANK =
+        Comparator.comparingDouble((Entry e) -> e.rank)
+            .thenComparing(e -> e.suggestion.GetDescription(),
+                           Comparator.reverseOrder());
+
+    /**
+     * The state of a description in the index
+     */
+    private static final class Entry
+    {
+        private TransactionSuggestion suggestion;
+        private double                score;
+        private double                lastDay;
+        private double                rank;
+    }
+
+    /**
+     * Constructor
+     * @param halfLifeDays After how many days a transaction weighs half in the rank
+     * @throws IllegalArgumentException If the half-life is not positive
+     */
+    public DescriptionIndex(double halfLifeDays)
+    {
+        if (halfLifeDays <= 0)
+        {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+
+        this.halfLifeDays = halfLifeDays;
+    }
+
+    /**
+     * Add a transaction to the index
+     * @param description The description of the transaction
+     * @param date The date of the transaction
+     * @param amount The amount of the transaction
+     * @param walletId The wallet of the transaction
+     * @param categoryId The category of the transaction
+     * @note Transactions may be added in any order. The values of the description
+     *    are replaced only by a transaction at least as recent as the previous ones
+     */
+    public void Add(String        description,
+                    LocalDateTime date,
+                    BigDecimal    amount,
+                    Long          walletId,
+                    Long          categoryId)
+    {
+        if (description == null || description.isBlank())
+        {
+            return;
+        }
+
+        double day   = date.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_DAY;
+        Entry  entry = entries.get(description);
+
+        if (entry == null)
+        {
+            entry = new Entry();
+
+            entries.put(description, entry);
+            IndexWords(description, entry);
+        }
+
+        TransactionSuggestion previous = entry.suggestion;
+
+        if (previous == null)
+        {
+            entry.score   = 1;
+            entry.lastDay = day;
+        }
+        else if (day >= entry.lastDay)
+        {
+            entry.score   = entry.score * Decay(day - entry.lastDay) + 1;
+            entry.lastDay = day;
+        }
+        else
+        {
+            entry.score += Decay(entry.lastDay - day);
+        }
+
+        entry.rank = Math.log(entry.score) / LN_2 + entry.lastDay / halfLifeDays;
+
+        if (previous == null || day >= entry.lastDay)
+        {
+            entry.suggestion = new TransactionSuggestion(
+                description,
+                amount,
+                walletId,
+                categoryId,
+                date,
+                previous == null ? 1 : previous.GetCount() + 1);
+        }
+        else
+        {
+            entry.suggestion = new TransactionSuggestion(description,
+                                                         previous.GetAmount(),
+                                                         previous.GetWalletId(),
+                                                         previous.GetCategoryId(),
+                                                         previous.GetLastDate(),
+                                                         previous.GetCount() + 1);
+        }
+    }
+
+    /**
+     * Find the best ranked descriptions with a word that starts with a text
+     * @param text The typed text. Case is ignored
+     * @param limit The maximum number of suggestions
+     * @param filter Only the suggestions accepted by the filter are returned
+     * @return The suggestions, best ranked first
+     */
+    public List<TransactionSuggestion>
+    Find(String text, int limit, Predicate<TransactionSuggestion> filter)
+    {
+        String prefix = text == null ? "" : text.strip().toLowerCase();
+
+        if (prefix.isEmpty() || limit <= 0)
+        {
+            return Collections.emptyList();
+        }
+
+        // Min-heap with the best entries found so far
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, BY_RANK);
+        Set<Entry>           seen = new HashSet<>();
+
+        for (List<Entry> matches :
+             words.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values())
+        {
+            for (Entry entry : matches)
+            {
+                if (!seen.add(entry) || !filter.test(entry.suggestion))
+                {
+                    continue;
+                }
+
+                if (best.size() < limit)
+                {
+                    best.add(entry);
+                }
+                else if (BY_RANK.compare(entry, best.peek()) > 0)
+                {
+                    best.poll();
+                    best.add(entry);
+                }
+            }
+        }
+
+        List<TransactionSuggestion> suggestions = new ArrayList<>(best.size());
+
+        while (!best.isEmpty())
+        {
+            suggestions.add(best.poll().suggestion);
+        }
+
+        Collections.reverse(suggestions);
+
+        return suggestions;
+    }
+
+    /**
+     * Get the number of distinct descriptions in the index
+     * @return The number of descriptions
+     */
+    public int Size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Index a description by every suffix that starts a word
+     */
+    private void IndexWords(String description, Entry entry)
+    {
+        String lower = description.toLowerCase();
+
+        for (int i = 0; i < lower.length(); i++)
+        {
+            boolean startsWord =
+                Character.isLetterOrDigit(lower.charAt(i)) &&
+                (i == 0 || !Character.isLetterOrDigit(lower.charAt(i - 1)));
+
+            if (startsWord)
+            {
+                words.computeIfAbsent(lower.substring(i), k -> new ArrayList<>(1))
+                    .add(entry);
+            }
+        }
+    }
+
+    /**
+     * Get how much a transaction weighs after a number of days
+     */
+    private double Decay(double days)
+    {
+        return Math.pow(0.5, days / halfLifeDays);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Filename: EntityDescriptor.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.List;
+
+/**
+ * Describes an entity and its table, as listed by the entity registry generated
+ * at compile time
+ */
+public final class EntityDescriptor
+{
+    private final String       name;
+    private final Class<?>     entityClass;
+    private final String       tableName;
+    private final List<String> columns;
+    private final List<String> importableColumns;
+    private final List<String> requiredColumns;
+
+    /**
+     * Constructor
+     * @param entityClass The class of the entity
+     * @param tableName The name of the table
+     * @param columns The columns of the table, including the foreign keys
+     * @param importableColumns The columns a CSV column can be mapped to, the
+     *    required ones first. Empty if the entity is not importable
+     * @param requiredColumns The importable columns that must be mapped
+     */
+    public EntityDescriptor(Class<?>     entityClass,
+                            String       tableName,
+                            List<String> columns,
+                            List<String> importableColumns,
+                            List<String> requiredColumns)
+    {
+        this.name              = entityClass.getSimpleName();
+        this.entityClass       = entityClass;
+        this.tableName         = tableName;
+        this.columns           = List.copyOf(columns);
+        this.importableColumns = List.copyOf(importableColumns);
+        this.requiredColumns   = List.copyOf(requiredColumns);
+    }
+
+    /**
+     * Get the entity name
+     * @return The simple name of the entity class
+     */
+    public String GetName()
+    {
+        return name;
+    }
+
+    /**
+     * Get the class of the entity
+     * @return The class of the entity
+     */
+    public Class<?> GetEntityClass()
+    {
+        return entityClass;
+    }
+
+    /**
+     * Get the name of the table
+     * @return The name of the table
+     */
+    public String GetTableName()
+    {
+        return tableName;
+    }
+
+    /**
+     * Get the columns of the table
+     * @return The columns, in the order the fields are declared
+     */
+    public List<String> GetColumns()
+    {
+        return columns;
+    }
+
+    /**
+     * Check if the table has a column
+     * @param column The name of the column
+     * @return True if the table has the column
+     */
+    public boolean HasColumn(String column)
+    {
+        return columns.contains(column);
+    }
+
+    /**
+     * Check if the table can be imported from a CSV file
+     * @return True if the entity is importable
+     */
+    public boolean IsImportable()
+    {
+        return !importableColumns.isEmpty();
+    }
+
+    /**
+     * Get the columns a CSV column can be mapped to
+     * @return The columns, the required ones first
+     */
+    public List<String> GetImportableColumns()
+    {
+        return importableColumns;
+    }
+
+    /**
+     * Get the columns that must be mapped or have a default value
+     * @return The required columns
+     */
+    public List<String> GetRequiredColumns()
+    {
+        return requiredColumns;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Filename: ExportFormat.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+/**
+ * ENUM that represents the file formats of a data export
+ */
+public enum ExportFormat
+{
+    CSV(".csv"),
+    COLUMNAR(".mnxc");
+
+    private final String extension;
+
+    ExportFormat(String extension)
+    {
+        this.extension = extension;
+    }
+
+    /**
+     * Get the extension of the exported files, without compression
+     * @return The extension, including the dot
+     */
+    public String GetExtension()
+    {
+        return extension;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Filename: FenwickTree.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+/**
+ * Binary indexed tree with the sum of the amounts of each day, answering the sum
+ * of any range of days in O(log n)
+ *
+ * The days are epoch days. The tree starts covering a range around the first day
+ * added and doubles its range when a day outside of it is added
+ *
+ * @note Not thread-safe
+ */
+final class FenwickTree
+{
+    private int    origin;
+    private long[] tree;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Add an amount to a day
+     * @param day The epoch day
+     * @param delta The amount to add, negative to subtract
+     */
+    void Add(int day, long delta)
+    {
+        Cover(day);
+
+        for (int i = day - origin + 1; i < tree.length; i += i & -i)
+        {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sum the amounts of a range of days
+     * @param from The first day, inclusive
+     * @param to The last day, inclusive
+     * @return The sum of the amounts
+     */
+    long RangeSum(long from, long to)
+    {
+        if (from > to)
+        {
+            return 0;
+        }
+
+        return PrefixSum(to) - PrefixSum(from - 1);
+    }
+
+    /**
+     * Sum the amounts of all days up to a day, inclusive
+     */
+    private long PrefixSum(long day)
+    {
+        if (tree == null || day < origin)
+        {
+            return 0;
+        }
+
+        long total = 0;
+
+        for (int i = (int)Math.min(day - origin + 1, tree.length - 1); i > 0;
+             i -= i & -i)
+        {
+            total += tree[i];
+        }
+
+        return total;
+    }
+
+    /**
+     * Grow the range of days to cover a day, rebuilding the tree in O(n)
+     */
+    private void Cover(int day)
+    {
+        if (tree == null)
+        {
+            origin = day - INITIAL_CAPACITY / 2;
+            tree   = new long[INITIAL_CAPACITY + 1];
+            return;
+        }
+
+        int capacity = tree.length - 1;
+
+        if (day >= origin && day - origin < capacity)
+        {
+            return;
+        }
+
+        // Undo the build to get the amount of each day back
+        long[] values = tree.clone();
+
+        for (int i = capacity; i > 0; i--)
+        {
+            int parent = i + (i & -i);
+
+            if (parent <= capacity)
+            {
+                values[parent] -= values[i];
+            }
+        }
+
+        int newOrigin   = origin;
+        int newCapacity = capacity;
+
+        while (day < newOrigin || day - newOrigin >= newCapacity)
+        {
+            if (day < newOrigin)
+            {
+                newOrigin -= newCapacity;
+            }
+
+            newCapacity *= 2;
+        }
+
+        long[] grown = new long[newCapacity + 1];
+
+        System.arraycopy(values, 1, grown, origin - newOrigin + 1, capacity);
+
+        for (int i = 1; i <= newCapacity; i++)
+        {
+            int parent = i + (i & -i);
+
+            if (parent <= newCapacity)
+            {
+                grown[parent] += grown[i];
+            }
+        }
+
+        origin = newOrigin;
+        tree   = grown;
+    }
+}
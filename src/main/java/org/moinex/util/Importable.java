@@ -0,0 +1,25 @@
+/*
+ * Filename: Importable.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose table can be imported from a CSV file
+ *
+ * Read at compile time by the entity index processor, which lists the entity and
+ * its columns annotated with ImportableColumn in the entity registry. The
+ * subclasses of an importable entity are not importable unless they are also
+ * annotated
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Importable
+{ }
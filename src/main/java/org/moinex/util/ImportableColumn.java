@@ -0,0 +1,34 @@
+/*
+ * Filename: ImportableColumn.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of an importable entity that a CSV column can be mapped to
+ *
+ * Read at compile time by the entity index processor. Fields of a mapped
+ * superclass are importable in every importable entity that extends it
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ImportableColumn
+{
+    /**
+     * The name of the column in the CSV mapping. Defaults to the name of the
+     * database column
+     */
+    String name() default "";
+
+    /**
+     * True if the column must be mapped or have a default value
+     */
+    boolean required() default false;
+}
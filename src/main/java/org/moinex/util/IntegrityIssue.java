@@ -0,0 +1,43 @@
+/*
+ * Filename: IntegrityIssue.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+/**
+ * A problem found by an integrity check of the database
+ */
+public final class IntegrityIssue
+{
+    private final String check;
+    private final String description;
+
+    /**
+     * Constructor
+     * @param check The name of the check that found the problem
+     * @param description The description of the problem
+     */
+    public IntegrityIssue(String check, String description)
+    {
+        this.check       = check;
+        this.description = description;
+    }
+
+    public String GetCheck()
+    {
+        return check;
+    }
+
+    public String GetDescription()
+    {
+        return description;
+    }
+
+    @Override
+    public String toString()
+    {
+        return check + ": " + description;
+    }
+}
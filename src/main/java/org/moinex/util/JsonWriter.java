@@ -0,0 +1,246 @@
+/*
+ * Filename: JsonWriter.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Writes a JSON document to a writer as its values are produced
+ *
+ * Only the nesting of the open objects and arrays is kept, so a large array is
+ * written without holding its elements. The writer does not check that the
+ * document is well formed beyond placing the separators
+ */
+public final class JsonWriter implements Closeable
+{
+    private final Writer m_writer;
+
+    // Whether each open object or array already has a member, from the outermost
+    private boolean[] m_hasMember = new boolean[8];
+    private int       m_depth     = 0;
+
+    // True after a name, whose value takes no separator
+    private boolean m_afterName = false;
+
+    /**
+     * Constructor
+     * @param writer The writer the document is written to. Should be buffered
+     */
+    public JsonWriter(Writer writer)
+    {
+        m_writer = writer;
+    }
+
+    public JsonWriter BeginObject() throws IOException
+    {
+        Open('{');
+        return this;
+    }
+
+    public JsonWriter EndObject() throws IOException
+    {
+        Close('}');
+        return this;
+    }
+
+    public JsonWriter BeginArray() throws IOException
+    {
+        Open('[');
+        return this;
+    }
+
+    public JsonWriter EndArray() throws IOException
+    {
+        Close(']');
+        return this;
+    }
+
+    /**
+     * Write the name of the next member of the current object
+     * @param name The name
+     * @return This writer
+     */
+    public JsonWriter Name(String name) throws IOException
+    {
+        Separate();
+        WriteString(name);
+        m_writer.write(':');
+        m_afterName = true;
+        return this;
+    }
+
+    public JsonWriter Value(String value) throws IOException
+    {
+        if (value == null)
+        {
+            return NullValue();
+        }
+
+        Separate();
+        WriteString(value);
+        return this;
+    }
+
+    public JsonWriter Value(BigDecimal value) throws IOException
+    {
+        if (value == null)
+        {
+            return NullValue();
+        }
+
+        Separate();
+        m_writer.write(value.toPlainString());
+        return this;
+    }
+
+    public JsonWriter Value(long value) throws IOException
+    {
+        Separate();
+        m_writer.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter Value(double value) throws IOException
+    {
+        // JSON has no representation for them
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            return NullValue();
+        }
+
+        Separate();
+        m_writer.write(Double.toString(value));
+        return this;
+    }
+
+    public JsonWriter Value(boolean value) throws IOException
+    {
+        Separate();
+        m_writer.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter NullValue() throws IOException
+    {
+        Separate();
+        m_writer.write("null");
+        return this;
+    }
+
+    public void Flush() throws IOException
+    {
+        m_writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        m_writer.close();
+    }
+
+    private void Open(char bracket) throws IOException
+    {
+        Separate();
+        m_writer.write(bracket);
+
+        if (m_depth == m_hasMember.length)
+        {
+            boolean[] grown = new boolean[m_depth * 2];
+            System.arraycopy(m_hasMember, 0, grown, 0, m_depth);
+            m_hasMember = grown;
+        }
+
+        m_hasMember[m_depth++] = false;
+    }
+
+    private void Close(char bracket) throws IOException
+    {
+        if (m_depth == 0)
+        {
+            throw new IllegalStateException("No object or array to close");
+        }
+
+        m_depth--;
+        m_writer.write(bracket);
+    }
+
+    /**
+     * Write the comma before a member, unless it is the first one or the value of a
+     * name
+     */
+    private void Separate() throws IOException
+    {
+        if (m_afterName)
+        {
+            m_afterName = false;
+            return;
+        }
+
+        if (m_depth > 0)
+        {
+            if (m_hasMember[m_depth - 1])
+            {
+                m_writer.write(',');
+            }
+
+            m_hasMember[m_depth - 1] = true;
+        }
+    }
+
+    private void WriteString(String value) throws IOException
+    {
+        m_writer.write('"');
+
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            char   c       = value.charAt(i);
+            String escaped = null;
+
+            switch (c)
+            {
+                case '"':
+                    escaped = "\\\"";
+                    break;
+                case '\\':
+                    escaped = "\\\\";
+                    break;
+                case '\n':
+                    escaped = "\\n";
+                    break;
+                case '\r':
+                    escaped = "\\r";
+                    break;
+                case '\t':
+                    escaped = "\\t";
+                    break;
+                default:
+                    // The line separators are escaped for the readers that take
+                    // JSON as JavaScript
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029)
+                    {
+                        escaped = String.format("\\u%04x", (int)c);
+                    }
+                    break;
+            }
+
+            if (escaped != null)
+            {
+                m_writer.write(value, start, i - start);
+                m_writer.write(escaped);
+                start = i + 1;
+            }
+        }
+
+        m_writer.write(value, start, value.length() - start);
+        m_writer.write('"');
+    }
+}
@@ -6,14 +6,16 @@
 
 package org.moinex.util;
 
-import java.util.logging.ConsoleHandler;
-import java.util.logging.FileHandler;
+import java.nio.file.Path;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
 
 /**
  * Configures the logger for the application
+ *
+ * Records are written asynchronously by an AsyncLogHandler, so logging never
+ * blocks on disk I/O. Messages below Constants.LOG_LEVEL are discarded before
+ * they are built when the Supplier overloads of the Logger are used
  */
 public final class LoggerConfig
 {
@@ -30,18 +32,19 @@ public final class LoggerConfig
         try
         {
             // Set the logger level
-            m_logger.setLevel(Level.ALL);
-
-            // Create a console handler
-            ConsoleHandler consoleHandler = new ConsoleHandler();
-            consoleHandler.setLevel(Level.ALL);
-            m_logger.addHandler(consoleHandler);
-
-            // Create a file handler with append mode
-            FileHandler fileHandler = new FileHandler(Constants.LOG_FILE, true);
-            fileHandler.setLevel(Level.ALL);
-            fileHandler.setFormatter(new SimpleFormatter());
-            m_logger.addHandler(fileHandler);
+            m_logger.setLevel(Constants.LOG_LEVEL);
+
+            // The root console handler is synchronous, so records are echoed to
+            // the console by the writer thread instead
+            m_logger.setUseParentHandlers(false);
+
+            m_logger.addHandler(new AsyncLogHandler(Path.of(Constants.LOG_FILE),
+                                                    Constants.LOG_FILE_LIMIT,
+                                                    Constants.LOG_FILE_COUNT,
+                                                    true));
+
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(() -> CloseHandlers(m_logger), "moinex-log-shutdown"));
         }
         catch (Exception e)
         {
@@ -57,4 +60,47 @@ public final class LoggerConfig
     {
         return m_logger;
     }
+
+    /**
+     * Create a logger that writes only to its own rotating file
+     * @param name The name of the logger
+     * @param file The path of the log file
+     * @param fileLimit The maximum size of the log file in bytes
+     * @param fileCount The number of rotated files kept
+     * @return The logger instance
+     * @note Calling it again with the same name returns the existing logger
+     */
+    public static synchronized Logger
+    CreateFileLogger(String name, String file, long fileLimit, int fileCount)
+    {
+        Logger logger = Logger.getLogger(name);
+
+        if (logger.getHandlers().length > 0)
+        {
+            return logger;
+        }
+
+        logger.setLevel(Level.ALL);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(
+            new AsyncLogHandler(Path.of(file), fileLimit, fileCount, false));
+
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(() -> CloseHandlers(logger), "moinex-log-shutdown-" + name));
+
+        return logger;
+    }
+
+    /**
+     * Flush and close the handlers of a logger
+     * @param logger The logger
+     */
+    private static void CloseHandlers(Logger logger)
+    {
+        for (var handler : logger.getHandlers())
+        {
+            handler.flush();
+            handler.close();
+        }
+    }
 }
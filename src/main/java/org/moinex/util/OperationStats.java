@@ -0,0 +1,174 @@
+/*
+ * Filename: OperationStats.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe accumulator for the metrics of a single operation
+ *
+ * An operation is anything that is timed by the application, such as a service
+ * method call or a screen load. Each call records its duration, the number of
+ * SQL statements it prepared, the number of rows it returned and whether it failed
+ */
+public final class OperationStats
+{
+    private final String name;
+
+    private final LongAdder  count      = new LongAdder();
+    private final LongAdder  totalNanos = new LongAdder();
+    private final LongAdder  queries    = new LongAdder();
+    private final LongAdder  rows       = new LongAdder();
+    private final LongAdder  errors     = new LongAdder();
+    private final AtomicLong maxNanos   = new AtomicLong();
+    private final AtomicLong lastNanos  = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param name The name of the operation
+     */
+    public OperationStats(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * Record a call of the operation
+     * @param durationNanos The duration of the call in nanoseconds
+     * @param queryCount The number of SQL statements prepared during the call
+     * @param rowCount The number of rows returned by the call
+     * @param failed True if the call threw an exception
+     */
+    public void
+    Record(long durationNanos, long queryCount, long rowCount, boolean failed)
+    {
+        count.increment();
+        totalNanos.add(durationNanos);
+        queries.add(queryCount);
+        rows.add(rowCount);
+
+        if (failed)
+        {
+            errors.increment();
+        }
+
+        lastNanos.set(durationNanos);
+        maxNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    /**
+     * Reset all the counters
+     */
+    public void Reset()
+    {
+        count.reset();
+        totalNanos.reset();
+        queries.reset();
+        rows.reset();
+        errors.reset();
+        maxNanos.set(0);
+        lastNanos.set(0);
+    }
+
+    /**
+     * Get the name of the operation
+     * @return The name of the operation
+     */
+    public String GetName()
+    {
+        return name;
+    }
+
+    /**
+     * Get the number of calls
+     * @return The number of calls
+     */
+    public long GetCount()
+    {
+        return count.sum();
+    }
+
+    /**
+     * Get the total time spent in the operation in milliseconds
+     * @return The total time in milliseconds
+     */
+    public double GetTotalMillis()
+    {
+        return totalNanos.sum() / 1_000_000.0;
+    }
+
+    /**
+     * Get the average duration of a call in milliseconds
+     * @return The average duration in milliseconds or zero if there are no calls
+     */
+    public double GetAverageMillis()
+    {
+        long calls = count.sum();
+        return calls == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / calls;
+    }
+
+    /**
+     * Get the maximum duration of a call in milliseconds
+     * @return The maximum duration in milliseconds
+     */
+    public double GetMaxMillis()
+    {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Get the duration of the last call in milliseconds
+     * @return The duration of the last call in milliseconds
+     */
+    public double GetLastMillis()
+    {
+        return lastNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Get the total number of SQL statements prepared by the operation
+     * @return The total number of SQL statements
+     */
+    public long GetQueries()
+    {
+        return queries.sum();
+    }
+
+    /**
+     * Get the total number of rows returned by the operation
+     * @return The total number of rows
+     */
+    public long GetRows()
+    {
+        return rows.sum();
+    }
+
+    /**
+     * Get the number of calls that failed
+     * @return The number of failed calls
+     */
+    public long GetErrors()
+    {
+        return errors.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s calls=%d avg_ms=%.3f max_ms=%.3f total_ms=%.3f "
+                                 + "queries=%d rows=%d errors=%d",
+                             name,
+                             GetCount(),
+                             GetAverageMillis(),
+                             GetMaxMillis(),
+                             GetTotalMillis(),
+                             GetQueries(),
+                             GetRows(),
+                             GetErrors());
+    }
+}
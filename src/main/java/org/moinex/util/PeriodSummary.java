@@ -0,0 +1,140 @@
+/*
+ * Filename: PeriodSummary.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable summary of the incomes and expenses of a period, as shown in the
+ * resume pane
+ *
+ * The current values are the confirmed ones. The foreseen values also include the
+ * pending transactions and the transactions the recurring transactions will
+ * create in the period. The payments of the credit cards count as expenses
+ */
+public final class PeriodSummary
+{
+    private final LocalDate  from;
+    private final LocalDate  to;
+    private final BigDecimal confirmedIncome;
+    private final BigDecimal confirmedExpenses;
+    private final BigDecimal foreseenIncome;
+    private final BigDecimal foreseenExpenses;
+    private final BigDecimal creditCardDebt;
+    private final BigDecimal creditCardPendingPayments;
+
+    /**
+     * Constructor
+     * @param from The first day of the period
+     * @param to The last day of the period
+     * @param confirmedIncome The confirmed incomes
+     * @param confirmedExpenses The confirmed expenses and paid card payments
+     * @param foreseenIncome All the incomes
+     * @param foreseenExpenses All the expenses and card payments
+     * @param creditCardDebt The debts registered in the credit cards
+     * @param creditCardPendingPayments The card payments not paid yet
+     */
+    public PeriodSummary(LocalDate  from,
+                         LocalDate  to,
+                         BigDecimal confirmedIncome,
+                         BigDecimal confirmedExpenses,
+                         BigDecimal foreseenIncome,
+                         BigDecimal foreseenExpenses,
+                         BigDecimal creditCardDebt,
+                         BigDecimal creditCardPendingPayments)
+    {
+        this.from                      = from;
+        this.to                        = to;
+        this.confirmedIncome           = confirmedIncome;
+        this.confirmedExpenses         = confirmedExpenses;
+        this.foreseenIncome            = foreseenIncome;
+        this.foreseenExpenses          = foreseenExpenses;
+        this.creditCardDebt            = creditCardDebt;
+        this.creditCardPendingPayments = creditCardPendingPayments;
+    }
+
+    public LocalDate GetFrom()
+    {
+        return from;
+    }
+
+    public LocalDate GetTo()
+    {
+        return to;
+    }
+
+    public BigDecimal GetConfirmedIncome()
+    {
+        return confirmedIncome;
+    }
+
+    public BigDecimal GetConfirmedExpenses()
+    {
+        return confirmedExpenses;
+    }
+
+    public BigDecimal GetForeseenIncome()
+    {
+        return foreseenIncome;
+    }
+
+    public BigDecimal GetForeseenExpenses()
+    {
+        return foreseenExpenses;
+    }
+
+    public BigDecimal GetCreditCardDebt()
+    {
+        return creditCardDebt;
+    }
+
+    public BigDecimal GetCreditCardPendingPayments()
+    {
+        return creditCardPendingPayments;
+    }
+
+    public BigDecimal GetBalance()
+    {
+        return confirmedIncome.subtract(confirmedExpenses);
+    }
+
+    public BigDecimal GetForeseenBalance()
+    {
+        return foreseenIncome.subtract(foreseenExpenses);
+    }
+
+    /**
+     * Get the part of the confirmed incomes that was not spent
+     * @return The percentage, negative if more was spent than received, or 0 if
+     *     there are no incomes
+     */
+    public double GetSavingsPercentage()
+    {
+        return Percentage(GetBalance(), confirmedIncome);
+    }
+
+    /**
+     * Get the part of the foreseen incomes that will not be spent
+     * @return The percentage, negative if more will be spent than received, or 0
+     *     if there are no incomes
+     */
+    public double GetForeseenSavingsPercentage()
+    {
+        return Percentage(GetForeseenBalance(), foreseenIncome);
+    }
+
+    private static double Percentage(BigDecimal balance, BigDecimal income)
+    {
+        if (income.compareTo(BigDecimal.ZERO) <= 0)
+        {
+            return 0.0;
+        }
+
+        return balance.doubleValue() / income.doubleValue() * 100;
+    }
+}
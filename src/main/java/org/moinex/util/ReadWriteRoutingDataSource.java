@@ -0,0 +1,77 @@
+/*
+ * Filename: ReadWriteRoutingDataSource.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource that sends read-only transactions to a pool of readers and
+ * everything else to the writer
+ *
+ * The route is chosen when the connection is requested, so this DataSource must be
+ * wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before the read-only flag of the transaction is published, and the
+ * proxy delays the request until the first statement
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource
+{
+    public enum Route
+    {
+        WRITE,
+        READ
+    }
+
+    private final AtomicLong m_writeConnections = new AtomicLong();
+    private final AtomicLong m_readConnections  = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param writer The DataSource of the writer
+     * @param reader The DataSource of the readers
+     */
+    public ReadWriteRoutingDataSource(DataSource writer, DataSource reader)
+    {
+        setTargetDataSources(Map.of(Route.WRITE, writer, Route.READ, reader));
+        setDefaultTargetDataSource(writer);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Get the number of connections handed out by the writer
+     * @return The number of connections
+     */
+    public long GetWriteConnectionCount()
+    {
+        return m_writeConnections.get();
+    }
+
+    /**
+     * Get the number of connections handed out by the readers
+     * @return The number of connections
+     */
+    public long GetReadConnectionCount()
+    {
+        return m_readConnections.get();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey()
+    {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+        {
+            m_readConnections.incrementAndGet();
+            return Route.READ;
+        }
+
+        m_writeConnections.incrementAndGet();
+        return Route.WRITE;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Filename: RingBuffer.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer with multiple producers and a single consumer
+ *
+ * Each slot carries a sequence number that tells whether it is free for the
+ * producer of a given position or ready for the consumer. Producers claim a
+ * position with a CAS on the tail and never block: if the buffer is full, Offer
+ * returns false and the caller decides what to do with the element
+ *
+ * @note Drain must only be called from a single thread
+ */
+public final class RingBuffer<T>
+{
+    private final int                     mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray         sequences;
+    private final AtomicLong              tail = new AtomicLong();
+    private final AtomicLong              head = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param capacity The capacity of the buffer, rounded up to a power of two
+     * @throws IllegalArgumentException If the capacity is not positive
+     */
+    public RingBuffer(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        int size = Integer.highestOneBit(capacity);
+
+        if (size < capacity)
+        {
+            size <<= 1;
+        }
+
+        mask      = size - 1;
+        elements  = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element to the buffer
+     * @param element The element to be added
+     * @return True if the element was added, false if the buffer is full
+     */
+    public boolean Offer(T element)
+    {
+        while (true)
+        {
+            long position = tail.get();
+            int  index    = (int)(position & mask);
+            long diff     = sequences.get(index) - position;
+
+            if (diff == 0)
+            {
+                if (tail.compareAndSet(position, position + 1))
+                {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            }
+            else if (diff < 0)
+            {
+                return false;
+            }
+
+            // Another producer claimed this position, try the next one
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Remove up to maxElements elements from the buffer
+     * @param consumer The consumer that receives the elements in order
+     * @param maxElements The maximum number of elements to remove
+     * @return The number of elements removed
+     */
+    public int Drain(Consumer<T> consumer, int maxElements)
+    {
+        int drained = 0;
+
+        while (drained < maxElements)
+        {
+            long position = head.get();
+            int  index    = (int)(position & mask);
+
+            if (sequences.get(index) != position + 1)
+            {
+                // Empty, or a producer claimed the slot but did not publish yet
+                break;
+            }
+
+            T element = elements.get(index);
+            elements.set(index, null);
+            sequences.set(index, position + mask + 1);
+            head.set(position + 1);
+
+            consumer.accept(element);
+            drained++;
+        }
+
+        return drained;
+    }
+
+    /**
+     * Check if the buffer has no elements ready to be consumed
+     * @return True if the buffer is empty
+     */
+    public boolean IsEmpty()
+    {
+        return head.get() >= tail.get();
+    }
+
+    /**
+     * Get the number of elements added to the buffer since it was created
+     * @return The number of elements added, including the ones whose producer has
+     *     claimed a slot but not published it yet
+     */
+    public long GetAddedCount()
+    {
+        return tail.get();
+    }
+
+    /**
+     * Get the capacity of the buffer
+     * @return The capacity of the buffer
+     */
+    public int GetCapacity()
+    {
+        return mask + 1;
+    }
+}
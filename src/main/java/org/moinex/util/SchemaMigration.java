@@ -0,0 +1,40 @@
+/*
+ * Filename: SchemaMigration.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A versioned change to the schema or the data of the database
+ *
+ * The SQL migrations are the files named V<version>__<description>.sql in the
+ * migrations location. The changes that can't be written in plain SQL, such as
+ * adding a column only if it is missing, are Spring beans implementing this
+ * interface
+ */
+public interface SchemaMigration
+{
+    /**
+     * Get the version of the migration
+     * @return The version, unique among all migrations
+     */
+    int GetVersion();
+
+    /**
+     * Get the description of the migration
+     * @return The description, recorded in the schema_version table
+     */
+    String GetDescription();
+
+    /**
+     * Apply the migration
+     * @param connection The connection, inside the transaction of the migration
+     * @throws SQLException If the migration fails
+     */
+    void Migrate(Connection connection) throws SQLException;
+}
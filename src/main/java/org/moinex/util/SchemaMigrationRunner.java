@@ -0,0 +1,299 @@
+/*
+ * Filename: SchemaMigrationRunner.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * Brings the schema of the database to the latest version by applying the
+ * migrations it has not applied yet, in the order of their versions
+ *
+ * Each migration runs in its own transaction together with the row that records
+ * it in the schema_version table, so a failed migration leaves the database at
+ * the previous version. When the database is already at the latest version, the
+ * only work done is reading that version
+ */
+public final class SchemaMigrationRunner
+{
+    private final DataSource            m_dataSource;
+    private final List<SchemaMigration> m_migrations;
+
+    private static final Logger m_logger = LoggerConfig.GetLogger();
+
+    private static final Pattern SQL_MIGRATION_NAME =
+        Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * A migration read from a SQL script
+     */
+    private static final class SqlMigration implements SchemaMigration
+    {
+        private final int      version;
+        private final String   description;
+        private final Resource script;
+
+        SqlMigration(int version, String description, Resource script)
+        {
+            this.version     = version;
+            this.description = description;
+            this.script      = script;
+        }
+
+        @Override
+        public int GetVersion()
+        {
+            return version;
+        }
+
+        @Override
+        public String GetDescription()
+        {
+            return description;
+        }
+
+        @Override
+        public void Migrate(Connection connection)
+        {
+            ScriptUtils.executeSqlScript(
+                connection,
+                new EncodedResource(script, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Constructor
+     * @param dataSource The DataSource of the database
+     * @param location The location of the SQL migrations
+     * @param javaMigrations The migrations written in Java
+     * @throws RuntimeException If two migrations have the same version or a script
+     *    in the location is not named after its version
+     */
+    public SchemaMigrationRunner(DataSource            dataSource,
+                                 String                location,
+                                 List<SchemaMigration> javaMigrations)
+    {
+        List<SchemaMigration> migrations = new ArrayList<>(javaMigrations);
+        migrations.addAll(LoadSqlMigrations(location));
+        migrations.sort(Comparator.comparingInt(SchemaMigration::GetVersion));
+
+        for (int i = 1; i < migrations.size(); i++)
+        {
+            if (migrations.get(i).GetVersion() == migrations.get(i - 1).GetVersion())
+            {
+                throw new RuntimeException("More than one migration with version " +
+                                           migrations.get(i).GetVersion());
+            }
+        }
+
+        m_dataSource = dataSource;
+        m_migrations = List.copyOf(migrations);
+    }
+
+    /**
+     * Get the version of the last migration
+     * @return The version, or zero if there are no migrations
+     */
+    public int GetLatestVersion()
+    {
+        return m_migrations.isEmpty()
+                   ? 0
+                   : m_migrations.get(m_migrations.size() - 1).GetVersion();
+    }
+
+    /**
+     * Apply the migrations the database has not applied yet
+     * @return The number of migrations applied
+     * @throws RuntimeException If a migration fails or the database was migrated
+     *    by a newer version of the application
+     */
+    public int Migrate()
+    {
+        try (Connection connection = m_dataSource.getConnection())
+        {
+            int current = GetCurrentVersion(connection);
+            int latest  = GetLatestVersion();
+
+            if (current > latest)
+            {
+                throw new RuntimeException(
+                    "The database schema is at version " + current +
+                    ", but this version of the application only knows up to " +
+                    "version " + latest);
+            }
+
+            if (current == latest)
+            {
+                m_logger.info("Database schema is up to date at version " + current);
+                return 0;
+            }
+
+            m_logger.info("Migrating the database schema from version " + current +
+                          " to version " + latest);
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try
+            {
+                int applied = 0;
+
+                for (SchemaMigration migration : m_migrations)
+                {
+                    if (migration.GetVersion() > current)
+                    {
+                        Apply(connection, migration);
+                        applied++;
+                    }
+                }
+
+                return applied;
+            }
+            finally
+            {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException("Failed to migrate the database schema", e);
+        }
+    }
+
+    /**
+     * Get the version of the last migration applied to the database, creating the
+     * schema_version table if it does not exist
+     * @return The version, or zero if no migration was applied
+     */
+    private static int GetCurrentVersion(Connection connection) throws SQLException
+    {
+        try (ResultSet tables = connection.getMetaData().getTables(
+                 null,
+                 null,
+                 Constants.SCHEMA_VERSION_TABLE,
+                 null))
+        {
+            if (!tables.next())
+            {
+                try (Statement statement = connection.createStatement())
+                {
+                    statement.execute("CREATE TABLE " + Constants.SCHEMA_VERSION_TABLE +
+                                      " (version integer not null primary key, "
+                                      + "description varchar(255) not null, "
+                                      + "type varchar(10) not null, "
+                                      + "installed_on varchar(255) not null, "
+                                      + "execution_ms bigint not null)");
+                }
+
+                return 0;
+            }
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet result    = statement.executeQuery(
+                 "SELECT MAX(version) FROM " + Constants.SCHEMA_VERSION_TABLE))
+        {
+            return result.next() ? result.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Apply a migration and record it, committing both or neither
+     */
+    private static void Apply(Connection connection, SchemaMigration migration)
+        throws SQLException
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            migration.Migrate(connection);
+
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO " + Constants.SCHEMA_VERSION_TABLE +
+                     " (version, description, type, installed_on, execution_ms) "
+                     + "VALUES (?, ?, ?, ?, ?)"))
+            {
+                insert.setInt(1, migration.GetVersion());
+                insert.setString(2, migration.GetDescription());
+                insert.setString(3, migration instanceof SqlMigration ? "SQL" : "JAVA");
+                insert.setString(
+                    4,
+                    LocalDateTime.now().format(Constants.DB_DATE_FORMATTER));
+                insert.setLong(5, elapsed);
+                insert.executeUpdate();
+            }
+
+            connection.commit();
+
+            m_logger.info("Applied migration " + migration.GetVersion() + " (" +
+                          migration.GetDescription() + ") in " + elapsed + " ms");
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            connection.rollback();
+
+            throw new RuntimeException("Migration " + migration.GetVersion() + " (" +
+                                           migration.GetDescription() + ") failed",
+                                       e);
+        }
+    }
+
+    /**
+     * Read the SQL migrations of a location
+     */
+    private static List<SchemaMigration> LoadSqlMigrations(String location)
+    {
+        List<SchemaMigration> migrations = new ArrayList<>();
+
+        try
+        {
+            for (Resource script : new PathMatchingResourcePatternResolver()
+                                       .getResources(location + "*.sql"))
+            {
+                Matcher name = SQL_MIGRATION_NAME.matcher(script.getFilename());
+
+                if (!name.matches())
+                {
+                    throw new RuntimeException("Migration script " +
+                                               script.getFilename() +
+                                               " is not named V<version>__<name>.sql");
+                }
+
+                migrations.add(new SqlMigration(Integer.parseInt(name.group(1)),
+                                                name.group(2).replace('_', ' '),
+                                                script));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Failed to read the migrations in " + location,
+                                       e);
+        }
+
+        return migrations;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Filename: StatementCounter.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on each thread
+ *
+ * The global counter of the Hibernate statistics also counts the statements run
+ * concurrently by other threads, such as the read pool, the writer thread and the
+ * query API, so it can't tell how many statements a single call prepared. Hibernate
+ * calls the inspector on the thread that prepares the statement, which is the
+ * thread of the call that runs it.
+ *
+ * The inspector is registered with the property
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector
+ *
+ * @note Statements run through JDBC directly, such as the batched inserts, are not
+ *     prepared by Hibernate and are not counted
+ */
+public final class StatementCounter implements StatementInspector
+{
+    private static final ThreadLocal<long[]> m_count =
+        ThreadLocal.withInitial(() -> new long[1]);
+
+    public StatementCounter() { }
+
+    @Override
+    public String inspect(String sql)
+    {
+        m_count.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Get the number of statements prepared by the current thread
+     * @return The number of statements prepared since the thread started
+     */
+    public static long GetCount()
+    {
+        return m_count.get()[0];
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Filename: StatementFormat.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.List;
+
+/**
+ * Date and amount format of a bank statement
+ *
+ * Banks export statements with different date patterns and number formats. The
+ * format is detected from a sample of the values, so the rest of the file can be
+ * parsed without trying every pattern for each row
+ */
+public final class StatementFormat
+{
+    // Patterns tried in order. The day-first patterns come before the month-first
+    // ones, so an ambiguous date such as 01/02/2024 is read as the first of
+    // February
+    private static final List<String> DATE_PATTERNS =
+        List.of("d/M/uuuu",
+                "M/d/uuuu",
+                "uuuu-M-d",
+                "d-M-uuuu",
+                "d.M.uuuu",
+                "uuuu/M/d",
+                "uuuu-MM-dd'T'HH:mm:ss",
+                "uuuu-MM-dd HH:mm:ss",
+                "d/M/uuuu HH:mm:ss",
+                "d/M/uuuu HH:mm");
+
+    private final DateTimeFormatter dateFormatter;
+    private final boolean           dateHasTime;
+    private final char              decimalSeparator;
+
+    private StatementFormat(DateTimeFormatter dateFormatter,
+                            boolean           dateHasTime,
+                            char              decimalSeparator)
+    {
+        this.dateFormatter    = dateFormatter;
+        this.dateHasTime      = dateHasTime;
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    /**
+     * Detect the format of a statement from a sample of its values
+     * @param dates Sample of the date column. Empty values are ignored
+     * @param amounts Sample of the amount column. Empty values are ignored
+     * @return The detected format
+     * @throws RuntimeException If no known pattern matches all the sampled dates
+     */
+    public static StatementFormat Detect(List<String> dates, List<String> amounts)
+    {
+        for (String pattern : DATE_PATTERNS)
+        {
+            DateTimeFormatter formatter =
+                DateTimeFormatter.ofPattern(pattern).withResolverStyle(
+                    ResolverStyle.STRICT);
+            boolean hasTime = pattern.contains("H");
+
+            if (MatchesAll(dates, formatter, hasTime))
+            {
+                return new StatementFormat(formatter,
+                                           hasTime,
+                                           DetectDecimalSeparator(amounts));
+            }
+        }
+
+        throw new RuntimeException("Unknown date format: " +
+                                   dates.stream()
+                                       .filter(d -> d != null && !d.isBlank())
+                                       .findFirst()
+                                       .orElse("no dates found"));
+    }
+
+    /**
+     * Parse a date of the statement
+     * @param value The date as written in the file
+     * @return The date. Dates without time are placed at the start of the day
+     * @throws RuntimeException If the date does not match the detected format
+     */
+    public LocalDateTime ParseDate(String value)
+    {
+        try
+        {
+            if (dateHasTime)
+            {
+                return LocalDateTime.parse(value, dateFormatter);
+            }
+
+            return LocalDate.parse(value, dateFormatter).atStartOfDay();
+        }
+        catch (DateTimeParseException e)
+        {
+            throw new RuntimeException("Invalid date: " + value);
+        }
+    }
+
+    /**
+     * Parse an amount of the statement
+     *
+     * Currency symbols, spaces and thousands separators are ignored. A leading
+     * or trailing minus sign, or parentheses around the value, make it negative
+     *
+     * @param value The amount as written in the file
+     * @return The signed amount
+     * @throws RuntimeException If the value has no digits
+     */
+    public BigDecimal ParseAmount(String value)
+    {
+        boolean negative =
+            value.contains("-") || (value.startsWith("(") && value.endsWith(")"));
+
+        StringBuilder digits = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+
+            if (Character.isDigit(c))
+            {
+                digits.append(c);
+            }
+            else if (c == decimalSeparator)
+            {
+                digits.append('.');
+            }
+        }
+
+        try
+        {
+            BigDecimal amount = new BigDecimal(digits.toString());
+            return negative ? amount.negate() : amount;
+        }
+        catch (NumberFormatException e)
+        {
+            throw new RuntimeException("Invalid amount: " + value);
+        }
+    }
+
+    public char GetDecimalSeparator()
+    {
+        return decimalSeparator;
+    }
+
+    public DateTimeFormatter GetDateFormatter()
+    {
+        return dateFormatter;
+    }
+
+    private static boolean
+    MatchesAll(List<String> dates, DateTimeFormatter formatter, boolean hasTime)
+    {
+        boolean matched = false;
+
+        for (String date : dates)
+        {
+            if (date == null || date.isBlank())
+            {
+                continue;
+            }
+
+            try
+            {
+                if (hasTime)
+                {
+                    LocalDateTime.parse(date.strip(), formatter);
+                }
+                else
+                {
+                    LocalDate.parse(date.strip(), formatter);
+                }
+
+                matched = true;
+            }
+            catch (DateTimeParseException e)
+            {
+                return false;
+            }
+        }
+
+        return matched;
+    }
+
+    /**
+     * Detect the decimal separator from a sample of amounts
+     *
+     * The last separator of a value is the decimal one if the value has both a
+     * comma and a dot, or if it is not followed by exactly three digits. Values
+     * such as 1,234 are ambiguous and do not count
+     *
+     * @param amounts Sample of amounts
+     * @return The decimal separator, '.' if the sample is inconclusive
+     */
+    private static char DetectDecimalSeparator(List<String> amounts)
+    {
+        int commas = 0;
+        int dots   = 0;
+
+        for (String amount : amounts)
+        {
+            if (amount == null)
+            {
+                continue;
+            }
+
+            int lastComma = amount.lastIndexOf(',');
+            int lastDot   = amount.lastIndexOf('.');
+            int last      = Math.max(lastComma, lastDot);
+
+            if (last < 0)
+            {
+                continue;
+            }
+
+            int digitsAfter = 0;
+
+            for (int i = last + 1; i < amount.length(); i++)
+            {
+                if (Character.isDigit(amount.charAt(i)))
+                {
+                    digitsAfter++;
+                }
+            }
+
+            if ((lastComma >= 0 && lastDot >= 0) || digitsAfter != 3)
+            {
+                if (last == lastComma)
+                {
+                    commas++;
+                }
+                else
+                {
+                    dots++;
+                }
+            }
+        }
+
+        return commas > dots ? ',' : '.';
+    }
+}
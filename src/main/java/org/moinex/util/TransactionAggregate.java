@@ -0,0 +1,104 @@
+/*
+ * Filename: TransactionAggregate.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Partial aggregate of the transactions of a period, with the stats of each
+ * combination of type, status, wallet and category found in it
+ *
+ * The wallets and categories are the codes of the columnar store. Merging is
+ * associative, so the partials of the months may be merged in any grouping.
+ * A partial is not changed after it is built, so it may be cached and shared
+ */
+final class TransactionAggregate
+{
+    private final Map<Long, AggregateStats> cells;
+
+    static final TransactionAggregate EMPTY = new TransactionAggregate(Map.of());
+
+    private TransactionAggregate(Map<Long, AggregateStats> cells)
+    {
+        this.cells = cells;
+    }
+
+    /**
+     * Builds a partial from the rows of a period
+     */
+    static final class Builder
+    {
+        private final Map<Long, AggregateStats> cells = new HashMap<>();
+
+        void Add(byte type, byte status, short wallet, short category, long cents)
+        {
+            cells.computeIfAbsent(Key(type, status, wallet, category),
+                                  k -> new AggregateStats())
+                .Add(cents);
+        }
+
+        TransactionAggregate Build()
+        {
+            return cells.isEmpty() ? EMPTY : new TransactionAggregate(cells);
+        }
+    }
+
+    /**
+     * Merge two partials
+     * @return A new partial with the transactions of both
+     */
+    TransactionAggregate Merge(TransactionAggregate other)
+    {
+        if (other.cells.isEmpty())
+        {
+            return this;
+        }
+
+        if (cells.isEmpty())
+        {
+            return other;
+        }
+
+        Map<Long, AggregateStats> merged = new HashMap<>(cells);
+
+        other.cells.forEach(
+            (key, stats) -> merged.merge(key, stats, AggregateStats::Merge));
+
+        return new TransactionAggregate(merged);
+    }
+
+    Map<Long, AggregateStats> GetCells()
+    {
+        return cells;
+    }
+
+    static long Key(byte type, byte status, short wallet, short category)
+    {
+        return (long)type << 48 | (long)status << 32 | (long)wallet << 16 | category;
+    }
+
+    static byte Type(long key)
+    {
+        return (byte)(key >>> 48);
+    }
+
+    static byte Status(long key)
+    {
+        return (byte)(key >>> 32 & 0xFFFF);
+    }
+
+    static short Wallet(long key)
+    {
+        return (short)(key >>> 16 & 0xFFFF);
+    }
+
+    static short Category(long key)
+    {
+        return (short)(key & 0xFFFF);
+    }
+}
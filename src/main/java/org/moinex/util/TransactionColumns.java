@@ -0,0 +1,964 @@
+/*
+ * Filename: TransactionColumns.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Columnar in-memory store of the wallet transactions, for the summaries and
+ * charts
+ *
+ * Each attribute used by the summaries is kept in its own primitive array, with
+ * one row per transaction: dates as epoch days, amounts as cents, wallets and
+ * categories as short codes and the type and status as their ordinals. A query
+ * scans only the columns it uses, one predicate at a time over a vector with the
+ * selected rows, and sums the amounts without creating any object per row.
+ *
+ * The rows are not kept in any order. Removing a row moves the last row to its
+ * place. The rows of each month are also listed apart, so the aggregations of
+ * long periods are split by month and run in parallel. The amounts of each
+ * wallet, category and type are also kept in a Fenwick tree by day, so the sums
+ * over any period that do not filter by status take O(log n) per tree. Keying the
+ * trees by wallet keeps them usable when the transactions of archived wallets are
+ * left out
+ *
+ * @note Not thread-safe
+ */
+public final class TransactionColumns
+{
+    private long[]  ids;
+    private int[]   days;
+    private int[]   months;
+    private long[]  cents;
+    private short[] wallets;
+    private short[] categories;
+    private byte[]  types;
+    private byte[]  statuses;
+    private int[]   monthSlots;
+    private int     size;
+
+    private final Map<Long, Integer> rows = new HashMap<>();
+
+    // Rows of each month, so the aggregations are split by month
+    private final Map<Integer, MonthRows> monthRows = new HashMap<>();
+
+    // Partial aggregates of the closed months. Written by the aggregations, which
+    // may run in parallel
+    private final Map<Integer, TransactionAggregate> closedMonthPartials =
+        new ConcurrentHashMap<>();
+
+    // Amounts by day of each wallet, category and type, keyed by RangeKey
+    private final Map<Long, FenwickTree> rangeIndex = new HashMap<>();
+
+    private final Codes walletCodes = new Codes();
+
+    private final Codes categoryCodes = new Codes();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    /**
+     * The rows of a month. The position of each row here is kept in monthSlots
+     */
+    private static final class MonthRows
+    {
+        private int[] rows = new int[16];
+        private int   size = 0;
+    }
+
+    /**
+     * Maps the ids of the wallets and categories to the short codes kept in the
+     * columns
+     */
+    private static final class Codes
+    {
+        private final Map<Long, Short> codes = new HashMap<>();
+        private long[]                 ids   = new long[16];
+
+        private short Encode(Long id)
+        {
+            Short code = codes.get(id);
+
+            if (code != null)
+            {
+                return code;
+            }
+
+            if (codes.size() > Short.MAX_VALUE)
+            {
+                throw new IllegalStateException("Too many distinct ids");
+            }
+
+            code = (short)codes.size();
+
+            if (code >= ids.length)
+            {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+
+            ids[code] = id;
+            codes.put(id, code);
+
+            return code;
+        }
+
+        private long Decode(short code)
+        {
+            return ids[code];
+        }
+
+        /**
+         * Get which codes belong to a set of ids
+         */
+        private boolean[] Mask(Collection<Long> selected)
+        {
+            boolean[] mask = new boolean[codes.size()];
+
+            for (Long id : selected)
+            {
+                Short code = codes.get(id);
+
+                if (code != null)
+                {
+                    mask[code] = true;
+                }
+            }
+
+            return mask;
+        }
+
+        private int Size()
+        {
+            return codes.size();
+        }
+    }
+
+    public TransactionColumns()
+    {
+        ids        = new long[INITIAL_CAPACITY];
+        days       = new int[INITIAL_CAPACITY];
+        months     = new int[INITIAL_CAPACITY];
+        cents      = new long[INITIAL_CAPACITY];
+        wallets    = new short[INITIAL_CAPACITY];
+        categories = new short[INITIAL_CAPACITY];
+        types      = new byte[INITIAL_CAPACITY];
+        statuses   = new byte[INITIAL_CAPACITY];
+        monthSlots = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add a transaction, or replace it if it is already in the store
+     * @param id The id of the transaction
+     * @param date The date of the transaction
+     * @param amount The amount of the transaction
+     * @param walletId The wallet of the transaction
+     * @param categoryId The category of the transaction
+     * @param type The type of the transaction
+     * @param status The status of the transaction
+     */
+    public void Put(Long              id,
+                    LocalDate         date,
+                    BigDecimal        amount,
+                    Long              walletId,
+                    Long              categoryId,
+                    TransactionType   type,
+                    TransactionStatus status)
+    {
+        Integer row   = rows.get(id);
+        int     month = MonthOf(date);
+
+        if (row == null)
+        {
+            if (size == ids.length)
+            {
+                Grow(size * 2);
+            }
+
+            row = size++;
+            rows.put(id, row);
+            AddToMonth(row, month);
+        }
+        else
+        {
+            closedMonthPartials.remove(months[row]);
+            IndexRow(row, -1);
+
+            if (months[row] != month)
+            {
+                RemoveFromMonth(row);
+                AddToMonth(row, month);
+            }
+        }
+
+        closedMonthPartials.remove(month);
+
+        ids[row]        = id;
+        days[row]       = (int)date.toEpochDay();
+        months[row]     = month;
+        cents[row]      = ToCents(amount);
+        wallets[row]    = walletCodes.Encode(walletId);
+        categories[row] = categoryCodes.Encode(categoryId);
+        types[row]      = (byte)type.ordinal();
+        statuses[row]   = (byte)status.ordinal();
+
+        IndexRow(row, 1);
+    }
+
+    /**
+     * Remove a transaction
+     * @param id The id of the transaction
+     * @return True if the transaction was in the store
+     */
+    public boolean Remove(Long id)
+    {
+        Integer row = rows.remove(id);
+
+        if (row == null)
+        {
+            return false;
+        }
+
+        closedMonthPartials.remove(months[row]);
+        IndexRow(row, -1);
+        RemoveFromMonth(row);
+
+        int last = --size;
+
+        if (row != last)
+        {
+            ids[row]        = ids[last];
+            days[row]       = days[last];
+            months[row]     = months[last];
+            cents[row]      = cents[last];
+            wallets[row]    = wallets[last];
+            categories[row] = categories[last];
+            types[row]      = types[last];
+            statuses[row]   = statuses[last];
+            monthSlots[row] = monthSlots[last];
+
+            rows.put(ids[row], row);
+            monthRows.get(months[row]).rows[monthSlots[row]] = row;
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of transactions in the store
+     * @return The number of transactions
+     */
+    public int Size()
+    {
+        return size;
+    }
+
+    /**
+     * Start a query over all transactions
+     * @return A query without filters
+     */
+    public Query Query()
+    {
+        return new Query();
+    }
+
+    /**
+     * Convert an amount to cents
+     * @param amount The amount
+     * @return The amount in cents, rounded half up
+     */
+    public static long ToCents(BigDecimal amount)
+    {
+        return amount.setScale(2, RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact();
+    }
+
+    /**
+     * Convert cents to an amount
+     * @param cents The amount in cents
+     * @return The amount, with two decimal places
+     */
+    public static BigDecimal ToAmount(long cents)
+    {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private void Grow(int capacity)
+    {
+        ids        = Arrays.copyOf(ids, capacity);
+        days       = Arrays.copyOf(days, capacity);
+        months     = Arrays.copyOf(months, capacity);
+        cents      = Arrays.copyOf(cents, capacity);
+        wallets    = Arrays.copyOf(wallets, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        types      = Arrays.copyOf(types, capacity);
+        statuses   = Arrays.copyOf(statuses, capacity);
+        monthSlots = Arrays.copyOf(monthSlots, capacity);
+    }
+
+    private void AddToMonth(int row, int month)
+    {
+        MonthRows monthRow = monthRows.computeIfAbsent(month, k -> new MonthRows());
+
+        if (monthRow.size == monthRow.rows.length)
+        {
+            monthRow.rows = Arrays.copyOf(monthRow.rows, monthRow.size * 2);
+        }
+
+        monthSlots[row]                 = monthRow.size;
+        monthRow.rows[monthRow.size++] = row;
+    }
+
+    /**
+     * Remove a row from its month, moving the last row of the month to its place
+     */
+    private void RemoveFromMonth(int row)
+    {
+        MonthRows monthRow = monthRows.get(months[row]);
+        int       slot     = monthSlots[row];
+        int       moved    = monthRow.rows[--monthRow.size];
+
+        monthRow.rows[slot] = moved;
+        monthSlots[moved]   = slot;
+
+        if (monthRow.size == 0)
+        {
+            monthRows.remove(months[row]);
+        }
+    }
+
+    /**
+     * Add the amount of a row to the tree of its wallet, category and type
+     * @param sign 1 to add the amount, -1 to remove it
+     */
+    private void IndexRow(int row, int sign)
+    {
+        rangeIndex
+            .computeIfAbsent(RangeKey(wallets[row], categories[row], types[row]),
+                             k -> new FenwickTree())
+            .Add(days[row], sign * cents[row]);
+    }
+
+    private static long RangeKey(short wallet, short category, byte type)
+    {
+        return (long)wallet << 24 | category << 8 | type;
+    }
+
+    /**
+     * Drop the cached partial aggregates of the closed months
+     * @note The partials are kept current by the changes, this is only needed to
+     *    measure the aggregations without them
+     */
+    public void ClearPartials()
+    {
+        closedMonthPartials.clear();
+    }
+
+    private static int MonthOf(LocalDate date)
+    {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int MonthOf(int epochDay)
+    {
+        return MonthOf(LocalDate.ofEpochDay(epochDay));
+    }
+
+    private static boolean InMask(boolean[] mask, short code)
+    {
+        return mask == null || (code < mask.length && mask[code]);
+    }
+
+    /**
+     * Keep the selected rows whose code is in a mask
+     * @return The number of rows kept
+     */
+    private static int Keep(int[] selection, int count, short[] column, boolean[] mask)
+    {
+        int kept = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            short code = column[selection[i]];
+
+            if (code < mask.length && mask[code])
+            {
+                selection[kept++] = selection[i];
+            }
+        }
+
+        return kept;
+    }
+
+    /**
+     * Combine two masks
+     * @return The codes in both masks, or null if all codes are in both
+     */
+    private static boolean[] And(boolean[] current, boolean[] mask, int codes)
+    {
+        boolean[] result = mask;
+
+        if (current != null)
+        {
+            result = new boolean[Math.min(current.length, mask.length)];
+
+            for (int i = 0; i < result.length; i++)
+            {
+                result[i] = current[i] && mask[i];
+            }
+        }
+
+        if (result.length < codes)
+        {
+            return result;
+        }
+
+        for (int i = 0; i < codes; i++)
+        {
+            if (!result[i])
+            {
+                return result;
+            }
+        }
+
+        // A mask with every code filters nothing, so the rows are not checked
+        return null;
+    }
+
+    /**
+     * A query over the transactions of the store
+     *
+     * The filters return a new query, so a query may be shared by several
+     * aggregations. The filters are applied when an aggregation runs, and must not
+     * be used after the store changes
+     */
+    public final class Query
+    {
+        private int       fromDay = Integer.MIN_VALUE;
+        private int       toDay   = Integer.MAX_VALUE;
+        private int       type    = -1;
+        private int       status  = -1;
+        private boolean[] walletMask;
+        private boolean[] categoryMask;
+
+        private Query() { }
+
+        private Query(Query other)
+        {
+            this.fromDay      = other.fromDay;
+            this.toDay        = other.toDay;
+            this.type         = other.type;
+            this.status       = other.status;
+            this.walletMask   = other.walletMask;
+            this.categoryMask = other.categoryMask;
+        }
+
+        /**
+         * Keep the transactions between two dates
+         * @param from The first date, inclusive
+         * @param to The last date, inclusive
+         * @return The filtered query
+         */
+        public Query Between(LocalDate from, LocalDate to)
+        {
+            Query query   = new Query(this);
+            query.fromDay = Math.max(fromDay, (int)from.toEpochDay());
+            query.toDay   = Math.min(toDay, (int)to.toEpochDay());
+            return query;
+        }
+
+        /**
+         * Keep the transactions of a month
+         * @param month The month
+         * @return The filtered query
+         */
+        public Query In(YearMonth month)
+        {
+            return Between(month.atDay(1), month.atEndOfMonth());
+        }
+
+        /**
+         * Keep the transactions of a type
+         * @param type The type
+         * @return The filtered query
+         */
+        public Query OfType(TransactionType type)
+        {
+            Query query = new Query(this);
+            query.type  = type.ordinal();
+            return query;
+        }
+
+        /**
+         * Keep the transactions with a status
+         * @param status The status
+         * @return The filtered query
+         */
+        public Query WithStatus(TransactionStatus status)
+        {
+            Query query  = new Query(this);
+            query.status = status.ordinal();
+            return query;
+        }
+
+        /**
+         * Keep the transactions of some wallets
+         * @param walletIds The ids of the wallets
+         * @return The filtered query
+         */
+        public Query InWallets(Collection<Long> walletIds)
+        {
+            Query query      = new Query(this);
+            query.walletMask =
+                And(walletMask, walletCodes.Mask(walletIds), walletCodes.Size());
+            return query;
+        }
+
+        /**
+         * Keep the transactions of some categories
+         * @param categoryIds The ids of the categories
+         * @return The filtered query
+         */
+        public Query InCategories(Collection<Long> categoryIds)
+        {
+            Query query        = new Query(this);
+            query.categoryMask = And(categoryMask,
+                                     categoryCodes.Mask(categoryIds),
+                                     categoryCodes.Size());
+            return query;
+        }
+
+        /**
+         * Count the selected transactions
+         * @return The number of transactions
+         */
+        public int Count()
+        {
+            return Select().length;
+        }
+
+        /**
+         * Sum the amounts of the selected transactions
+         * @return The total, in cents
+         */
+        public long Sum()
+        {
+            if (IsIndexed())
+            {
+                return IndexedSum(type);
+            }
+
+            long total = 0;
+
+            for (int row : Select())
+            {
+                total += cents[row];
+            }
+
+            return total;
+        }
+
+        /**
+         * Sum the amounts of the selected transactions by category
+         * @return The total of each category id with transactions, in cents
+         */
+        public Map<Long, Long> SumByCategory()
+        {
+            long[] totals = new long[categoryCodes.Size()];
+            int[]  counts = new int[categoryCodes.Size()];
+
+            for (int row : Select())
+            {
+                totals[categories[row]] += cents[row];
+                counts[categories[row]]++;
+            }
+
+            Map<Long, Long> result = new HashMap<>();
+
+            for (short code = 0; code < totals.length; code++)
+            {
+                if (counts[code] > 0)
+                {
+                    result.put(categoryCodes.Decode(code), totals[code]);
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * Sum the amounts of the selected transactions by wallet
+         * @return The total of each wallet id with transactions, in cents
+         */
+        public Map<Long, Long> SumByWallet()
+        {
+            long[] totals = new long[walletCodes.Size()];
+            int[]  counts = new int[walletCodes.Size()];
+
+            for (int row : Select())
+            {
+                totals[wallets[row]] += cents[row];
+                counts[wallets[row]]++;
+            }
+
+            Map<Long, Long> result = new HashMap<>();
+
+            for (short code = 0; code < totals.length; code++)
+            {
+                if (counts[code] > 0)
+                {
+                    result.put(walletCodes.Decode(code), totals[code]);
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * Sum the amounts of the selected transactions by month
+         * @return The total of each month with transactions, in cents, sorted by
+         *    month
+         */
+        public Map<YearMonth, Long> SumByMonth()
+        {
+            Map<Integer, Long> totals = new HashMap<>();
+
+            for (int row : Select())
+            {
+                totals.merge(months[row], cents[row], Long::sum);
+            }
+
+            Map<YearMonth, Long> result = new TreeMap<>();
+
+            totals.forEach((month, total) -> {
+                result.put(YearMonth.of(month / 12, month % 12 + 1), total);
+            });
+
+            return result;
+        }
+
+        /**
+         * Sum the amounts of the selected transactions by type
+         * @return The total of each type, in cents, indexed by the ordinal of the
+         *    type
+         */
+        public long[] SumByType()
+        {
+            long[] totals = new long[TYPES.length];
+
+            if (IsIndexed())
+            {
+                for (int t = 0; t < totals.length; t++)
+                {
+                    totals[t] = type < 0 || type == t ? IndexedSum(t) : 0;
+                }
+
+                return totals;
+            }
+
+            for (int row : Select())
+            {
+                totals[types[row]] += cents[row];
+            }
+
+            return totals;
+        }
+
+        /**
+         * Sum the amounts of the selected transactions by status
+         * @return The total of each status, in cents, indexed by the ordinal of the
+         *    status
+         */
+        public long[] SumByStatus()
+        {
+            long[] totals = new long[STATUSES.length];
+
+            for (int row : Select())
+            {
+                totals[statuses[row]] += cents[row];
+            }
+
+            return totals;
+        }
+
+        /**
+         * Aggregate the selected transactions in parallel in the common pool
+         * @return The stats of the selected transactions
+         */
+        public TransactionSummary Summarize()
+        {
+            return Summarize(ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Aggregate the selected transactions in parallel
+         *
+         * The period is split by month and each month is aggregated by its own
+         * task. The partials are merged as the tasks join, and the partials of the
+         * closed months are cached until one of their transactions changes, so
+         * usually only the current month is read again
+         *
+         * @param pool The pool that runs the tasks
+         * @return The stats of the selected transactions
+         */
+        public TransactionSummary Summarize(ForkJoinPool pool)
+        {
+            int firstMonth = fromDay == Integer.MIN_VALUE ? Integer.MIN_VALUE
+                                                          : MonthOf(fromDay);
+            int lastMonth  = toDay == Integer.MAX_VALUE ? Integer.MAX_VALUE
+                                                        : MonthOf(toDay);
+
+            int[] selectedMonths = monthRows.keySet()
+                                       .stream()
+                                       .mapToInt(Integer::intValue)
+                                       .filter(m -> m >= firstMonth && m <= lastMonth)
+                                       .sorted()
+                                       .toArray();
+
+            TransactionAggregate aggregate =
+                selectedMonths.length == 0
+                    ? TransactionAggregate.EMPTY
+                    : pool.invoke(new MonthsTask(selectedMonths,
+                                                 0,
+                                                 selectedMonths.length,
+                                                 MonthOf(LocalDate.now())));
+
+            List<TransactionSummary.Cell> cells = new ArrayList<>();
+
+            aggregate.GetCells().forEach((key, stats) -> {
+                byte  cellType     = TransactionAggregate.Type(key);
+                byte  cellStatus   = TransactionAggregate.Status(key);
+                short cellWallet   = TransactionAggregate.Wallet(key);
+                short cellCategory = TransactionAggregate.Category(key);
+
+                if ((type >= 0 && cellType != type) ||
+                    (status >= 0 && cellStatus != status) ||
+                    !InMask(walletMask, cellWallet) ||
+                    !InMask(categoryMask, cellCategory))
+                {
+                    return;
+                }
+
+                cells.add(
+                    new TransactionSummary.Cell(TYPES[cellType],
+                                                STATUSES[cellStatus],
+                                                walletCodes.Decode(cellWallet),
+                                                categoryCodes.Decode(cellCategory),
+                                                stats));
+            });
+
+            return new TransactionSummary(cells);
+        }
+
+        /**
+         * Aggregates a range of months, splitting it until each task has one month
+         */
+        private final class MonthsTask extends RecursiveTask<TransactionAggregate>
+        {
+            private final int[] selectedMonths;
+            private final int   start;
+            private final int   end;
+            private final int   currentMonth;
+
+            private MonthsTask(int[] selectedMonths,
+                               int   start,
+                               int   end,
+                               int   currentMonth)
+            {
+                this.selectedMonths = selectedMonths;
+                this.start          = start;
+                this.end            = end;
+                this.currentMonth   = currentMonth;
+            }
+
+            @Override
+            protected TransactionAggregate compute()
+            {
+                if (end - start == 1)
+                {
+                    return MonthPartial(selectedMonths[start], currentMonth);
+                }
+
+                int middle = (start + end) >>> 1;
+
+                MonthsTask left =
+                    new MonthsTask(selectedMonths, start, middle, currentMonth);
+                MonthsTask right =
+                    new MonthsTask(selectedMonths, middle, end, currentMonth);
+
+                left.fork();
+                TransactionAggregate rightPartial = right.compute();
+
+                return left.join().Merge(rightPartial);
+            }
+        }
+
+        /**
+         * Get the partial aggregate of the rows of a month inside the period
+         */
+        private TransactionAggregate MonthPartial(int month, int currentMonth)
+        {
+            YearMonth yearMonth = YearMonth.of(month / 12, month % 12 + 1);
+
+            boolean whole = yearMonth.atDay(1).toEpochDay() >= fromDay &&
+                            yearMonth.atEndOfMonth().toEpochDay() <= toDay;
+
+            // Only whole closed months are cached, since the others change with the
+            // period or with the new transactions
+            if (!whole || month >= currentMonth)
+            {
+                return ReadMonth(month, whole);
+            }
+
+            TransactionAggregate partial = closedMonthPartials.get(month);
+
+            if (partial == null)
+            {
+                partial = ReadMonth(month, true);
+                closedMonthPartials.put(month, partial);
+            }
+
+            return partial;
+        }
+
+        private TransactionAggregate ReadMonth(int month, boolean whole)
+        {
+            TransactionAggregate.Builder builder =
+                new TransactionAggregate.Builder();
+            MonthRows monthRow = monthRows.get(month);
+
+            for (int i = 0; i < monthRow.size; i++)
+            {
+                int row = monthRow.rows[i];
+
+                if (whole || (days[row] >= fromDay && days[row] <= toDay))
+                {
+                    builder.Add(types[row],
+                                statuses[row],
+                                wallets[row],
+                                categories[row],
+                                cents[row]);
+                }
+            }
+
+            return builder.Build();
+        }
+
+        /**
+         * Check if the sums of the query are read from the range index instead of
+         * the rows
+         * @return True if the query does not filter by status
+         */
+        public boolean IsIndexed()
+        {
+            return status < 0;
+        }
+
+        /**
+         * Sum the period from the trees of the selected wallets and categories
+         * @param type The ordinal of the type, or -1 for any
+         */
+        private long IndexedSum(int type)
+        {
+            long total = 0;
+
+            for (Map.Entry<Long, FenwickTree> entry : rangeIndex.entrySet())
+            {
+                long key = entry.getKey();
+
+                if ((type < 0 || (key & 0xFF) == type) &&
+                    InMask(walletMask, (short)(key >>> 24)) &&
+                    InMask(categoryMask, (short)(key >>> 8)))
+                {
+                    total += entry.getValue().RangeSum(fromDay, toDay);
+                }
+            }
+
+            return total;
+        }
+
+        /**
+         * Get the rows selected by the filters
+         *
+         * The dates are scanned first, since most queries are for a period, and
+         * each other filter only visits the rows kept by the previous ones
+         */
+        private int[] Select()
+        {
+            int[] selection = new int[size];
+            int   count     = 0;
+
+            for (int row = 0; row < size; row++)
+            {
+                int day = days[row];
+
+                if (day >= fromDay && day <= toDay)
+                {
+                    selection[count++] = row;
+                }
+            }
+
+            if (type >= 0)
+            {
+                int kept = 0;
+
+                for (int i = 0; i < count; i++)
+                {
+                    if (types[selection[i]] == type)
+                    {
+                        selection[kept++] = selection[i];
+                    }
+                }
+
+                count = kept;
+            }
+
+            if (status >= 0)
+            {
+                int kept = 0;
+
+                for (int i = 0; i < count; i++)
+                {
+                    if (statuses[selection[i]] == status)
+                    {
+                        selection[kept++] = selection[i];
+                    }
+                }
+
+                count = kept;
+            }
+
+            if (walletMask != null)
+            {
+                count = Keep(selection, count, wallets, walletMask);
+            }
+
+            if (categoryMask != null)
+            {
+                count = Keep(selection, count, categories, categoryMask);
+            }
+
+            return count == size ? selection : Arrays.copyOf(selection, count);
+        }
+    }
+}
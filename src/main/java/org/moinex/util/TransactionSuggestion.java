@@ -0,0 +1,78 @@
+/*
+ * Filename: TransactionSuggestion.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A description used by previous transactions, with the values of the most recent
+ * of them
+ */
+public final class TransactionSuggestion
+{
+    private final String        description;
+    private final BigDecimal    amount;
+    private final Long          walletId;
+    private final Long          categoryId;
+    private final LocalDateTime lastDate;
+    private final Integer       count;
+
+    /**
+     * Constructor
+     * @param description The description
+     * @param amount The amount of the most recent transaction
+     * @param walletId The wallet of the most recent transaction
+     * @param categoryId The category of the most recent transaction
+     * @param lastDate The date of the most recent transaction
+     * @param count The number of transactions with the description
+     */
+    public TransactionSuggestion(String        description,
+                                 BigDecimal    amount,
+                                 Long          walletId,
+                                 Long          categoryId,
+                                 LocalDateTime lastDate,
+                                 Integer       count)
+    {
+        this.description = description;
+        this.amount      = amount;
+        this.walletId    = walletId;
+        this.categoryId  = categoryId;
+        this.lastDate    = lastDate;
+        this.count       = count;
+    }
+
+    public String GetDescription()
+    {
+        return description;
+    }
+
+    public BigDecimal GetAmount()
+    {
+        return amount;
+    }
+
+    public Long GetWalletId()
+    {
+        return walletId;
+    }
+
+    public Long GetCategoryId()
+    {
+        return categoryId;
+    }
+
+    public LocalDateTime GetLastDate()
+    {
+        return lastDate;
+    }
+
+    public Integer GetCount()
+    {
+        return count;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Filename: TransactionSummary.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stats of the transactions of a period, by type, status, wallet and category
+ *
+ * The methods that take a type or a status accept null for any
+ */
+public final class TransactionSummary
+{
+    private final List<Cell> cells;
+
+    /**
+     * The stats of a combination of type, status, wallet and category
+     */
+    static final class Cell
+    {
+        private final TransactionType   type;
+        private final TransactionStatus status;
+        private final Long              walletId;
+        private final Long              categoryId;
+        private final AggregateStats    stats;
+
+        Cell(TransactionType   type,
+             TransactionStatus status,
+             Long              walletId,
+             Long              categoryId,
+             AggregateStats    stats)
+        {
+            this.type       = type;
+            this.status     = status;
+            this.walletId   = walletId;
+            this.categoryId = categoryId;
+            this.stats      = stats;
+        }
+    }
+
+    TransactionSummary(List<Cell> cells)
+    {
+        this.cells = Collections.unmodifiableList(new ArrayList<>(cells));
+    }
+
+    /**
+     * Get the stats of all transactions with a type and status
+     * @param type The type, or null for any
+     * @param status The status, or null for any
+     * @return The stats
+     */
+    public AggregateStats Total(TransactionType type, TransactionStatus status)
+    {
+        AggregateStats total = AggregateStats.EMPTY;
+
+        for (Cell cell : cells)
+        {
+            if (Matches(cell, type, status))
+            {
+                total = total.Merge(cell.stats);
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Get the stats of each category
+     * @param type The type, or null for any
+     * @param status The status, or null for any
+     * @return The stats of each category id with transactions
+     */
+    public Map<Long, AggregateStats> ByCategory(TransactionType   type,
+                                                TransactionStatus status)
+    {
+        Map<Long, AggregateStats> result = new HashMap<>();
+
+        for (Cell cell : cells)
+        {
+            if (Matches(cell, type, status))
+            {
+                result.merge(cell.categoryId, cell.stats, AggregateStats::Merge);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the stats of each wallet
+     * @param type The type, or null for any
+     * @param status The status, or null for any
+     * @return The stats of each wallet id with transactions
+     */
+    public Map<Long, AggregateStats> ByWallet(TransactionType   type,
+                                              TransactionStatus status)
+    {
+        Map<Long, AggregateStats> result = new HashMap<>();
+
+        for (Cell cell : cells)
+        {
+            if (Matches(cell, type, status))
+            {
+                result.merge(cell.walletId, cell.stats, AggregateStats::Merge);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean
+    Matches(Cell cell, TransactionType type, TransactionStatus status)
+    {
+        return (type == null || cell.type == type) &&
+            (status == null || cell.status == status);
+    }
+}
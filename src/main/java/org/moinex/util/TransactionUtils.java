@@ -0,0 +1,28 @@
+/*
+ * Filename: TransactionUtils.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for the in-memory copies of the database
+ */
+public final class TransactionUtils
+{
+    /**
+     * Check if what the current thread reads from the database is committed, so a
+     * copy of it can be shared with the other threads
+     * @return True if there is no transaction or the current one is read-only
+     * @note A transaction that writes reads its own changes, which may still be
+     *    rolled back
+     */
+    public static boolean ReadsCommittedData()
+    {
+        return !TransactionSynchronizationManager.isActualTransactionActive() ||
+            TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
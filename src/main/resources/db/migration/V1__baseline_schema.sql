@@ -0,0 +1,121 @@
+/*
+ * Filename: V1__baseline_schema.sql
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ *
+ * Description: The tables of the first release, as created by Hibernate. The
+ * databases created before the migrations already have them, so nothing is
+ * changed in those
+ */
+
+CREATE TABLE IF NOT EXISTS category (
+    archived boolean not null,
+    id integer,
+    name varchar(50) not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS wallet_type (
+    id integer,
+    icon varchar(30),
+    name varchar(50) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS wallet (
+    archived boolean default false not null,
+    balance numeric(38,2) not null,
+    id integer,
+    type_id bigint,
+    name varchar(50) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS goal (
+    initial_balance numeric(38,2) not null,
+    target_balance numeric(38,2) not null,
+    wallet_id bigint not null,
+    motivation varchar(500),
+    completion_date varchar(255),
+    target_date varchar(255) not null,
+    primary key (wallet_id)
+);
+
+CREATE TABLE IF NOT EXISTS wallet_transaction (
+    amount numeric(38,2) not null,
+    category_id bigint not null,
+    id integer,
+    wallet_id bigint not null,
+    date varchar(255) not null,
+    description varchar(255),
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED')),
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS transfer (
+    amount numeric(38,2) not null,
+    id integer,
+    receiver_wallet_id bigint not null,
+    sender_wallet_id bigint not null,
+    date varchar(255) not null,
+    description varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS recurring_transaction (
+    amount numeric(38,2) not null,
+    category_id bigint not null,
+    id integer,
+    wallet_id bigint not null,
+    description varchar(255),
+    end_date varchar(255) not null,
+    frequency varchar(255) not null
+        check (frequency in ('DAILY','WEEKLY','MONTHLY','YEARLY')),
+    next_due_date varchar(255) not null,
+    start_date varchar(255) not null,
+    status varchar default 'ACTIVE' not null check (status in ('ACTIVE','INACTIVE')),
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS credit_card_operator (
+    id integer,
+    icon varchar(30),
+    name varchar(50) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS credit_card (
+    archived boolean default false not null,
+    billing_due_day integer not null,
+    closing_day integer not null,
+    last_four_digits varchar(4),
+    max_debt numeric(38,2) not null,
+    default_billing_wallet_id bigint,
+    id integer,
+    operator_id bigint,
+    name varchar(50) not null unique,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS credit_card_debt (
+    installments integer not null,
+    total_amount numeric(38,2) not null,
+    category_id bigint not null,
+    crc_id bigint not null,
+    id integer,
+    date varchar(255) not null,
+    description varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS credit_card_payment (
+    amount numeric(38,2) not null,
+    installment integer not null,
+    debt_id bigint not null,
+    id integer,
+    wallet_id bigint,
+    date varchar(255) not null,
+    primary key (id)
+);
@@ -1,11 +1,12 @@
 /*
- * Filename: data.sql
+ * Filename: V2__reference_data.sql
  * Created on: October  3, 2024
  * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
  *
  * Description: This file contains the initial data to be inserted in the database
  *
- * The data is inserted only if the table is empty
+ * The data is inserted only if the table is empty, since the databases created
+ * before the migrations already have it
  */
 
 INSERT INTO category (id, name, archived)
@@ -0,0 +1,31 @@
+/*
+ * Filename: V4__balance_ledger.sql
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ *
+ * Description: The ledger of the balance changes of the wallets and its monthly
+ * checkpoints. Both start empty and are rebuilt from the transactions
+ */
+
+CREATE TABLE IF NOT EXISTS balance_ledger (
+    amount bigint not null,
+    id integer,
+    wallet_id bigint not null,
+    date varchar(255) not null,
+    recorded_at varchar(255) not null,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_ledger_wallet_date
+ON balance_ledger (wallet_id, date);
+
+CREATE TABLE IF NOT EXISTS balance_checkpoint (
+    period varchar(7) not null,
+    balance bigint not null,
+    id integer,
+    wallet_id bigint not null,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_balance_checkpoint_wallet_period
+ON balance_checkpoint (wallet_id, period);
@@ -0,0 +1,35 @@
+/*
+ * Filename: V5__visible_indexes.sql
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ *
+ * Description: Hides the transactions and credit card payments already archived
+ * and indexes the visible column. V6 moves the archived transactions to their own
+ * table and keeps these indexes, see the note there
+ */
+
+-- The column starts as visible in the databases created before it
+UPDATE wallet_transaction SET visible = 0
+WHERE visible = 1
+AND (wallet_id IN (SELECT id FROM wallet WHERE archived = 1)
+     OR category_id IN (SELECT id FROM category WHERE archived = 1));
+
+UPDATE credit_card_payment SET visible = 0
+WHERE visible = 1
+AND (wallet_id IN (SELECT id FROM wallet WHERE archived = 1)
+     OR debt_id IN (SELECT id FROM credit_card_debt
+                    WHERE category_id IN (SELECT id FROM category WHERE archived = 1)));
+
+-- Replaced by the composite indexes below
+DROP INDEX IF EXISTS idx_wallet_transaction_visible_date;
+
+DROP INDEX IF EXISTS idx_wallet_transaction_visible_wallet_date;
+
+CREATE INDEX IF NOT EXISTS wallet_transaction_visible_idx
+ON wallet_transaction (visible, date);
+
+CREATE INDEX IF NOT EXISTS wallet_transaction_wallet_visible_idx
+ON wallet_transaction (wallet_id, visible, date);
+
+CREATE INDEX IF NOT EXISTS credit_card_payment_visible_idx
+ON credit_card_payment (visible, date);
@@ -0,0 +1,71 @@
+/*
+ * Filename: V6__transaction_archive.sql
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ *
+ * Description: The archive table of the transactions whose wallet or category is
+ * archived, filled with the ones already archived
+ */
+
+CREATE TABLE IF NOT EXISTS wallet_transaction_archive (
+    amount numeric(38,2) not null,
+    category_id bigint not null,
+    id integer,
+    wallet_id bigint not null,
+    date varchar(255) not null,
+    description varchar(255),
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED')),
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    primary key (id)
+);
+
+-- The transactions keep their ids when moved to the archive and back, so the ids
+-- of the deleted rows must not be given to new transactions, which SQLite only
+-- ensures for AUTOINCREMENT keys. The table is rebuilt with one
+CREATE TABLE wallet_transaction_new (
+    amount numeric(38,2) not null,
+    category_id bigint not null,
+    id integer primary key autoincrement,
+    wallet_id bigint not null,
+    date varchar(255) not null,
+    description varchar(255),
+    status varchar(255) not null check (status in ('PENDING','CONFIRMED')),
+    type varchar(255) not null check (type in ('INCOME','EXPENSE')),
+    visible boolean default 1 not null
+);
+
+INSERT INTO wallet_transaction_new
+    (amount, category_id, id, wallet_id, date, description, status, type, visible)
+SELECT amount, category_id, id, wallet_id, date, description, status, type, visible
+FROM wallet_transaction;
+
+DROP TABLE wallet_transaction;
+
+ALTER TABLE wallet_transaction_new RENAME TO wallet_transaction;
+
+-- The visible indexes of V5 are kept. The archived transactions leave the table,
+-- but the ones saved in an archived wallet or category stay in it hidden until it
+-- is unarchived, so the queries of the non-archived transactions still filter on
+-- the flag. As nearly every row is visible, the flag leads with an equality and
+-- the indexes serve those queries in the order of the date, as a plain date index
+-- would
+CREATE INDEX IF NOT EXISTS wallet_transaction_visible_idx
+ON wallet_transaction (visible, date);
+
+CREATE INDEX IF NOT EXISTS wallet_transaction_wallet_visible_idx
+ON wallet_transaction (wallet_id, visible, date);
+
+-- The hidden transactions are the ones of archived wallets and categories
+INSERT INTO wallet_transaction_archive
+    (amount, category_id, id, wallet_id, date, description, status, type)
+SELECT amount, category_id, id, wallet_id, date, description, status, type
+FROM wallet_transaction
+WHERE visible = 0;
+
+DELETE FROM wallet_transaction WHERE visible = 0;
+
+CREATE INDEX IF NOT EXISTS wallet_transaction_archive_wallet_idx
+ON wallet_transaction_archive (wallet_id, date);
+
+CREATE INDEX IF NOT EXISTS wallet_transaction_archive_category_idx
+ON wallet_transaction_archive (category_id);
@@ -0,0 +1,315 @@
+/*
+ * Filename: QueryApiServerTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.app.TransactionConfig;
+import org.moinex.entities.Category;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.services.BalanceLedgerService;
+import org.moinex.services.CategoryService;
+import org.moinex.services.CreditCardService;
+import org.moinex.services.DataVersionService;
+import org.moinex.services.MetricsService;
+import org.moinex.services.RecurringTransactionService;
+import org.moinex.services.ReferenceDataCache;
+import org.moinex.services.ReportService;
+import org.moinex.services.TransactionAnalyticsService;
+import org.moinex.services.TransactionSuggestionService;
+import org.moinex.services.WalletLockService;
+import org.moinex.services.WalletService;
+import org.moinex.services.WalletTransactionService;
+import org.moinex.services.WriteCoordinatorService;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the read-only query API
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ QueryApiServer.class,
+          TransactionConfig.class,
+          DataVersionService.class,
+          ReportService.class,
+          RecurringTransactionService.class,
+          WriteCoordinatorService.class,
+          MetricsService.class,
+          CreditCardService.class,
+          TransactionAnalyticsService.class,
+          TransactionSuggestionService.class,
+          WalletTransactionService.class,
+          WalletService.class,
+          CategoryService.class,
+          WalletLockService.class,
+          BalanceLedgerService.class,
+          ReferenceDataCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class QueryApiServerTest
+{
+    @Autowired
+    private QueryApiServer m_queryApiServer;
+
+    @Autowired
+    private DataVersionService m_dataVersionService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CategoryService m_categoryService;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private final HttpClient m_client = HttpClient.newHttpClient();
+
+    private String m_url;
+
+    private Long m_walletId;
+
+    private Category m_food;
+
+    private final YearMonth m_month = YearMonth.of(2026, 3);
+
+    private final LocalDateTime m_date = m_month.atDay(10).atTime(12, 0);
+
+    private HttpResponse<String> Get(String path, String... headers)
+        throws IOException, InterruptedException
+    {
+        HttpRequest.Builder request =
+            HttpRequest.newBuilder(URI.create(m_url + path)).GET();
+
+        if (headers.length > 0)
+        {
+            request.headers(headers);
+        }
+
+        return m_client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void AddExpense(String description, LocalDateTime date, String amount)
+    {
+        m_walletTransactionService.AddExpense(m_walletId,
+                                              m_food,
+                                              date,
+                                              new BigDecimal(amount),
+                                              description,
+                                              TransactionStatus.CONFIRMED);
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("1000"));
+        m_food = m_categoryRepository.findById(m_categoryService.AddCategory("Food"))
+                     .orElseThrow();
+
+        m_transactionAnalyticsService.Invalidate();
+
+        m_queryApiServer.Listen(0);
+        m_url = m_queryApiServer.GetUrl();
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_queryApiServer.Stop();
+
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_walletTransactionRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+
+        m_transactionAnalyticsService.Invalidate();
+        m_referenceDataCache.RefreshCategories();
+        m_referenceDataCache.RefreshWallets();
+    }
+
+    @Test
+    @DisplayName("Test if a response is revalidated until a change is committed")
+    public void TestRevalidation() throws IOException, InterruptedException
+    {
+        AddExpense("Lunch", m_date, "10.50");
+
+        // The summary sums the credit card payments with SQLite functions, which
+        // the test database does not have
+        HttpResponse<String> first = Get("/categories?month=" + m_month);
+
+        assertEquals(200, first.statusCode());
+        assertTrue(
+            first.body().contains("\"name\":\"Food\",\"count\":1,\"total\":10.50"));
+
+        String tag = first.headers().firstValue("ETag").orElse(null);
+        assertNotNull(tag);
+
+        HttpResponse<String> unchanged =
+            Get("/categories?month=" + m_month, "If-None-Match", tag);
+
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+
+        long version = m_dataVersionService.GetVersion();
+
+        AddExpense("Dinner", m_date, "4.25");
+
+        // The commit of the service changed the version
+        assertTrue(m_dataVersionService.GetVersion() > version);
+
+        HttpResponse<String> changed =
+            Get("/categories?month=" + m_month, "If-None-Match", tag);
+
+        assertEquals(200, changed.statusCode());
+        assertTrue(changed.body().contains("\"count\":2,\"total\":14.75"));
+        assertNotEquals(tag, changed.headers().firstValue("ETag").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Test if a response computed between a commit and the update of the "
+                 + "in-memory store is not cached as current")
+    public void TestRequestBeforeStoreUpdate() throws IOException, InterruptedException
+    {
+        AddExpense("Lunch", m_date, "10.50");
+
+        // Loads the store, so the next requests are answered from it
+        assertEquals(200, Get("/categories?month=" + m_month).statusCode());
+
+        @SuppressWarnings("unchecked")
+        HttpResponse<String>[] between = new HttpResponse[1];
+
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            // Registered before the write, so it runs before the store is updated
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit()
+                    {
+                        try
+                        {
+                            between[0] = Get("/categories?month=" + m_month);
+                        }
+                        catch (IOException | InterruptedException e)
+                        {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+
+            AddExpense("Dinner", m_date, "4.25");
+        });
+
+        assertEquals(200, between[0].statusCode());
+
+        String tag = between[0].headers().firstValue("ETag").orElse(null);
+
+        HttpResponse<String> after =
+            Get("/categories?month=" + m_month, "If-None-Match", tag);
+
+        assertEquals(200, after.statusCode());
+        assertTrue(after.body().contains("\"count\":2,\"total\":14.75"));
+    }
+
+    @Test
+    @DisplayName("Test if the transaction search streams the matching transactions")
+    public void TestTransactionSearch() throws IOException, InterruptedException
+    {
+        AddExpense("Coffee", m_date, "3.00");
+        AddExpense("Coffee beans", m_date.plusDays(1), "20.00");
+        AddExpense("Lunch", m_date.plusDays(2), "15.00");
+        AddExpense("Coffee \"to go\"", m_date.plusMonths(1), "4.00");
+
+        HttpResponse<String> response =
+            Get("/transactions?q=coffee&from=2026-03-01&to=2026-03-31");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Length").isEmpty());
+        assertTrue(response.body().endsWith(",\"count\":2}"));
+
+        // The most recent first
+        assertTrue(response.body().indexOf("Coffee beans") <
+                   response.body().indexOf("\"Coffee\""));
+
+        HttpResponse<String> limited = Get("/transactions?q=COFFEE&limit=1");
+
+        assertTrue(limited.body().contains("\"description\":\"Coffee \\\"to go\\\"\""));
+        assertTrue(limited.body().endsWith(",\"count\":1}"));
+    }
+
+    @Test
+    @DisplayName("Test if invalid requests are rejected")
+    public void TestInvalidRequests() throws IOException, InterruptedException
+    {
+        assertEquals(400, Get("/summary?week=1").statusCode());
+        assertEquals(400, Get("/summary?month=2026-13").statusCode());
+        assertEquals(400, Get("/summary?month=2026-03&year=2026").statusCode());
+        assertEquals(400, Get("/forecast?months=0").statusCode());
+        assertEquals(404, Get("/wallets").statusCode());
+
+        HttpResponse<String> post = m_client.send(
+            HttpRequest.newBuilder(URI.create(m_url + "/summary"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(405, post.statusCode());
+    }
+}
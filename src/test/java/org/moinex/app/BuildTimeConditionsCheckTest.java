@@ -0,0 +1,100 @@
+/*
+ * Filename: BuildTimeConditionsCheckTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Tests for the check of the conditional configurations fixed by the AOT
+ * processing
+ */
+public class BuildTimeConditionsCheckTest
+{
+    /**
+     * Create a context with the beans of the default build, routing the
+     * connections, running the migrations and without the second-level cache
+     */
+    private GenericApplicationContext CreateContext(MockEnvironment environment)
+    {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setEnvironment(environment);
+        context.registerBean("writeDataSource", Object.class, Object::new);
+        context.registerBean("SchemaMigrationRunner", Object.class, Object::new);
+        return context;
+    }
+
+    @Test
+    @DisplayName("Test if a context matching the properties starts")
+    public void TestMatchingProperties()
+    {
+        MockEnvironment environment =
+            new MockEnvironment().withProperty("moinex.datasource.routing", "true");
+
+        try (GenericApplicationContext context = CreateContext(environment))
+        {
+            new BuildTimeConditionsCheck().initialize(context);
+
+            assertDoesNotThrow(context::refresh);
+        }
+    }
+
+    @Test
+    @DisplayName("Test if a context built with the routing does not start with the "
+                 + "routing disabled, before creating any bean")
+    public void TestRoutingDisabledAfterBuild()
+    {
+        MockEnvironment environment =
+            new MockEnvironment().withProperty("moinex.datasource.routing", "false");
+        AtomicBoolean created = new AtomicBoolean(false);
+
+        try (GenericApplicationContext context = CreateContext(environment))
+        {
+            context.registerBean("bean", Object.class, () -> {
+                created.set(true);
+                return new Object();
+            });
+
+            new BuildTimeConditionsCheck().initialize(context);
+
+            RuntimeException e = assertThrows(RuntimeException.class, context::refresh);
+
+            assertTrue(e.getMessage().contains("-Dstartup.datasource.routing=false"));
+            assertFalse(created.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Test if a context built without a conditional bean does not start "
+                 + "with its property enabled")
+    public void TestPropertyEnabledAfterBuild()
+    {
+        MockEnvironment environment =
+            new MockEnvironment()
+                .withProperty("moinex.datasource.routing", "true")
+                .withProperty(
+                    "spring.jpa.properties.hibernate.cache.use_second_level_cache",
+                    "true");
+
+        try (GenericApplicationContext context = CreateContext(environment))
+        {
+            new BuildTimeConditionsCheck().initialize(context);
+
+            RuntimeException e = assertThrows(RuntimeException.class, context::refresh);
+
+            assertTrue(e.getMessage().contains("-Dstartup.second-level-cache=true"));
+        }
+    }
+}
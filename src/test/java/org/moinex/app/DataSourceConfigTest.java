@@ -0,0 +1,195 @@
+/*
+ * Filename: DataSourceConfigTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.entities.Category;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.services.BalanceLedgerService;
+import org.moinex.services.ReferenceDataCache;
+import org.moinex.services.TransactionAnalyticsService;
+import org.moinex.services.TransactionSuggestionService;
+import org.moinex.services.WalletLockService;
+import org.moinex.services.WalletTransactionService;
+import org.moinex.util.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the routing of the connections between the writer and the readers,
+ * against a SQLite database in WAL mode
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DataSourceConfig.class,
+          WalletTransactionService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class DataSourceConfigTest
+{
+    @Autowired
+    private DataSource m_dataSource;
+
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    private ReadWriteRoutingDataSource m_routingDataSource;
+
+    private TransactionTemplate m_readTemplate;
+
+    private TransactionTemplate m_writeTemplate;
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-routing", ".db");
+        database.toFile().deleteOnExit();
+
+        registry.add("moinex.datasource.routing", () -> "true");
+        registry.add("moinex.datasource.read-pool-size", () -> "2");
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+    }
+
+    @BeforeEach
+    public void BeforeEach()
+    {
+        m_routingDataSource =
+            (ReadWriteRoutingDataSource)((LazyConnectionDataSourceProxy)m_dataSource)
+                .getTargetDataSource();
+
+        m_readTemplate = new TransactionTemplate(m_transactionManager);
+        m_readTemplate.setReadOnly(true);
+
+        m_writeTemplate = new TransactionTemplate(m_transactionManager);
+
+        m_jdbcTemplate.update("DELETE FROM category");
+    }
+
+    @Test
+    @DisplayName("Test if read-only service methods use the readers and writes the "
+                 + "writer")
+    public void TestReadOnlyTransactionsUseReaders()
+    {
+        long reads  = m_routingDataSource.GetReadConnectionCount();
+        long writes = m_routingDataSource.GetWriteConnectionCount();
+
+        m_walletTransactionService.GetAllTransactions();
+
+        assertEquals(reads + 1, m_routingDataSource.GetReadConnectionCount());
+        assertEquals(writes, m_routingDataSource.GetWriteConnectionCount());
+
+        m_categoryRepository.save(new Category("Food"));
+
+        assertEquals(reads + 1, m_routingDataSource.GetReadConnectionCount());
+        assertTrue(m_routingDataSource.GetWriteConnectionCount() > writes);
+    }
+
+    @Test
+    @DisplayName("Test if the readers reject writes")
+    public void TestReadersRejectWrites()
+    {
+        assertThrows(DataAccessException.class,
+                     ()
+                         -> m_readTemplate.executeWithoutResult(
+                             status
+                             -> m_jdbcTemplate.update(
+                                 "INSERT INTO category (name, archived) "
+                                 + "VALUES ('Food', false)")));
+
+        assertEquals(0, m_categoryRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test if the readers are not blocked by an open write transaction")
+    public void TestReadersNotBlockedByWriter() throws Exception
+    {
+        m_categoryRepository.save(new Category("Food"));
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch read     = new CountDownLatch(1);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(
+            ()
+                -> m_writeTemplate.executeWithoutResult(status -> {
+                    m_jdbcTemplate.update("INSERT INTO category (name, archived) "
+                                          + "VALUES ('Travel', false)");
+                    inserted.countDown();
+
+                    try
+                    {
+                        read.await(5, TimeUnit.SECONDS);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+
+        // The uncommitted row is not visible, and the read does not wait for the
+        // writer to commit
+        Long count = m_readTemplate.execute(
+            status
+            -> m_jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category",
+                                             Long.class));
+
+        read.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1L, count);
+        assertEquals(2, m_categoryRepository.count());
+    }
+}
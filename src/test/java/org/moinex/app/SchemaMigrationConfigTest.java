@@ -0,0 +1,281 @@
+/*
+ * Filename: SchemaMigrationConfigTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.migrations.AddTrackingColumnsMigration;
+import org.moinex.util.Constants;
+import org.moinex.util.SchemaMigration;
+import org.moinex.util.SchemaMigrationRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests for the schema migrations, against SQLite databases
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DataSourceConfig.class,
+          SchemaMigrationConfig.class,
+          AddTrackingColumnsMigration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class SchemaMigrationConfigTest
+{
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private SchemaMigrationRunner m_schemaMigrationRunner;
+
+    @Autowired
+    private EntityManagerFactory m_entityManagerFactory;
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-migrations", ".db");
+        database.toFile().deleteOnExit();
+
+        registry.add("moinex.migrations.enabled", () -> "true");
+        registry.add("moinex.datasource.routing", () -> "true");
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    /**
+     * Create a database with only the tables of the first release, as the
+     * versions before the migrations left it
+     */
+    private static HikariDataSource CreateLegacyDatabase() throws IOException
+    {
+        Path database = Files.createTempFile("moinex-legacy", ".db");
+        database.toFile().deleteOnExit();
+
+        HikariDataSource dataSource =
+            DataSourceConfig.CreateWritePool("jdbc:sqlite:" + database, 1000);
+
+        try (Connection connection = dataSource.getConnection())
+        {
+            ScriptUtils.executeSqlScript(
+                connection,
+                new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException(e);
+        }
+
+        return dataSource;
+    }
+
+    @Test
+    @DisplayName("Test if a new database is migrated to the latest version and seeded")
+    public void TestNewDatabaseMigrated()
+    {
+        assertEquals(m_schemaMigrationRunner.GetLatestVersion(),
+                     m_jdbcTemplate.queryForObject("SELECT MAX(version) FROM "
+                                                       + "schema_version",
+                                                   Integer.class));
+
+        assertEquals(15,
+                     m_jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category",
+                                                   Integer.class));
+        assertEquals(9,
+                     m_jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet_type",
+                                                   Integer.class));
+    }
+
+    @Test
+    @DisplayName("Test if the migrated schema has every column mapped by the "
+                 + "entities")
+    public void TestSchemaMatchesEntities()
+    {
+        // The validation of Hibernate can't be used, since the SQLite dialect
+        // creates the ids as integer and then expects them to be bigint
+        List<String> missing = new ArrayList<>();
+
+        m_entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .forEachEntityDescriptor(
+                entity -> entity.forEachSelectable((index, selectable) -> {
+                    String table  = selectable.getContainingTableExpression();
+                    String column = selectable.getSelectionExpression();
+
+                    Integer found = m_jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM pragma_table_info(?) WHERE name = ?",
+                        Integer.class,
+                        table,
+                        column);
+
+                    if (found == 0)
+                    {
+                        missing.add(table + "." + column);
+                    }
+                }));
+
+        assertEquals(List.of(), missing);
+    }
+
+    @Test
+    @DisplayName("Test if nothing is applied to a database at the latest version")
+    public void TestCurrentDatabaseSkipped()
+    {
+        assertEquals(0, m_schemaMigrationRunner.Migrate());
+    }
+
+    @Test
+    @DisplayName("Test if a database of a version before the migrations keeps its "
+                 + "data, gets the new columns and has its archived transactions "
+                 + "moved to the archive")
+    public void TestLegacyDatabaseMigrated() throws IOException
+    {
+        try (HikariDataSource dataSource = CreateLegacyDatabase())
+        {
+            JdbcTemplate legacy = new JdbcTemplate(dataSource);
+
+            // Added by Hibernate in a version between the first release and the
+            // migrations
+            legacy.execute(
+                "ALTER TABLE wallet ADD COLUMN version integer default 0 not null");
+
+            legacy.update("INSERT INTO category (id, name, archived) "
+                          + "VALUES (1, 'Food', false)");
+            legacy.update("INSERT INTO wallet (id, name, balance, archived) "
+                          + "VALUES (1, 'Active', 0, false), (2, 'Old', 0, true)");
+            legacy.update("INSERT INTO wallet_transaction (wallet_id, category_id, "
+                          + "type, status, date, amount) VALUES "
+                          + "(1, 1, 'EXPENSE', 'CONFIRMED', '2026-01-01', 10), "
+                          + "(2, 1, 'EXPENSE', 'CONFIRMED', '2026-01-01', 10)");
+
+            SchemaMigrationRunner runner =
+                new SchemaMigrationRunner(dataSource,
+                                          Constants.SCHEMA_MIGRATIONS_LOCATION,
+                                          List.of(new AddTrackingColumnsMigration()));
+
+            assertEquals(runner.GetLatestVersion(), runner.Migrate());
+
+            // The reference data is only inserted in empty tables
+            assertEquals(1,
+                         legacy.queryForObject("SELECT COUNT(*) FROM category",
+                                               Integer.class));
+
+            // The transactions of the archived wallet were moved to the archive,
+            // keeping their ids
+            assertEquals(List.of(1L),
+                         legacy.queryForList("SELECT wallet_id FROM wallet_transaction",
+                                             Long.class));
+            assertEquals(List.of(2L),
+                         legacy.queryForList("SELECT id "
+                                                 + "FROM wallet_transaction_archive "
+                                                 + "WHERE wallet_id = 2",
+                                             Long.class));
+
+            // Their ids are not given to new transactions
+            legacy.update("INSERT INTO wallet_transaction (wallet_id, category_id, "
+                          + "type, status, date, amount) VALUES "
+                          + "(1, 1, 'EXPENSE', 'CONFIRMED', '2026-01-02', 10)");
+
+            assertEquals(3,
+                         legacy.queryForObject("SELECT MAX(id) FROM wallet_transaction",
+                                               Integer.class));
+
+            // The rebuilt table keeps the indexes over the visible flag
+            assertEquals(List.of("wallet_transaction_visible_idx",
+                                 "wallet_transaction_wallet_visible_idx"),
+                         legacy.queryForList("SELECT name FROM sqlite_master "
+                                                 + "WHERE type = 'index' "
+                                                 + "AND tbl_name = "
+                                                 + "'wallet_transaction' "
+                                                 + "AND name LIKE '%visible%' "
+                                                 + "ORDER BY name",
+                                             String.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Test if a failed migration is rolled back and not recorded")
+    public void TestFailedMigrationRolledBack() throws IOException
+    {
+        SchemaMigration failing = new SchemaMigration() {
+            @Override
+            public int GetVersion()
+            {
+                return 1000;
+            }
+
+            @Override
+            public String GetDescription()
+            {
+                return "failing";
+            }
+
+            @Override
+            public void Migrate(Connection connection) throws SQLException
+            {
+                connection.createStatement().execute(
+                    "CREATE TABLE half_done (id integer)");
+
+                throw new SQLException("Failed");
+            }
+        };
+
+        try (HikariDataSource dataSource = CreateLegacyDatabase())
+        {
+            SchemaMigrationRunner runner = new SchemaMigrationRunner(
+                dataSource,
+                Constants.SCHEMA_MIGRATIONS_LOCATION,
+                List.of(new AddTrackingColumnsMigration(), failing));
+
+            assertThrows(RuntimeException.class, runner::Migrate);
+
+            JdbcTemplate legacy = new JdbcTemplate(dataSource);
+
+            // The migrations before the failed one were kept
+            assertEquals(m_schemaMigrationRunner.GetLatestVersion(),
+                         legacy.queryForObject("SELECT MAX(version) FROM "
+                                                   + "schema_version",
+                                               Integer.class));
+            assertEquals(0,
+                         legacy.queryForObject("SELECT COUNT(*) FROM sqlite_master "
+                                                   + "WHERE name = 'half_done'",
+                                               Integer.class));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Filename: AnalyticsStoreBenchmark.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.util.Constants;
+import org.moinex.util.TransactionColumns;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+
+/**
+ * Measures the dashboard queries over the columnar store against the same
+ * queries over entities already in memory
+ *
+ * The baseline leaves out the database, so it is the best the entity screens
+ * could do. Run with:
+ * mvn test -Pbenchmark -Dtest=AnalyticsStoreBenchmark
+ */
+@Tag("benchmark")
+public class AnalyticsStoreBenchmark
+{
+    private static final int  TRANSACTIONS = 1_000_000;
+    private static final int  WALLETS      = 8;
+    private static final int  CATEGORIES   = 40;
+    private static final int  YEARS        = 10;
+    private static final int  ROUNDS       = 20;
+    private static final int  WARMUP       = 5;
+    private static final long SEED         = 42;
+
+    @Test
+    @DisplayName("Benchmark the month summary, the money flow chart and the "
+                 + "category chart over the columnar store and over entities")
+    public void BenchmarkDashboardQueries()
+    {
+        List<WalletTransaction> entities = CreateTransactions();
+        TransactionColumns      columns  = new TransactionColumns();
+
+        for (int i = 0; i < entities.size(); i++)
+        {
+            WalletTransaction t = entities.get(i);
+
+            columns.Put((long)i,
+                        t.GetDate().toLocalDate(),
+                        t.GetAmount(),
+                        t.GetWallet().GetId(),
+                        CategoryId(t.GetCategory()),
+                        t.GetType(),
+                        t.GetStatus());
+        }
+
+        YearMonth month = YearMonth.now().minusMonths(1);
+        LocalDate first = month.minusMonths(Constants.XYBAR_CHART_MONTHS).atDay(1);
+
+        assertEquals(SumEntities(entities, month), SumColumns(columns, month));
+
+        long entitiesNanos = 0;
+        long columnsNanos  = 0;
+
+        for (int i = 0; i < WARMUP + ROUNDS; i++)
+        {
+            long start = System.nanoTime();
+
+            SumEntities(entities, month);
+            ByMonthEntities(entities, first, month);
+            ByCategoryEntities(entities, month);
+
+            long middle = System.nanoTime();
+
+            SumColumns(columns, month);
+            columns.Query()
+                .Between(first, month.atEndOfMonth())
+                .OfType(TransactionType.EXPENSE)
+                .SumByMonth();
+            columns.Query()
+                .In(month)
+                .OfType(TransactionType.EXPENSE)
+                .WithStatus(TransactionStatus.CONFIRMED)
+                .SumByCategory();
+
+            long end = System.nanoTime();
+
+            if (i >= WARMUP)
+            {
+                entitiesNanos += middle - start;
+                columnsNanos += end - middle;
+            }
+        }
+
+        System.out.printf("%nDashboard queries over %d transactions (%d rounds)%n",
+                          TRANSACTIONS,
+                          ROUNDS);
+        System.out.printf("%10s %12s%n", "store", "us/round");
+        System.out.printf("%10s %12.1f%n",
+                          "entities",
+                          entitiesNanos / 1000.0 / ROUNDS);
+        System.out.printf("%10s %12.1f%n", "columns", columnsNanos / 1000.0 / ROUNDS);
+    }
+
+    private List<WalletTransaction> CreateTransactions()
+    {
+        Random random = new Random(SEED);
+
+        List<Wallet>   wallets    = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+
+        for (long i = 1; i <= WALLETS; i++)
+        {
+            wallets.add(new Wallet(i, "Wallet " + i, BigDecimal.ZERO));
+        }
+
+        for (long i = 1; i <= CATEGORIES; i++)
+        {
+            categories.add(new Category("Category " + i));
+        }
+
+        LocalDateTime start = LocalDateTime.now().minusYears(YEARS);
+        int           days  = YEARS * 365;
+
+        List<WalletTransaction> transactions = new ArrayList<>(TRANSACTIONS);
+
+        for (int i = 0; i < TRANSACTIONS; i++)
+        {
+            transactions.add(new WalletTransaction(
+                wallets.get(random.nextInt(WALLETS)),
+                categories.get(random.nextInt(CATEGORIES)),
+                random.nextInt(4) == 0 ? TransactionType.INCOME
+                                       : TransactionType.EXPENSE,
+                random.nextInt(10) == 0 ? TransactionStatus.PENDING
+                                        : TransactionStatus.CONFIRMED,
+                start.plusDays(random.nextInt(days)),
+                BigDecimal.valueOf(random.nextInt(100_000) + 1, 2),
+                "Transaction " + i));
+        }
+
+        return transactions;
+    }
+
+    /**
+     * The categories are not persisted, so their names carry the ids
+     */
+    private static Long CategoryId(Category category)
+    {
+        return Long.valueOf(category.GetName().substring("Category ".length()));
+    }
+
+    /**
+     * The totals of the month summary
+     */
+    private static long SumColumns(TransactionColumns columns, YearMonth month)
+    {
+        TransactionColumns.Query period = columns.Query().In(month);
+
+        long[] confirmed = period.WithStatus(TransactionStatus.CONFIRMED).SumByType();
+        long[] foreseen  = period.SumByType();
+
+        return LongStream.of(confirmed).sum() + LongStream.of(foreseen).sum();
+    }
+
+    private static long SumEntities(List<WalletTransaction> transactions,
+                                    YearMonth               month)
+    {
+        List<WalletTransaction> period =
+            transactions.stream()
+                .filter(t -> YearMonth.from(t.GetDate()).equals(month))
+                .toList();
+
+        BigDecimal confirmed =
+            period.stream()
+                .filter(t -> t.GetStatus() == TransactionStatus.CONFIRMED)
+                .map(WalletTransaction::GetAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal foreseen = period.stream()
+                                  .map(WalletTransaction::GetAmount)
+                                  .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return TransactionColumns.ToCents(confirmed.add(foreseen));
+    }
+
+    private static Map<YearMonth, BigDecimal>
+    ByMonthEntities(List<WalletTransaction> transactions,
+                    LocalDate               first,
+                    YearMonth               last)
+    {
+        return transactions.stream()
+            .filter(t -> t.GetType() == TransactionType.EXPENSE)
+            .filter(t -> !t.GetDate().toLocalDate().isBefore(first))
+            .filter(t -> !YearMonth.from(t.GetDate()).isAfter(last))
+            .collect(Collectors.groupingBy(t -> YearMonth.from(t.GetDate()),
+                                           Collectors.reducing(
+                                               BigDecimal.ZERO,
+                                               WalletTransaction::GetAmount,
+                                               BigDecimal::add)));
+    }
+
+    private static Map<Long, BigDecimal>
+    ByCategoryEntities(List<WalletTransaction> transactions, YearMonth month)
+    {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+
+        transactions.stream()
+            .filter(t -> YearMonth.from(t.GetDate()).equals(month))
+            .filter(t -> t.GetType() == TransactionType.EXPENSE)
+            .filter(t -> t.GetStatus() == TransactionStatus.CONFIRMED)
+            .forEach(t -> totals.merge(CategoryId(t.GetCategory()),
+                                       t.GetAmount(),
+                                       BigDecimal::add));
+
+        return totals;
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Filename: ArchivedQueryPlanBenchmark.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.DataSourceConfig;
+import org.moinex.app.MainApplication;
+import org.moinex.util.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the query plans and the latency of the queries that skip the archived
+ * wallets and categories before and after the visible column
+ *
+ * Before, the queries joined the wallet and the category of each transaction to
+ * check if they were archived, and the month queries compared the formatted date,
+ * so SQLite scanned the whole table. After, they filter on the visible column and
+ * a date range, which are answered by the composite indexes.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DataSourceConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class ArchivedQueryPlanBenchmark
+{
+    private static final int WALLETS              = 6;
+    private static final int ARCHIVED_WALLETS     = 2;
+    private static final int CATEGORIES           = 12;
+    private static final int ARCHIVED_CATEGORIES  = 3;
+    private static final int YEARS                = 5;
+    private static final int TRANSACTIONS_PER_DAY = 40;
+    private static final int DEBTS_PER_MONTH      = 20;
+    private static final int INSTALLMENTS         = 3;
+    private static final int WARMUP_RUNS          = 5;
+    private static final int RUNS                 = 30;
+
+    private static final String[] INDEXES = {
+        "CREATE INDEX wallet_transaction_visible_idx "
+            + "ON wallet_transaction (visible, date)",
+        "CREATE INDEX wallet_transaction_wallet_visible_idx "
+            + "ON wallet_transaction (wallet_id, visible, date)",
+        "CREATE INDEX credit_card_payment_visible_idx "
+            + "ON credit_card_payment (visible, date)"
+    };
+
+    private static final String[] INDEX_NAMES = {
+        "wallet_transaction_visible_idx",
+        "wallet_transaction_wallet_visible_idx",
+        "credit_card_payment_visible_idx"
+    };
+
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    /**
+     * A query, as it was before and after the visible column
+     */
+    private static final class Case
+    {
+        private final String   name;
+        private final String   before;
+        private final String   after;
+        private final Object[] beforeArgs;
+        private final Object[] afterArgs;
+
+        Case(String   name,
+             String   before,
+             Object[] beforeArgs,
+             String   after,
+             Object[] afterArgs)
+        {
+            this.name       = name;
+            this.before     = before;
+            this.beforeArgs = beforeArgs;
+            this.after      = after;
+            this.afterArgs  = afterArgs;
+        }
+    }
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-benchmark", ".db");
+        database.toFile().deleteOnExit();
+
+        registry.add("moinex.datasource.routing", () -> "true");
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+    }
+
+    @Test
+    @DisplayName("Benchmark the non-archived queries with joins and with the "
+                 + "visible column")
+    public void BenchmarkNonArchivedQueries()
+    {
+        new TransactionTemplate(m_transactionManager)
+            .executeWithoutResult(status -> Seed());
+
+        List<Case> cases = Cases();
+
+        // Before: the schema had no index on the transactions or payments
+        for (String index : INDEX_NAMES)
+        {
+            m_jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+
+        m_jdbcTemplate.execute("ANALYZE");
+
+        double[] before = new double[cases.size()];
+
+        System.out.printf("%nBefore: joins on wallet and category%n");
+
+        for (int i = 0; i < cases.size(); i++)
+        {
+            Case c = cases.get(i);
+
+            PrintPlan(c.name, c.before, c.beforeArgs);
+            before[i] = Measure(c.before, c.beforeArgs);
+        }
+
+        for (String index : INDEXES)
+        {
+            m_jdbcTemplate.execute(index);
+        }
+
+        m_jdbcTemplate.execute("ANALYZE");
+
+        double[] after = new double[cases.size()];
+
+        System.out.printf("%nAfter: visible column and composite indexes%n");
+
+        for (int i = 0; i < cases.size(); i++)
+        {
+            Case c = cases.get(i);
+
+            PrintPlan(c.name, c.after, c.afterArgs);
+            after[i] = Measure(c.after, c.afterArgs);
+        }
+
+        System.out.printf("%nMilliseconds per query%n");
+        System.out.printf("%-24s %10s %10s %9s%n",
+                          "query",
+                          "before",
+                          "after",
+                          "speedup");
+
+        for (int i = 0; i < cases.size(); i++)
+        {
+            System.out.printf("%-24s %10.3f %10.3f %8.1fx%n",
+                              cases.get(i).name,
+                              before[i],
+                              after[i],
+                              before[i] / after[i]);
+        }
+    }
+
+    /**
+     * The queries of the repositories that skip the archived transactions, as they
+     * were before and as they are now
+     */
+    private List<Case> Cases()
+    {
+        YearMonth month = YearMonth.now().minusMonths(3);
+        String    start = MonthStart(month);
+        String    end   = MonthStart(month.plusMonths(1));
+        String    yearStart =
+            LocalDate.of(month.getYear(), 1, 1).atStartOfDay().format(
+                Constants.DB_DATE_FORMATTER);
+        String yearEnd = LocalDate.of(month.getYear() + 1, 1, 1)
+                             .atStartOfDay()
+                             .format(Constants.DB_DATE_FORMATTER);
+        String monthText = String.format("%02d", month.getMonthValue());
+        String yearText  = String.format("%04d", month.getYear());
+
+        String joined = "FROM wallet_transaction wt "
+                        + "JOIN wallet w ON w.id = wt.wallet_id "
+                        + "JOIN category c ON c.id = wt.category_id "
+                        + "WHERE w.archived = 0 AND c.archived = 0 ";
+
+        List<Case> cases = new ArrayList<>();
+
+        cases.add(new Case("transactions by month",
+                           "SELECT wt.id, wt.date, wt.amount " + joined +
+                               "AND strftime('%m', wt.date) = ? "
+                               + "AND strftime('%Y', wt.date) = ? "
+                               + "ORDER BY wt.date DESC",
+                           new Object[] { monthText, yearText },
+                           "SELECT wt.id, wt.date, wt.amount "
+                               + "FROM wallet_transaction wt "
+                               + "WHERE wt.visible = 1 AND wt.date >= ? "
+                               + "AND wt.date < ? ORDER BY wt.date DESC",
+                           new Object[] { start, end }));
+
+        cases.add(new Case("transactions by year",
+                           "SELECT wt.id, wt.date, wt.amount " + joined +
+                               "AND strftime('%Y', wt.date) = ? "
+                               + "ORDER BY wt.date DESC",
+                           new Object[] { yearText },
+                           "SELECT wt.id, wt.date, wt.amount "
+                               + "FROM wallet_transaction wt "
+                               + "WHERE wt.visible = 1 AND wt.date >= ? "
+                               + "AND wt.date < ? ORDER BY wt.date DESC",
+                           new Object[] { yearStart, yearEnd }));
+
+        cases.add(new Case("wallet by month",
+                           "SELECT wt.id, wt.date, wt.amount " + joined +
+                               "AND wt.wallet_id = 1 "
+                               + "AND strftime('%m', wt.date) = ? "
+                               + "AND strftime('%Y', wt.date) = ? "
+                               + "ORDER BY wt.date DESC",
+                           new Object[] { monthText, yearText },
+                           "SELECT wt.id, wt.date, wt.amount "
+                               + "FROM wallet_transaction wt "
+                               + "WHERE wt.wallet_id = 1 AND wt.visible = 1 "
+                               + "AND wt.date >= ? AND wt.date < ? "
+                               + "ORDER BY wt.date DESC",
+                           new Object[] { start, end }));
+
+        cases.add(new Case("last transactions",
+                           "SELECT wt.id, wt.date, wt.amount " + joined +
+                               "ORDER BY wt.date DESC LIMIT 10",
+                           new Object[] {},
+                           "SELECT wt.id, wt.date, wt.amount "
+                               + "FROM wallet_transaction wt WHERE wt.visible = 1 "
+                               + "ORDER BY wt.date DESC LIMIT 10",
+                           new Object[] {}));
+
+        cases.add(new Case("oldest date",
+                           "SELECT MIN(wt.date) " + joined,
+                           new Object[] {},
+                           "SELECT MIN(wt.date) FROM wallet_transaction wt "
+                               + "WHERE wt.visible = 1",
+                           new Object[] {}));
+
+        cases.add(new Case("count by wallet",
+                           "SELECT COUNT(*) " + joined + "AND wt.wallet_id = 1",
+                           new Object[] {},
+                           "SELECT COUNT(*) FROM wallet_transaction wt "
+                               + "WHERE wt.wallet_id = 1 AND wt.visible = 1",
+                           new Object[] {}));
+
+        cases.add(new Case("paid payments by month",
+                           "SELECT ccp.id, ccp.date, ccp.amount "
+                               + "FROM credit_card_payment ccp "
+                               + "JOIN wallet w ON w.id = ccp.wallet_id "
+                               + "JOIN credit_card_debt d ON d.id = ccp.debt_id "
+                               + "JOIN category c ON c.id = d.category_id "
+                               + "WHERE w.archived = 0 AND c.archived = 0 "
+                               + "AND strftime('%m', ccp.date) = ? "
+                               + "AND strftime('%Y', ccp.date) = ?",
+                           new Object[] { monthText, yearText },
+                           "SELECT ccp.id, ccp.date, ccp.amount "
+                               + "FROM credit_card_payment ccp "
+                               + "WHERE ccp.visible = 1 AND ccp.date >= ? "
+                               + "AND ccp.date < ? AND ccp.wallet_id IS NOT NULL",
+                           new Object[] { start, end }));
+
+        return cases;
+    }
+
+    private void PrintPlan(String name, String sql, Object[] args)
+    {
+        System.out.printf("  %s%n", name);
+
+        m_jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql,
+                             rs -> {
+                                 System.out.printf("    %s%n", rs.getString("detail"));
+                             },
+                             args);
+    }
+
+    /**
+     * Run a query many times, reading all of its rows
+     * @return The mean time of a run, in milliseconds
+     */
+    private double Measure(String sql, Object[] args)
+    {
+        for (int i = 0; i < WARMUP_RUNS; i++)
+        {
+            m_jdbcTemplate.query(sql, rs -> { rs.getString(1); }, args);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < RUNS; i++)
+        {
+            m_jdbcTemplate.query(sql, rs -> { rs.getString(1); }, args);
+        }
+
+        return (System.nanoTime() - start) / 1e6 / RUNS;
+    }
+
+    private static String MonthStart(YearMonth month)
+    {
+        return month.atDay(1).atStartOfDay().format(Constants.DB_DATE_FORMATTER);
+    }
+
+    private void Seed()
+    {
+        m_jdbcTemplate.update("INSERT INTO wallet_type (id, name) VALUES (1, 'Bank')");
+        m_jdbcTemplate.update(
+            "INSERT INTO credit_card_operator (id, name) VALUES (1, 'Visa')");
+        m_jdbcTemplate.update(
+            "INSERT INTO credit_card (id, operator_id, name, billing_due_day, "
+            + "closing_day, max_debt, archived) VALUES (1, 1, 'Card', 10, 3, 5000, "
+            + "false)");
+
+        for (int i = 1; i <= WALLETS; i++)
+        {
+            m_jdbcTemplate.update("INSERT INTO wallet (id, type_id, name, balance, "
+                                      + "archived) VALUES (?, 1, ?, 1000, ?)",
+                                  i,
+                                  "Wallet " + i,
+                                  i > WALLETS - ARCHIVED_WALLETS);
+        }
+
+        for (int i = 1; i <= CATEGORIES; i++)
+        {
+            m_jdbcTemplate.update("INSERT INTO category (id, name, archived) "
+                                      + "VALUES (?, ?, ?)",
+                                  i,
+                                  "Category " + i,
+                                  i > CATEGORIES - ARCHIVED_CATEGORIES);
+        }
+
+        LocalDate      first        = LocalDate.now().minusYears(YEARS);
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> debts        = new ArrayList<>();
+        List<Object[]> payments     = new ArrayList<>();
+        long           debtId       = 1;
+
+        for (LocalDate day = first; !day.isAfter(LocalDate.now());
+             day           = day.plusDays(1))
+        {
+            String date = day.atStartOfDay().format(Constants.DB_DATE_FORMATTER);
+
+            for (int t = 0; t < TRANSACTIONS_PER_DAY; t++)
+            {
+                int wallet   = t % WALLETS + 1;
+                int category = t % CATEGORIES + 1;
+
+                transactions.add(
+                    new Object[] { wallet,
+                                   category,
+                                   date,
+                                   10 + t,
+                                   wallet <= WALLETS - ARCHIVED_WALLETS &&
+                                       category <= CATEGORIES - ARCHIVED_CATEGORIES });
+            }
+
+            if (day.getDayOfMonth() > DEBTS_PER_MONTH)
+            {
+                continue;
+            }
+
+            long category = debtId % CATEGORIES + 1;
+
+            debts.add(new Object[] { debtId, category, date });
+
+            for (int installment = 1; installment <= INSTALLMENTS; installment++)
+            {
+                long wallet = debtId % WALLETS + 1;
+
+                payments.add(new Object[] {
+                    wallet,
+                    debtId,
+                    day.plusMonths(installment).atStartOfDay().format(
+                        Constants.DB_DATE_FORMATTER),
+                    installment,
+                    wallet <= WALLETS - ARCHIVED_WALLETS &&
+                        category <= CATEGORIES - ARCHIVED_CATEGORIES });
+            }
+
+            debtId++;
+        }
+
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO wallet_transaction (wallet_id, category_id, type, status, "
+                + "date, amount, description, visible) "
+                + "VALUES (?, ?, 'EXPENSE', 'CONFIRMED', ?, ?, 'Transaction', ?)",
+            transactions);
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO credit_card_debt (id, crc_id, category_id, date, "
+                + "total_amount, installments) VALUES (?, 1, ?, ?, 90, 3)",
+            debts);
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO credit_card_payment (wallet_id, debt_id, date, amount, "
+                + "installment, visible) VALUES (?, ?, ?, 30, ?, ?)",
+            payments);
+    }
+}
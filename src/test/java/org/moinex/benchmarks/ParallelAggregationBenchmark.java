@@ -0,0 +1,158 @@
+/*
+ * Filename: ParallelAggregationBenchmark.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.moinex.util.AggregateStats;
+import org.moinex.util.TransactionColumns;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionSummary;
+import org.moinex.util.TransactionType;
+
+/**
+ * Measures the summary of the whole history split by month from one core up to
+ * all of them, with the partials of the closed months rebuilt in every round and
+ * with them cached
+ *
+ * Run with:
+ * mvn test -Pbenchmark -Dtest=ParallelAggregationBenchmark
+ */
+@Tag("benchmark")
+public class ParallelAggregationBenchmark
+{
+    private static final int  TRANSACTIONS = 1_000_000;
+    private static final int  WALLETS      = 8;
+    private static final int  CATEGORIES   = 40;
+    private static final int  YEARS        = 10;
+    private static final int  ROUNDS       = 20;
+    private static final int  WARMUP       = 5;
+    private static final long SEED         = 42;
+
+    @Test
+    @DisplayName("Benchmark the parallel summary of the history from one core to "
+                 + "all of them")
+    public void BenchmarkSummarize()
+    {
+        TransactionColumns columns = CreateColumns();
+
+        LocalDate from = LocalDate.now().minusYears(YEARS);
+        LocalDate to   = LocalDate.now();
+
+        long expected = columns.Query().Between(from, to).Sum();
+
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%nSummary of %d transactions over %d years (%d rounds)%n",
+                          TRANSACTIONS,
+                          YEARS,
+                          ROUNDS);
+        System.out.printf("%6s %14s %10s %14s%n",
+                          "cores",
+                          "us/round",
+                          "speedup",
+                          "cached us");
+
+        double single = 0;
+
+        for (int p = 1; p <= cores; p++)
+        {
+            ForkJoinPool pool = new ForkJoinPool(p);
+
+            try
+            {
+                double rebuilt = Measure(columns, from, to, pool, true, expected);
+                double cached  = Measure(columns, from, to, pool, false, expected);
+
+                if (p == 1)
+                {
+                    single = rebuilt;
+                }
+
+                System.out.printf("%6d %14.1f %10.2f %14.1f%n",
+                                  p,
+                                  rebuilt,
+                                  single / rebuilt,
+                                  cached);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @return The mean time of a round, in microseconds
+     */
+    private static double Measure(TransactionColumns columns,
+                                  LocalDate          from,
+                                  LocalDate          to,
+                                  ForkJoinPool       pool,
+                                  boolean            rebuild,
+                                  long               expected)
+    {
+        long nanos = 0;
+
+        for (int i = 0; i < WARMUP + ROUNDS; i++)
+        {
+            if (rebuild)
+            {
+                columns.ClearPartials();
+            }
+
+            long start = System.nanoTime();
+
+            TransactionSummary summary =
+                columns.Query().Between(from, to).Summarize(pool);
+
+            long end = System.nanoTime();
+
+            AggregateStats total = summary.Total(null, null);
+
+            assertEquals(expected, total.GetSum());
+
+            if (i >= WARMUP)
+            {
+                nanos += end - start;
+            }
+        }
+
+        return nanos / 1000.0 / ROUNDS;
+    }
+
+    private static TransactionColumns CreateColumns()
+    {
+        Random             random  = new Random(SEED);
+        TransactionColumns columns = new TransactionColumns();
+
+        LocalDate start = LocalDate.now().minusYears(YEARS);
+        int       days  = YEARS * 365;
+
+        for (int i = 0; i < TRANSACTIONS; i++)
+        {
+            columns.Put((long)i,
+                        start.plusDays(random.nextInt(days)),
+                        BigDecimal.valueOf(random.nextInt(100_000) + 1, 2),
+                        (long)random.nextInt(WALLETS) + 1,
+                        (long)random.nextInt(CATEGORIES) + 1,
+                        random.nextInt(4) == 0 ? TransactionType.INCOME
+                                               : TransactionType.EXPENSE,
+                        random.nextInt(10) == 0 ? TransactionStatus.PENDING
+                                                : TransactionStatus.CONFIRMED);
+        }
+
+        return columns;
+    }
+}
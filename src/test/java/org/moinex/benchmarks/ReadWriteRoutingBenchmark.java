@@ -0,0 +1,342 @@
+/*
+ * Filename: ReadWriteRoutingBenchmark.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.DataSourceConfig;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.CreditCard;
+import org.moinex.services.BalanceLedgerService;
+import org.moinex.services.CreditCardService;
+import org.moinex.services.ReferenceDataCache;
+import org.moinex.services.TransactionAnalyticsService;
+import org.moinex.services.TransactionSuggestionService;
+import org.moinex.services.WalletLockService;
+import org.moinex.services.WalletTransactionService;
+import org.moinex.util.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures how parallel loads of the home dashboard scale with the number of
+ * threads when the reads are routed to the pool of read-only connections
+ *
+ * The baseline runs the same loads inside a read-write transaction, so every
+ * query goes through the single writer connection, as all the reads did before
+ * the routing. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DataSourceConfig.class,
+          WalletTransactionService.class,
+          CreditCardService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class ReadWriteRoutingBenchmark
+{
+    private static final int WALLETS                = 4;
+    private static final int CATEGORIES             = 10;
+    private static final int CREDIT_CARDS           = 3;
+    private static final int MONTHS                 = 24;
+    private static final int TRANSACTIONS_PER_DAY   = 25;
+    private static final int DEBTS_PER_MONTH        = 30;
+    private static final int INSTALLMENTS           = 3;
+    private static final int LOADS_PER_THREAD       = 8;
+    private static final int WARMUP_LOADS           = 4;
+    private static final int DASHBOARD_CHART_MONTHS = 12;
+
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private CreditCardService m_creditCardService;
+
+    private static boolean m_seeded = false;
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-benchmark", ".db");
+        database.toFile().deleteOnExit();
+
+        registry.add("moinex.datasource.routing", () -> "true");
+        registry.add("moinex.datasource.read-pool-size",
+                     () -> String.valueOf(Runtime.getRuntime().availableProcessors()));
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.datasource.hikari.connection-timeout", () -> "60000");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+    }
+
+    @BeforeEach
+    public void BeforeEach()
+    {
+        if (m_seeded)
+        {
+            return;
+        }
+
+        new TransactionTemplate(m_transactionManager)
+            .executeWithoutResult(status -> Seed());
+        m_seeded = true;
+    }
+
+    @Test
+    @DisplayName("Benchmark parallel dashboard loads on the writer and on the readers")
+    public void BenchmarkDashboardLoads() throws Exception
+    {
+        TransactionTemplate writer = new TransactionTemplate(m_transactionManager);
+
+        Runnable routed = this::LoadDashboard;
+        Runnable pinned = () -> writer.executeWithoutResult(s -> LoadDashboard());
+
+        for (int i = 0; i < WARMUP_LOADS; i++)
+        {
+            routed.run();
+            pinned.run();
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%nDashboard loads per second (%d cores)%n", cores);
+        System.out.printf("%8s %14s %14s %9s%n",
+                          "threads",
+                          "writer only",
+                          "routed",
+                          "speedup");
+
+        List<Integer> threadCounts = new ArrayList<>();
+
+        for (int threads = 1; threads < cores; threads *= 2)
+        {
+            threadCounts.add(threads);
+        }
+
+        threadCounts.add(cores);
+
+        double routedSingle = 0;
+
+        for (int threads : threadCounts)
+        {
+            double pinnedRate = Measure(pinned, threads);
+            double routedRate = Measure(routed, threads);
+
+            if (threads == 1)
+            {
+                routedSingle = routedRate;
+            }
+
+            System.out.printf("%8d %14.1f %14.1f %8.2fx%n",
+                              threads,
+                              pinnedRate,
+                              routedRate,
+                              routedRate / routedSingle);
+        }
+    }
+
+    /**
+     * Run the dashboard loads on a number of threads
+     * @return The number of loads per second
+     */
+    private double Measure(Runnable load, int threads) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            long            start   = System.nanoTime();
+
+            for (int i = 0; i < threads * LOADS_PER_THREAD; i++)
+            {
+                futures.add(executor.submit(load));
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+
+            double seconds = (System.nanoTime() - start) / Constants.ONE_SECOND_IN_NS;
+            return threads * LOADS_PER_THREAD / seconds;
+        }
+        finally
+        {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * The queries run by the home view when it is opened
+     */
+    private void LoadDashboard()
+    {
+        m_walletTransactionService.GetNonArchivedLastTransactions(
+            Constants.HOME_LAST_TRANSACTIONS_SIZE);
+
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < DASHBOARD_CHART_MONTHS; i++)
+        {
+            LocalDate month = today.minusMonths(i);
+
+            m_walletTransactionService.GetNonArchivedTransactionsByMonth(
+                month.getMonthValue(),
+                month.getYear());
+            m_creditCardService.GetPaidPaymentsByMonth(month.getMonthValue(),
+                                                       month.getYear());
+            m_creditCardService.GetPendingPaymentsByMonth(month.getMonthValue(),
+                                                          month.getYear());
+        }
+
+        for (CreditCard creditCard :
+             m_creditCardService.GetAllNonArchivedCreditCardsOrderedByName())
+        {
+            m_creditCardService.GetAvailableCredit(creditCard.GetId());
+        }
+
+        m_creditCardService.GetTotalPendingPayments();
+    }
+
+    private void Seed()
+    {
+        m_jdbcTemplate.update("INSERT INTO wallet_type (id, name) VALUES (1, 'Bank')");
+        m_jdbcTemplate.update(
+            "INSERT INTO credit_card_operator (id, name) VALUES (1, 'Visa')");
+
+        for (int i = 1; i <= WALLETS; i++)
+        {
+            m_jdbcTemplate.update("INSERT INTO wallet (id, type_id, name, balance, "
+                                      + "archived) VALUES (?, 1, ?, 1000, false)",
+                                  i,
+                                  "Wallet " + i);
+        }
+
+        for (int i = 1; i <= CATEGORIES; i++)
+        {
+            m_jdbcTemplate.update("INSERT INTO category (id, name, archived) "
+                                      + "VALUES (?, ?, false)",
+                                  i,
+                                  "Category " + i);
+        }
+
+        for (int i = 1; i <= CREDIT_CARDS; i++)
+        {
+            m_jdbcTemplate.update(
+                "INSERT INTO credit_card (id, operator_id, name, billing_due_day, "
+                    + "closing_day, max_debt, archived) "
+                    + "VALUES (?, 1, ?, 10, 3, 5000, false)",
+                i,
+                "Card " + i);
+        }
+
+        LocalDate      first        = LocalDate.now().minusMonths(MONTHS);
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> debts        = new ArrayList<>();
+        List<Object[]> payments     = new ArrayList<>();
+        long           debtId       = 1;
+
+        for (LocalDate day = first; !day.isAfter(LocalDate.now());
+             day           = day.plusDays(1))
+        {
+            String date = day.atStartOfDay().format(Constants.DB_DATE_FORMATTER);
+
+            for (int t = 0; t < TRANSACTIONS_PER_DAY; t++)
+            {
+                transactions.add(new Object[] { t % WALLETS + 1,
+                                                t % CATEGORIES + 1,
+                                                t % 5 == 0 ? "INCOME" : "EXPENSE",
+                                                "CONFIRMED",
+                                                date,
+                                                10 + t,
+                                                "Transaction " + t });
+            }
+
+            if (day.getDayOfMonth() > DEBTS_PER_MONTH)
+            {
+                continue;
+            }
+
+            debts.add(new Object[] { debtId,
+                                     debtId % CREDIT_CARDS + 1,
+                                     debtId % CATEGORIES + 1,
+                                     date,
+                                     90,
+                                     INSTALLMENTS });
+
+            for (int installment = 1; installment <= INSTALLMENTS; installment++)
+            {
+                LocalDate due = day.plusMonths(installment);
+
+                payments.add(new Object[] {
+                    due.isBefore(LocalDate.now()) ? debtId % WALLETS + 1 : null,
+                    debtId,
+                    due.atStartOfDay().format(Constants.DB_DATE_FORMATTER),
+                    30,
+                    installment });
+            }
+
+            debtId++;
+        }
+
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO wallet_transaction (wallet_id, category_id, type, status, "
+                + "date, amount, description) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            transactions);
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO credit_card_debt (id, crc_id, category_id, date, "
+                + "total_amount, installments) VALUES (?, ?, ?, ?, ?, ?)",
+            debts);
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO credit_card_payment (wallet_id, debt_id, date, amount, "
+                + "installment) VALUES (?, ?, ?, ?, ?)",
+            payments);
+    }
+}
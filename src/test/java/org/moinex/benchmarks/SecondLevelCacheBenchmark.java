@@ -0,0 +1,329 @@
+/*
+ * Filename: SecondLevelCacheBenchmark.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.app.SecondLevelCacheConfig;
+import org.moinex.services.BalanceLedgerService;
+import org.moinex.services.CreditCardService;
+import org.moinex.services.ReferenceDataCache;
+import org.moinex.services.TransactionAnalyticsService;
+import org.moinex.services.TransactionSuggestionService;
+import org.moinex.services.WalletLockService;
+import org.moinex.services.WalletTransactionService;
+import org.moinex.util.Constants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures the SQL statements run by a load of the transactions screen with the
+ * second-level cache of Hibernate
+ *
+ * The baseline evicts every region before each load, so the categories, credit
+ * cards and operators referenced by the transactions and payments are read from
+ * the database again, as they were before the cache. Run with:
+ * mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ SecondLevelCacheConfig.class,
+          WalletTransactionService.class,
+          CreditCardService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class SecondLevelCacheBenchmark
+{
+    private static final int WALLETS              = 4;
+    private static final int CATEGORIES           = 20;
+    private static final int CREDIT_CARDS         = 3;
+    private static final int MONTHS               = 12;
+    private static final int TRANSACTIONS_PER_DAY = 10;
+    private static final int DEBTS_PER_MONTH      = 20;
+    private static final int INSTALLMENTS         = 3;
+    private static final int LOADS                = 20;
+    private static final int WARMUP_LOADS         = 5;
+
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private EntityManagerFactory m_entityManagerFactory;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private CreditCardService m_creditCardService;
+
+    private static boolean m_seeded = false;
+
+    @DynamicPropertySource
+    static void CacheProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-benchmark", ".db");
+        database.toFile().deleteOnExit();
+
+        // The cache is disabled by the test profile, since the other test contexts
+        // share their database. This one has its own
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + database);
+        registry.add("spring.datasource.driver-class-name",
+                     () -> Constants.SQLITE_DRIVER_CLASS_NAME);
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache",
+                     () -> "true");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache",
+                     () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics",
+                     () -> "true");
+    }
+
+    @BeforeEach
+    public void BeforeEach()
+    {
+        if (m_seeded)
+        {
+            return;
+        }
+
+        new TransactionTemplate(m_transactionManager)
+            .executeWithoutResult(status -> Seed());
+        m_seeded = true;
+    }
+
+    @Test
+    @DisplayName("Benchmark the statements per load of the transactions screen with "
+                 + "and without the second-level cache")
+    public void BenchmarkTransactionsScreenLoads()
+    {
+        SessionFactory sessionFactory =
+            m_entityManagerFactory.unwrap(SessionFactory.class);
+        Cache      cache      = sessionFactory.getCache();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        for (int i = 0; i < WARMUP_LOADS; i++)
+        {
+            cache.evictAllRegions();
+            LoadTransactionsScreen();
+        }
+
+        long   coldStatements = 0;
+        double coldMillis     = 0;
+
+        for (int i = 0; i < LOADS; i++)
+        {
+            cache.evictAllRegions();
+
+            long before = statistics.getPrepareStatementCount();
+            long start  = System.nanoTime();
+
+            LoadTransactionsScreen();
+
+            coldMillis += (System.nanoTime() - start) / 1_000_000.0;
+            coldStatements += statistics.getPrepareStatementCount() - before;
+        }
+
+        statistics.clear();
+
+        long   warmStatements = 0;
+        double warmMillis     = 0;
+
+        for (int i = 0; i < LOADS; i++)
+        {
+            long before = statistics.getPrepareStatementCount();
+            long start  = System.nanoTime();
+
+            LoadTransactionsScreen();
+
+            warmMillis += (System.nanoTime() - start) / 1_000_000.0;
+            warmStatements += statistics.getPrepareStatementCount() - before;
+        }
+
+        System.out.printf("%nTransactions screen loads (%d loads)%n", LOADS);
+        System.out.printf("%10s %16s %12s%n", "cache", "statements/load", "ms/load");
+        System.out.printf("%10s %16.1f %12.2f%n",
+                          "evicted",
+                          (double)coldStatements / LOADS,
+                          coldMillis / LOADS);
+        System.out.printf("%10s %16.1f %12.2f%n",
+                          "warm",
+                          (double)warmStatements / LOADS,
+                          warmMillis / LOADS);
+        System.out.printf("L2 hits/misses: %d/%d | Query cache hits/misses: %d/%d%n",
+                          statistics.getSecondLevelCacheHitCount(),
+                          statistics.getSecondLevelCacheMissCount(),
+                          statistics.getQueryCacheHitCount(),
+                          statistics.getQueryCacheMissCount());
+
+        assertTrue(warmStatements < coldStatements);
+    }
+
+    /**
+     * The queries run by the transactions screen when it is opened
+     */
+    private void LoadTransactionsScreen()
+    {
+        // Year and month resume combo boxes
+        for (int i = 0; i < 2; i++)
+        {
+            m_walletTransactionService.GetOldestTransactionDate();
+            m_creditCardService.GetEarliestPaymentDate();
+        }
+
+        LocalDate today = LocalDate.now();
+
+        // Expenses by category chart
+        for (int i = 0; i < Constants.XYBAR_CHART_MONTHS; i++)
+        {
+            LocalDate month = today.minusMonths(i);
+
+            m_walletTransactionService.GetNonArchivedConfirmedTransactionsByMonth(
+                month.getMonthValue(),
+                month.getYear());
+            m_creditCardService.GetAllPaidPaymentsByMonth(month.getMonthValue(),
+                                                          month.getYear());
+        }
+    }
+
+    private void Seed()
+    {
+        m_jdbcTemplate.update("INSERT INTO wallet_type (id, name) VALUES (1, 'Bank')");
+        m_jdbcTemplate.update(
+            "INSERT INTO credit_card_operator (id, name) VALUES (1, 'Visa')");
+
+        for (int i = 1; i <= WALLETS; i++)
+        {
+            m_jdbcTemplate.update("INSERT INTO wallet (id, type_id, name, balance, "
+                                      + "archived) VALUES (?, 1, ?, 1000, false)",
+                                  i,
+                                  "Wallet " + i);
+        }
+
+        for (int i = 1; i <= CATEGORIES; i++)
+        {
+            m_jdbcTemplate.update("INSERT INTO category (id, name, archived) "
+                                      + "VALUES (?, ?, false)",
+                                  i,
+                                  "Category " + i);
+        }
+
+        for (int i = 1; i <= CREDIT_CARDS; i++)
+        {
+            m_jdbcTemplate.update(
+                "INSERT INTO credit_card (id, operator_id, name, billing_due_day, "
+                    + "closing_day, max_debt, archived) "
+                    + "VALUES (?, 1, ?, 10, 3, 5000, false)",
+                i,
+                "Card " + i);
+        }
+
+        LocalDate      first        = LocalDate.now().minusMonths(MONTHS);
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> debts        = new ArrayList<>();
+        List<Object[]> payments     = new ArrayList<>();
+        long           debtId       = 1;
+
+        for (LocalDate day = first; !day.isAfter(LocalDate.now());
+             day           = day.plusDays(1))
+        {
+            String date = day.atStartOfDay().format(Constants.DB_DATE_FORMATTER);
+
+            for (int t = 0; t < TRANSACTIONS_PER_DAY; t++)
+            {
+                int category = (t + day.getDayOfMonth()) % CATEGORIES + 1;
+
+                transactions.add(new Object[] { t % WALLETS + 1,
+                                                category,
+                                                t % 5 == 0 ? "INCOME" : "EXPENSE",
+                                                "CONFIRMED",
+                                                date,
+                                                10 + t,
+                                                "Transaction " + t });
+            }
+
+            if (day.getDayOfMonth() > DEBTS_PER_MONTH)
+            {
+                continue;
+            }
+
+            debts.add(new Object[] { debtId,
+                                     debtId % CREDIT_CARDS + 1,
+                                     debtId % CATEGORIES + 1,
+                                     date,
+                                     90,
+                                     INSTALLMENTS });
+
+            for (int installment = 1; installment <= INSTALLMENTS; installment++)
+            {
+                LocalDate due = day.plusMonths(installment);
+
+                payments.add(new Object[] {
+                    due.isBefore(LocalDate.now()) ? debtId % WALLETS + 1 : null,
+                    debtId,
+                    due.atStartOfDay().format(Constants.DB_DATE_FORMATTER),
+                    30,
+                    installment });
+            }
+
+            debtId++;
+        }
+
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO wallet_transaction (wallet_id, category_id, type, status, "
+                + "date, amount, description) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            transactions);
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO credit_card_debt (id, crc_id, category_id, date, "
+                + "total_amount, installments) VALUES (?, ?, ?, ?, ?, ?)",
+            debts);
+        m_jdbcTemplate.batchUpdate(
+            "INSERT INTO credit_card_payment (wallet_id, debt_id, date, amount, "
+                + "installment) VALUES (?, ?, ?, ?, ?)",
+            payments);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Filename: StartupBenchmark.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time from the start of the JVM to the first frame of the main
+ * window, launching the application from the fat jar and from the
+ * startup-optimized layout, which maps the classes from the class data sharing
+ * archive and creates the Spring context from the code generated ahead of time
+ *
+ * The cold run is the first launch of each layout in the benchmark, the warm
+ * runs are the launches after it. The operating system keeps the jars in its
+ * page cache between runs, so the cold run is only fully cold if the cache is
+ * dropped before the benchmark. Without a display, the time until the Spring
+ * context is ready is measured instead, from a launch without the user
+ * interface.
+ *
+ * Every launch opens a copy of the database migrated by the training run, so
+ * the migrations are not measured. Run with:
+ * mvn package -Pstartup -DskipTests && mvn test -Pbenchmark -Dtest=StartupBenchmark
+ */
+@Tag("benchmark")
+public class StartupBenchmark
+{
+    private static final int WARM_RUNS   = 5;
+    private static final int TIMEOUT_SEC = 300;
+
+    private static final Path TARGET      = Path.of("target");
+    private static final Path FAT_JAR     = TARGET.resolve("Moinex-1.0-SNAPSHOT.jar");
+    private static final Path STARTUP_JAR =
+        TARGET.resolve("Moinex-1.0-SNAPSHOT-startup.jar");
+    private static final Path ARCHIVE     = TARGET.resolve("moinex.jsa");
+    private static final Path TRAINING_DB = TARGET.resolve("startup-training.db");
+
+    private static final String CONTEXT_APP = "org.moinex.app.ContextApplication";
+
+    private static final Pattern FIRST_FRAME =
+        Pattern.compile("First frame of the main window shown after (\\d+) ms");
+
+    private static final Pattern CONTEXT_READY =
+        Pattern.compile("process running for (\\d+(?:\\.\\d+)?)\\)");
+
+    /**
+     * Launch the application and wait for the milestone
+     * @param command The command, without the database argument
+     * @param firstFrame True to wait for the first frame, false for the context
+     * @return The milliseconds from the start of the JVM to the milestone
+     */
+    private static long Launch(List<String> command, boolean firstFrame)
+        throws IOException, InterruptedException
+    {
+        Path database = Files.createTempFile("moinex-startup", ".db");
+
+        try
+        {
+            Files.copy(TRAINING_DB, database, StandardCopyOption.REPLACE_EXISTING);
+
+            List<String> arguments = new ArrayList<>(command);
+            arguments.add("--spring.datasource.url=jdbc:sqlite:" + database);
+
+            if (firstFrame)
+            {
+                arguments.add("--moinex.startup.exit-on-first-frame=true");
+            }
+
+            Process process =
+                new ProcessBuilder(arguments).redirectErrorStream(true).start();
+
+            Pattern milestone = firstFrame ? FIRST_FRAME : CONTEXT_READY;
+            long    elapsed   = -1;
+
+            try (BufferedReader output = new BufferedReader(
+                     new InputStreamReader(process.getInputStream(),
+                                           StandardCharsets.UTF_8)))
+            {
+                String line;
+
+                while ((line = output.readLine()) != null)
+                {
+                    Matcher matcher = milestone.matcher(line);
+
+                    if (elapsed < 0 && matcher.find())
+                    {
+                        String value = matcher.group(1);
+
+                        elapsed = firstFrame
+                                      ? Long.parseLong(value)
+                                      : Math.round(Double.parseDouble(value) * 1000);
+                    }
+                }
+            }
+
+            if (!process.waitFor(TIMEOUT_SEC, TimeUnit.SECONDS))
+            {
+                process.destroyForcibly();
+            }
+
+            assertTrue(elapsed >= 0, "Milestone not reached by " + arguments);
+            return elapsed;
+        }
+        finally
+        {
+            Files.deleteIfExists(database);
+        }
+    }
+
+    /**
+     * Launch the application once cold and then warm, and print the times
+     */
+    private static void Measure(String name, List<String> command, boolean firstFrame)
+        throws IOException, InterruptedException
+    {
+        long   cold = Launch(command, firstFrame);
+        long[] warm = new long[WARM_RUNS];
+
+        for (int i = 0; i < WARM_RUNS; i++)
+        {
+            warm[i] = Launch(command, firstFrame);
+        }
+
+        Arrays.sort(warm);
+
+        System.out.printf("%-20s %10d %10d %10d %10d%n",
+                          name,
+                          cold,
+                          warm[WARM_RUNS / 2],
+                          warm[0],
+                          warm[WARM_RUNS - 1]);
+    }
+
+    @Test
+    @DisplayName("Benchmark the time to the first frame with and without the "
+                 + "startup optimizations")
+    public void BenchmarkStartup() throws Exception
+    {
+        assumeTrue(Files.exists(FAT_JAR) && Files.exists(STARTUP_JAR) &&
+                       Files.exists(ARCHIVE) && Files.exists(TRAINING_DB),
+                   "Build the startup layout with mvn package -Pstartup first");
+
+        String java =
+            Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        boolean firstFrame = System.getenv("DISPLAY") != null ||
+                             System.getenv("WAYLAND_DISPLAY") != null;
+
+        List<String> fatJar = firstFrame
+                                  ? List.of(java, "-jar", FAT_JAR.toString())
+                                  : List.of(java,
+                                            "-Dloader.main=" + CONTEXT_APP,
+                                            "-cp",
+                                            FAT_JAR.toString(),
+                                            "org.springframework.boot.loader."
+                                                + "PropertiesLauncher");
+
+        List<String> optimized = new ArrayList<>(
+            List.of(java,
+                    "-XX:SharedArchiveFile=" + ARCHIVE,
+                    "-Dspring.aot.enabled=true"));
+
+        if (firstFrame)
+        {
+            optimized.addAll(List.of("-jar", STARTUP_JAR.toString()));
+        }
+        else
+        {
+            optimized.addAll(List.of("-cp", STARTUP_JAR.toString(), CONTEXT_APP));
+        }
+
+        System.out.printf("%nMilliseconds from the start of the JVM to %s%n",
+                          firstFrame ? "the first frame of the main window"
+                                     : "the Spring context ready (no display)");
+        System.out.printf("%-20s %10s %10s %10s %10s%n",
+                          "Layout",
+                          "Cold",
+                          "Warm p50",
+                          "Warm min",
+                          "Warm max");
+
+        Measure("Fat jar", fatJar, firstFrame);
+        Measure("AOT + CDS archive", optimized, firstFrame);
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Filename: CommandLineInterfaceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.moinex.api.QueryApiServer;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.services.BalanceLedgerService;
+import org.moinex.services.CSVImportService;
+import org.moinex.services.CreditCardService;
+import org.moinex.services.DataExportService;
+import org.moinex.services.IntegrityCheckService;
+import org.moinex.services.MetricsService;
+import org.moinex.services.RecurringTransactionService;
+import org.moinex.services.ReferenceDataCache;
+import org.moinex.services.ReportService;
+import org.moinex.services.TransactionAnalyticsService;
+import org.moinex.services.TransactionSuggestionService;
+import org.moinex.services.WalletLockService;
+import org.moinex.services.WalletService;
+import org.moinex.services.WalletTransactionService;
+import org.moinex.services.WriteCoordinatorService;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests for the commands, arguments and exit statuses of the command line
+ * interface, which runs the same services as the user interface
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ CommandLineInterface.class,
+          ReportService.class,
+          CreditCardService.class,
+          RecurringTransactionService.class,
+          WriteCoordinatorService.class,
+          WalletService.class,
+          WalletTransactionService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class,
+          CSVImportService.class,
+          DataExportService.class,
+          IntegrityCheckService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class CommandLineInterfaceTest
+{
+    @MockBean
+    private MetricsService m_metricsService;
+
+    @MockBean
+    private QueryApiServer m_queryApiServer;
+
+    @Autowired
+    private CommandLineInterface m_commandLineInterface;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @TempDir
+    private Path m_tempDir;
+
+    private Long m_walletId;
+
+    private Category m_category;
+
+    private String m_out;
+
+    private String m_err;
+
+    private final LocalDateTime m_date = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    private int Run(String... args)
+    {
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+
+        int status = m_commandLineInterface.Run(List.of(args),
+                                                new PrintWriter(out),
+                                                new PrintWriter(err));
+
+        m_out = out.toString();
+        m_err = err.toString();
+
+        return status;
+    }
+
+    /**
+     * Get the values of the output, which has one tab-separated name and value per
+     * line
+     */
+    private Map<String, String> Values()
+    {
+        Map<String, String> values = new HashMap<>();
+
+        for (String line : m_out.split("\\R"))
+        {
+            String[] pair = line.split("\t", 2);
+
+            if (pair.length == 2)
+            {
+                values.put(pair[0], pair[1]);
+            }
+        }
+
+        return values;
+    }
+
+    private void AssertAmount(String expected, String name)
+    {
+        assertEquals(0,
+                     new BigDecimal(expected).compareTo(
+                         new BigDecimal(Values().get(name))),
+                     name);
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_walletId = m_walletService.CreateWallet("Bank", new BigDecimal("1000"));
+        m_category = m_categoryRepository.save(new Category("Salary"));
+
+        m_walletTransactionService.AddIncome(m_walletId,
+                                             m_category,
+                                             m_date,
+                                             new BigDecimal("100"),
+                                             "Income",
+                                             TransactionStatus.CONFIRMED);
+        m_walletTransactionService.AddExpense(m_walletId,
+                                              m_category,
+                                              m_date,
+                                              new BigDecimal("30"),
+                                              "Expense",
+                                              TransactionStatus.PENDING);
+
+        // Starts from the committed transactions of each test
+        m_transactionAnalyticsService.Invalidate();
+        m_referenceDataCache.RefreshCategories();
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_walletTransactionRepository.deleteAllInBatch();
+        m_archivedTransactionRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+
+        m_transactionAnalyticsService.Invalidate();
+        m_referenceDataCache.RefreshCategories();
+        m_referenceDataCache.RefreshWallets();
+    }
+
+    @Test
+    @DisplayName("Test if missing or unknown commands and options are usage errors")
+    public void TestUsageErrors()
+    {
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run());
+        assertTrue(m_err.startsWith("Usage: moinex-cli"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("report"));
+        assertTrue(m_err.contains("Unknown command report"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("check", "--verbose"));
+        assertTrue(m_err.contains("Unknown option --verbose"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("recurring", "now"));
+        assertTrue(m_err.contains("Wrong number of arguments"));
+
+        assertEquals(CommandLineInterface.EXIT_OK, Run("help"));
+        assertTrue(m_out.startsWith("Usage: moinex-cli"));
+        assertTrue(m_err.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test if the summary of a month and of a year are written")
+    public void TestSummary()
+    {
+        assertEquals(CommandLineInterface.EXIT_OK, Run("summary", "month", "2024-03"));
+
+        assertEquals("2024-03-01", Values().get("from"));
+        assertEquals("2024-03-31", Values().get("to"));
+        AssertAmount("100", "confirmed_income");
+        AssertAmount("0", "confirmed_expenses");
+        AssertAmount("100", "foreseen_income");
+        AssertAmount("30", "foreseen_expenses");
+        AssertAmount("70", "foreseen_balance");
+
+        assertEquals(CommandLineInterface.EXIT_OK, Run("summary", "year", "2024"));
+
+        assertEquals("2024-01-01", Values().get("from"));
+        assertEquals("2024-12-31", Values().get("to"));
+        AssertAmount("100", "confirmed_income");
+
+        // A month without transactions
+        assertEquals(CommandLineInterface.EXIT_OK, Run("summary", "month", "2024-04"));
+        AssertAmount("0", "confirmed_income");
+    }
+
+    @Test
+    @DisplayName("Test if an invalid period of a summary is a usage error")
+    public void TestSummaryInvalidPeriod()
+    {
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("summary", "week"));
+        assertTrue(m_err.contains("The period must be month or year"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("summary", "month", "2024-13"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("summary", "year", "24x"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("summary", "month", "2024-03", "2024-04"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("summary"));
+    }
+
+    @Test
+    @DisplayName("Test if the balances of the wallets are written, now and at the "
+                 + "end of a day, and an invalid date is a usage error")
+    public void TestBalance()
+    {
+        assertEquals(CommandLineInterface.EXIT_OK, Run("balance"));
+
+        AssertAmount("1100", "Bank");
+        AssertAmount("1100", "total");
+
+        assertEquals(CommandLineInterface.EXIT_OK, Run("balance", "2024-03-10"));
+
+        assertTrue(Values().containsKey("Bank"));
+        assertTrue(Values().containsKey("total"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("balance", "2024-02-30"));
+        assertEquals(CommandLineInterface.EXIT_USAGE, Run("balance", "10/03/2024"));
+    }
+
+    @Test
+    @DisplayName("Test if a CSV file is imported with the column mappings and the "
+                 + "default values")
+    public void TestImport() throws IOException
+    {
+        Path file = m_tempDir.resolve("statement.csv");
+        Files.write(file,
+                    List.of("Date,Description,Value",
+                            "15/03/2024,Bonus,\"50,00\"",
+                            "16/03/2024,Market,abc"));
+
+        assertEquals(CommandLineInterface.EXIT_FAILURE,
+                     Run("import",
+                         "WalletTransaction",
+                         file.toString(),
+                         "Date=date",
+                         "Description=description",
+                         "Value=amount",
+                         "--default",
+                         "wallet=Bank",
+                         "--default=category=Salary"));
+
+        assertEquals("1", Values().get("rows_imported"));
+        assertEquals("1", Values().get("rows_rejected"));
+        assertTrue(m_out.contains("error\tRow "));
+
+        assertEquals(CommandLineInterface.EXIT_OK, Run("balance"));
+        AssertAmount("1150", "Bank");
+    }
+
+    @Test
+    @DisplayName("Test if invalid import arguments are usage errors")
+    public void TestImportInvalidArguments() throws IOException
+    {
+        Path file = m_tempDir.resolve("statement.csv");
+        Files.write(file, List.of("Date,Description,Value"));
+
+        // Without mappings, the columns of the table are listed
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("import", "WalletTransaction", file.toString()));
+        assertTrue(m_out.lines().anyMatch("date"::equals));
+        assertTrue(m_err.contains("Map the CSV columns"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("import", "WalletTransaction", file.toString(), "Date"));
+        assertTrue(m_err.contains("Expected <name>=<value>, got Date"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("import", "WalletTransaction", file.toString(), "=date"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("import", "Budget", file.toString(), "Date=date"));
+        assertTrue(m_err.contains("Table Budget can't be imported"));
+
+        assertEquals(CommandLineInterface.EXIT_USAGE,
+                     Run("import",
+                         "WalletTransaction",
+                         file.toString(),
+                         "Date=date",
+                         "--default"));
+        assertTrue(m_err.contains("Option --default requires a value"));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Filename: EntityRegistryTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.util.EntityDescriptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Tests for the entity registry generated at compile time
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@ActiveProfiles("test")
+public class EntityRegistryTest
+{
+    @Autowired
+    private EntityManagerFactory m_entityManagerFactory;
+
+    @Test
+    @DisplayName("Test if the registry lists every entity and column Hibernate maps")
+    public void TestRegistryMatchesHibernate()
+    {
+        Map<String, Set<String>> mapped = new TreeMap<>();
+
+        m_entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .forEachEntityDescriptor(entity -> {
+                entity.forEachSelectable((index, selectable) -> {
+                    mapped
+                        .computeIfAbsent(selectable.getContainingTableExpression(),
+                                         t -> new TreeSet<>())
+                        .add(selectable.getSelectionExpression());
+                });
+
+                // The selectables don't include the primary keys
+                AbstractEntityPersister persister = (AbstractEntityPersister)entity;
+                String[]                tableNames = persister.getTableNames();
+
+                for (int i = 0; i < tableNames.length; i++)
+                {
+                    mapped
+                        .computeIfAbsent(tableNames[i],
+                                         t -> new TreeSet<>())
+                        .addAll(List.of(persister.getKeyColumns(i)));
+                }
+            });
+
+        Map<String, Set<String>> registered = new TreeMap<>();
+
+        for (EntityDescriptor entity : EntityRegistry.GetEntities())
+        {
+            registered.put(entity.GetTableName(), new TreeSet<>(entity.GetColumns()));
+        }
+
+        assertEquals(mapped, registered);
+    }
+
+    @Test
+    @DisplayName("Test if only the annotated entities are importable")
+    public void TestImportableEntities()
+    {
+        assertEquals(Set.of("Category",
+                            "CreditCard",
+                            "CreditCardDebt",
+                            "Wallet",
+                            "WalletTransaction"),
+                     Set.copyOf(EntityRegistry.GetImportableEntities()
+                                    .stream()
+                                    .map(EntityDescriptor::GetName)
+                                    .toList()));
+
+        // Goal extends an importable entity and RecurringTransaction shares the
+        // importable columns of the transactions
+        assertTrue(EntityRegistry.Find("Goal").GetImportableColumns().isEmpty());
+        assertTrue(EntityRegistry.Find("RecurringTransaction")
+                       .GetImportableColumns()
+                       .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test if the importable columns list the required ones first")
+    public void TestImportableColumns()
+    {
+        EntityDescriptor debt = EntityRegistry.Find("CreditCardDebt");
+
+        assertNotNull(debt);
+        assertEquals(Set.of("credit_card", "category", "date", "amount"),
+                     Set.copyOf(debt.GetRequiredColumns()));
+        assertEquals(debt.GetRequiredColumns(),
+                     debt.GetImportableColumns().subList(
+                         0,
+                         debt.GetRequiredColumns().size()));
+        assertTrue(debt.GetImportableColumns().contains("installments"));
+        assertTrue(debt.HasColumn("total_amount"));
+    }
+
+    @Test
+    @DisplayName("Test if an unknown entity is not found")
+    public void TestUnknownEntity()
+    {
+        assertNull(EntityRegistry.Find("Unknown"));
+    }
+}
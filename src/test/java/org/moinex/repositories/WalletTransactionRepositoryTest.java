@@ -7,10 +7,13 @@
 package org.moinex.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -191,4 +194,28 @@ public class WalletTransactionRepositoryTest
         assertEquals(walletTransaction2, lastTransactions.get(1));
         assertEquals(walletTransaction3, lastTransactions.get(2));
     }
+
+    @Test
+    @DisplayName("Test if the count of transactions of each wallet is returned by a "
+                 + "single grouped query")
+    public void
+    TestGetTransactionCountPerWallet()
+    {
+        CreateWalletTransaction(m_wallet1, new BigDecimal("1.0"), LocalDateTime.now());
+        CreateWalletTransaction(m_wallet1, new BigDecimal("2.0"), LocalDateTime.now());
+        CreateWalletTransaction(m_wallet2, new BigDecimal("3.0"), LocalDateTime.now());
+
+        Wallet emptyWallet = CreateWallet("Wallet3", BigDecimal.ZERO);
+
+        Map<Long, Long> counts =
+            m_walletTransactionRepository.GetTransactionCountPerWallet()
+                .stream()
+                .collect(
+                    Collectors.toMap(row -> (Long)row[0], row -> (Long)row[1]));
+
+        assertEquals(2, counts.size());
+        assertEquals(2L, counts.get(m_wallet1.GetId()));
+        assertEquals(1L, counts.get(m_wallet2.GetId()));
+        assertFalse(counts.containsKey(emptyWallet.GetId()));
+    }
 }
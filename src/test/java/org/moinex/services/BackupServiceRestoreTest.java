@@ -0,0 +1,201 @@
+/*
+ * Filename: BackupServiceRestoreTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.DataSourceConfig;
+import org.moinex.app.MainApplication;
+import org.moinex.app.SecondLevelCacheConfig;
+import org.moinex.entities.Category;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.util.BackupSnapshot;
+import org.moinex.util.TransactionColumns;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests for the caches of the application after a restore, against a SQLite
+ * database with the second-level cache enabled
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DataSourceConfig.class,
+          SecondLevelCacheConfig.class,
+          BackupService.class,
+          DataVersionService.class,
+          WalletService.class,
+          CategoryService.class,
+          WalletTransactionService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class BackupServiceRestoreTest
+{
+    @MockBean
+    private MetricsService m_metricsService;
+
+    @Autowired
+    private BackupService m_backupService;
+
+    @Autowired
+    private DataVersionService m_dataVersionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CategoryService m_categoryService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    private static Path m_directory;
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        m_directory = Files.createTempDirectory("moinex-restore");
+        m_directory.toFile().deleteOnExit();
+
+        Path database = m_directory.resolve("moinex.db");
+
+        // The cache is disabled by the test profile, since the other test contexts
+        // share their database. This one has its own
+        registry.add("moinex.datasource.routing", () -> "true");
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache",
+                     () -> "true");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache",
+                     () -> "true");
+    }
+
+    private Long AddExpense(Long walletId, Category category, String description)
+    {
+        return m_walletTransactionService.AddExpense(walletId,
+                                                     category,
+                                                     LocalDateTime.now(),
+                                                     new BigDecimal("10.00"),
+                                                     description,
+                                                     TransactionStatus.CONFIRMED);
+    }
+
+    private long SumExpenses()
+    {
+        return m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.OfType(TransactionType.EXPENSE).Sum());
+    }
+
+    private List<String> Suggest(String text)
+    {
+        return m_transactionSuggestionService
+            .GetSuggestions(TransactionType.EXPENSE, text)
+            .stream()
+            .map(s -> s.GetDescription())
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Test if the caches show the restored data after a restore")
+    public void TestCachesRefreshedAfterRestore()
+    {
+        m_backupService.SetDirectory(m_directory.resolve("backup"));
+        m_backupService.SetPacing(-1, 0);
+
+        Long     walletId = m_walletService.CreateWallet("Wallet", BigDecimal.ZERO);
+        Category food     = m_categoryRepository.findById(
+                                m_categoryService.AddCategory("Food")).orElseThrow();
+
+        AddExpense(walletId, food, "Lunch");
+
+        BackupSnapshot snapshot = m_backupService.Backup().GetSnapshot();
+
+        Long     travelId = m_categoryService.AddCategory("Travel");
+        Category travel   = m_categoryRepository.findById(travelId).orElseThrow();
+
+        AddExpense(walletId, travel, "Dinner");
+
+        // Read through every cache, so each one holds the data being replaced
+        assertEquals(2, m_referenceDataCache.GetCategories().size());
+        assertEquals(TransactionColumns.ToCents(new BigDecimal("20.00")),
+                     SumExpenses());
+        assertEquals(List.of("Dinner"), Suggest("din"));
+        assertEquals(0,
+                     new BigDecimal("-20.00")
+                         .compareTo(m_walletService.GetWalletById(walletId)
+                                        .GetBalance()));
+
+        long version = m_dataVersionService.GetVersion();
+
+        m_backupService.Restore(snapshot);
+
+        assertTrue(m_dataVersionService.GetVersion() > version);
+
+        assertEquals(List.of("Food"),
+                     m_referenceDataCache.GetCategories()
+                         .stream()
+                         .map(Category::GetName)
+                         .toList());
+
+        // Found in the second-level cache if it was not evicted
+        assertTrue(m_categoryRepository.findById(travelId).isEmpty());
+
+        assertEquals(0,
+                     new BigDecimal("-10.00")
+                         .compareTo(m_walletService.GetWalletById(walletId)
+                                        .GetBalance()));
+
+        assertEquals(TransactionColumns.ToCents(new BigDecimal("10.00")),
+                     SumExpenses());
+        assertTrue(Suggest("din").isEmpty());
+        assertEquals(List.of("Lunch"), Suggest("lun"));
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Filename: BackupServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.moinex.util.BackupResult;
+import org.moinex.util.BackupSnapshot;
+import org.moinex.util.Constants;
+
+@ExtendWith(MockitoExtension.class)
+public class BackupServiceTest
+{
+    @Mock
+    private MetricsService m_metricsService;
+
+    @Mock
+    private DataVersionService m_dataVersionService;
+
+    @Mock
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Mock
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Mock
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @InjectMocks
+    private BackupService m_backupService;
+
+    @TempDir
+    private Path m_tempDir;
+
+    private String m_databaseUrl;
+
+    private Path m_backupDir;
+
+    private void Execute(String... statements) throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection(m_databaseUrl);
+             Statement statement = connection.createStatement())
+        {
+            for (String sql : statements)
+            {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private long CountRows() throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection(m_databaseUrl);
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM item"))
+        {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private long CountChains() throws IOException
+    {
+        try (Stream<Path> files = Files.list(m_backupDir))
+        {
+            return files
+                .filter(f
+                        -> f.getFileName().toString().startsWith(
+                            Constants.BACKUP_CHAIN_PREFIX))
+                .count();
+        }
+    }
+
+    @BeforeEach
+    public void BeforeEach() throws SQLException
+    {
+        m_databaseUrl =
+            "jdbc:sqlite:" + m_tempDir.resolve("moinex.db") + "?journal_mode=WAL";
+        m_backupDir = m_tempDir.resolve("backup");
+
+        m_backupService.SetDatabaseUrl(m_databaseUrl);
+        m_backupService.SetDirectory(m_backupDir);
+        m_backupService.SetPacing(1, 0);
+        m_backupService.SetRetention(24, 4, 30);
+
+        Execute("CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT)");
+
+        for (int i = 0; i < 50; i++)
+        {
+            Execute("INSERT INTO item (name) VALUES ('" + "x".repeat(500) + "')");
+        }
+    }
+
+    @Test
+    @DisplayName("Test if only the pages changed since the last snapshot are stored")
+    public void TestIncrementalBackupStoresChangedPages() throws SQLException
+    {
+        BackupResult full = m_backupService.Backup();
+
+        assertTrue(full.GetSnapshot().IsFull());
+        assertEquals(full.GetPagesCopied(), full.GetPagesWritten());
+
+        Execute("UPDATE item SET name = 'changed' WHERE id = 50");
+
+        BackupResult delta = m_backupService.Backup();
+
+        assertFalse(delta.GetSnapshot().IsFull());
+        assertEquals(1, delta.GetSnapshot().GetSequence());
+        assertTrue(delta.GetPagesWritten() > 0);
+        assertTrue(delta.GetPagesWritten() < delta.GetPagesCopied());
+        assertTrue(delta.GetSnapshot().GetSize() < full.GetSnapshot().GetSize());
+
+        BackupResult unchanged = m_backupService.Backup();
+
+        assertNull(unchanged.GetSnapshot());
+        assertEquals(0, unchanged.GetPagesWritten());
+        assertEquals(2, m_backupService.GetSnapshots().size());
+        assertEquals(unchanged, m_backupService.GetLastResult());
+
+        verify(m_metricsService, times(3))
+            .Record(eq("BackupService.Backup"),
+                    anyLong(),
+                    eq(0L),
+                    anyLong(),
+                    eq(false));
+    }
+
+    @Test
+    @DisplayName("Test if a snapshot is restored by applying the deltas of its chain")
+    public void TestRestoreRebuildsSnapshot() throws SQLException
+    {
+        m_backupService.Backup();
+
+        Execute("DELETE FROM item WHERE id > 40");
+        BackupSnapshot afterDelete = m_backupService.Backup().GetSnapshot();
+
+        Execute("DELETE FROM item WHERE id > 10", "VACUUM");
+        m_backupService.Backup();
+
+        assertEquals(10, CountRows());
+
+        m_backupService.Restore(afterDelete);
+
+        assertEquals(40, CountRows());
+
+        // The data replaced by the restore was backed up first
+        List<BackupSnapshot> snapshots = m_backupService.GetSnapshots();
+        assertEquals(3, snapshots.size());
+
+        m_backupService.Restore(snapshots.get(snapshots.size() - 1));
+
+        assertEquals(50, CountRows());
+
+        // The data cached from the replaced data was dropped
+        verify(m_referenceDataCache, times(2)).RefreshAfterExternalWrite();
+        verify(m_transactionAnalyticsService, times(2)).Invalidate();
+        verify(m_transactionSuggestionService, times(2)).Invalidate();
+        verify(m_dataVersionService, times(2)).MarkChanged();
+    }
+
+    @Test
+    @DisplayName("Test if retention keeps the configured number of chains")
+    public void TestRetentionRemovesOldChains() throws SQLException, IOException
+    {
+        m_backupService.SetRetention(1, 2, 30);
+
+        for (int i = 0; i < 6; i++)
+        {
+            Execute("UPDATE item SET name = 'v" + i + "' WHERE id = 1");
+            assertNotNull(m_backupService.Backup().GetSnapshot());
+        }
+
+        // Each chain holds a full copy and one incremental snapshot
+        assertEquals(2, CountChains());
+        assertEquals(4, m_backupService.GetSnapshots().size());
+        assertEquals(1, m_backupService.GetSnapshots().get(0).GetSequence());
+    }
+
+    @Test
+    @DisplayName("Test if a backup of a missing database fails")
+    public void TestBackupMissingDatabaseFails()
+    {
+        m_backupService.SetDatabaseUrl("jdbc:sqlite:" +
+                                       m_tempDir.resolve("missing/moinex.db"));
+
+        assertThrows(RuntimeException.class, () -> m_backupService.Backup());
+
+        verify(m_metricsService)
+            .Record(eq("BackupService.Backup"), anyLong(), eq(0L), eq(0L), eq(true));
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Filename: BalanceLedgerServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.BalanceCheckpoint;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.BalanceCheckpointRepository;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Tests for the balance history of the wallets
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ BalanceLedgerService.class,
+          WalletTransactionService.class,
+          WalletService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class })
+@ActiveProfiles("test")
+public class BalanceLedgerServiceTest
+{
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private BalanceCheckpointRepository m_balanceCheckpointRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager m_entityManager;
+
+    private Long m_walletId;
+
+    private Category m_category;
+
+    private final YearMonth m_thisMonth = YearMonth.now();
+
+    private LocalDateTime DayOf(YearMonth month, int day)
+    {
+        return month.atDay(day).atTime(12, 0);
+    }
+
+    private Long AddIncome(LocalDateTime date, String amount)
+    {
+        return m_walletTransactionService.AddIncome(m_walletId,
+                                                    m_category,
+                                                    date,
+                                                    new BigDecimal(amount),
+                                                    "Income",
+                                                    TransactionStatus.CONFIRMED);
+    }
+
+    private void AddExpense(LocalDateTime date, String amount)
+    {
+        m_walletTransactionService.AddExpense(m_walletId,
+                                              m_category,
+                                              date,
+                                              new BigDecimal(amount),
+                                              "Expense",
+                                              TransactionStatus.CONFIRMED);
+    }
+
+    private void AssertBalance(String expected, LocalDateTime date)
+    {
+        assertEquals(0,
+                     new BigDecimal(expected).compareTo(
+                         m_balanceLedgerService.GetBalanceAt(m_walletId, date)),
+                     "Balance at " + date);
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_category = m_categoryRepository.save(new Category("Category"));
+    }
+
+    @Test
+    @DisplayName("Test if the balance at a date sums the changes up to the date")
+    public void TestBalanceAtDate()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("100.00"));
+
+        YearMonth month = m_thisMonth.minusMonths(2);
+
+        AddIncome(DayOf(month, 5), "50.25");
+        AddExpense(DayOf(month, 10), "20.10");
+        AddIncome(DayOf(month.plusMonths(1), 1), "10.00");
+
+        // The initial balance is recorded when the wallet is created
+        AssertBalance("0", DayOf(month, 1));
+        AssertBalance("50.25", DayOf(month, 5));
+        AssertBalance("30.15", DayOf(month, 20));
+        AssertBalance("140.15", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Test if checkpoints are created for the closed months and "
+                 + "updated by changes dated before them")
+    public void TestCheckpoints()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", BigDecimal.ZERO);
+
+        YearMonth first = m_thisMonth.minusMonths(3);
+
+        AddIncome(DayOf(first, 15), "100.00");
+        AddExpense(DayOf(first.plusMonths(2), 15), "30.00");
+        AddIncome(DayOf(m_thisMonth, 1), "1.00");
+
+        assertEquals(3, m_balanceLedgerService.CreateCheckpoints());
+        assertEquals(0, m_balanceLedgerService.CreateCheckpoints());
+
+        List<BalanceCheckpoint> checkpoints =
+            m_balanceCheckpointRepository.FindCheckpointsBetween(
+                m_walletId,
+                first.toString(),
+                m_thisMonth.toString());
+
+        assertEquals(3, checkpoints.size());
+        assertEquals(10000L, checkpoints.get(0).GetBalanceInCents());
+        assertEquals(10000L, checkpoints.get(1).GetBalanceInCents());
+        assertEquals(7000L, checkpoints.get(2).GetBalanceInCents());
+
+        // A backdated expense changes the checkpoints from its month on
+        AddExpense(DayOf(first.plusMonths(1), 1), "5.50");
+
+        // The checkpoints are updated in the database, not in the persistence
+        // context shared by the test transaction
+        m_entityManager.clear();
+
+        SortedMap<YearMonth, BigDecimal> history =
+            m_balanceLedgerService.GetMonthlyBalanceHistory(m_walletId,
+                                                            first,
+                                                            m_thisMonth);
+
+        assertEquals(4, history.size());
+        assertEquals(0, new BigDecimal("100").compareTo(history.get(first)));
+        assertEquals(0,
+                     new BigDecimal("94.50").compareTo(
+                         history.get(first.plusMonths(1))));
+        assertEquals(0,
+                     new BigDecimal("64.50").compareTo(
+                         history.get(first.plusMonths(2))));
+        assertEquals(0,
+                     new BigDecimal("65.50").compareTo(history.get(m_thisMonth)));
+
+        AssertBalance("94.50", DayOf(first.plusMonths(1), 2));
+        AssertBalance("65.50", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Test if changing the date of a transaction moves it in the history")
+    public void TestTransactionDateChangeMovesHistory()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", BigDecimal.ZERO);
+
+        YearMonth month = m_thisMonth.minusMonths(1);
+
+        Long id = AddIncome(DayOf(month, 10), "40.00");
+
+        // Edited as the dialogs do, on a copy loaded in another transaction
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(id);
+        m_entityManager.flush();
+        m_entityManager.detach(transaction);
+
+        transaction.SetDate(DayOf(month, 20));
+
+        m_walletTransactionService.UpdateTransaction(transaction);
+
+        AssertBalance("0", DayOf(month, 15));
+        AssertBalance("40.00", DayOf(month, 20));
+        AssertBalance("40.00", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Test if the daily history has the balance of each day it changed")
+    public void TestDailyHistory()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", BigDecimal.ZERO);
+
+        YearMonth month = m_thisMonth.minusMonths(1);
+
+        AddIncome(DayOf(month, 1), "10.00");
+        AddIncome(DayOf(month, 3), "5.00");
+        AddExpense(DayOf(month, 3), "1.00");
+        AddExpense(DayOf(month, 7), "2.00");
+
+        SortedMap<LocalDate, BigDecimal> history =
+            m_balanceLedgerService.GetDailyBalanceHistory(m_walletId,
+                                                          month.atDay(2),
+                                                          month.atDay(10));
+
+        assertEquals(List.of(month.atDay(2),
+                             month.atDay(3),
+                             month.atDay(7),
+                             month.atDay(10)),
+                     List.copyOf(history.keySet()));
+        assertEquals(0, new BigDecimal("10").compareTo(history.get(month.atDay(2))));
+        assertEquals(0, new BigDecimal("14").compareTo(history.get(month.atDay(3))));
+        assertEquals(0, new BigDecimal("12").compareTo(history.get(month.atDay(7))));
+        assertEquals(0, new BigDecimal("12").compareTo(history.get(month.atDay(10))));
+    }
+
+    @Test
+    @DisplayName("Test if the history of existing wallets is replayed from their "
+                 + "transactions")
+    public void TestRecordMissingHistory()
+    {
+        YearMonth month = m_thisMonth.minusMonths(1);
+
+        // Written without the services, as in a database created before the ledger
+        Wallet wallet =
+            m_walletRepository.save(new Wallet("Wallet", new BigDecimal("75.00")));
+        m_walletId = wallet.GetId();
+
+        m_jdbcTemplate.update(
+            "INSERT INTO wallet_transaction (wallet_id, category_id, type, status, "
+                + "date, amount, description) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            m_walletId,
+            m_category.GetId(),
+            "EXPENSE",
+            "CONFIRMED",
+            "%s-10T12:00:00".formatted(month),
+            new BigDecimal("25.00"),
+            "Expense");
+
+        m_jdbcTemplate.update(
+            "INSERT INTO wallet_transaction (wallet_id, category_id, type, status, "
+                + "date, amount, description) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            m_walletId,
+            m_category.GetId(),
+            "INCOME",
+            "PENDING",
+            "%s-11T12:00:00".formatted(month),
+            new BigDecimal("999.00"),
+            "Pending");
+
+        assertEquals(1, m_balanceLedgerService.RecordMissingHistory());
+        assertEquals(0, m_balanceLedgerService.RecordMissingHistory());
+
+        // The opening balance is the difference to the current balance, recorded
+        // at the date of the first transaction
+        assertEquals(2,
+                     m_balanceLedgerRepository.FindEntriesByWallet(m_walletId)
+                         .size());
+        AssertBalance("0", DayOf(month, 10).minusSeconds(1));
+        AssertBalance("75.00", DayOf(month, 10));
+        AssertBalance("75.00", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Test if the history follows manual balance updates")
+    public void TestManualBalanceUpdate()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("10.00"));
+
+        m_walletService.UpdateWalletBalance(m_walletId, new BigDecimal("3.33"));
+
+        AssertBalance("3.33", LocalDateTime.now());
+        assertTrue(m_balanceLedgerRepository.FindEntriesByWallet(m_walletId)
+                       .stream()
+                       .allMatch(e -> !e.GetRecordedAt().isAfter(LocalDateTime.now())));
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * Filename: CSVImportServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.moinex.entities.Category;
+import org.moinex.entities.CreditCard;
+import org.moinex.entities.Wallet;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.CreditCardRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.util.CSVImportProgress;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class CSVImportServiceTest
+{
+    @Mock
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager m_transactionManager;
+
+    @Mock
+    private CategoryRepository m_categoryRepository;
+
+    @Mock
+    private WalletRepository m_walletRepository;
+
+    @Mock
+    private CreditCardRepository m_creditCardRepository;
+
+    @Mock
+    private WalletLockService m_walletLockService;
+
+    @Mock
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Mock
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Mock
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @Mock
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @InjectMocks
+    private CSVImportService m_csvImportService;
+
+    @TempDir
+    private Path m_tempDir;
+
+    private List<CSVImportProgress> m_progressUpdates;
+
+    private Path WriteCsv(String... lines) throws IOException
+    {
+        Path file = m_tempDir.resolve("import.csv");
+        Files.write(file, List.of(lines));
+        return file;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> CaptureInsertedRows(int batches)
+    {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+
+        verify(m_jdbcTemplate, times(batches))
+            .batchUpdate(anyString(), captor.capture());
+
+        List<Object[]> rows = new ArrayList<>();
+        captor.getAllValues().forEach(rows::addAll);
+        return rows;
+    }
+
+    private Category CreateCategory(Long id, String name)
+    {
+        Category category = mock(Category.class);
+        when(category.GetId()).thenReturn(id);
+        when(category.GetName()).thenReturn(name);
+        return category;
+    }
+
+    @BeforeEach
+    public void BeforeEach()
+    {
+        m_progressUpdates = new ArrayList<>();
+        m_csvImportService.SetBatchSize(2);
+        m_csvImportService.SetWorkerThreads(2);
+    }
+
+    @Test
+    @DisplayName("Test if categories are imported in batches of the configured size")
+    public void TestImportCategoriesInBatches() throws IOException
+    {
+        when(m_categoryRepository.findAll()).thenReturn(List.of());
+
+        Path file = WriteCsv("Name,Ignored", "Food,x", "Travel,x", "Health,x");
+
+        CSVImportProgress result = m_csvImportService.Import(file,
+                                                            "Category",
+                                                            Map.of("Name", "name"),
+                                                            m_progressUpdates::add);
+
+        List<Object[]> rows = CaptureInsertedRows(2);
+
+        assertEquals(3, rows.size());
+        assertEquals("Food", rows.get(0)[0]);
+        assertEquals("Health", rows.get(2)[0]);
+
+        assertEquals(3, result.GetRowsRead());
+        assertEquals(3, result.GetRowsImported());
+        assertEquals(0, result.GetRowsRejected());
+        assertEquals(2, m_progressUpdates.size());
+        assertEquals(1.0, result.GetFraction());
+    }
+
+    @Test
+    @DisplayName("Test if blank and duplicated category names are rejected")
+    public void TestImportCategoriesRejectsInvalidRows() throws IOException
+    {
+        when(m_categoryRepository.findAll())
+            .thenReturn(List.of(new Category("Food")));
+
+        Path file = WriteCsv("name", "Food", " ", "Travel", "Travel");
+
+        CSVImportProgress result = m_csvImportService.Import(file,
+                                                            "Category",
+                                                            Map.of("name", "name"),
+                                                            m_progressUpdates::add);
+
+        List<Object[]> rows = CaptureInsertedRows(1);
+
+        assertEquals(1, rows.size());
+        assertEquals("Travel", rows.get(0)[0]);
+        assertEquals(1, result.GetRowsImported());
+        assertEquals(3, result.GetRowsRejected());
+        assertEquals(3, result.GetErrors().size());
+    }
+
+    @Test
+    @DisplayName("Test if wallets with invalid balance are rejected and missing "
+                 + "balances default to zero")
+    public void TestImportWallets() throws IOException
+    {
+        when(m_walletRepository.findAll())
+            .thenReturn(List.of(new Wallet(1L, "Main", BigDecimal.ONE)));
+
+        Path file = WriteCsv("wallet,amount", "Bank,10.50", "Cash,", "Card,abc");
+
+        CSVImportProgress result =
+            m_csvImportService.Import(file,
+                                      "Wallet",
+                                      Map.of("wallet", "name", "amount", "balance"),
+                                      m_progressUpdates::add);
+
+        List<Object[]> rows = CaptureInsertedRows(1);
+
+        assertEquals(2, rows.size());
+        assertEquals(new BigDecimal("10.50"), rows.get(0)[1]);
+        assertEquals(BigDecimal.ZERO, rows.get(1)[1]);
+        assertEquals(1, result.GetRowsRejected());
+    }
+
+    @Test
+    @DisplayName("Test if rows of a batch rejected by the database are reported")
+    public void TestImportBatchRejectedByDatabase() throws IOException
+    {
+        when(m_categoryRepository.findAll()).thenReturn(List.of());
+        when(m_jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataIntegrityViolationException("constraint"));
+
+        Path file = WriteCsv("name", "Food", "Travel", "Health");
+
+        CSVImportProgress result = m_csvImportService.Import(file,
+                                                            "Category",
+                                                            Map.of("name", "name"),
+                                                            m_progressUpdates::add);
+
+        assertEquals(0, result.GetRowsImported());
+        assertEquals(3, result.GetRowsRejected());
+    }
+
+    @Test
+    @DisplayName("Test if the import fails when a required column is not mapped")
+    public void TestImportRequiredColumnNotMapped() throws IOException
+    {
+        Path file = WriteCsv("name,closing", "Card,10");
+
+        assertThrows(RuntimeException.class,
+                     ()
+                         -> m_csvImportService.Import(file,
+                                                      "CreditCard",
+                                                      Map.of("name", "name"),
+                                                      m_progressUpdates::add));
+
+        verify(m_jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Test if the import fails when the table is not supported")
+    public void TestImportUnsupportedTable() throws IOException
+    {
+        Path file = WriteCsv("name", "Goal");
+
+        assertThrows(RuntimeException.class,
+                     ()
+                         -> m_csvImportService.Import(file,
+                                                      "Goal",
+                                                      Map.of("name", "name"),
+                                                      m_progressUpdates::add));
+    }
+
+    @Test
+    @DisplayName("Test if rows are written in file order when converted in parallel, "
+                 + "including quoted values that span lines")
+    public void TestImportKeepsFileOrder() throws IOException
+    {
+        when(m_categoryRepository.findAll()).thenReturn(List.of());
+
+        m_csvImportService.SetWorkerThreads(4);
+
+        Path file = WriteCsv("name",
+                             "C1",
+                             "\"Home, \"\"Garden\"\"\"",
+                             "\"Multi",
+                             "Line\"",
+                             "C4",
+                             "",
+                             "C5",
+                             "C6",
+                             "C7");
+
+        CSVImportProgress result = m_csvImportService.Import(file,
+                                                            "Category",
+                                                            Map.of("name", "name"),
+                                                            m_progressUpdates::add);
+
+        List<Object[]> rows = CaptureInsertedRows(4);
+
+        assertEquals(7, result.GetRowsImported());
+        assertEquals(List.of("C1",
+                             "Home, \"Garden\"",
+                             "Multi\nLine",
+                             "C4",
+                             "C5",
+                             "C6",
+                             "C7"),
+                     rows.stream().map(r -> r[0]).toList());
+    }
+
+    @Test
+    @DisplayName("Test if a bank statement is imported as wallet transactions, "
+                 + "skipping rows that are already registered")
+    public void TestImportWalletTransactions() throws Exception
+    {
+        Category food = CreateCategory(3L, "Food");
+
+        when(m_walletRepository.findAll())
+            .thenReturn(List.of(new Wallet(1L, "Bank", BigDecimal.ZERO)));
+        when(m_categoryRepository.findAll()).thenReturn(List.of(food));
+
+        // The coffee of March 17 is already registered
+        ResultSet existing = mock(ResultSet.class);
+        when(existing.getLong(1)).thenReturn(1L);
+        when(existing.getString(2)).thenReturn("2024-03-17T09:30:00");
+        when(existing.getBigDecimal(3)).thenReturn(new BigDecimal("8.0"));
+        when(existing.getString(4)).thenReturn("coffee ");
+
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(existing);
+            return null;
+        })
+            .when(m_jdbcTemplate)
+            .query(anyString(), any(RowCallbackHandler.class));
+
+        when(m_jdbcTemplate.queryForObject(anyString(), eq(BigDecimal.class), eq(1L)))
+            .thenReturn(new BigDecimal("100.00"));
+
+        Path file = WriteCsv("Date,Description,Value",
+                             "15/03/2024,Salary,\"R$ 3.500,00\"",
+                             "16/03/2024,Market,\"-120,50\"",
+                             "17/03/2024,Coffee,\"-8,00\"",
+                             "18/03/2024,Bus,abc");
+
+        CSVImportProgress result = m_csvImportService.Import(
+            file,
+            "WalletTransaction",
+            Map.of("Date", "date", "Description", "description", "Value", "amount"),
+            Map.of("wallet", "Bank", "category", "Food"),
+            m_progressUpdates::add);
+
+        List<Object[]> rows = CaptureInsertedRows(1);
+
+        assertEquals(2, rows.size());
+        assertEquals(TransactionType.INCOME.name(), rows.get(0)[2]);
+        assertEquals(new BigDecimal("3500.00"), rows.get(0)[3]);
+        assertEquals("2024-03-15T00:00:00", rows.get(0)[5]);
+        assertEquals(TransactionStatus.CONFIRMED.name(), rows.get(0)[6]);
+        assertEquals(TransactionType.EXPENSE.name(), rows.get(1)[2]);
+        assertEquals(new BigDecimal("120.50"), rows.get(1)[3]);
+        assertEquals(3L, rows.get(1)[1]);
+
+        assertEquals(2, result.GetRowsImported());
+        assertEquals(1, result.GetRowsDuplicated());
+        assertEquals(1, result.GetRowsRejected());
+
+        verify(m_jdbcTemplate)
+            .update(anyString(), eq(new BigDecimal("3479.50")), eq(1L));
+    }
+
+    @Test
+    @DisplayName("Test if the transactions imported into an archived wallet or "
+                 + "category are not visible")
+    public void TestImportWalletTransactionsIntoArchived() throws IOException
+    {
+        Category food   = CreateCategory(3L, "Food");
+        Category travel = CreateCategory(4L, "Travel");
+        when(travel.IsArchived()).thenReturn(true);
+
+        Wallet archived = new Wallet(2L, "Old bank", BigDecimal.ZERO);
+        archived.SetArchived(true);
+
+        when(m_walletRepository.findAll())
+            .thenReturn(List.of(new Wallet(1L, "Bank", BigDecimal.ZERO), archived));
+        when(m_categoryRepository.findAll()).thenReturn(List.of(food, travel));
+
+        when(m_jdbcTemplate.queryForObject(anyString(), eq(BigDecimal.class), any()))
+            .thenReturn(BigDecimal.ZERO);
+
+        Path file = WriteCsv("Date,Description,Value,Wallet,Category",
+                             "15/03/2024,Salary,\"100,00\",Bank,Food",
+                             "16/03/2024,Market,\"-20,00\",Old bank,Food",
+                             "17/03/2024,Hotel,\"-50,00\",Bank,Travel");
+
+        m_csvImportService.Import(file,
+                                  "WalletTransaction",
+                                  Map.of("Date",
+                                         "date",
+                                         "Description",
+                                         "description",
+                                         "Value",
+                                         "amount",
+                                         "Wallet",
+                                         "wallet",
+                                         "Category",
+                                         "category"),
+                                  m_progressUpdates::add);
+
+        List<Object[]> rows = CaptureInsertedRows(2);
+
+        assertEquals(3, rows.size());
+        assertEquals(true, rows.get(0)[7]);
+        assertEquals(false, rows.get(1)[7]);
+        assertEquals(false, rows.get(2)[7]);
+    }
+
+    @Test
+    @DisplayName("Test if a credit card statement is imported as debts split in "
+                 + "installments and refunds are rejected")
+    public void TestImportCreditCardDebts() throws IOException
+    {
+        Category   food = CreateCategory(3L, "Food");
+        CreditCard card = mock(CreditCard.class);
+        when(card.GetId()).thenReturn(5L);
+        when(card.GetName()).thenReturn("Visa");
+        when(card.GetClosingDay()).thenReturn(10);
+        when(card.GetBillingDueDay()).thenReturn(20);
+
+        when(m_creditCardRepository.findAll()).thenReturn(List.of(card));
+        when(m_categoryRepository.findAll()).thenReturn(List.of(food));
+
+        AtomicLong nextDebtId = new AtomicLong(1);
+
+        when(m_jdbcTemplate.update(any(PreparedStatementCreator.class),
+                                   any(KeyHolder.class)))
+            .thenAnswer(invocation -> {
+                invocation.getArgument(1, KeyHolder.class)
+                    .getKeyList()
+                    .add(Map.of("id", nextDebtId.getAndIncrement()));
+                return 1;
+            });
+
+        Path file = WriteCsv("date,description,amount,installments,card",
+                             "2024-03-05,Phone,100.00,3,Visa",
+                             "2024-03-12,Book,50.00,,Visa",
+                             "2024-03-13,Refund,-20.00,,Visa");
+
+        CSVImportProgress result =
+            m_csvImportService.Import(file,
+                                      "CreditCardDebt",
+                                      Map.of("date",
+                                             "date",
+                                             "description",
+                                             "description",
+                                             "amount",
+                                             "amount",
+                                             "installments",
+                                             "installments",
+                                             "card",
+                                             "credit_card"),
+                                      Map.of("category", "Food"),
+                                      m_progressUpdates::add);
+
+        List<Object[]> payments = CaptureInsertedRows(1);
+
+        assertEquals(4, payments.size());
+        assertEquals(1L, payments.get(0)[0]);
+        assertEquals("2024-03-20T23:59:00", payments.get(0)[1]);
+        assertEquals(new BigDecimal("33.34"), payments.get(0)[2]);
+        assertEquals(true, payments.get(0)[4]);
+        assertEquals("2024-05-20T23:59:00", payments.get(2)[1]);
+        assertEquals(new BigDecimal("33.33"), payments.get(2)[2]);
+
+        // Bought after the closing day, so it is due on the next invoice
+        assertEquals(2L, payments.get(3)[0]);
+        assertEquals("2024-04-20T23:59:00", payments.get(3)[1]);
+        assertEquals(new BigDecimal("50.00"), payments.get(3)[2]);
+
+        assertEquals(2, result.GetRowsImported());
+        assertEquals(1, result.GetRowsRejected());
+    }
+
+    @Test
+    @DisplayName("Test if the import fails when a required reference column is not "
+                 + "mapped and has no default value")
+    public void TestImportWalletTransactionsWithoutWallet() throws IOException
+    {
+        Path file = WriteCsv("date,amount", "2024-03-15,10.00");
+
+        assertThrows(RuntimeException.class,
+                     ()
+                         -> m_csvImportService.Import(
+                             file,
+                             "WalletTransaction",
+                             Map.of("date", "date", "amount", "amount"),
+                             Map.of("category", "Food"),
+                             m_progressUpdates::add));
+    }
+}
@@ -40,6 +40,7 @@ import org.moinex.repositories.CreditCardOperatorRepository;
 import org.moinex.repositories.CreditCardPaymentRepository;
 import org.moinex.repositories.CreditCardRepository;
 import org.moinex.util.Constants;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 public class CreditCardServiceTest
@@ -59,6 +60,18 @@ public class CreditCardServiceTest
     @Mock
     private CategoryRepository m_categoryRepository;
 
+    @Mock
+    private WalletLockService m_walletLockService;
+
+    @Mock
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Mock
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Mock
+    private PlatformTransactionManager m_transactionManager;
+
     @InjectMocks
     private CreditCardService m_creditCardService;
 
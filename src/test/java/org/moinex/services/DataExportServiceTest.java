@@ -0,0 +1,212 @@
+/*
+ * Filename: DataExportServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.ColumnarFileReader;
+import org.moinex.util.DataExportProgress;
+import org.moinex.util.ExportFormat;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Tests for the DataExportService, against the test database
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import(DataExportService.class)
+@ActiveProfiles("test")
+public class DataExportServiceTest
+{
+    @Autowired
+    private DataExportService m_dataExportService;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @TempDir
+    private Path m_tempDir;
+
+    private List<DataExportProgress> m_progressUpdates;
+
+    private void CreateTransaction(Wallet        wallet,
+                                   Category      category,
+                                   LocalDateTime date,
+                                   BigDecimal    amount,
+                                   String        description)
+    {
+        m_walletTransactionRepository.saveAndFlush(
+            new WalletTransaction(wallet,
+                                  category,
+                                  TransactionType.EXPENSE,
+                                  TransactionStatus.CONFIRMED,
+                                  date,
+                                  amount,
+                                  description));
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_progressUpdates = new ArrayList<>();
+
+        Category food = m_categoryRepository.saveAndFlush(new Category("Food"));
+        Wallet   main = m_walletRepository.saveAndFlush(
+            new Wallet("Main", new BigDecimal("1000.00")));
+
+        CreateTransaction(main,
+                          food,
+                          LocalDateTime.of(2024, 1, 10, 12, 0),
+                          new BigDecimal("10.50"),
+                          "Lunch, \"big\"");
+        CreateTransaction(main,
+                          food,
+                          LocalDateTime.of(2024, 2, 15, 8, 30),
+                          new BigDecimal("4.25"),
+                          "Coffee");
+        CreateTransaction(main,
+                          food,
+                          LocalDateTime.of(2024, 3, 20, 19, 45),
+                          new BigDecimal("80.00"),
+                          null);
+    }
+
+    @Test
+    @DisplayName("Test if all the tables are exported to CSV files")
+    public void TestExportAllTablesToCsv() throws IOException
+    {
+        DataExportProgress result = m_dataExportService.Export(m_tempDir,
+                                                               ExportFormat.CSV,
+                                                               false,
+                                                               null,
+                                                               null,
+                                                               m_progressUpdates::add);
+
+        List<String> lines =
+            Files.readAllLines(m_tempDir.resolve("wallet_transaction.csv"),
+                               StandardCharsets.UTF_8);
+
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).toLowerCase().contains("date"));
+        assertTrue(lines.stream().anyMatch(l -> l.contains("\"Lunch, \"\"big\"\"\"")));
+        assertTrue(Files.exists(m_tempDir.resolve("category.csv")));
+        assertTrue(Files.exists(m_tempDir.resolve("wallet.csv")));
+
+        assertEquals(result.GetTableCount(), result.GetTablesExported());
+        assertEquals(result.GetTotalRows(), result.GetRowsExported());
+        assertEquals(1.0, result.GetFraction());
+        assertNull(result.GetCurrentTable());
+        assertTrue(m_progressUpdates.size() > result.GetTableCount());
+
+        try (var files = Files.list(m_tempDir))
+        {
+            assertTrue(files.noneMatch(f -> f.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    @DisplayName("Test if only the rows in the date range are exported to "
+                 + "compressed columnar files")
+    public void TestExportDateRangeToCompressedColumnarFiles() throws IOException
+    {
+        m_dataExportService.Export(m_tempDir,
+                                   ExportFormat.COLUMNAR,
+                                   true,
+                                   LocalDate.of(2024, 2, 1),
+                                   LocalDate.of(2024, 3, 20),
+                                   m_progressUpdates::add);
+
+        List<Object[]> transactions = new ArrayList<>();
+        int            amountColumn;
+        int            descriptionColumn;
+
+        try (ColumnarFileReader reader = ColumnarFileReader.Open(
+                 m_tempDir.resolve("wallet_transaction.mnxc.gz")))
+        {
+            List<String> columns =
+                reader.GetColumnNames().stream().map(String::toLowerCase).toList();
+
+            amountColumn      = columns.indexOf("amount");
+            descriptionColumn = columns.indexOf("description");
+
+            Object[] row;
+
+            while ((row = reader.ReadRow()) != null)
+            {
+                transactions.add(row);
+            }
+        }
+
+        // The last day of the range is included
+        assertEquals(2, transactions.size());
+        assertEquals(0,
+                     new BigDecimal("4.25")
+                         .compareTo((BigDecimal)transactions.get(0)[amountColumn]));
+        assertEquals("Coffee", transactions.get(0)[descriptionColumn]);
+        assertNull(transactions.get(1)[descriptionColumn]);
+
+        // Tables without a date column are exported in full
+        try (ColumnarFileReader reader =
+                 ColumnarFileReader.Open(m_tempDir.resolve("wallet.mnxc.gz")))
+        {
+            assertTrue(reader.ReadRow() != null);
+        }
+    }
+
+    @Test
+    @DisplayName("Test if the export fails when the start date is after the end "
+                 + "date")
+    public void TestExportInvalidDateRange()
+    {
+        assertThrows(RuntimeException.class,
+                     ()
+                         -> m_dataExportService.Export(m_tempDir,
+                                                       ExportFormat.CSV,
+                                                       false,
+                                                       LocalDate.of(2024, 3, 1),
+                                                       LocalDate.of(2024, 2, 1),
+                                                       m_progressUpdates::add));
+    }
+}
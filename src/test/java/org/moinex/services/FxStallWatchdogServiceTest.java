@@ -0,0 +1,119 @@
+/*
+ * Filename: FxStallWatchdogServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class FxStallWatchdogServiceTest
+{
+    @Mock
+    private MetricsService m_metricsService;
+
+    @InjectMocks
+    private FxStallWatchdogService m_fxStallWatchdogService;
+
+    // Stands for the JavaFX Application Thread
+    private ExecutorService m_fxThread;
+
+    private final CountDownLatch m_heartbeats = new CountDownLatch(2);
+
+    private volatile boolean m_blocked;
+
+    private static final long THRESHOLD = 100;
+
+    private static final long SAMPLE_INTERVAL = 10;
+
+    /**
+     * Keep the fake FX thread busy until it is released
+     */
+    private void BlockFxThread()
+    {
+        while (m_blocked)
+        {
+            // Busy, like a controller running a slow query
+        }
+    }
+
+    @BeforeEach
+    public void BeforeEach() throws InterruptedException
+    {
+        m_fxThread = Executors.newSingleThreadExecutor(r -> new Thread(r, "fake-fx"));
+
+        m_fxStallWatchdogService.SetEnabled(true);
+        m_fxStallWatchdogService.SetSampling(THRESHOLD, SAMPLE_INTERVAL);
+        m_fxStallWatchdogService.SetFxExecutor(heartbeat -> m_fxThread.execute(() -> {
+            heartbeat.run();
+            m_heartbeats.countDown();
+        }));
+
+        m_fxStallWatchdogService.Start();
+
+        // The watchdog knows the FX thread after its first heartbeat
+        assertTrue(m_heartbeats.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    public void AfterEach()
+    {
+        m_blocked = false;
+        m_fxStallWatchdogService.Stop();
+        m_fxThread.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test if a responsive FX thread records no stall")
+    public void TestResponsiveThreadRecordsNoStall() throws InterruptedException
+    {
+        Thread.sleep(3 * THRESHOLD);
+
+        verify(m_metricsService, never()).RecordFxStall(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Test if a blocked FX thread is recorded with its location and "
+                 + "blocked time")
+    public void TestBlockedThreadRecordsStall() throws InterruptedException
+    {
+        m_blocked = true;
+        m_fxThread.execute(this::BlockFxThread);
+
+        Thread.sleep(3 * THRESHOLD);
+
+        // Nothing is recorded before the FX thread is released
+        verify(m_metricsService, never()).RecordFxStall(anyString(), anyLong());
+
+        m_blocked = false;
+
+        // The heartbeat was posted up to a sample interval after the block began
+        verify(m_metricsService, timeout(5000))
+            .RecordFxStall(eq(FxStallWatchdogServiceTest.class.getName() +
+                              ".BlockFxThread"),
+                           longThat(n -> n >= TimeUnit.MILLISECONDS.toNanos(
+                                                   2 * THRESHOLD)));
+    }
+}
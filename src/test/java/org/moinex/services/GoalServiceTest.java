@@ -47,6 +47,15 @@ public class GoalServiceTest
     @Mock
     private GoalRepository m_goalRepository;
 
+    @Mock
+    private WalletLockService m_walletLockService;
+
+    @Mock
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Mock
+    private ReferenceDataCache m_referenceDataCache;
+
     @InjectMocks
     private GoalService m_goalService;
 
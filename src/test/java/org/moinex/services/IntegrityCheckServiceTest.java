@@ -0,0 +1,194 @@
+/*
+ * Filename: IntegrityCheckServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.CreditCard;
+import org.moinex.entities.CreditCardDebt;
+import org.moinex.entities.CreditCardOperator;
+import org.moinex.entities.CreditCardPayment;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.util.IntegrityIssue;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Tests for the integrity checks of the database
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ IntegrityCheckService.class,
+          BalanceLedgerService.class,
+          WalletTransactionService.class,
+          WalletService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class })
+@ActiveProfiles("test")
+public class IntegrityCheckServiceTest
+{
+    @Autowired
+    private IntegrityCheckService m_integrityCheckService;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private JdbcTemplate m_jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager m_entityManager;
+
+    private Long m_walletId;
+
+    private Category m_category;
+
+    private CreditCard m_creditCard;
+
+    private List<IntegrityIssue> Check()
+    {
+        List<IntegrityIssue> issues = new ArrayList<>();
+
+        assertEquals(m_integrityCheckService.Check(issues::add), issues.size());
+
+        return issues;
+    }
+
+    private CreditCardDebt CreateDebt(String total, Integer installments)
+    {
+        return m_entityManager.persist(new CreditCardDebt(m_creditCard,
+                                                          m_category,
+                                                          LocalDateTime.now(),
+                                                          installments,
+                                                          new BigDecimal(total),
+                                                          "Debt"));
+    }
+
+    private void AddPayment(CreditCardDebt debt, String amount, Integer installment)
+    {
+        m_entityManager.persist(new CreditCardPayment(debt,
+                                                      LocalDateTime.now(),
+                                                      new BigDecimal(amount),
+                                                      installment));
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_category = m_categoryRepository.save(new Category("Category"));
+        CreditCardOperator operator =
+            m_entityManager.persist(new CreditCardOperator("Operator"));
+
+        m_creditCard = m_entityManager.persist(
+            new CreditCard("Card", 10, 5, new BigDecimal("1000.00"), "1234", operator));
+
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("100.00"));
+
+        m_walletTransactionService.AddIncome(m_walletId,
+                                             m_category,
+                                             YearMonth.now()
+                                                 .minusMonths(1)
+                                                 .atDay(10)
+                                                 .atTime(12, 0),
+                                             new BigDecimal("50.00"),
+                                             "Income",
+                                             TransactionStatus.CONFIRMED);
+
+        m_balanceLedgerService.CreateCheckpoints();
+        m_entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Test if a consistent database has no problems")
+    public void TestConsistentDatabase()
+    {
+        CreditCardDebt debt = CreateDebt("100.00", 2);
+        AddPayment(debt, "50.00", 1);
+        AddPayment(debt, "50.00", 2);
+        m_entityManager.flush();
+
+        assertTrue(Check().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test if a wallet balance out of sync with its ledger is reported")
+    public void TestWalletBalanceOutOfSync()
+    {
+        m_jdbcTemplate.update("UPDATE wallet SET balance = 10 WHERE id = ?",
+                              m_walletId);
+
+        List<IntegrityIssue> issues = Check();
+
+        assertEquals(1, issues.size());
+        assertEquals("wallet-balance", issues.get(0).GetCheck());
+    }
+
+    @Test
+    @DisplayName("Test if a checkpoint out of sync with the ledger is reported")
+    public void TestCheckpointOutOfSync()
+    {
+        m_jdbcTemplate.update(
+            "UPDATE balance_checkpoint SET balance = balance + 1 WHERE wallet_id = ?",
+            m_walletId);
+
+        List<IntegrityIssue> issues = Check();
+
+        assertTrue(!issues.isEmpty());
+        assertTrue(issues.stream().allMatch(
+            issue -> issue.GetCheck().equals("balance-checkpoint")));
+    }
+
+    @Test
+    @DisplayName("Test if debts with missing or wrong installments are reported")
+    public void TestDebtInstallments()
+    {
+        CreditCardDebt missing = CreateDebt("100.00", 2);
+        AddPayment(missing, "50.00", 1);
+
+        CreditCardDebt wrong = CreateDebt("90.00", 1);
+        AddPayment(wrong, "80.00", 1);
+
+        m_entityManager.flush();
+
+        List<IntegrityIssue> issues = Check();
+
+        assertEquals(2, issues.size());
+        assertTrue(issues.stream().allMatch(
+            issue -> issue.GetCheck().equals("debt-installments")));
+    }
+}
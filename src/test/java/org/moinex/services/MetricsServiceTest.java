@@ -0,0 +1,151 @@
+/*
+ * Filename: MetricsServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.moinex.util.OperationStats;
+import org.moinex.util.StatementCounter;
+
+@ExtendWith(MockitoExtension.class)
+public class MetricsServiceTest
+{
+    @Spy
+    private MetricsService m_metricsService;
+
+    @InjectMocks
+    private ServiceMetricsAspect m_serviceMetricsAspect;
+
+    @Mock
+    private ProceedingJoinPoint m_joinPoint;
+
+    @Mock
+    private Signature m_signature;
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    @DisplayName("Test if the calls of an operation are aggregated")
+    public void TestRecordAggregatesCalls()
+    {
+        m_metricsService.Record("WalletService.GetWallets", 2 * MILLIS, 1, 10, false);
+        m_metricsService.Record("WalletService.GetWallets", 6 * MILLIS, 3, 20, false);
+        m_metricsService.Record("WalletService.GetWallets", 4 * MILLIS, 2, 0, true);
+        m_metricsService.Record("GoalService.GetGoals", 1 * MILLIS, 1, 5, false);
+
+        List<OperationStats> stats = m_metricsService.GetOperationStats();
+
+        assertEquals(2, stats.size());
+
+        // Sorted descending by total time
+        OperationStats wallets = stats.get(0);
+
+        assertEquals("WalletService.GetWallets", wallets.GetName());
+        assertEquals(3, wallets.GetCount());
+        assertEquals(12.0, wallets.GetTotalMillis(), 1e-9);
+        assertEquals(4.0, wallets.GetAverageMillis(), 1e-9);
+        assertEquals(6.0, wallets.GetMaxMillis(), 1e-9);
+        assertEquals(4.0, wallets.GetLastMillis(), 1e-9);
+        assertEquals(6, wallets.GetQueries());
+        assertEquals(30, wallets.GetRows());
+        assertEquals(1, wallets.GetErrors());
+
+        assertEquals("GoalService.GetGoals", stats.get(1).GetName());
+
+        m_metricsService.Reset();
+
+        assertTrue(m_metricsService.GetOperationStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test if FX stalls are grouped by location")
+    public void TestRecordFxStall()
+    {
+        m_metricsService.RecordFxStall("Controller.Load", 300 * MILLIS);
+        m_metricsService.RecordFxStall("Controller.Load", 500 * MILLIS);
+        m_metricsService.RecordFxStall("Chart.Update", 900 * MILLIS);
+
+        List<OperationStats> stalls = m_metricsService.GetFxStallStats();
+
+        assertEquals(2, stalls.size());
+        assertEquals("Chart.Update", stalls.get(0).GetName());
+        assertEquals(2, stalls.get(1).GetCount());
+        assertEquals(500.0, stalls.get(1).GetMaxMillis(), 1e-9);
+        assertTrue(m_metricsService.GetOperationStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test if a call only counts the statements of its own thread")
+    public void TestAspectCountsStatementsOfTheCallingThread() throws Throwable
+    {
+        StatementCounter counter = new StatementCounter();
+
+        when(m_joinPoint.getSignature()).thenReturn(m_signature);
+        doReturn(WalletService.class).when(m_signature).getDeclaringType();
+        when(m_signature.getName()).thenReturn("GetWallets");
+
+        when(m_joinPoint.proceed()).thenAnswer(invocation -> {
+            counter.inspect("SELECT 1");
+
+            Thread other = new Thread(() -> {
+                for (int i = 0; i < 5; i++)
+                {
+                    counter.inspect("SELECT 2");
+                }
+            });
+
+            other.start();
+            other.join();
+
+            counter.inspect("SELECT 3");
+
+            return List.of("a", "b", "c");
+        });
+
+        m_serviceMetricsAspect.Measure(m_joinPoint);
+
+        OperationStats stats = m_metricsService.GetOperationStats().get(0);
+
+        assertEquals("WalletService.GetWallets", stats.GetName());
+        assertEquals(2, stats.GetQueries());
+        assertEquals(3, stats.GetRows());
+        assertEquals(0, stats.GetErrors());
+    }
+
+    @Test
+    @DisplayName("Test if a failed call is recorded and its exception rethrown")
+    public void TestAspectRecordsFailure() throws Throwable
+    {
+        when(m_joinPoint.getSignature()).thenReturn(m_signature);
+        doReturn(WalletService.class).when(m_signature).getDeclaringType();
+        when(m_signature.getName()).thenReturn("DeleteWallet");
+        when(m_joinPoint.proceed()).thenThrow(new RuntimeException("failed"));
+
+        assertThrows(RuntimeException.class,
+                     () -> m_serviceMetricsAspect.Measure(m_joinPoint));
+
+        OperationStats stats = m_metricsService.GetOperationStats().get(0);
+
+        assertEquals(1, stats.GetCount());
+        assertEquals(1, stats.GetErrors());
+        assertEquals(0, stats.GetRows());
+    }
+}
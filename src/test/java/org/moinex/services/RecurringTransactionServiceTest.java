@@ -18,6 +18,8 @@ import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -50,6 +52,9 @@ public class RecurringTransactionServiceTest
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private WriteCoordinatorService writeCoordinatorService;
+
     @InjectMocks
     private RecurringTransactionService recurringTransactionService;
 
@@ -96,6 +101,13 @@ public class RecurringTransactionServiceTest
     @BeforeEach
     public void SetUp()
     {
+        // Run the catch-up commands synchronously
+        lenient()
+            .when(writeCoordinatorService.Submit(any(Supplier.class),
+                                                 any(Long[].class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                            invocation.getArgument(0, Supplier.class).get()));
+
         wallet  = new Wallet(1L, "Wallet", BigDecimal.valueOf(1000.0));
         wallet2 = new Wallet(2L, "Wallet 2", BigDecimal.valueOf(500.0));
 
@@ -395,7 +407,7 @@ public class RecurringTransactionServiceTest
                  RecurringTransactionStatus.ACTIVE))
             .thenReturn(Collections.singletonList(dailyRT));
 
-        recurringTransactionService.ProcessRecurringTransactions();
+        assertEquals(10, recurringTransactionService.ProcessRecurringTransactions());
 
         // Capture the dates of the transactions
         ArgumentCaptor<LocalDateTime> dateCaptor =
@@ -593,6 +605,41 @@ public class RecurringTransactionServiceTest
                      capturedTransaction.GetStatus());
     }
 
+    @Test
+    @DisplayName("Test if the recurring transactions of archived wallets and "
+                 + "categories are not processed")
+    public void TestProcessRecurringTransactionArchived()
+    {
+        LocalDateTime today =
+            LocalDateTime.now().with(Constants.RECURRING_TRANSACTION_DEFAULT_TIME);
+
+        dailyRT.SetNextDueDate(today.minusDays(10));
+        weeklyRecurringTransaction.SetNextDueDate(today.minusWeeks(2));
+        LocalDateTime dueDate = dailyRT.GetNextDueDate();
+
+        wallet.SetArchived(true);
+        category2.SetArchived(true);
+
+        weeklyRecurringTransaction.SetWallet(wallet2);
+        weeklyRecurringTransaction.SetCategory(category2);
+
+        when(recurringTransactionRepository.findByStatus(
+                 RecurringTransactionStatus.ACTIVE))
+            .thenReturn(List.of(dailyRT, weeklyRecurringTransaction));
+
+        assertEquals(0, recurringTransactionService.ProcessRecurringTransactions());
+
+        verify(walletTransactionService, never())
+            .AddExpense(any(), any(), any(), any(), any(), any());
+        verify(walletTransactionService, never())
+            .AddIncome(any(), any(), any(), any(), any(), any());
+        verify(recurringTransactionRepository, never())
+            .save(any(RecurringTransaction.class));
+
+        // Kept, so the transactions are created once they are unarchived
+        assertEquals(dueDate, dailyRT.GetNextDueDate());
+    }
+
     @Test
     @DisplayName(
         "Test if get future recurring transactions by month returns the correct "
@@ -0,0 +1,242 @@
+/*
+ * Filename: ReferenceDataCacheTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the snapshots of the reference data cache, which are refreshed after
+ * the commits of the services, against a SQLite database with a single connection
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ReferenceDataCache.class,
+          CategoryService.class,
+          WalletService.class,
+          WalletLockService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class ReferenceDataCacheTest
+{
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private CategoryService m_categoryService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Value("${spring.datasource.hikari.connection-timeout}")
+    private long m_connectionTimeout;
+
+    private TransactionTemplate m_transactionTemplate;
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-reference", ".db");
+        database.toFile().deleteOnExit();
+
+        // Without the routing, the pool has the single connection of the
+        // application properties
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.datasource.driver-class-name",
+                     () -> "org.sqlite.JDBC");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+    }
+
+    private List<String> CategoryNames()
+    {
+        return m_categoryService.GetCategories()
+            .stream()
+            .map(Category::GetName)
+            .toList();
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_transactionTemplate = new TransactionTemplate(m_transactionManager);
+
+        m_categoryService.AddCategory("Food");
+        m_categoryService.AddCategory("Bills");
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+
+        m_referenceDataCache.RefreshCategories();
+        m_referenceDataCache.RefreshWallets();
+    }
+
+    @Test
+    @DisplayName("Test if the snapshots are sorted by name and cannot be changed")
+    public void TestSnapshotsAreSortedAndImmutable()
+    {
+        assertEquals(List.of("Bills", "Food"), CategoryNames());
+
+        assertThrows(UnsupportedOperationException.class,
+                     () -> m_categoryService.GetCategories().add(new Category("X")));
+
+        // Reading again returns the same snapshot, without querying the database
+        assertSame(m_categoryService.GetCategories(),
+                   m_categoryService.GetCategories());
+    }
+
+    @Test
+    @DisplayName("Test if a change is only seen after the commit of its transaction")
+    public void TestRefreshAfterCommit()
+    {
+        // A stale snapshot read in the transaction would be loaded with its
+        // changes, so it is read before
+        assertEquals(List.of("Bills", "Food"), CategoryNames());
+
+        m_transactionTemplate.executeWithoutResult(status -> {
+            m_categoryService.AddCategory("Car");
+
+            assertEquals(List.of("Bills", "Food"), CategoryNames());
+        });
+
+        assertEquals(List.of("Bills", "Car", "Food"), CategoryNames());
+
+        Long id = m_categoryService.GetCategoryByName("Food").GetId();
+        m_categoryService.ArchiveCategory(id);
+
+        assertEquals(3, m_categoryService.GetCategories().size());
+        assertTrue(m_categoryService.GetNonArchivedCategoriesOrderedByName()
+                       .stream()
+                       .noneMatch(c -> c.GetId().equals(id)));
+    }
+
+    @Test
+    @DisplayName("Test if a change rolled back does not refresh the snapshot")
+    public void TestRollbackKeepsSnapshot()
+    {
+        List<Category> before = m_categoryService.GetCategories();
+
+        m_transactionTemplate.executeWithoutResult(status -> {
+            m_categoryService.AddCategory("Car");
+            status.setRollbackOnly();
+        });
+
+        assertSame(before, m_categoryService.GetCategories());
+    }
+
+    @Test
+    @DisplayName("Test if a stale snapshot read in a transaction that writes is not "
+                 + "kept")
+    public void TestSnapshotWithUncommittedChangesNotKept()
+    {
+        m_transactionTemplate.executeWithoutResult(status -> {
+            m_categoryService.AddCategory("Car");
+
+            // Read in the transaction, so it sees its own changes
+            assertEquals(List.of("Bills", "Car", "Food"), CategoryNames());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("Bills", "Food"), CategoryNames());
+    }
+
+    @Test
+    @DisplayName("Test if the refresh after a commit does not wait for a connection")
+    public void TestRefreshDoesNotWaitForConnection()
+    {
+        // There is a single connection, which the committing transaction still
+        // holds, so a load after the commit would wait for the connection timeout
+        CategoryNames();
+        m_walletService.GetAllNonArchivedWalletsOrderedByName();
+
+        long start = System.nanoTime();
+
+        Long id = m_walletService.CreateWallet("Wallet", new BigDecimal("10.00"));
+        m_categoryService.AddCategory("Car");
+        m_walletService.UpdateWalletBalance(id, new BigDecimal("25.50"));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) <
+                   m_connectionTimeout);
+
+        assertEquals(List.of("Bills", "Car", "Food"), CategoryNames());
+        assertEquals(0,
+                     new BigDecimal("25.50").compareTo(
+                         m_walletService.GetAllNonArchivedWalletsOrderedByName()
+                             .get(0)
+                             .GetBalance()));
+    }
+
+    @Test
+    @DisplayName("Test if the wallets follow the changes of their balances")
+    public void TestWalletBalanceRefresh()
+    {
+        Long id = m_walletService.CreateWallet("Wallet", new BigDecimal("10.00"));
+
+        m_walletService.UpdateWalletBalance(id, new BigDecimal("25.50"));
+
+        Wallet wallet = m_walletService.GetAllNonArchivedWalletsOrderedByName().get(0);
+
+        assertEquals(id, wallet.GetId());
+        assertEquals(0, new BigDecimal("25.50").compareTo(wallet.GetBalance()));
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ * Filename: TransactionAnalyticsServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.CreditCard;
+import org.moinex.entities.CreditCardDebt;
+import org.moinex.entities.CreditCardOperator;
+import org.moinex.entities.CreditCardPayment;
+import org.moinex.entities.Wallet;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.CreditCardDebtRepository;
+import org.moinex.repositories.CreditCardOperatorRepository;
+import org.moinex.repositories.CreditCardPaymentRepository;
+import org.moinex.repositories.CreditCardRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.AggregateStats;
+import org.moinex.util.Constants;
+import org.moinex.util.TransactionColumns;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionSummary;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the in-memory store of the summaries and charts
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ TransactionAnalyticsService.class,
+          TransactionSuggestionService.class,
+          WalletTransactionService.class,
+          WalletService.class,
+          CategoryService.class,
+          WalletLockService.class,
+          BalanceLedgerService.class,
+          ReferenceDataCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class TransactionAnalyticsServiceTest
+{
+    @Autowired
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CategoryService m_categoryService;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private CreditCardOperatorRepository m_creditCardOperatorRepository;
+
+    @Autowired
+    private CreditCardRepository m_creditCardRepository;
+
+    @Autowired
+    private CreditCardDebtRepository m_creditCardDebtRepository;
+
+    @Autowired
+    private CreditCardPaymentRepository m_creditCardPaymentRepository;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private Long m_walletId;
+
+    private Category m_food;
+
+    private Category m_salary;
+
+    private final YearMonth m_month = YearMonth.of(2026, 3);
+
+    private final LocalDateTime m_date = m_month.atDay(10).atTime(12, 0);
+
+    private Category CreateCategory(String name)
+    {
+        return m_categoryRepository.findById(m_categoryService.AddCategory(name))
+            .orElseThrow();
+    }
+
+    private Long AddExpense(Category          category,
+                            LocalDateTime     date,
+                            String            amount,
+                            TransactionStatus status)
+    {
+        return m_walletTransactionService.AddExpense(m_walletId,
+                                                     category,
+                                                     date,
+                                                     new BigDecimal(amount),
+                                                     "Expense",
+                                                     status);
+    }
+
+    private List<CreditCardPayment> NonArchivedPaidPayments()
+    {
+        return m_creditCardPaymentRepository.GetAllNonArchivedPaidPaymentsByMonth(
+            m_month.atDay(1).atStartOfDay().format(Constants.DB_DATE_FORMATTER),
+            m_month.plusMonths(1).atDay(1).atStartOfDay().format(
+                Constants.DB_DATE_FORMATTER));
+    }
+
+    private BigDecimal ConfirmedExpenses(YearMonth month)
+    {
+        long cents = m_transactionAnalyticsService.QueryNonArchived(
+            q
+            -> q.In(month)
+                   .OfType(TransactionType.EXPENSE)
+                   .WithStatus(TransactionStatus.CONFIRMED)
+                   .Sum());
+
+        return TransactionColumns.ToAmount(cents);
+    }
+
+    private long FoodExpenses(LocalDate from, LocalDate to)
+    {
+        return m_transactionAnalyticsService.QueryNonArchived(
+            q
+            -> q.Between(from, to)
+                   .OfType(TransactionType.EXPENSE)
+                   .InCategories(List.of(m_food.GetId()))
+                   .Sum());
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("1000"));
+        m_food     = CreateCategory("Food");
+        m_salary   = CreateCategory("Salary");
+
+        // Starts from the committed transactions of each test
+        m_transactionAnalyticsService.Invalidate();
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_creditCardPaymentRepository.deleteAllInBatch();
+        m_creditCardDebtRepository.deleteAllInBatch();
+        m_creditCardRepository.deleteAllInBatch();
+        m_creditCardOperatorRepository.deleteAllInBatch();
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_walletTransactionRepository.deleteAllInBatch();
+        m_archivedTransactionRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+
+        m_transactionAnalyticsService.Invalidate();
+        m_referenceDataCache.RefreshCategories();
+        m_referenceDataCache.RefreshWallets();
+    }
+
+    @Test
+    @DisplayName("Test if the loaded store filters and groups the transactions")
+    public void TestLoadAndGroup()
+    {
+        AddExpense(m_food, m_date, "10.50", TransactionStatus.CONFIRMED);
+        AddExpense(m_food, m_date.plusDays(5), "4.25", TransactionStatus.PENDING);
+        AddExpense(m_food, m_date.plusMonths(1), "7.00", TransactionStatus.CONFIRMED);
+        m_walletTransactionService.AddIncome(m_walletId,
+                                             m_salary,
+                                             m_date,
+                                             new BigDecimal("100.00"),
+                                             "Salary",
+                                             TransactionStatus.CONFIRMED);
+
+        assertEquals(new BigDecimal("10.50"), ConfirmedExpenses(m_month));
+
+        Map<YearMonth, Long> byMonth = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.OfType(TransactionType.EXPENSE).SumByMonth());
+
+        assertEquals(Map.of(m_month, 1475L, m_month.plusMonths(1), 700L), byMonth);
+
+        Map<Long, Long> byCategory = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.In(m_month).SumByCategory());
+
+        assertEquals(Map.of(m_food.GetId(), 1475L, m_salary.GetId(), 10000L),
+                     byCategory);
+
+        int count = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.In(m_month).WithStatus(TransactionStatus.CONFIRMED).Count());
+
+        assertEquals(2, count);
+    }
+
+    @Test
+    @DisplayName("Test if the parallel summary merges the months and sees the "
+                 + "changes to closed months")
+    public void TestSummarize()
+    {
+        AddExpense(m_food, m_date, "10.00", TransactionStatus.CONFIRMED);
+        AddExpense(m_food, m_date.plusMonths(1), "2.50", TransactionStatus.CONFIRMED);
+        AddExpense(m_salary, m_date.plusMonths(2), "7.00", TransactionStatus.CONFIRMED);
+        Long id =
+            AddExpense(m_food, m_date.plusMonths(3), "1.00", TransactionStatus.PENDING);
+
+        LocalDate from = m_month.atDay(1);
+        LocalDate to   = m_month.plusMonths(3).atEndOfMonth();
+
+        TransactionSummary summary = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(from, to).Summarize());
+
+        AggregateStats confirmed =
+            summary.Total(TransactionType.EXPENSE, TransactionStatus.CONFIRMED);
+
+        assertEquals(1950, confirmed.GetSum());
+        assertEquals(3, confirmed.GetCount());
+        assertEquals(250, confirmed.GetMin());
+        assertEquals(1000, confirmed.GetMax());
+        assertEquals(2050, summary.Total(null, null).GetSum());
+        assertEquals(1350,
+                     summary.ByCategory(TransactionType.EXPENSE, null)
+                         .get(m_food.GetId())
+                         .GetSum());
+        assertEquals(2050,
+                     summary.ByWallet(null, null).get(m_walletId).GetSum());
+
+        // Same as the sequential query
+        long sequential = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(from, to).Sum());
+
+        assertEquals(sequential, summary.Total(null, null).GetSum());
+
+        // The cached partial of the month is dropped by the change
+        m_walletTransactionService.ConfirmTransaction(id);
+
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(id);
+        transaction.SetAmount(new BigDecimal("4.00"));
+        transaction.SetDate(m_date);
+        m_walletTransactionService.UpdateTransaction(transaction);
+
+        summary = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(from, to).Summarize());
+
+        assertEquals(
+            2350,
+            summary.Total(TransactionType.EXPENSE, TransactionStatus.CONFIRMED)
+                .GetSum());
+
+        AggregateStats food = summary.ByCategory(null, null).get(m_food.GetId());
+
+        assertEquals(1650, food.GetSum());
+        assertEquals(3, food.GetCount());
+        assertEquals(250, food.GetMin());
+
+        // Periods that split a month are read from the rows
+        long split = m_transactionAnalyticsService
+                         .QueryNonArchived(
+                             q -> q.Between(m_date.toLocalDate().plusDays(1), to)
+                                      .Summarize())
+                         .Total(null, null)
+                         .GetSum();
+
+        assertEquals(950, split);
+    }
+
+    @Test
+    @DisplayName("Test if the range sums of the index follow the changes")
+    public void TestRangeSums()
+    {
+        AddExpense(m_food, m_date, "10.00", TransactionStatus.CONFIRMED);
+        Long id = AddExpense(m_food,
+                             m_date.minusYears(5),
+                             "3.00",
+                             TransactionStatus.PENDING);
+        AddExpense(m_food, m_date.plusYears(4), "2.00", TransactionStatus.CONFIRMED);
+        m_walletTransactionService.AddIncome(m_walletId,
+                                             m_salary,
+                                             m_date,
+                                             new BigDecimal("100.00"),
+                                             "Salary",
+                                             TransactionStatus.CONFIRMED);
+
+        LocalDate day = m_date.toLocalDate();
+
+        assertEquals(1300, FoodExpenses(day.minusYears(6), day));
+        assertEquals(200, FoodExpenses(day.plusDays(1), day.plusYears(10)));
+        assertEquals(0, FoodExpenses(day.plusDays(1), day.minusDays(1)));
+
+        long[] byType = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(day, day).SumByType());
+
+        assertEquals(10000, byType[TransactionType.INCOME.ordinal()]);
+        assertEquals(1000, byType[TransactionType.EXPENSE.ordinal()]);
+
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(id);
+        transaction.SetAmount(new BigDecimal("5.00"));
+        transaction.SetDate(m_date.plusDays(1));
+        m_walletTransactionService.UpdateTransaction(transaction);
+
+        assertEquals(1500, FoodExpenses(day, day.plusDays(1)));
+        assertEquals(0, FoodExpenses(day.minusYears(6), day.minusDays(1)));
+
+        m_walletTransactionService.DeleteTransaction(id);
+
+        assertEquals(1000, FoodExpenses(day, day.plusDays(1)));
+
+        m_categoryService.ArchiveCategory(m_salary.GetId());
+
+        byType = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(day, day).SumByType());
+
+        assertEquals(0, byType[TransactionType.INCOME.ordinal()]);
+        assertEquals(1000, byType[TransactionType.EXPENSE.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("Test if the range index is used when an archived wallet is left "
+                 + "out")
+    public void TestRangeSumsWithArchivedWallet()
+    {
+        Long archivedId =
+            m_walletService.CreateWallet("Archived", new BigDecimal("1000"));
+
+        AddExpense(m_food, m_date, "10.00", TransactionStatus.CONFIRMED);
+        AddExpense(m_salary, m_date, "4.00", TransactionStatus.PENDING);
+        m_walletTransactionService.AddExpense(archivedId,
+                                              m_food,
+                                              m_date,
+                                              new BigDecimal("7.00"),
+                                              "Expense",
+                                              TransactionStatus.CONFIRMED);
+        m_walletTransactionService.AddIncome(archivedId,
+                                             m_salary,
+                                             m_date,
+                                             new BigDecimal("50.00"),
+                                             "Salary",
+                                             TransactionStatus.CONFIRMED);
+
+        m_walletService.ArchiveWallet(archivedId);
+
+        LocalDate day = m_date.toLocalDate();
+
+        boolean indexed = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(day, day).IsIndexed());
+        boolean indexedByStatus = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.WithStatus(TransactionStatus.CONFIRMED).IsIndexed());
+
+        assertTrue(indexed);
+        assertFalse(indexedByStatus);
+
+        long[] byType = m_transactionAnalyticsService.QueryNonArchived(
+            q -> q.Between(day, day).SumByType());
+
+        assertEquals(0, byType[TransactionType.INCOME.ordinal()]);
+        assertEquals(1400, byType[TransactionType.EXPENSE.ordinal()]);
+        assertEquals(1000, FoodExpenses(day.minusDays(1), day));
+
+        // The index still has the transactions of the archived wallet
+        byType = m_transactionAnalyticsService.Query(
+            q -> q.Between(day, day).SumByType());
+
+        assertEquals(5000, byType[TransactionType.INCOME.ordinal()]);
+        assertEquals(2100, byType[TransactionType.EXPENSE.ordinal()]);
+        assertEquals(700,
+                     (long)m_transactionAnalyticsService.Query(
+                         q
+                         -> q.Between(day, day)
+                                .InWallets(List.of(archivedId))
+                                .OfType(TransactionType.EXPENSE)
+                                .Sum()));
+    }
+
+    @Test
+    @DisplayName("Test if the store follows the changes done by the services")
+    public void TestChangesAfterCommit()
+    {
+        Long id = AddExpense(m_food, m_date, "10.00", TransactionStatus.PENDING);
+
+        // Loads the store
+        assertEquals(new BigDecimal("0.00"), ConfirmedExpenses(m_month));
+
+        m_walletTransactionService.ConfirmTransaction(id);
+
+        assertEquals(new BigDecimal("10.00"), ConfirmedExpenses(m_month));
+
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(id);
+        transaction.SetAmount(new BigDecimal("12.30"));
+        transaction.SetDate(m_date.plusMonths(1));
+        m_walletTransactionService.UpdateTransaction(transaction);
+
+        assertEquals(new BigDecimal("0.00"), ConfirmedExpenses(m_month));
+        assertEquals(new BigDecimal("12.30"),
+                     ConfirmedExpenses(m_month.plusMonths(1)));
+
+        // Changes rolled back are not applied
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            AddExpense(m_food, m_date, "99.00", TransactionStatus.CONFIRMED);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(new BigDecimal("0.00"), ConfirmedExpenses(m_month));
+
+        m_walletTransactionService.DeleteTransaction(id);
+
+        assertEquals(new BigDecimal("0.00"),
+                     ConfirmedExpenses(m_month.plusMonths(1)));
+        assertEquals(0,
+                     m_transactionAnalyticsService.Query(
+                         TransactionColumns.Query::Count));
+    }
+
+    @Test
+    @DisplayName("Test if the transactions of archived wallets and categories are "
+                 + "skipped")
+    public void TestArchived()
+    {
+        AddExpense(m_food, m_date, "10.00", TransactionStatus.CONFIRMED);
+        AddExpense(m_salary, m_date, "5.00", TransactionStatus.CONFIRMED);
+
+        assertEquals(new BigDecimal("15.00"), ConfirmedExpenses(m_month));
+
+        m_categoryService.ArchiveCategory(m_salary.GetId());
+
+        assertEquals(new BigDecimal("10.00"), ConfirmedExpenses(m_month));
+
+        m_walletService.ArchiveWallet(m_walletId);
+
+        assertEquals(new BigDecimal("0.00"), ConfirmedExpenses(m_month));
+        assertEquals(2,
+                     m_transactionAnalyticsService.Query(
+                         TransactionColumns.Query::Count));
+
+        // Loaded again with the transactions moved to the archive table
+        m_transactionAnalyticsService.Invalidate();
+
+        assertEquals(new BigDecimal("0.00"), ConfirmedExpenses(m_month));
+        assertEquals(2,
+                     m_transactionAnalyticsService.Query(
+                         TransactionColumns.Query::Count));
+    }
+
+    @Test
+    @DisplayName("Test if archiving moves the transactions to the archive table and "
+                 + "unarchiving moves them back")
+    public void TestArchivedVisibility()
+    {
+        Long foodId = AddExpense(m_food, m_date, "10.00", TransactionStatus.CONFIRMED);
+        Long salaryId =
+            AddExpense(m_salary, m_date, "5.00", TransactionStatus.CONFIRMED);
+
+        assertEquals(2, m_walletTransactionService.GetNonArchivedTransactions().size());
+
+        m_categoryService.ArchiveCategory(m_salary.GetId());
+        m_walletService.ArchiveWallet(m_walletId);
+
+        assertEquals(0, m_walletTransactionService.GetNonArchivedTransactions().size());
+        assertEquals(0, m_walletTransactionRepository.count());
+        assertEquals(2, m_archivedTransactionRepository.count());
+
+        // The archived transactions are still counted and listed
+        assertEquals(
+            2,
+            m_walletTransactionService.GetTransactionCountByWallet(m_walletId));
+        assertEquals(List.of(foodId, salaryId),
+                     m_walletTransactionService.GetAllTransactions()
+                         .stream()
+                         .map(WalletTransaction::GetId)
+                         .sorted()
+                         .toList());
+
+        // The category is still archived
+        m_walletService.UnarchiveWallet(m_walletId);
+
+        assertEquals(List.of(m_food.GetId()),
+                     m_walletTransactionService.GetNonArchivedTransactions()
+                         .stream()
+                         .map(t -> t.GetCategory().GetId())
+                         .toList());
+        assertEquals(1, m_archivedTransactionRepository.count());
+
+        m_categoryService.UnarchiveCategory(m_salary.GetId());
+
+        assertEquals(2, m_walletTransactionService.GetNonArchivedTransactions().size());
+        assertEquals(0, m_archivedTransactionRepository.count());
+
+        // The transactions are moved back with their ids
+        assertEquals(new BigDecimal("5.00"),
+                     m_walletTransactionService.GetTransactionById(salaryId)
+                         .GetAmount());
+
+        // New transactions of archived categories start hidden
+        m_categoryService.ArchiveCategory(m_salary.GetId());
+        AddExpense(m_categoryRepository.findById(m_salary.GetId()).orElseThrow(),
+                   m_date,
+                   "1.00",
+                   TransactionStatus.CONFIRMED);
+
+        assertEquals(1, m_walletTransactionService.GetNonArchivedTransactions().size());
+
+        // and are shown when it is unarchived
+        m_categoryService.UnarchiveCategory(m_salary.GetId());
+
+        assertEquals(3, m_walletTransactionService.GetNonArchivedTransactions().size());
+    }
+
+    @Test
+    @DisplayName("Test if the transactions saved in an archived wallet are shown when "
+                 + "it is unarchived")
+    public void TestSavedWhileArchived()
+    {
+        m_walletService.ArchiveWallet(m_walletId);
+
+        Long expenseId =
+            AddExpense(m_food, m_date, "10.00", TransactionStatus.CONFIRMED);
+
+        assertEquals(0, m_walletTransactionService.GetNonArchivedTransactions().size());
+
+        m_walletService.UnarchiveWallet(m_walletId);
+
+        assertEquals(List.of(expenseId),
+                     m_walletTransactionService.GetNonArchivedTransactions()
+                         .stream()
+                         .map(WalletTransaction::GetId)
+                         .toList());
+        assertEquals(1,
+                     m_walletTransactionService
+                         .GetNonArchivedTransactionsByMonth(m_month.getMonthValue(),
+                                                            m_month.getYear())
+                         .size());
+        assertEquals(1,
+                     m_walletTransactionService
+                         .GetNonArchivedLastTransactionsByWallet(m_walletId, 5)
+                         .size());
+    }
+
+    @Test
+    @DisplayName("Test if credit card payments are hidden with their wallet or "
+                 + "the category of their debt")
+    public void TestArchivedPaymentVisibility()
+    {
+        CreditCardOperator operator =
+            m_creditCardOperatorRepository.save(new CreditCardOperator("Operator"));
+        CreditCard creditCard = m_creditCardRepository.save(
+            new CreditCard("Card", 10, 5, new BigDecimal("1000"), "1234", operator));
+        CreditCardDebt debt = m_creditCardDebtRepository.save(
+            new CreditCardDebt(creditCard,
+                               m_food,
+                               m_date,
+                               1,
+                               new BigDecimal("30.00"),
+                               "Debt"));
+        Wallet wallet = m_walletRepository.findById(m_walletId).orElseThrow();
+
+        m_creditCardPaymentRepository.save(
+            new CreditCardPayment(wallet, debt, m_date, new BigDecimal("30.00"), 1));
+
+        assertEquals(1, NonArchivedPaidPayments().size());
+
+        m_walletService.ArchiveWallet(m_walletId);
+
+        assertEquals(0, NonArchivedPaidPayments().size());
+
+        m_categoryService.ArchiveCategory(m_food.GetId());
+        m_walletService.UnarchiveWallet(m_walletId);
+
+        // The category is still archived
+        assertEquals(0, NonArchivedPaidPayments().size());
+
+        m_categoryService.UnarchiveCategory(m_food.GetId());
+
+        assertEquals(1, NonArchivedPaidPayments().size());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Filename: TransactionSuggestionServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.TransactionStatus;
+import org.moinex.util.TransactionSuggestion;
+import org.moinex.util.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the description suggestions of the add income and add expense dialogs
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          WalletTransactionService.class,
+          WalletService.class,
+          CategoryService.class,
+          WalletLockService.class,
+          BalanceLedgerService.class,
+          ReferenceDataCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class TransactionSuggestionServiceTest
+{
+    @Autowired
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CategoryService m_categoryService;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private Long m_walletId;
+
+    private Category m_category;
+
+    private final LocalDateTime m_now = LocalDateTime.now().withNano(0);
+
+    private Long AddExpense(String description, String amount, LocalDateTime date)
+    {
+        return m_walletTransactionService.AddExpense(m_walletId,
+                                                     m_category,
+                                                     date,
+                                                     new BigDecimal(amount),
+                                                     description,
+                                                     TransactionStatus.CONFIRMED);
+    }
+
+    private List<String> Descriptions(TransactionType type, String text)
+    {
+        return m_transactionSuggestionService.GetSuggestions(type, text)
+            .stream()
+            .map(TransactionSuggestion::GetDescription)
+            .toList();
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("1000"));
+        m_category = m_categoryRepository
+                         .findById(m_categoryService.AddCategory("Category"))
+                         .orElseThrow();
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_walletTransactionRepository.deleteAllInBatch();
+        m_archivedTransactionRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+
+        m_transactionSuggestionService.Invalidate();
+        m_referenceDataCache.RefreshCategories();
+        m_referenceDataCache.RefreshWallets();
+    }
+
+    @Test
+    @DisplayName("Test if the descriptions are found by the start of any word")
+    public void TestFindByStartOfAnyWord()
+    {
+        AddExpense("Grocery store", "50.00", m_now);
+        AddExpense("Gas station", "100.00", m_now);
+        AddExpense("Coffee shop", "5.00", m_now);
+
+        assertEquals(List.of("Grocery store"),
+                     Descriptions(TransactionType.EXPENSE, "GRO"));
+
+        // Ties are sorted by description
+        assertEquals(List.of("Gas station", "Grocery store"),
+                     Descriptions(TransactionType.EXPENSE, "st"));
+        assertEquals(List.of("Grocery store"),
+                     Descriptions(TransactionType.EXPENSE, "grocery st"));
+        assertTrue(Descriptions(TransactionType.EXPENSE, "tore").isEmpty());
+        assertTrue(Descriptions(TransactionType.INCOME, "gro").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test if the suggestions are ranked by frequency and recency and "
+                 + "carry the values of the most recent transaction")
+    public void TestRankAndMostRecentValues()
+    {
+        AddExpense("Repair", "300.00", m_now.minusYears(2));
+        AddExpense("Restaurant", "80.00", m_now);
+        AddExpense("Rent", "1200.00", m_now.minusDays(5));
+        AddExpense("Rent", "1000.00", m_now.minusDays(40));
+        AddExpense("Rent", "1000.00", m_now.minusDays(70));
+
+        assertEquals(List.of("Rent", "Restaurant", "Repair"),
+                     Descriptions(TransactionType.EXPENSE, "re"));
+
+        TransactionSuggestion rent =
+            m_transactionSuggestionService
+                .GetSuggestions(TransactionType.EXPENSE, "rent")
+                .get(0);
+
+        assertEquals(0, new BigDecimal("1200.00").compareTo(rent.GetAmount()));
+        assertEquals(m_now.minusDays(5), rent.GetLastDate());
+        assertEquals(m_walletId, rent.GetWalletId());
+        assertEquals(m_category.GetId(), rent.GetCategoryId());
+        assertEquals(3, rent.GetCount());
+    }
+
+    @Test
+    @DisplayName("Test if new transactions are added once they are committed")
+    public void TestIncrementalUpdateAfterCommit()
+    {
+        AddExpense("Cinema", "30.00", m_now);
+
+        // Loads the index
+        assertEquals(List.of("Cinema"),
+                     Descriptions(TransactionType.EXPENSE, "ci"));
+
+        TransactionTemplate transactionTemplate =
+            new TransactionTemplate(m_transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            AddExpense("City tax", "10.00", m_now.minusDays(1));
+
+            assertEquals(List.of("Cinema"),
+                         Descriptions(TransactionType.EXPENSE, "ci"));
+        });
+
+        assertEquals(List.of("Cinema", "City tax"),
+                     Descriptions(TransactionType.EXPENSE, "ci"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            AddExpense("Circus", "10.00", m_now);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of("Cinema", "City tax"),
+                     Descriptions(TransactionType.EXPENSE, "ci"));
+    }
+
+    @Test
+    @DisplayName("Test if archived wallets are skipped, also after a reload, and "
+                 + "edited transactions are loaded again")
+    public void TestArchivedWalletAndEdit()
+    {
+        Long id = AddExpense("Pharmacy", "25.00", m_now);
+
+        assertEquals(List.of("Pharmacy"),
+                     Descriptions(TransactionType.EXPENSE, "ph"));
+
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(id);
+        transaction.SetDescription("Drugstore");
+        m_walletTransactionService.UpdateTransaction(transaction);
+
+        assertTrue(Descriptions(TransactionType.EXPENSE, "ph").isEmpty());
+        assertEquals(List.of("Drugstore"),
+                     Descriptions(TransactionType.EXPENSE, "dr"));
+
+        m_walletService.ArchiveWallet(m_walletId);
+
+        assertTrue(Descriptions(TransactionType.EXPENSE, "dr").isEmpty());
+
+        // Loaded again while the transaction is in the archive table, which is read
+        // too, so it is suggested again when the wallet is unarchived
+        m_transactionSuggestionService.Invalidate();
+
+        assertTrue(Descriptions(TransactionType.EXPENSE, "dr").isEmpty());
+
+        m_walletService.UnarchiveWallet(m_walletId);
+
+        assertEquals(List.of("Drugstore"),
+                     Descriptions(TransactionType.EXPENSE, "dr"));
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Filename: WalletBalanceStressTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.TransferRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stress tests for the balances of wallets updated by many threads at once
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ WalletTransactionService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class WalletBalanceStressTest
+{
+    private static final int  WALLETS         = 3;
+    private static final int  THREADS         = 8;
+    private static final int  OPS_PER_THREAD  = 100;
+    private static final int  MAX_AMOUNT      = 10;
+    private static final long INITIAL_BALANCE = 1000;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private TransferRepository m_transferRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    private List<Long> m_walletIds;
+
+    private Category m_category;
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_walletIds = new ArrayList<>();
+
+        for (int i = 0; i < WALLETS; i++)
+        {
+            Wallet wallet = m_walletRepository.save(
+                new Wallet("Wallet" + i, BigDecimal.valueOf(INITIAL_BALANCE)));
+            m_walletIds.add(wallet.GetId());
+        }
+
+        m_category = m_categoryRepository.save(new Category("Category"));
+
+        // Record the initial balances in the balance history
+        m_balanceLedgerService.RecordMissingHistory();
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_transferRepository.deleteAllInBatch();
+        m_walletTransactionRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Test if the balances are exact after concurrent incomes, expenses "
+                 + "and transfers")
+    public void TestBalancesExactUnderContention() throws Exception
+    {
+        // The net change of each wallet and the counts of each kind of operation,
+        // recorded only for the operations that succeeded
+        AtomicLongArray deltas   = new AtomicLongArray(WALLETS);
+        AtomicLongArray counts   = new AtomicLongArray(3);
+        CountDownLatch  start    = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures  = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++)
+        {
+            Random random = new Random(t);
+
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int i = 0; i < OPS_PER_THREAD; i++)
+                {
+                    int  wallet = random.nextInt(WALLETS);
+                    long amount = 1 + random.nextInt(MAX_AMOUNT);
+
+                    switch (random.nextInt(3))
+                    {
+                        case 0:
+                            m_walletTransactionService.AddIncome(
+                                m_walletIds.get(wallet),
+                                m_category,
+                                LocalDateTime.now(),
+                                BigDecimal.valueOf(amount),
+                                "Income",
+                                TransactionStatus.CONFIRMED);
+                            deltas.addAndGet(wallet, amount);
+                            counts.incrementAndGet(0);
+                            break;
+
+                        case 1:
+                            m_walletTransactionService.AddExpense(
+                                m_walletIds.get(wallet),
+                                m_category,
+                                LocalDateTime.now(),
+                                BigDecimal.valueOf(amount),
+                                "Expense",
+                                TransactionStatus.CONFIRMED);
+                            deltas.addAndGet(wallet, -amount);
+                            counts.incrementAndGet(1);
+                            break;
+
+                        default:
+                            int receiver =
+                                (wallet + 1 + random.nextInt(WALLETS - 1)) % WALLETS;
+
+                            m_walletTransactionService.TransferMoney(
+                                m_walletIds.get(wallet),
+                                m_walletIds.get(receiver),
+                                LocalDateTime.now(),
+                                BigDecimal.valueOf(amount),
+                                "Transfer");
+                            deltas.addAndGet(wallet, -amount);
+                            deltas.addAndGet(receiver, amount);
+                            counts.incrementAndGet(2);
+                            break;
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        try
+        {
+            for (Future<?> future : futures)
+            {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        BigDecimal total         = BigDecimal.ZERO;
+        long       expectedTotal = 0;
+
+        for (int i = 0; i < WALLETS; i++)
+        {
+            BigDecimal balance =
+                m_walletRepository.findById(m_walletIds.get(i)).get().GetBalance();
+            long expected = INITIAL_BALANCE + deltas.get(i);
+
+            assertEquals(0,
+                         BigDecimal.valueOf(expected).compareTo(balance),
+                         "Balance of wallet " + i);
+
+            // The balance history agrees with the balance
+            assertEquals(0,
+                         balance.compareTo(m_balanceLedgerService.GetBalanceAt(
+                             m_walletIds.get(i),
+                             LocalDateTime.now())),
+                         "Balance history of wallet " + i);
+
+            total = total.add(balance);
+            expectedTotal += expected;
+        }
+
+        // Transfers only move money, so the total changes by incomes and expenses
+        assertEquals(0, BigDecimal.valueOf(expectedTotal).compareTo(total));
+        assertEquals(THREADS * OPS_PER_THREAD,
+                     counts.get(0) + counts.get(1) + counts.get(2));
+        assertEquals(counts.get(0) + counts.get(1),
+                     m_walletTransactionRepository.count());
+        assertEquals(counts.get(2), m_transferRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test if saving a stale copy of a wallet is rejected")
+    public void TestStaleWalletRejected()
+    {
+        Wallet stale = m_walletRepository.findById(m_walletIds.get(0)).get();
+
+        m_walletTransactionService.AddIncome(m_walletIds.get(0),
+                                             m_category,
+                                             LocalDateTime.now(),
+                                             BigDecimal.TEN,
+                                             "Income",
+                                             TransactionStatus.CONFIRMED);
+
+        stale.SetBalance(BigDecimal.ZERO);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                     () -> m_walletRepository.save(stale));
+
+        assertEquals(0,
+                     BigDecimal.valueOf(INITIAL_BALANCE + 10)
+                         .compareTo(m_walletRepository.findById(m_walletIds.get(0))
+                                        .get()
+                                        .GetBalance()));
+    }
+
+    @Test
+    @DisplayName("Test if wallets cannot be locked outside a transaction")
+    public void TestLockOutsideTransaction()
+    {
+        assertThrows(RuntimeException.class,
+                     () -> m_walletLockService.LockUntilCompletion(m_walletIds.get(0)));
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Filename: WalletLockOrderTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.moinex.app.DataSourceConfig;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.util.CSVImportProgress;
+import org.moinex.util.Constants;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the order in which the writes take the wallet locks and the writer
+ * connection, against a SQLite database with a single writer connection
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ DataSourceConfig.class,
+          WalletService.class,
+          WalletTransactionService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class,
+          WriteCoordinatorService.class,
+          CSVImportService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class WalletLockOrderTest
+{
+    @MockBean
+    private MetricsService m_metricsService;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    @Autowired
+    private WalletLockService m_walletLockService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WriteCoordinatorService m_writeCoordinatorService;
+
+    @Autowired
+    private CSVImportService m_csvImportService;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    private ExecutorService m_executor;
+
+    private Category m_category;
+
+    // Enough for the other thread to reach the lock it waits for
+    private static final long WAIT_MILLIS = 300;
+
+    @DynamicPropertySource
+    static void DatabaseProperties(DynamicPropertyRegistry registry) throws IOException
+    {
+        Path database = Files.createTempFile("moinex-lock-order", ".db");
+        database.toFile().deleteOnExit();
+
+        registry.add("moinex.datasource.routing", () -> "true");
+        registry.add("spring.datasource.url",
+                     () -> "jdbc:sqlite:" + database + "?journal_mode=WAL");
+        registry.add("spring.jpa.database-platform",
+                     () -> "org.hibernate.community.dialect.SQLiteDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+    }
+
+    @BeforeEach
+    public void BeforeEach()
+    {
+        m_executor = Executors.newSingleThreadExecutor();
+        m_category = m_categoryRepository.save(new Category("Salary"));
+    }
+
+    @AfterEach
+    public void AfterEach()
+    {
+        m_executor.shutdownNow();
+        m_writeCoordinatorService.SetGroupLatency(
+            Constants.WRITE_DEFAULT_GROUP_LATENCY);
+    }
+
+    private Long AddIncome(Long walletId, String amount)
+    {
+        return m_walletTransactionService.AddIncome(walletId,
+                                                    m_category,
+                                                    LocalDateTime.now(),
+                                                    new BigDecimal(amount),
+                                                    "Income",
+                                                    TransactionStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Test if an update waiting for the lock of a wallet does not hold "
+                 + "the writer connection needed by the income holding the lock")
+    public void TestUpdateAndIncomeConcurrently() throws Exception
+    {
+        Long walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("100"));
+        Long incomeId = AddIncome(walletId, "10");
+
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(incomeId);
+        transaction.SetAmount(new BigDecimal("30"));
+
+        Future<?>[] update = new Future<?>[1];
+
+        // The income takes the lock of the wallet before its first statement, as
+        // the writes submitted from the interface do, and the update starts while
+        // it is held
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            m_walletLockService.LockUntilCompletion(walletId);
+
+            update[0] = m_executor.submit(
+                () -> m_walletTransactionService.UpdateTransaction(transaction));
+
+            try
+            {
+                Thread.sleep(WAIT_MILLIS);
+            }
+            catch (InterruptedException e)
+            {
+                throw new RuntimeException(e);
+            }
+
+            AddIncome(walletId, "5");
+        });
+
+        update[0].get(Constants.WALLET_LOCK_TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals(0,
+                     new BigDecimal("135").compareTo(
+                         m_walletService.GetWalletById(walletId).GetBalance()));
+        assertEquals(0,
+                     new BigDecimal("30").compareTo(
+                         m_walletTransactionService.GetTransactionById(incomeId)
+                             .GetAmount()));
+    }
+
+    @Test
+    @DisplayName("Test if a group of writes does not hold the writer connection "
+                 + "while waiting for the lock of a wallet held by an income")
+    public void TestGroupAndIncomeConcurrently() throws Exception
+    {
+        Long otherWalletId =
+            m_walletService.CreateWallet("Other wallet", new BigDecimal("100"));
+        Long walletId =
+            m_walletService.CreateWallet("Group wallet", new BigDecimal("100"));
+
+        // Long enough for both commands to be in the same group
+        m_writeCoordinatorService.SetGroupLatency(WAIT_MILLIS / 3);
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Long>[] group = new CompletableFuture[2];
+
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            m_walletLockService.LockUntilCompletion(walletId);
+
+            // The first command of the group does not need the held lock, the
+            // second one does
+            try
+            {
+                m_executor
+                    .submit(() -> {
+                        group[0] = m_writeCoordinatorService.Submit(
+                            () -> AddIncome(otherWalletId, "20"),
+                            otherWalletId);
+                        group[1] = m_writeCoordinatorService.Submit(
+                            () -> AddIncome(walletId, "10"),
+                            walletId);
+                    })
+                    .get();
+
+                Thread.sleep(WAIT_MILLIS);
+            }
+            catch (InterruptedException | ExecutionException e)
+            {
+                throw new RuntimeException(e);
+            }
+
+            AddIncome(walletId, "5");
+        });
+
+        group[0].get(Constants.WALLET_LOCK_TIMEOUT, TimeUnit.SECONDS);
+        group[1].get(Constants.WALLET_LOCK_TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals(0,
+                     new BigDecimal("115").compareTo(
+                         m_walletService.GetWalletById(walletId).GetBalance()));
+        assertEquals(0,
+                     new BigDecimal("120").compareTo(
+                         m_walletService.GetWalletById(otherWalletId).GetBalance()));
+    }
+
+    @Test
+    @DisplayName("Test if an import chunk does not hold the writer connection "
+                 + "while waiting for the lock of a wallet held by an income")
+    public void TestImportAndIncomeConcurrently() throws Exception
+    {
+        Long walletId = m_walletService.CreateWallet("Bank", new BigDecimal("100"));
+
+        Path file = Files.createTempFile("moinex-lock-order", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file,
+                    List.of("Date,Description,Value",
+                            "15/03/2024,Salary,\"30,00\"",
+                            "16/03/2024,Bonus,\"20,00\""));
+
+        @SuppressWarnings("unchecked")
+        Future<CSVImportProgress>[] importResult = new Future[1];
+
+        new TransactionTemplate(m_transactionManager).executeWithoutResult(status -> {
+            m_walletLockService.LockUntilCompletion(walletId);
+
+            importResult[0] = m_executor.submit(
+                ()
+                    -> m_csvImportService.Import(
+                        file,
+                        "WalletTransaction",
+                        Map.of("Date",
+                               "date",
+                               "Description",
+                               "description",
+                               "Value",
+                               "amount"),
+                        Map.of("wallet", "Bank", "category", "Salary"),
+                        progress -> { }));
+
+            try
+            {
+                Thread.sleep(WAIT_MILLIS);
+            }
+            catch (InterruptedException e)
+            {
+                throw new RuntimeException(e);
+            }
+
+            AddIncome(walletId, "5");
+        });
+
+        CSVImportProgress result =
+            importResult[0].get(Constants.WALLET_LOCK_TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals(2, result.GetRowsImported());
+        assertEquals(0,
+                     new BigDecimal("155").compareTo(
+                         m_walletService.GetWalletById(walletId).GetBalance()));
+    }
+}
@@ -7,6 +7,7 @@
 package org.moinex.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -15,6 +16,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +30,9 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.moinex.entities.Wallet;
 import org.moinex.entities.WalletType;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
 import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.CreditCardPaymentRepository;
 import org.moinex.repositories.TransferRepository;
 import org.moinex.repositories.WalletRepository;
 import org.moinex.repositories.WalletTransactionRepository;
@@ -53,6 +57,21 @@ public class WalletServiceTest
     @Mock
     private WalletTransactionRepository m_walletTransactionRepository;
 
+    @Mock
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Mock
+    private CreditCardPaymentRepository m_creditCardPaymentRepository;
+
+    @Mock
+    private WalletLockService m_walletLockService;
+
+    @Mock
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Mock
+    private ReferenceDataCache m_referenceDataCache;
+
     @InjectMocks
     private WalletService m_walletService;
 
@@ -165,6 +184,40 @@ public class WalletServiceTest
         // Check if the wallet was archived
         verify(m_walletRepository).save(m_wallet1);
         assertTrue(m_wallet1.IsArchived());
+
+        // Check if its transactions were moved to the archive
+        verify(m_walletTransactionRepository)
+            .CopyTransactionsToArchiveByWallet(m_wallet1.GetId());
+        verify(m_walletTransactionRepository)
+            .DeleteTransactionsByWallet(m_wallet1.GetId());
+    }
+
+    @DisplayName("Test if the wallet is unarchived successfully")
+    @Test
+    public void TestUnarchiveWallet()
+    {
+        m_wallet1.SetArchived(true);
+
+        when(m_walletRepository.findById(m_wallet1.GetId()))
+            .thenReturn(Optional.of(m_wallet1));
+
+        when(m_walletRepository.save(any(Wallet.class))).thenReturn(m_wallet1);
+
+        m_walletService.UnarchiveWallet(m_wallet1.GetId());
+
+        // Check if the wallet was unarchived
+        verify(m_walletRepository).save(m_wallet1);
+        assertFalse(m_wallet1.IsArchived());
+
+        // Check if its transactions were moved back from the archive
+        verify(m_archivedTransactionRepository)
+            .RestoreTransactionsByWallet(m_wallet1.GetId());
+        verify(m_archivedTransactionRepository)
+            .DeleteRestoredTransactionsByWallet(m_wallet1.GetId());
+
+        // and the ones saved while it was archived were shown
+        verify(m_walletTransactionRepository)
+            .ShowTransactionsByWallet(m_wallet1.GetId());
     }
 
     @Test
@@ -358,4 +411,35 @@ public class WalletServiceTest
         // Verify that the wallet balance was not updated
         verify(m_walletRepository, never()).save(any(Wallet.class));
     }
+
+    @Test
+    @DisplayName("Test if the wallets are ordered by the count of transactions and "
+                 + "transfers")
+    public void
+    TestGetAllNonArchivedWalletsOrderedByTransactionCountDesc()
+    {
+        Wallet wallet3 = CreateWallet(3L, "Wallet3", BigDecimal.ZERO);
+
+        when(m_walletRepository.findAllByArchivedFalse())
+            .thenReturn(List.of(m_wallet1, m_wallet2, wallet3));
+
+        when(m_walletTransactionRepository.GetTransactionCountPerWallet())
+            .thenReturn(List.<Object[]>of(new Object[] { m_wallet1.GetId(), 2L },
+                                          new Object[] { m_wallet2.GetId(), 1L }));
+
+        when(m_transferRepository.GetTransferCountPerSenderWallet())
+            .thenReturn(List.<Object[]>of(new Object[] { m_wallet2.GetId(), 1L }));
+
+        when(m_transferRepository.GetTransferCountPerReceiverWallet())
+            .thenReturn(List.<Object[]>of(new Object[] { m_wallet2.GetId(), 1L }));
+
+        assertEquals(List.of(m_wallet2, m_wallet1, wallet3),
+                     m_walletService
+                         .GetAllNonArchivedWalletsOrderedByTransactionCountDesc());
+
+        // The counts are obtained once, not once per comparison
+        verify(m_walletTransactionRepository, never())
+            .GetTransactionCountByWallet(any(Long.class));
+        verify(m_transferRepository, never()).GetTransferCountByWallet(any(Long.class));
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Filename: WalletTransactionServiceArchiveTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.CSVImportProgress;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests for the transactions of archived wallets, which are in the archive table
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ WalletTransactionService.class,
+          WalletService.class,
+          WalletLockService.class,
+          BalanceLedgerService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          CSVImportService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class WalletTransactionServiceArchiveTest
+{
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletService m_walletService;
+
+    @Autowired
+    private CSVImportService m_csvImportService;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private ReferenceDataCache m_referenceDataCache;
+
+    @TempDir
+    private Path m_tempDir;
+
+    private Long m_walletId;
+
+    private Category m_category;
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_walletId = m_walletService.CreateWallet("Wallet", new BigDecimal("1000"));
+        m_category = m_categoryRepository.save(new Category("Category"));
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_walletTransactionRepository.deleteAllInBatch();
+        m_archivedTransactionRepository.deleteAllInBatch();
+        m_walletRepository.deleteAllInBatch();
+        m_categoryRepository.deleteAllInBatch();
+
+        m_referenceDataCache.RefreshCategories();
+        m_referenceDataCache.RefreshWallets();
+    }
+
+    @Test
+    @DisplayName("Test if a transaction of an archived wallet is found by its id, "
+                 + "but cannot be deleted")
+    public void TestGetAndDeleteArchivedTransaction()
+    {
+        Long id = m_walletTransactionService.AddExpense(m_walletId,
+                                                        m_category,
+                                                        LocalDateTime.now(),
+                                                        new BigDecimal("25.00"),
+                                                        "Pharmacy",
+                                                        TransactionStatus.CONFIRMED);
+
+        m_walletService.ArchiveWallet(m_walletId);
+
+        // The id returned by the getters that read the archive table is resolved
+        assertTrue(m_walletTransactionService.GetAllTransactions().stream().anyMatch(
+            t -> t.GetId().equals(id)));
+
+        WalletTransaction transaction =
+            m_walletTransactionService.GetTransactionById(id);
+
+        assertEquals(id, transaction.GetId());
+        assertEquals("Pharmacy", transaction.GetDescription());
+        assertEquals(0, new BigDecimal("25.00").compareTo(transaction.GetAmount()));
+
+        RuntimeException e =
+            assertThrows(RuntimeException.class,
+                         () -> m_walletTransactionService.DeleteTransaction(id));
+
+        assertTrue(e.getMessage().contains("archived"));
+
+        // Neither the transaction nor the balance of the wallet changed
+        assertTrue(m_archivedTransactionRepository.existsById(id));
+        assertEquals(0,
+                     new BigDecimal("975.00").compareTo(
+                         m_walletService.GetWalletById(m_walletId).GetBalance()));
+    }
+
+    @Test
+    @DisplayName("Test if a transaction imported into an archived wallet is hidden "
+                 + "from the non-archived queries")
+    public void TestImportIntoArchivedWallet() throws IOException
+    {
+        m_walletService.ArchiveWallet(m_walletId);
+
+        Path file = m_tempDir.resolve("statement.csv");
+        Files.write(file,
+                    List.of("Date,Description,Value", "15/03/2024,Refund,\"10,00\""));
+
+        CSVImportProgress result = m_csvImportService.Import(
+            file,
+            "WalletTransaction",
+            Map.of("Date", "date", "Description", "description", "Value", "amount"),
+            Map.of("wallet", "Wallet", "category", "Category"),
+            progress -> { });
+
+        assertEquals(1, result.GetRowsImported());
+
+        assertTrue(m_walletTransactionService.GetNonArchivedTransactions().isEmpty());
+        assertTrue(m_walletTransactionService.GetAllTransactions().stream().anyMatch(
+            t -> t.GetDescription().equals("Refund")));
+    }
+}
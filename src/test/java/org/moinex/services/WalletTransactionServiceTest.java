@@ -31,6 +31,7 @@ import org.moinex.entities.Category;
 import org.moinex.entities.Transfer;
 import org.moinex.entities.Wallet;
 import org.moinex.entities.WalletTransaction;
+import org.moinex.repositories.ArchivedWalletTransactionRepository;
 import org.moinex.repositories.CategoryRepository;
 import org.moinex.repositories.TransferRepository;
 import org.moinex.repositories.WalletRepository;
@@ -39,6 +40,7 @@ import org.moinex.repositories.WalletTypeRepository;
 import org.moinex.util.Constants;
 import org.moinex.util.TransactionStatus;
 import org.moinex.util.TransactionType;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 public class WalletTransactionServiceTest
@@ -58,6 +60,27 @@ public class WalletTransactionServiceTest
     @Mock
     private WalletTransactionRepository m_walletTransactionRepository;
 
+    @Mock
+    private ArchivedWalletTransactionRepository m_archivedTransactionRepository;
+
+    @Mock
+    private WalletLockService m_walletLockService;
+
+    @Mock
+    private BalanceLedgerService m_balanceLedgerService;
+
+    @Mock
+    private ReferenceDataCache m_referenceDataCache;
+
+    @Mock
+    private TransactionSuggestionService m_transactionSuggestionService;
+
+    @Mock
+    private TransactionAnalyticsService m_transactionAnalyticsService;
+
+    @Mock
+    private PlatformTransactionManager m_transactionManager;
+
     @InjectMocks
     private WalletTransactionService m_walletTransactionService;
 
@@ -603,6 +626,9 @@ public class WalletTransactionServiceTest
                  m_wallet1ExpenseTransaction.GetId()))
             .thenReturn(Optional.of(m_wallet1));
 
+        when(m_walletRepository.findById(m_wallet2.GetId()))
+            .thenReturn(Optional.of(m_wallet2));
+
         when(m_walletRepository.save(m_wallet1)).thenReturn(m_wallet1);
 
         when(m_walletRepository.save(m_wallet2)).thenReturn(m_wallet2);
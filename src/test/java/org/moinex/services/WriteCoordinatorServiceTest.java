@@ -0,0 +1,352 @@
+/*
+ * Filename: WriteCoordinatorServiceTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.moinex.app.MainApplication;
+import org.moinex.entities.Category;
+import org.moinex.entities.Wallet;
+import org.moinex.repositories.BalanceLedgerRepository;
+import org.moinex.repositories.CategoryRepository;
+import org.moinex.repositories.TransferRepository;
+import org.moinex.repositories.WalletRepository;
+import org.moinex.repositories.WalletTransactionRepository;
+import org.moinex.util.TransactionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for the group commits of the WriteCoordinatorService
+ */
+@DataJpaTest
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = { MainApplication.class })
+@Import({ WriteCoordinatorService.class,
+          WalletTransactionService.class,
+          WalletLockService.class,
+          ReferenceDataCache.class,
+          TransactionSuggestionService.class,
+          TransactionAnalyticsService.class,
+          BalanceLedgerService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+public class WriteCoordinatorServiceTest
+{
+    @MockBean
+    private MetricsService m_metricsService;
+
+    @Autowired
+    private WriteCoordinatorService m_writeCoordinatorService;
+
+    @Autowired
+    private WalletTransactionService m_walletTransactionService;
+
+    @Autowired
+    private WalletRepository m_walletRepository;
+
+    @Autowired
+    private CategoryRepository m_categoryRepository;
+
+    @Autowired
+    private WalletTransactionRepository m_walletTransactionRepository;
+
+    @Autowired
+    private TransferRepository m_transferRepository;
+
+    @Autowired
+    private BalanceLedgerRepository m_balanceLedgerRepository;
+
+    @Autowired
+    private PlatformTransactionManager m_transactionManager;
+
+    private Wallet m_wallet1;
+
+    private Wallet m_wallet2;
+
+    private Category m_category;
+
+    private CompletableFuture<Long> SubmitIncome(Long walletId, String amount)
+    {
+        return m_writeCoordinatorService.Submit(
+            ()
+                -> m_walletTransactionService.AddIncome(walletId,
+                                                        m_category,
+                                                        LocalDateTime.now(),
+                                                        new BigDecimal(amount),
+                                                        "Income",
+                                                        TransactionStatus.CONFIRMED));
+    }
+
+    private BigDecimal GetBalance(Wallet wallet)
+    {
+        return m_walletRepository.findById(wallet.GetId()).get().GetBalance();
+    }
+
+    @BeforeEach
+    public void SetUp()
+    {
+        m_wallet1 =
+            m_walletRepository.save(new Wallet("Wallet1", new BigDecimal("100")));
+        m_wallet2 =
+            m_walletRepository.save(new Wallet("Wallet2", new BigDecimal("100")));
+
+        m_category = m_categoryRepository.save(new Category("Category"));
+
+        // Wait long enough for all the commands of a test to be in the same group
+        m_writeCoordinatorService.SetGroupSize(64);
+        m_writeCoordinatorService.SetGroupLatency(200);
+    }
+
+    @AfterEach
+    public void TearDown()
+    {
+        m_balanceLedgerRepository.deleteAllInBatch();
+        m_transferRepository.deleteAll();
+        m_walletTransactionRepository.deleteAll();
+        m_walletRepository.deleteAll();
+        m_categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test if concurrent commands are committed in groups")
+    public void TestCommandsCommittedInGroups() throws Exception
+    {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        Long walletId = m_wallet1.GetId();
+
+        for (int i = 0; i < 20; i++)
+        {
+            futures.add(CompletableFuture.supplyAsync(() -> SubmitIncome(walletId, "1"))
+                            .thenCompose(f -> f));
+        }
+
+        for (CompletableFuture<Long> future : futures)
+        {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(0, new BigDecimal("120.00").compareTo(GetBalance(m_wallet1)));
+        assertEquals(20, m_walletTransactionRepository.count());
+
+        ArgumentCaptor<Long> queries    = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> groupSizes = ArgumentCaptor.forClass(Long.class);
+
+        verify(m_metricsService, atLeastOnce())
+            .Record(eq("WriteCoordinatorService.CommitGroup"),
+                    anyLong(),
+                    queries.capture(),
+                    groupSizes.capture(),
+                    eq(false));
+
+        assertEquals(20, groupSizes.getAllValues().stream().mapToLong(s -> s).sum());
+        assertTrue(groupSizes.getAllValues().size() < 20);
+
+        // The statements of the commands and of the flush ran on the writer thread
+        assertTrue(queries.getAllValues().stream().allMatch(q -> q > 0));
+    }
+
+    @Test
+    @DisplayName("Test if a failed command is rolled back without the rest of its "
+                 + "group")
+    public void TestFailedCommandRolledBackAlone() throws Exception
+    {
+        CompletableFuture<Long> income = SubmitIncome(m_wallet1.GetId(), "50");
+
+        CompletableFuture<Long> missingWallet = SubmitIncome(999L, "10");
+
+        // Changes the balances before failing for the lack of balance
+        CompletableFuture<Long> transfer = m_writeCoordinatorService.Submit(() -> {
+            m_walletTransactionService.TransferMoney(m_wallet2.GetId(),
+                                                     m_wallet1.GetId(),
+                                                     LocalDateTime.now(),
+                                                     new BigDecimal("100.00"),
+                                                     "Transfer");
+
+            return m_walletTransactionService.TransferMoney(m_wallet2.GetId(),
+                                                            m_wallet1.GetId(),
+                                                            LocalDateTime.now(),
+                                                            new BigDecimal("1.00"),
+                                                            "Transfer");
+        });
+
+        CompletableFuture<Long> otherIncome = SubmitIncome(m_wallet2.GetId(), "5");
+
+        income.get(5, TimeUnit.SECONDS);
+        otherIncome.get(5, TimeUnit.SECONDS);
+
+        ExecutionException e =
+            assertThrows(ExecutionException.class,
+                         () -> missingWallet.get(5, TimeUnit.SECONDS));
+        assertEquals("Wallet with id 999 not found", e.getCause().getMessage());
+
+        assertThrows(ExecutionException.class,
+                     () -> transfer.get(5, TimeUnit.SECONDS));
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(GetBalance(m_wallet1)));
+        assertEquals(0, new BigDecimal("105.00").compareTo(GetBalance(m_wallet2)));
+        assertEquals(2, m_walletTransactionRepository.count());
+        assertEquals(0, m_transferRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test if a constraint violated when the changes of a command are "
+                 + "flushed fails only that command")
+    public void TestFlushFailureFailsOnlyItsCommand() throws Exception
+    {
+        CompletableFuture<Long> income = SubmitIncome(m_wallet1.GetId(), "50");
+
+        // The rename is only written when the changes are flushed
+        CompletableFuture<Void> rename = m_writeCoordinatorService.Submit(
+            ()
+                -> m_walletRepository.findById(m_wallet2.GetId())
+                       .orElseThrow()
+                       .SetName("Wallet1"));
+
+        // Its query over the wallets flushes the pending rename
+        CompletableFuture<Integer> wallets =
+            m_writeCoordinatorService.Submit(() -> m_walletRepository.findAll().size());
+
+        CompletableFuture<Long> otherIncome = SubmitIncome(m_wallet2.GetId(), "5");
+
+        income.get(5, TimeUnit.SECONDS);
+        otherIncome.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, wallets.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> rename.get(5, TimeUnit.SECONDS));
+
+        assertEquals("Wallet2", m_walletRepository.findById(m_wallet2.GetId())
+                                    .orElseThrow()
+                                    .GetName());
+        assertEquals(0, new BigDecimal("150.00").compareTo(GetBalance(m_wallet1)));
+        assertEquals(0, new BigDecimal("105.00").compareTo(GetBalance(m_wallet2)));
+        assertEquals(2, m_walletTransactionRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test if a failed commit of a group fails only the command that "
+                 + "caused it")
+    public void TestCommitFailureFailsOnlyItsCommand() throws Exception
+    {
+        CompletableFuture<Long> income = SubmitIncome(m_wallet1.GetId(), "50");
+
+        // Runs without errors, but makes the commit of its transaction fail
+        CompletableFuture<Void> rejected = m_writeCoordinatorService.Submit(
+            ()
+                -> TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly)
+                        {
+                            throw new RuntimeException("Commit rejected");
+                        }
+                    }));
+
+        CompletableFuture<Long> otherIncome = SubmitIncome(m_wallet2.GetId(), "5");
+
+        income.get(5, TimeUnit.SECONDS);
+        otherIncome.get(5, TimeUnit.SECONDS);
+
+        ExecutionException e =
+            assertThrows(ExecutionException.class,
+                         () -> rejected.get(5, TimeUnit.SECONDS));
+        assertEquals("Commit rejected", e.getCause().getMessage());
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(GetBalance(m_wallet1)));
+        assertEquals(0, new BigDecimal("105.00").compareTo(GetBalance(m_wallet2)));
+        assertEquals(2, m_walletTransactionRepository.count());
+
+        // The group failed to commit, then each command was committed alone
+        verify(m_metricsService)
+            .Record(eq("WriteCoordinatorService.CommitGroup"),
+                    anyLong(),
+                    anyLong(),
+                    eq(3L),
+                    eq(true));
+        verify(m_metricsService, times(2))
+            .Record(eq("WriteCoordinatorService.CommitGroup"),
+                    anyLong(),
+                    anyLong(),
+                    eq(1L),
+                    eq(false));
+        verify(m_metricsService)
+            .Record(eq("WriteCoordinatorService.CommitGroup"),
+                    anyLong(),
+                    anyLong(),
+                    eq(1L),
+                    eq(true));
+    }
+
+    @Test
+    @DisplayName("Test if Execute rethrows the exception of the command")
+    public void TestExecuteRethrowsException()
+    {
+        RuntimeException e = assertThrows(
+            RuntimeException.class,
+            ()
+                -> m_writeCoordinatorService.Execute(
+                    ()
+                        -> m_walletTransactionService.AddIncome(
+                            m_wallet1.GetId(),
+                            m_category,
+                            LocalDateTime.now(),
+                            BigDecimal.ZERO,
+                            "Income",
+                            TransactionStatus.CONFIRMED)));
+
+        assertEquals("Amount must be greater than zero", e.getMessage());
+        assertEquals(0, m_walletTransactionRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test if commands submitted inside a transaction run on the "
+                 + "calling thread")
+    public void TestCommandInTransactionRunsInline()
+    {
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> future =
+            new TransactionTemplate(m_transactionManager)
+                .execute(status
+                         -> m_writeCoordinatorService.Submit(Thread::currentThread));
+
+        assertTrue(future.isDone());
+        assertEquals(caller, future.join());
+    }
+}
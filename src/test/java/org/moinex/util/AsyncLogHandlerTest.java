@@ -0,0 +1,220 @@
+/*
+ * Filename: AsyncLogHandlerTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AsyncLogHandlerTest
+{
+    @TempDir
+    private Path m_tempDir;
+
+    private static final Pattern DROPPED =
+        Pattern.compile("Log buffer full, (\\d+) records dropped");
+
+    /**
+     * Create a handler that writes one line per record, with just its message
+     */
+    private AsyncLogHandler
+    CreateHandler(Path file, long fileLimit, int fileCount, int bufferCapacity)
+    {
+        AsyncLogHandler handler =
+            new AsyncLogHandler(file, fileLimit, fileCount, false, bufferCapacity);
+
+        handler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record)
+            {
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+
+        return handler;
+    }
+
+    private List<String> ReadLines(Path file) throws IOException
+    {
+        return Files.exists(file) ? Files.readAllLines(file) : List.of();
+    }
+
+    @Test
+    @DisplayName("Test if the records are written in order and flushed on close")
+    public void TestRecordsWritten() throws IOException
+    {
+        Path            file    = m_tempDir.resolve("logs").resolve("test.log");
+        AsyncLogHandler handler = CreateHandler(file, 1024 * 1024, 3, 1024);
+
+        for (int i = 0; i < 500; i++)
+        {
+            handler.publish(new LogRecord(Level.INFO, "record " + i));
+        }
+
+        handler.flush();
+        handler.close();
+
+        // Records published after the close are ignored
+        handler.publish(new LogRecord(Level.INFO, "late"));
+
+        List<String> lines = ReadLines(file);
+
+        assertEquals(500, lines.size());
+
+        for (int i = 0; i < 500; i++)
+        {
+            assertEquals("record " + i, lines.get(i));
+        }
+
+        assertEquals(0, handler.GetDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Test if flush waits for the record the writer is still formatting")
+    public void TestFlushWaitsForWriter() throws IOException
+    {
+        Path            file    = m_tempDir.resolve("test.log");
+        AsyncLogHandler handler = CreateHandler(file, 1024 * 1024, 1, 16);
+
+        // The record leaves the buffer before it is formatted, so the buffer is
+        // empty while the writer is still working on it
+        handler.setFormatter(new Formatter() {
+            @Override
+            public String format(LogRecord record)
+            {
+                try
+                {
+                    Thread.sleep(200);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                return record.getMessage() + System.lineSeparator();
+            }
+        });
+
+        handler.publish(new LogRecord(Level.WARNING, "slow record"));
+        handler.flush();
+
+        assertEquals(List.of("slow record"), ReadLines(file));
+
+        handler.close();
+    }
+
+    @Test
+    @DisplayName("Test if the file is rotated when it exceeds the size limit")
+    public void TestRotation() throws IOException
+    {
+        Path            file    = m_tempDir.resolve("test.log");
+        long            limit   = 1000;
+        AsyncLogHandler handler = CreateHandler(file, limit, 3, 1024);
+
+        // Lines of 100 bytes, so each file holds 10 records
+        String padding = "x".repeat(100 - 10 - System.lineSeparator().length());
+
+        for (int i = 0; i < 45; i++)
+        {
+            handler.publish(
+                new LogRecord(Level.INFO, String.format("%09d %s", i, padding)));
+        }
+
+        handler.close();
+
+        Path first  = m_tempDir.resolve("test.log.1");
+        Path second = m_tempDir.resolve("test.log.2");
+
+        assertTrue(Files.exists(first));
+        assertTrue(Files.exists(second));
+        assertFalse(Files.exists(m_tempDir.resolve("test.log.3")));
+
+        assertEquals(limit, Files.size(first));
+        assertEquals(limit, Files.size(second));
+
+        // Only the most recent records are kept, the older files were removed
+        assertTrue(ReadLines(second).get(0).startsWith("000000020"));
+        assertTrue(ReadLines(first).get(0).startsWith("000000030"));
+
+        List<String> current = ReadLines(file);
+
+        assertEquals(5, current.size());
+        assertTrue(current.get(4).startsWith("000000044"));
+    }
+
+    @Test
+    @DisplayName("Test if the number of dropped records is written to the file")
+    public void TestDroppedRecordsReported() throws Exception
+    {
+        Path            file    = m_tempDir.resolve("test.log");
+        AsyncLogHandler handler = CreateHandler(file, 1024 * 1024, 1, 4);
+
+        int          published = 0;
+        List<Thread> threads   = new ArrayList<>();
+
+        // The writer drains the buffer only every few milliseconds, so a burst of
+        // records larger than the buffer must drop some of them
+        for (int t = 0; t < 4; t++)
+        {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++)
+                {
+                    handler.publish(new LogRecord(Level.INFO, "record"));
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+            published += 1000;
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        handler.close();
+
+        long written  = 0;
+        long reported = 0;
+
+        for (String line : ReadLines(file))
+        {
+            Matcher matcher = DROPPED.matcher(line);
+
+            if (matcher.matches())
+            {
+                reported += Long.parseLong(matcher.group(1));
+            }
+            else
+            {
+                assertEquals("record", line);
+                written++;
+            }
+        }
+
+        assertTrue(reported > 0);
+        assertEquals(published, written + reported);
+
+        // Every drop was reported, so none is pending
+        assertEquals(0, handler.GetDroppedCount());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Filename: RingBufferTest.java
+ * Created on: October 19, 2026
+ * Author: Lucas Araújo <araujolucas@dcc.ufmg.br>
+ */
+
+package org.moinex.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest
+{
+    private static final int PRODUCERS = 4;
+
+    private static final int ELEMENTS_PER_PRODUCER = 50_000;
+
+    @Test
+    @DisplayName("Test if the capacity is rounded up to a power of two")
+    public void TestCapacity()
+    {
+        assertEquals(1, new RingBuffer<Integer>(1).GetCapacity());
+        assertEquals(8, new RingBuffer<Integer>(5).GetCapacity());
+        assertEquals(16, new RingBuffer<Integer>(16).GetCapacity());
+
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(0));
+    }
+
+    @Test
+    @DisplayName("Test if Offer returns false when the buffer is full")
+    public void TestOfferWhenFull()
+    {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(buffer.Offer(i));
+        }
+
+        assertFalse(buffer.Offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+
+        assertEquals(1, buffer.Drain(drained::add, 1));
+
+        // The drained slot is free again
+        assertTrue(buffer.Offer(5));
+        assertFalse(buffer.Offer(6));
+
+        assertEquals(4, buffer.Drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 5), drained);
+        assertTrue(buffer.IsEmpty());
+        assertEquals(0, buffer.Drain(drained::add, 10));
+    }
+
+    @Test
+    @DisplayName("Test if the elements are drained in order after wrapping around")
+    public void TestDrainOrderAfterWrapAround()
+    {
+        RingBuffer<Integer> buffer  = new RingBuffer<>(4);
+        List<Integer>       drained = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertTrue(buffer.Offer(i));
+
+            if (i % 3 == 2)
+            {
+                buffer.Drain(drained::add, 3);
+            }
+        }
+
+        buffer.Drain(drained::add, 4);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(i, drained.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test if concurrent producers lose and duplicate no element")
+    public void TestConcurrentProducers() throws Exception
+    {
+        RingBuffer<Long> buffer   = new RingBuffer<>(64);
+        ExecutorService  executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch   start    = new CountDownLatch(1);
+        AtomicInteger    rejected = new AtomicInteger();
+
+        List<Future<?>> producers = new ArrayList<>();
+
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            long producer = p;
+
+            producers.add(executor.submit(() -> {
+                start.await();
+
+                for (long i = 0; i < ELEMENTS_PER_PRODUCER; i++)
+                {
+                    // The buffer is much smaller than the elements, so the
+                    // producers keep finding it full. Yield, since spinning would
+                    // starve the consumer on a machine with few processors
+                    while (!buffer.Offer(producer * ELEMENTS_PER_PRODUCER + i))
+                    {
+                        rejected.incrementAndGet();
+                        Thread.yield();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        // Single consumer, checking that each producer's elements arrive once and
+        // in the order they were offered
+        long[] next  = new long[PRODUCERS];
+        int[]  total = new int[1];
+
+        start.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while (total[0] < PRODUCERS * ELEMENTS_PER_PRODUCER &&
+               System.nanoTime() < deadline)
+        {
+            int drained = buffer.Drain(element -> {
+                int  producer = (int)(element / ELEMENTS_PER_PRODUCER);
+                long sequence = element % ELEMENTS_PER_PRODUCER;
+
+                assertEquals(next[producer], sequence);
+
+                next[producer]++;
+                total[0]++;
+            }, 16);
+
+            if (drained == 0)
+            {
+                Thread.yield();
+            }
+        }
+
+        for (Future<?> producer : producers)
+        {
+            producer.get(5, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        assertEquals(PRODUCERS * ELEMENTS_PER_PRODUCER, total[0]);
+
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            assertEquals(ELEMENTS_PER_PRODUCER, next[p]);
+        }
+
+        assertTrue(buffer.IsEmpty());
+        assertTrue(rejected.get() > 0);
+    }
+}